@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.rest.shared.dto.ChannelMessage;
+import org.eclipse.che.api.core.rest.shared.dto.ChannelReplay;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+/**
+ * Sends messages to the websocket channels and keeps the last messages of each channel,
+ * so the client which lost connection is able to get the messages it missed instead of re-fetching the whole state.
+ * <p/>
+ * Each message sent through this buffer gets sequence number which is unique within the channel, the number is
+ * passed to the client as uuid of the broadcast message in the form {@code seq-<number>}. Uuid isn't used by the clients
+ * for the channel messages otherwise. After reconnection client asks for the messages with greater sequence numbers,
+ * see {@link ChannelReplayService}.
+ * <p/>
+ * Bodies of the kept messages take at most {@code websocket.replay.max_bytes} of memory, when the limit is exceeded
+ * the oldest messages of the least recently used channels are dropped. At most {@link #MAX_CHANNELS} channels are kept.
+ * <p/>
+ * Messages of the channel are sent to the subscribers in order of their sequence numbers by the pool of sender threads,
+ * so the publisher is never blocked by slow subscribers. Channels are served in turns, at most {@link #SEND_QUANTUM}
+ * messages at a time, so a channel with a lot of messages doesn't hold up the other channels. Messages which wait
+ * to be sent take at most {@code websocket.outbox.max_bytes} of memory per channel, when the limit is exceeded
+ * the oldest waiting messages are dropped. Clients notice the gap in the sequence numbers and replay the dropped
+ * messages while they are kept by the buffer.
+ */
+@Singleton
+public class ChannelReplayBuffer {
+    private static final Logger LOG = LoggerFactory.getLogger(ChannelReplayBuffer.class);
+
+    public static final String SEQUENCE_PREFIX = "seq-";
+    public static final int    MAX_CHANNELS    = 512;
+
+    private static final int SEND_QUANTUM   = 16;
+    private static final int SENDER_THREADS = 4;
+
+    private final long                 maxBytes;
+    private final long                 maxOutboxBytes;
+    private final Map<String, Channel> channels;
+    private final ExecutorService      sender;
+
+    /* guarded by channels */
+    private long bytes;
+    /* number of messages sent through the buffer, guarded by channels */
+    private long sent;
+
+    @Inject
+    public ChannelReplayBuffer(@Named("websocket.replay.max_bytes") long maxBytes,
+                               @Named("websocket.outbox.max_bytes") long maxOutboxBytes) {
+        this.maxBytes = maxBytes;
+        this.maxOutboxBytes = maxOutboxBytes;
+        this.sender = Executors.newFixedThreadPool(SENDER_THREADS, new ThreadFactoryBuilder().setNameFormat("ChannelSender-%d")
+                                                                                            .setDaemon(true)
+                                                                                            .build());
+        this.channels = new LinkedHashMap<String, Channel>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Channel> eldest) {
+                if (size() > MAX_CHANNELS) {
+                    bytes -= eldest.getValue().bytes;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Assigns next sequence number of the channel to the message, remembers the message and sends it
+     * to the subscribers of the channel. Failure of sending is logged.
+     */
+    public void send(ChannelBroadcastMessage message) {
+        final Channel channel;
+        synchronized (channels) {
+            channel = channels.computeIfAbsent(message.getChannel(), key -> new Channel(sent));
+            sent++;
+            final Message kept = channel.add(message.getBody());
+            message.setUuid(SEQUENCE_PREFIX + kept.sequence);
+            bytes += kept.bytes;
+            dropExceeding();
+            channel.offer(message, kept.bytes, maxOutboxBytes);
+            if (channel.publishing) {
+                // sender which is publishing messages of the channel sends this message too
+                return;
+            }
+            channel.publishing = true;
+        }
+        sender.execute(() -> publish(channel));
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * Returns messages of the channel which have sequence number greater than the given one.
+     * Replay isn't complete if some of such messages are already dropped from the buffer or the sequence number is unknown,
+     * e.g. after restart of the server, in this case client should re-fetch its state.
+     */
+    public ChannelReplay replay(String channelName, long since) {
+        final ChannelReplay replay = newDto(ChannelReplay.class).withChannel(channelName);
+        synchronized (channels) {
+            final Channel channel = channels.get(channelName);
+            if (channel == null) {
+                return replay.withComplete(false).withMessages(new ArrayList<>());
+            }
+            return replay.withComplete(since >= channel.first() - 1 && since <= channel.last)
+                         .withMessages(channel.since(since));
+        }
+    }
+
+    /** Sends a quantum of the waiting messages of the channel, then the channel waits for its next turn behind the other ones. */
+    private void publish(Channel channel) {
+        for (int i = 0; i < SEND_QUANTUM; i++) {
+            final ChannelBroadcastMessage message;
+            synchronized (channels) {
+                message = channel.poll();
+                if (message == null) {
+                    channel.publishing = false;
+                    return;
+                }
+            }
+            try {
+                sendToSubscribers(message);
+            } catch (Exception e) {
+                LOG.error("A problem occurred while sending websocket message", e);
+            }
+        }
+        try {
+            sender.execute(() -> publish(channel));
+        } catch (RejectedExecutionException e) {
+            // buffer is stopped
+        }
+    }
+
+    /** Sends the message to the websocket connections subscribed to its channel. */
+    void sendToSubscribers(ChannelBroadcastMessage message) throws Exception {
+        WSConnectionContext.sendMessage(message);
+    }
+
+    /** Drops the oldest messages of the least recently used channels until kept messages fit into the limit. */
+    private void dropExceeding() {
+        final Iterator<Channel> it = channels.values().iterator();
+        while (bytes > maxBytes && it.hasNext()) {
+            final Channel channel = it.next();
+            while (bytes > maxBytes && !channel.messages.isEmpty()) {
+                bytes -= channel.drop();
+            }
+        }
+    }
+
+    private static class Message {
+        final long   sequence;
+        final String body;
+        final long   bytes;
+
+        Message(long sequence, String body) {
+            this.sequence = sequence;
+            this.body = body;
+            // chars of java string take two bytes
+            this.bytes = body == null ? 0 : 2L * body.length();
+        }
+    }
+
+    /** The last messages of the channel, guarded by the buffer. */
+    private static class Channel {
+        final Deque<Message>                 messages    = new ArrayDeque<>();
+        /** Messages which are not sent to the subscribers yet. */
+        final Deque<ChannelBroadcastMessage> outbox      = new ArrayDeque<>();
+        /** Sizes of the messages from outbox. */
+        final Deque<Long>                    outboxSizes = new ArrayDeque<>();
+        /** Whether some thread is sending messages from outbox. */
+        boolean publishing;
+        /** Size of the messages from outbox. */
+        long    outboxBytes;
+        /** Sequence number of the last sent message. */
+        long    last;
+        /** Size of the kept messages. */
+        long    bytes;
+
+        /**
+         * Sequence numbers of the channel start after the number of messages sent through the buffer before,
+         * so they keep growing even if the channel was dropped and created again.
+         */
+        Channel(long last) {
+            this.last = last;
+        }
+
+        Message add(String body) {
+            final Message message = new Message(++last, body);
+            messages.addLast(message);
+            bytes += message.bytes;
+            return message;
+        }
+
+        long drop() {
+            final Message message = messages.removeFirst();
+            bytes -= message.bytes;
+            return message.bytes;
+        }
+
+        /** Adds message to outbox, the oldest messages are dropped from outbox if it takes more than the given limit. */
+        void offer(ChannelBroadcastMessage message, long size, long maxOutboxBytes) {
+            outbox.addLast(message);
+            outboxSizes.addLast(size);
+            outboxBytes += size;
+            int dropped = 0;
+            while (outboxBytes > maxOutboxBytes && outbox.size() > 1) {
+                outbox.removeFirst();
+                outboxBytes -= outboxSizes.removeFirst();
+                dropped++;
+            }
+            if (dropped > 0) {
+                LOG.warn("Subscribers of channel '{}' are too slow, {} messages were not sent to them", message.getChannel(), dropped);
+            }
+        }
+
+        ChannelBroadcastMessage poll() {
+            final ChannelBroadcastMessage message = outbox.pollFirst();
+            if (message != null) {
+                outboxBytes -= outboxSizes.removeFirst();
+            }
+            return message;
+        }
+
+        /** Sequence number of the first kept message. */
+        long first() {
+            return messages.isEmpty() ? last + 1 : messages.getFirst().sequence;
+        }
+
+        List<ChannelMessage> since(long sequence) {
+            final List<ChannelMessage> result = new ArrayList<>();
+            for (Message message : messages) {
+                if (message.sequence > sequence) {
+                    result.add(newDto(ChannelMessage.class).withSequence(message.sequence).withBody(message.body));
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.rest.shared.dto.ChannelReplay;
+import org.everrest.core.impl.EnvironmentContext;
+import org.everrest.websockets.WSConnection;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
+
+/**
+ * Gives the messages of the websocket channel which were missed by the client while its connection was closed.
+ * <p/>
+ * Messages are given only to the websocket connection which is subscribed to the channel,
+ * the same as messages sent to the channel.
+ *
+ * @see ChannelReplayBuffer
+ */
+@Singleton
+@Path("channels")
+public class ChannelReplayService {
+
+    private final ChannelReplayBuffer channelReplayBuffer;
+
+    @Inject
+    public ChannelReplayService(ChannelReplayBuffer channelReplayBuffer) {
+        this.channelReplayBuffer = channelReplayBuffer;
+    }
+
+    @GET
+    @Path("replay")
+    @Produces(APPLICATION_JSON)
+    public ChannelReplay replay(@QueryParam("channel") String channel,
+                                @DefaultValue("0") @QueryParam("since") long since) throws BadRequestException,
+                                                                                           ForbiddenException {
+        if (channel == null) {
+            throw new BadRequestException("Channel required");
+        }
+        final EnvironmentContext context = EnvironmentContext.getCurrent();
+        final WSConnection connection = context == null ? null : (WSConnection)context.get(WSConnection.class);
+        if (connection == null || !connection.getChannels().contains(channel)) {
+            throw new ForbiddenException("Messages of channel '" + channel + "' are available only for its subscribers");
+        }
+        return channelReplayBuffer.replay(channel, since);
+    }
+}
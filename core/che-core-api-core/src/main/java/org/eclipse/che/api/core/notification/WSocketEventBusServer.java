@@ -10,7 +10,6 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.notification;
 
-import org.everrest.websockets.WSConnectionContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,12 +33,16 @@ public final class WSocketEventBusServer {
 
     private final EventService                 eventService;
     private final ServerEventPropagationPolicy policy;
+    private final ChannelReplayBuffer          channelReplayBuffer;
     private final AtomicBoolean                start;
 
     @Inject
-    public WSocketEventBusServer(EventService eventService, @Nullable ServerEventPropagationPolicy policy) {
+    public WSocketEventBusServer(EventService eventService,
+                                 @Nullable ServerEventPropagationPolicy policy,
+                                 ChannelReplayBuffer channelReplayBuffer) {
         this.eventService = eventService;
         this.policy = policy;
+        this.channelReplayBuffer = channelReplayBuffer;
 
         start = new AtomicBoolean(false);
     }
@@ -74,7 +77,7 @@ public final class WSocketEventBusServer {
     protected void propagate(Object event) {
         if (policy.shouldPropagated(event)) {
             try {
-                WSConnectionContext.sendMessage(Messages.broadcastMessage(resolveChannelName(event), event));
+                channelReplayBuffer.send(Messages.broadcastMessage(resolveChannelName(event), event));
             } catch (Exception e) {
                 LOG.error(e.getMessage(), e);
             }
@@ -53,6 +53,9 @@ import java.util.Set;
 @Produces({MediaType.APPLICATION_JSON})
 @Consumes({MediaType.APPLICATION_JSON})
 public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWriter<T> {
+    /** Value of <i>Cache-Control</i> header of the written entities. */
+    public static final String CACHE_CONTROL = "public, no-cache, no-store, no-transform";
+
     private Set<Class> ignoredClasses;
     private final JsonEntityProvider delegate = new JsonEntityProvider<>();
 
@@ -78,7 +81,7 @@ public class CheJsonProvider<T> implements MessageBodyReader<T>, MessageBodyWrit
     public void writeTo(T t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
                         MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException, WebApplicationException {
         // Add Cache-Control before start write body.
-        httpHeaders.putSingle(HttpHeaders.CACHE_CONTROL, "public, no-cache, no-store, no-transform");
+        httpHeaders.putSingle(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
         if (t instanceof JsonSerializable) {
             try (Writer w = new OutputStreamWriter(entityStream, Charset.forName("UTF-8"))) {
                 w.write(((JsonSerializable)t).toJson());
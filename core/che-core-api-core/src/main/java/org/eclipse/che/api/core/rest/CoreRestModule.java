@@ -14,6 +14,8 @@ import com.google.inject.AbstractModule;
 import com.google.inject.multibindings.Multibinder;
 import com.google.inject.name.Names;
 
+import org.eclipse.che.api.core.notification.ChannelReplayService;
+
 /**
  * @author andrew00x
  */
@@ -22,6 +24,7 @@ public class CoreRestModule extends AbstractModule {
     protected void configure() {
         bind(CheJsonProvider.class);
         bind(ApiExceptionMapper.class);
+        bind(ChannelReplayService.class);
         Multibinder.newSetBinder(binder(), Class.class, Names.named("che.json.ignored_classes"));
     }
 }
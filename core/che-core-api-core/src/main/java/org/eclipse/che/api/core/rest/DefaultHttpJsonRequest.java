@@ -43,6 +43,7 @@ import java.io.Reader;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -72,6 +73,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
     private Object                body;
     private List<Pair<String, ?>> queryParams;
     private String                authorizationHeaderValue;
+    private Map<String, String>   headers;
 
     DefaultHttpJsonRequest(String url) {
         this.url = requireNonNull(url, "Required non-null url");
@@ -124,6 +126,17 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
         return this;
     }
 
+    @Override
+    public HttpJsonRequest setHeader(@NotNull String name, @NotNull String value) {
+        requireNonNull(name, "Required non-null header name");
+        requireNonNull(value, "Required non-null header value");
+        if (headers == null) {
+            headers = new LinkedHashMap<>();
+        }
+        headers.put(name, value);
+        return this;
+    }
+
     @Override
     public HttpJsonRequest setTimeout(int timeout) {
         this.timeout = timeout;
@@ -150,6 +163,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
      * <p>Uses {@link HttpHeaders#AUTHORIZATION} header with value from {@link EnvironmentContext}.
      * <br>uses {@link HttpHeaders#ACCEPT} header with "application/json" value.
      * <br>Encodes query parameters in "UTF-8".
+     * <br>Uses headers set by {@link #setHeader(String, String)}, response to the conditional request with code 304 isn't an error.
      *
      * @param timeout
      *         request timeout, used only if it is greater than 0
@@ -217,6 +231,9 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
             } else if (authToken != null) {
                 conn.setRequestProperty(HttpHeaders.AUTHORIZATION, authToken);
             }
+            if (headers != null) {
+                headers.forEach(conn::setRequestProperty);
+            }
             if (body != null) {
                 conn.addRequestProperty(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
                 conn.setDoOutput(true);
@@ -232,6 +249,9 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
             }
 
             final int responseCode = conn.getResponseCode();
+            if (responseCode == Response.Status.NOT_MODIFIED.getStatusCode()) {
+                return new DefaultHttpJsonResponse("", responseCode, conn.getHeaderFields());
+            }
             if ((responseCode / 100) != 2) {
                 InputStream in = conn.getErrorStream();
                 if (in == null) {
@@ -271,7 +291,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
             }
 
             try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-                return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
+                return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode, conn.getHeaderFields());
             }
         } finally {
             conn.disconnect();
@@ -294,6 +314,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
                ", method='" + method + '\'' +
                ", body=" + body +
                ", queryParams=" + queryParams +
+               ", headers=" + headers +
                '}';
     }
 }
@@ -12,8 +12,10 @@ package org.eclipse.che.api.core.rest;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import org.eclipse.che.commons.json.JsonHelper;
 import org.eclipse.che.commons.json.JsonParseException;
@@ -32,12 +34,23 @@ public class DefaultHttpJsonResponse implements HttpJsonResponse {
 
     private static final Type STRING_MAP_TYPE = new TypeToken<Map<String, String>>() {}.getType();
 
-    private final String responseBody;
-    private final int responseCode;
+    private final String                    responseBody;
+    private final int                       responseCode;
+    private final Map<String, List<String>> headers;
 
     DefaultHttpJsonResponse(String response, int responseCode) {
+        this(response, responseCode, Collections.emptyMap());
+    }
+
+    DefaultHttpJsonResponse(String response, int responseCode, Map<String, List<String>> headers) {
         this.responseBody = response;
         this.responseCode = responseCode;
+        this.headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        // HttpURLConnection keeps status line with null name
+        headers.entrySet()
+               .stream()
+               .filter(header -> header.getKey() != null)
+               .forEach(header -> this.headers.put(header.getKey(), header.getValue()));
     }
 
     @Override
@@ -77,5 +90,10 @@ public class DefaultHttpJsonResponse implements HttpJsonResponse {
     public int getResponseCode() {
         return responseCode;
     }
+
+    @Override
+    public Map<String, List<String>> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
 }
 
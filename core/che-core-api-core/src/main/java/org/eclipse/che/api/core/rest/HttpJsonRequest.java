@@ -132,6 +132,19 @@ public interface HttpJsonRequest {
      */
     HttpJsonRequest setAuthorizationHeader(@NotNull String value);
 
+    /**
+     * Sets header of the request, e.g. "If-None-Match" for conditional requests.
+     *
+     * @param name
+     *         header name
+     * @param value
+     *         header value
+     * @return this request instance
+     * @throws NullPointerException
+     *         when either name or value is null
+     */
+    HttpJsonRequest setHeader(@NotNull String name, @NotNull String value);
+
     /**
      * Sets request timeout in milliseconds.
      *
@@ -145,6 +158,8 @@ public interface HttpJsonRequest {
      * Makes http request with content type "application/json" and authorization headers
      * based on current {@link EnvironmentContext#getCurrent() context}.
      *
+     * <p>Response with code 304 (not modified) to the conditional request is returned as is, with empty body.
+     *
      * @return {@link HttpJsonResponse} instance which represents response of this request
      * @throws IOException
      *          when server response content type is different from "application/json"(Not acceptable)
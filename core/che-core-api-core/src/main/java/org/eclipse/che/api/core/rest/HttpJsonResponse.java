@@ -34,6 +34,11 @@ public interface HttpJsonResponse {
      */
     int getResponseCode();
 
+    /**
+     * Returns headers of the response, names of the headers are case-insensitive.
+     */
+    Map<String, List<String>> getHeaders();
+
     /**
      * Returns {@link HttpJsonRequest} response body as a string, if response doesn't contain body - empty line will be returned.
      * 
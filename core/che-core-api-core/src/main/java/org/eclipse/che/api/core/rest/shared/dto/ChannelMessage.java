@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Message sent to the websocket channel.
+ *
+ * @see ChannelReplay
+ */
+@DTO
+public interface ChannelMessage {
+    /** Sequence number of the message within its channel. */
+    long getSequence();
+
+    ChannelMessage withSequence(long sequence);
+
+    void setSequence(long sequence);
+
+    /** Body of the message as it was sent to the channel. */
+    String getBody();
+
+    ChannelMessage withBody(String body);
+
+    void setBody(String body);
+}
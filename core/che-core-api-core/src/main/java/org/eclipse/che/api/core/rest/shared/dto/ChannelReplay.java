@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.rest.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Messages of the websocket channel which were sent after the given sequence number.
+ *
+ * @see ChannelMessage
+ */
+@DTO
+public interface ChannelReplay {
+    String getChannel();
+
+    ChannelReplay withChannel(String channel);
+
+    void setChannel(String channel);
+
+    /**
+     * Returns {@code false} if some of the requested messages aren't available anymore,
+     * in this case the client should re-fetch the state it tracks through the channel.
+     */
+    boolean isComplete();
+
+    ChannelReplay withComplete(boolean complete);
+
+    void setComplete(boolean complete);
+
+    List<ChannelMessage> getMessages();
+
+    ChannelReplay withMessages(List<ChannelMessage> messages);
+
+    void setMessages(List<ChannelMessage> messages);
+}
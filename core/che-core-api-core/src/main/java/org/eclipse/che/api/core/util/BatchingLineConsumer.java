@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Line consumer which groups lines into batches instead of sending every line separately.
+ * <p/>
+ * Lines are sent once per {@code flushIntervalMs}, single batch contains at most {@code maxBatchLines} lines
+ * and at most {@code maxBatchBytes} characters, the rest of the lines wait for the next batch.
+ * If the receiver can't keep up with the output, so more than {@code maxPendingLines} lines wait for sending,
+ * the oldest lines are dropped and the next batch starts with the line which says how many lines were skipped.
+ * <p/>
+ * Flushes of all the consumers are triggered by the single shared timer thread, but batches are sent by the pool of sender
+ * threads. Consumer sends at most one batch at a time, so its batches are always sent in order and slow receiver
+ * delays only its own consumer. Remaining lines are sent on {@link #close()}. The timer doesn't keep the consumer
+ * from garbage collection, flushing of the consumer which was dropped without closing is stopped and its pending
+ * lines are lost.
+ */
+public abstract class BatchingLineConsumer implements LineConsumer {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingLineConsumer.class);
+
+    private static final ScheduledThreadPoolExecutor FLUSH_TIMER;
+    private static final ExecutorService             SENDERS;
+
+    static {
+        final String name = BatchingLineConsumer.class.getSimpleName();
+        FLUSH_TIMER = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder().setNameFormat(name + "-Timer-%d")
+                                                                                   .setDaemon(true)
+                                                                                   .build());
+        FLUSH_TIMER.setRemoveOnCancelPolicy(true);
+        SENDERS = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat(name + "-Sender-%d")
+                                                                          .setDaemon(true)
+                                                                          .build());
+    }
+
+    private final int                maxBatchLines;
+    private final int                maxBatchBytes;
+    private final int                maxPendingLines;
+    private final Deque<String>      pending;
+    private final ScheduledFuture<?> flushTask;
+    private final Object             sendLock;
+    /* whether batch is being sent by sender thread */
+    private final AtomicBoolean      flushing;
+
+    private int     skipped;
+    private boolean closed;
+
+    protected BatchingLineConsumer(long flushIntervalMs, int maxBatchLines, int maxBatchBytes, int maxPendingLines) {
+        this.maxBatchLines = maxBatchLines;
+        this.maxBatchBytes = maxBatchBytes;
+        this.maxPendingLines = maxPendingLines;
+        this.pending = new ArrayDeque<>();
+        this.sendLock = new Object();
+        this.flushing = new AtomicBoolean();
+        final FlushTrigger trigger = new FlushTrigger(this);
+        this.flushTask = FLUSH_TIMER.scheduleWithFixedDelay(trigger, flushIntervalMs, flushIntervalMs, MILLISECONDS);
+        trigger.task = flushTask;
+    }
+
+    /**
+     * Sends batch of lines.
+     *
+     * @param lines
+     *         lines in order they were written, never empty
+     */
+    protected abstract void sendBatch(List<String> lines) throws IOException;
+
+    /** Returns line which is sent instead of the dropped lines. */
+    protected String skippedLinesMessage(int count) {
+        return String.format("[WARNING] %d lines of output were skipped", count);
+    }
+
+    @Override
+    public void writeLine(String line) throws IOException {
+        if (line == null) {
+            return;
+        }
+        synchronized (pending) {
+            if (closed) {
+                return;
+            }
+            if (pending.size() == maxPendingLines) {
+                pending.poll();
+                skipped++;
+            }
+            pending.add(line);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (pending) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        flushTask.cancel(false);
+        boolean sent;
+        do {
+            sent = flushBatch();
+        } while (sent);
+    }
+
+    /** Sends next batch by sender thread unless previous batch is still being sent. */
+    private void scheduleFlush() {
+        synchronized (pending) {
+            if (closed || (pending.isEmpty() && skipped == 0)) {
+                return;
+            }
+        }
+        if (flushing.compareAndSet(false, true)) {
+            try {
+                SENDERS.execute(() -> {
+                    try {
+                        flushBatch();
+                    } finally {
+                        flushing.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                flushing.set(false);
+                LOG.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    /** Sends next batch of the pending lines, returns {@code false} if there was nothing to send. */
+    private boolean flushBatch() {
+        synchronized (sendLock) {
+            final List<String> batch = new ArrayList<>();
+            synchronized (pending) {
+                if (skipped > 0) {
+                    batch.add(skippedLinesMessage(skipped));
+                    skipped = 0;
+                }
+                int bytes = 0;
+                while (!pending.isEmpty() && batch.size() < maxBatchLines) {
+                    final String line = pending.peek();
+                    if (!batch.isEmpty() && bytes + line.length() > maxBatchBytes) {
+                        break;
+                    }
+                    bytes += line.length();
+                    batch.add(pending.poll());
+                }
+            }
+            if (batch.isEmpty()) {
+                return false;
+            }
+            try {
+                sendBatch(batch);
+            } catch (Exception e) {
+                LOG.error(e.getMessage(), e);
+            }
+            return true;
+        }
+    }
+
+    /** Periodic task of the timer which refers to the consumer weakly and cancels itself when the consumer is collected. */
+    private static class FlushTrigger implements Runnable {
+        private final WeakReference<BatchingLineConsumer> consumer;
+
+        private volatile ScheduledFuture<?> task;
+
+        FlushTrigger(BatchingLineConsumer consumer) {
+            this.consumer = new WeakReference<>(consumer);
+        }
+
+        @Override
+        public void run() {
+            final BatchingLineConsumer batchingConsumer = consumer.get();
+            if (batchingConsumer != null) {
+                batchingConsumer.scheduleFlush();
+            } else if (task != null) {
+                task.cancel(false);
+            }
+        }
+    }
+}
@@ -10,41 +10,56 @@
  *******************************************************************************/
 package org.eclipse.che.api.core.util;
 
+import com.google.common.base.Joiner;
+
+import org.eclipse.che.api.core.notification.ChannelReplayBuffer;
 import org.everrest.core.impl.provider.json.JsonUtils;
-import org.everrest.websockets.WSConnectionContext;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
-import org.slf4j.Logger;
-
-import java.io.IOException;
 
-import static org.slf4j.LoggerFactory.getLogger;
+import java.util.List;
 
 /**
- * Line consumer that send messages to specified websocket channel
+ * Line consumer that send messages to specified websocket channel.
+ * <p/>
+ * Lines are sent in batches, body of the message is JSON string which contains lines separated by {@code '\n'},
+ * see {@link BatchingLineConsumer}.
  *
  * @author Alexander Garagatyi
  */
-public class WebsocketLineConsumer implements LineConsumer {
-    private static final Logger LOG = getLogger(WebsocketLineConsumer.class);
-    private final String channel;
+public class WebsocketLineConsumer extends BatchingLineConsumer {
+    public static final long DEFAULT_FLUSH_INTERVAL_MS = 200;
+    public static final int  DEFAULT_MAX_BATCH_LINES   = 500;
+    public static final int  DEFAULT_MAX_BATCH_BYTES   = 64 * 1024;
+    public static final int  DEFAULT_MAX_PENDING_LINES = 10_000;
+
+    private final String              channel;
+    private final ChannelReplayBuffer channelReplayBuffer;
+
+    public WebsocketLineConsumer(String channel, ChannelReplayBuffer channelReplayBuffer) {
+        this(channel,
+             channelReplayBuffer,
+             DEFAULT_FLUSH_INTERVAL_MS,
+             DEFAULT_MAX_BATCH_LINES,
+             DEFAULT_MAX_BATCH_BYTES,
+             DEFAULT_MAX_PENDING_LINES);
+    }
 
-    public WebsocketLineConsumer(String channel) {
+    public WebsocketLineConsumer(String channel,
+                                 ChannelReplayBuffer channelReplayBuffer,
+                                 long flushIntervalMs,
+                                 int maxBatchLines,
+                                 int maxBatchBytes,
+                                 int maxPendingLines) {
+        super(flushIntervalMs, maxBatchLines, maxBatchBytes, maxPendingLines);
         this.channel = channel;
+        this.channelReplayBuffer = channelReplayBuffer;
     }
 
     @Override
-    public void writeLine(String line) throws IOException {
+    protected void sendBatch(List<String> lines) {
         final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
         bm.setChannel(channel);
-        bm.setBody(JsonUtils.getJsonString(line));
-        try {
-            WSConnectionContext.sendMessage(bm);
-        } catch (Exception e) {
-            LOG.error("A problem occurred while sending websocket message", e);
-        }
-    }
-
-    @Override
-    public void close() throws IOException {
+        bm.setBody(JsonUtils.getJsonString(Joiner.on('\n').join(lines)));
+        channelReplayBuffer.send(bm);
     }
 }
@@ -15,6 +15,7 @@ import com.google.common.hash.HashFunction;
 import com.google.common.hash.Hasher;
 import com.google.common.hash.Hashing;
 
+import org.eclipse.che.api.core.rest.CheJsonProvider;
 import org.eclipse.che.dto.server.JsonSerializable;
 import org.everrest.core.ApplicationContext;
 import org.everrest.core.Filter;
@@ -24,6 +25,7 @@ import org.everrest.core.impl.ApplicationContextImpl;
 
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
@@ -39,6 +41,11 @@ import static org.eclipse.che.everrest.ETagResponseFilter.EntityType.UNKNOWN;
  * Filter implementing {@link org.everrest.core.ResponseFilter} in order to generate ETag for clients that want to use conditional
  * requests.
  * It is applying on GET method and JSON content type only.
+ * <p/>
+ * Serializable entities are serialized only once, the JSON used for hashing is sent to the client as is.
+ * Resource may set ETag itself, e.g. from the version of the entity, in this case the entity isn't hashed at all,
+ * and resource may answer conditional request with {@link Request#evaluatePreconditions(EntityTag)} even before
+ * building the entity.
  *
  * @author Florent Benoit
  */
@@ -81,22 +88,55 @@ public class ETagResponseFilter implements ResponseFilter {
             return;
         }
 
+        // resource already provided its own tag (e.g. based on the version of the entity), don't hash the entity
+        Object existingTag = containerResponse.getHttpHeaders().getFirst(HttpHeaders.ETAG);
+        if (existingTag != null) {
+            EntityTag entityTag = existingTag instanceof EntityTag ? (EntityTag)existingTag : EntityTag.valueOf(existingTag.toString());
+            Response.ResponseBuilder builder = request.evaluatePreconditions(entityTag);
+            if (builder != null) {
+                containerResponse.setResponse(builder.tag(entityTag).build());
+            }
+            return;
+        }
+
         // calculate hash with MD5
         HashFunction hashFunction = Hashing.md5();
         Hasher hasher = hashFunction.newHasher();
         boolean hashingSuccess = true;
 
+        // JSON of the serializable entities, it is sent as is so the entity isn't serialized twice
+        String json = null;
+
         // Manage a list
         if (entity instanceof List) {
             List<?> entities = (List)entity;
+            StringBuilder jsonArray = new StringBuilder("[");
             for (Object simpleEntity : entities) {
-                hashingSuccess = addHash(simpleEntity, hasher);
+                EntityType entityType = getElementType(simpleEntity);
+                String elementJson = toJson(simpleEntity, entityType);
+                hashingSuccess = addHash(elementJson, hasher);
                 if (!hashingSuccess) {
                     break;
                 }
+                if (jsonArray != null && entityType == JSON_SERIALIZABLE) {
+                    if (jsonArray.length() > 1) {
+                        jsonArray.append(',');
+                    }
+                    jsonArray.append(elementJson);
+                } else {
+                    jsonArray = null;
+                }
+            }
+            if (hashingSuccess && jsonArray != null && !entities.isEmpty()) {
+                json = jsonArray.append(']').toString();
             }
         } else {
-            hashingSuccess = addHash(entity, hasher);
+            EntityType entityType = getElementType(entity);
+            String entityJson = toJson(entity, entityType);
+            hashingSuccess = addHash(entityJson, hasher);
+            if (entityType == JSON_SERIALIZABLE) {
+                json = entityJson;
+            }
         }
 
         // if we're able to handle the hash
@@ -117,6 +157,12 @@ public class ETagResponseFilter implements ResponseFilter {
             } else {
                 // it has been changed, so send response with new ETag and entity
                 Response.ResponseBuilder responseBuilder = Response.fromResponse(containerResponse.getResponse()).tag(entityTag);
+                if (json != null) {
+                    responseBuilder.entity(json);
+                    if (!containerResponse.getHttpHeaders().containsKey(HttpHeaders.CACHE_CONTROL)) {
+                        responseBuilder.header(HttpHeaders.CACHE_CONTROL, CheJsonProvider.CACHE_CONTROL);
+                    }
+                }
                 containerResponse.setResponse(responseBuilder.build());
             }
         }
@@ -124,32 +170,33 @@ public class ETagResponseFilter implements ResponseFilter {
     }
 
     /**
-     * Helper method to add entity to hash. If there is an invalid entity type it will return false
+     * Helper method to add JSON of the entity to hash. If there is an invalid entity type it will return false
      *
-     * @param entity
-     *         the entity object to analyze and extract JSON for hashing it
+     * @param json
+     *         the JSON of the entity, {@code null} if JSON of the entity can't be retrieved
      * @param hasher
      *         the hasher used to add the hashes
      */
-    protected boolean addHash(Object entity, Hasher hasher) {
-        // get entity type
-        EntityType entityType = getElementType(entity);
+    protected boolean addHash(String json, Hasher hasher) {
+        if (json == null) {
+            return false;
+        }
+        hasher.putString(json, Charset.defaultCharset());
+        return true;
+    }
 
-        // check
+    /** Returns JSON of the entity or {@code null} if the entity has unknown type or can't be serialized. */
+    private String toJson(Object entity, EntityType entityType) {
         if (entityType == UNKNOWN) {
-            // unknown entity type, cannot perform hash
-            return false;
+            return null;
         }
-        // add hash if all is OK
         try {
-            hasher.putString(getJson(entity, entityType), Charset.defaultCharset());
+            return getJson(entity, entityType);
         } catch (RuntimeException e) {
-            return false;
+            return null;
         }
-        return true;
     }
 
-
     /**
      * Helper method to retrieving the JSON content based on the entity type
      *
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.notification;
+
+import org.eclipse.che.api.core.rest.shared.dto.ChannelMessage;
+import org.eclipse.che.api.core.rest.shared.dto.ChannelReplay;
+import org.eclipse.che.commons.lang.NameGenerator;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ChannelReplayBufferTest {
+    // 100 messages of 5 chars
+    private static final long MAX_BYTES        = 1000;
+    // 10 messages of 5 chars
+    private static final long MAX_OUTBOX_BYTES = 100;
+
+    private String              channel;
+    private ChannelReplayBuffer buffer;
+
+    @BeforeMethod
+    public void setUp() {
+        channel = NameGenerator.generate("channel-", 8);
+        buffer = new ChannelReplayBuffer(MAX_BYTES, MAX_OUTBOX_BYTES);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        buffer.stop();
+    }
+
+    @Test
+    public void shouldAssignSequenceNumbersToMessages() throws Exception {
+        final ChannelBroadcastMessage first = send("a");
+        final ChannelBroadcastMessage second = send("b");
+
+        assertEquals(first.getUuid(), "seq-1");
+        assertEquals(second.getUuid(), "seq-2");
+    }
+
+    @Test
+    public void shouldReplayMessagesSentAfterGivenSequenceNumber() throws Exception {
+        send("a");
+        send("b");
+        send("c");
+
+        final ChannelReplay replay = buffer.replay(channel, 1);
+
+        assertTrue(replay.isComplete());
+        assertEquals(replay.getMessages().stream().map(ChannelMessage::getBody).collect(toList()), asList("b", "c"));
+        assertEquals(replay.getMessages().get(0).getSequence(), 2);
+    }
+
+    @Test
+    public void shouldNotBeCompleteWhenMissedMessagesAreDropped() throws Exception {
+        for (int i = 0; i < 110; i++) {
+            send(String.format("m-%03d", i));
+        }
+
+        final ChannelReplay replay = buffer.replay(channel, 5);
+
+        assertFalse(replay.isComplete());
+        assertEquals(replay.getMessages().size(), 100);
+        assertEquals(replay.getMessages().get(0).getBody(), "m-010");
+    }
+
+    @Test
+    public void shouldNotBeCompleteForUnknownSequenceNumber() throws Exception {
+        send("a");
+
+        assertFalse(buffer.replay(channel, 5).isComplete());
+        assertFalse(buffer.replay("unknown", 0).isComplete());
+    }
+
+    @Test
+    public void shouldDropOldestMessagesOfLeastRecentlyUsedChannelsWhenMemoryLimitIsExceeded() throws Exception {
+        final String otherChannel = NameGenerator.generate("channel-", 8);
+        for (int i = 0; i < 60; i++) {
+            send(otherChannel, String.format("o-%03d", i));
+        }
+        for (int i = 0; i < 60; i++) {
+            send(String.format("m-%03d", i));
+        }
+
+        final ChannelReplay other = buffer.replay(otherChannel, 0);
+        final ChannelReplay replay = buffer.replay(channel, 0);
+
+        assertFalse(other.isComplete());
+        assertEquals(other.getMessages().size(), 40);
+        assertEquals(other.getMessages().get(0).getBody(), "o-020");
+        assertEquals(replay.getMessages().size(), 60);
+        assertEquals(replay.getMessages().get(0).getBody(), "m-000");
+    }
+
+    @Test
+    public void shouldKeepSequenceNumbersGrowingWhenChannelIsDroppedAndCreatedAgain() throws Exception {
+        send("a");
+        for (int i = 0; i < ChannelReplayBuffer.MAX_CHANNELS; i++) {
+            send("channel-" + i, "b");
+        }
+
+        final ChannelBroadcastMessage message = send("c");
+
+        assertTrue(Long.parseLong(message.getUuid().substring(ChannelReplayBuffer.SEQUENCE_PREFIX.length())) > 1);
+        assertFalse(buffer.replay(channel, 1).isComplete());
+    }
+
+    @Test
+    public void shouldNotBlockPublisherAndOtherChannelsWhileSubscribersOfChannelAreSlow() throws Exception {
+        final String otherChannel = NameGenerator.generate("channel-", 8);
+        final CountDownLatch release = new CountDownLatch(1);
+        final BlockingQueue<String> delivered = new LinkedBlockingQueue<>();
+        buffer.stop();
+        buffer = new ChannelReplayBuffer(MAX_BYTES, MAX_OUTBOX_BYTES) {
+            @Override
+            void sendToSubscribers(ChannelBroadcastMessage message) throws Exception {
+                if (channel.equals(message.getChannel())) {
+                    release.await();
+                }
+                delivered.add(message.getBody());
+            }
+        };
+
+        send("a");
+        send("b");
+        send(otherChannel, "o");
+
+        assertEquals(delivered.poll(5, SECONDS), "o");
+        release.countDown();
+        assertEquals(delivered.poll(5, SECONDS), "a");
+        assertEquals(delivered.poll(5, SECONDS), "b");
+    }
+
+    @Test
+    public void shouldDropOldestWaitingMessagesWhenOutboxLimitIsExceeded() throws Exception {
+        final CountDownLatch taken = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final BlockingQueue<String> delivered = new LinkedBlockingQueue<>();
+        buffer.stop();
+        buffer = new ChannelReplayBuffer(MAX_BYTES, MAX_OUTBOX_BYTES) {
+            @Override
+            void sendToSubscribers(ChannelBroadcastMessage message) throws Exception {
+                taken.countDown();
+                release.await();
+                delivered.add(message.getBody());
+            }
+        };
+        send("m-000");
+        // the first message is taken from outbox by the sender which is blocked by the subscriber
+        assertTrue(taken.await(5, SECONDS));
+
+        for (int i = 1; i < 30; i++) {
+            send(String.format("m-%03d", i));
+        }
+        release.countDown();
+
+        final List<String> received = new ArrayList<>();
+        for (String body = delivered.poll(5, SECONDS); body != null; body = delivered.poll(500, MILLISECONDS)) {
+            received.add(body);
+        }
+        // outbox keeps 10 latest messages
+        assertEquals(received.get(0), "m-000");
+        assertEquals(received.get(1), "m-020");
+        assertEquals(received.get(received.size() - 1), "m-029");
+        assertEquals(received.size(), 11);
+        // dropped messages are still available for replay
+        assertTrue(buffer.replay(channel, 0).isComplete());
+        assertEquals(buffer.replay(channel, 0).getMessages().size(), 30);
+    }
+
+    private ChannelBroadcastMessage send(String body) throws Exception {
+        return send(channel, body);
+    }
+
+    private ChannelBroadcastMessage send(String channel, String body) throws Exception {
+        final ChannelBroadcastMessage message = new ChannelBroadcastMessage();
+        message.setChannel(channel);
+        message.setBody(body);
+        buffer.send(message);
+        return message;
+    }
+}
@@ -19,6 +19,9 @@ import org.eclipse.che.dto.server.JsonStringMapImpl;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static java.util.Collections.singleton;
@@ -95,4 +98,15 @@ public class DefaultHttpJsonResponseTest {
 
         assertEquals(response.getResponseCode(), 201);
     }
+
+    @Test
+    public void shouldReturnHeadersIgnoringCaseOfTheirNames() {
+        final Map<String, List<String>> headers = new HashMap<>();
+        headers.put(null, singletonList("HTTP/1.1 200 OK"));
+        headers.put("ETag", singletonList("\"tag\""));
+        final DefaultHttpJsonResponse response = new DefaultHttpJsonResponse("{}", 200, headers);
+
+        assertEquals(response.getHeaders().get("etag"), singletonList("\"tag\""));
+        assertEquals(response.getHeaders().size(), 1);
+    }
 }
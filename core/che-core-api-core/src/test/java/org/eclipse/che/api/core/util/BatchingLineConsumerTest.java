@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.core.util;
+
+import org.testng.annotations.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class BatchingLineConsumerTest {
+
+    @Test
+    public void shouldSplitLinesIntoBatchesOfLimitedSize() throws Exception {
+        final RecordingConsumer consumer = new RecordingConsumer(TimeUnit.HOURS.toMillis(1), 2, 1024, 100);
+        writeLines(consumer, 5);
+
+        consumer.close();
+
+        assertEquals(consumer.batches, asList(asList("line 0", "line 1"), asList("line 2", "line 3"), asList("line 4")));
+    }
+
+    @Test
+    public void shouldLimitNumberOfCharactersInBatch() throws Exception {
+        final RecordingConsumer consumer = new RecordingConsumer(TimeUnit.HOURS.toMillis(1), 100, 13, 100);
+        writeLines(consumer, 3);
+
+        consumer.close();
+
+        assertEquals(consumer.batches, asList(asList("line 0", "line 1"), asList("line 2")));
+    }
+
+    @Test
+    public void shouldDropOldestLinesWhenTooManyLinesArePending() throws Exception {
+        final RecordingConsumer consumer = new RecordingConsumer(TimeUnit.HOURS.toMillis(1), 100, 1024, 3);
+        writeLines(consumer, 10);
+
+        consumer.close();
+
+        assertEquals(consumer.batches,
+                     asList(asList("[WARNING] 7 lines of output were skipped", "line 7", "line 8", "line 9")));
+    }
+
+    @Test
+    public void shouldSendLinesPeriodically() throws Exception {
+        final RecordingConsumer consumer = new RecordingConsumer(10, 100, 1024, 100);
+        writeLines(consumer, 3);
+
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (consumer.getSentLines().size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(consumer.getSentLines(), asList("line 0", "line 1", "line 2"));
+        consumer.close();
+    }
+
+    @Test
+    public void shouldIgnoreNullLines() throws Exception {
+        final RecordingConsumer consumer = new RecordingConsumer(TimeUnit.HOURS.toMillis(1), 100, 1024, 100);
+        consumer.writeLine("line 0");
+        consumer.writeLine(null);
+        consumer.writeLine("line 1");
+
+        consumer.close();
+
+        assertEquals(consumer.batches, asList(asList("line 0", "line 1")));
+    }
+
+    @Test
+    public void shouldIgnoreLinesWrittenAfterClose() throws Exception {
+        final RecordingConsumer consumer = new RecordingConsumer(TimeUnit.HOURS.toMillis(1), 100, 1024, 100);
+        consumer.close();
+
+        consumer.writeLine("line");
+
+        assertTrue(consumer.batches.isEmpty());
+    }
+
+    @Test
+    public void shouldNotDelayOtherConsumersWhileBatchIsSentToSlowReceiver() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final RecordingConsumer slow = new RecordingConsumer(10, 100, 1024, 100) {
+            @Override
+            protected void sendBatch(List<String> lines) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.sendBatch(lines);
+            }
+        };
+        final RecordingConsumer fast = new RecordingConsumer(10, 100, 1024, 100);
+        try {
+            slow.writeLine("slow");
+            Thread.sleep(50);
+            writeLines(fast, 3);
+
+            final long deadline = System.currentTimeMillis() + 5_000;
+            while (fast.getSentLines().size() < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(fast.getSentLines(), asList("line 0", "line 1", "line 2"));
+            assertTrue(slow.batches.isEmpty());
+        } finally {
+            release.countDown();
+            slow.close();
+            fast.close();
+        }
+    }
+
+    @Test
+    public void shouldNotKeepDroppedConsumerFromGarbageCollection() throws Exception {
+        RecordingConsumer consumer = new RecordingConsumer(10, 100, 1024, 100);
+        consumer.writeLine("line");
+        final WeakReference<RecordingConsumer> reference = new WeakReference<>(consumer);
+        consumer = null;
+
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (reference.get() != null && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertNull(reference.get());
+    }
+
+    private static void writeLines(LineConsumer consumer, int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            consumer.writeLine("line " + i);
+        }
+    }
+
+    private static class RecordingConsumer extends BatchingLineConsumer {
+        final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+        RecordingConsumer(long flushIntervalMs, int maxBatchLines, int maxBatchBytes, int maxPendingLines) {
+            super(flushIntervalMs, maxBatchLines, maxBatchBytes, maxPendingLines);
+        }
+
+        @Override
+        protected void sendBatch(List<String> lines) {
+            batches.add(new ArrayList<>(lines));
+        }
+
+        List<String> getSentLines() {
+            final List<String> lines = new ArrayList<>();
+            batches.forEach(lines::addAll);
+            return lines;
+        }
+    }
+}
@@ -10,7 +10,12 @@
  *******************************************************************************/
 package org.eclipse.che.everrest;
 
+import com.google.common.hash.Hashing;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
 import org.eclipse.che.api.core.rest.ApiExceptionMapper;
+import org.eclipse.che.dto.server.JsonSerializable;
 import org.everrest.core.impl.ApplicationContextImpl;
 import org.everrest.core.impl.ApplicationProviderBinder;
 import org.everrest.core.impl.ContainerRequest;
@@ -33,6 +38,7 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
 
 import java.net.URI;
+import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -82,6 +88,27 @@ public class ETagResponseFilterTest {
         }
 
 
+        @GET
+        @Path("/dtos")
+        @Produces(APPLICATION_JSON)
+        public List<Member> getDtos() {
+            return Arrays.asList(new Member("a"), new Member("b"));
+        }
+
+        @GET
+        @Path("/map")
+        @Produces(APPLICATION_JSON)
+        public Map<String, String> getMap() {
+            return Collections.singletonMap("name", "value");
+        }
+
+        @GET
+        @Path("/versioned")
+        @Produces(APPLICATION_JSON)
+        public Response getVersioned() {
+            return Response.ok("versionedContent").tag("version-1").build();
+        }
+
         @GET
         @Path("/modify")
         @Produces(APPLICATION_JSON)
@@ -94,6 +121,27 @@ public class ETagResponseFilterTest {
 
     }
 
+    /**
+     * Dummy serializable entity
+     */
+    public static class Member implements JsonSerializable {
+        private final String name;
+
+        public Member(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toJson() {
+            return "{\"name\":\"" + name + "\"}";
+        }
+
+        @Override
+        public JsonElement toJsonElement() {
+            return new JsonParser().parse(toJson());
+        }
+    }
+
     /**
      * Resource Launcher
      */
@@ -221,4 +269,62 @@ public class ETagResponseFilterTest {
         Assert.assertNull(response.getEntity());
     }
 
+    /**
+     * Check if list of serializable entities is sent as JSON used for hashing
+     */
+    @Test
+    public void serializeListOfDtosOnce() throws Exception {
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/dtos", BASE_URI, null, null, null);
+        assertEquals(response.getStatus(), OK.getStatusCode());
+        // check entity
+        Assert.assertEquals(response.getEntity(), "[{\"name\":\"a\"},{\"name\":\"b\"}]");
+        // Check etag, it is hash of the concatenated elements
+        List<Object> headerTags = response.getHttpHeaders().get("ETag");
+        Assert.assertNotNull(headerTags);
+        Assert.assertEquals(headerTags.get(0),
+                            new EntityTag(Hashing.md5().hashString("{\"name\":\"a\"}{\"name\":\"b\"}", Charset.defaultCharset()).toString()));
+    }
+
+    /**
+     * Check if ETag set by resource is kept
+     */
+    @Test
+    public void keepETagOfResource() throws Exception {
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/versioned", BASE_URI, null, null, null);
+        assertEquals(response.getStatus(), OK.getStatusCode());
+        Assert.assertEquals(response.getEntity(), "versionedContent");
+        List<Object> headerTags = response.getHttpHeaders().get("ETag");
+        Assert.assertNotNull(headerTags);
+        Assert.assertEquals(headerTags.size(), 1);
+        Assert.assertEquals(headerTags.get(0), new EntityTag("version-1"));
+    }
+
+    /**
+     * Check if ETag set by resource is redirecting to NOT_MODIFIED
+     */
+    @Test
+    public void filterVersionedEntityTestWithEtag() throws Exception {
+
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("If-None-Match", Collections.singletonList(new EntityTag("version-1").toString()));
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/versioned", BASE_URI, headers, null, null);
+        assertEquals(response.getStatus(), NOT_MODIFIED.getStatusCode());
+        // check null body
+        Assert.assertNull(response.getEntity());
+    }
+
+    /**
+     * Check that ETag isn't generated for a map of strings, resources which return such maps tag them themselves
+     */
+    @Test
+    public void filterStringMapEntityTest() throws Exception {
+
+        final ContainerResponse response = resourceLauncher.service(HttpMethod.GET, SERVICE_PATH + "/map", BASE_URI, null, null, null);
+        assertEquals(response.getStatus(), OK.getStatusCode());
+        Assert.assertEquals(response.getEntity(), Collections.singletonMap("name", "value"));
+        Assert.assertNull(response.getHttpHeaders().get("ETag"));
+    }
 }
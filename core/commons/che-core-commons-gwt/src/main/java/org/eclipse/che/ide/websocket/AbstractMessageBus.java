@@ -12,8 +12,11 @@ package org.eclipse.che.ide.websocket;
 
 import com.google.gwt.core.client.JavaScriptException;
 import com.google.gwt.http.client.RequestBuilder;
+import com.google.gwt.http.client.URL;
 import com.google.gwt.user.client.Timer;
 
+import org.eclipse.che.ide.collections.Jso;
+import org.eclipse.che.ide.collections.js.JsoArray;
 import org.eclipse.che.ide.rest.HTTPHeader;
 import org.eclipse.che.ide.util.ListenerManager;
 import org.eclipse.che.ide.util.loging.Log;
@@ -51,6 +54,10 @@ abstract class AbstractMessageBus implements MessageBus {
     /** Max. number of attempts to reconnect for every <code>SELDOM_RECONNECTION_PERIOD</code> ms. */
     private final static int    MAX_SELDOM_RECONNECTION_ATTEMPTS     = 5;
     private final static String MESSAGE_TYPE_HEADER_NAME             = "x-everrest-websocket-message-type";
+    private final static String CHANNEL_HEADER_NAME                  = "x-everrest-websocket-channel";
+    /** Prefix of the uuid of the channel message which carries sequence number of the message within the channel. */
+    private final static String SEQUENCE_PREFIX                      = "seq-";
+    private final static String CHANNEL_REPLAY_PATH                  = "/channels/replay";
 
     /** Timer for sending heartbeat pings to prevent autoclosing an idle WebSocket connection. */
     private final Timer   heartbeatTimer;
@@ -70,6 +77,10 @@ abstract class AbstractMessageBus implements MessageBus {
     private final ListenerManager<ConnectionOpenedHandler> connectionOpenedHandlers;
     private final ListenerManager<ConnectionClosedHandler> connectionClosedHandlers;
     private final ListenerManager<ConnectionErrorHandler>  connectionErrorHandlers;
+    /** Map of the channel to the sequence number of the last message received from it. */
+    private final Map<String, Long>                        channelSequences;
+    /** Map of the channel to the messages received while replay of the channel is in progress. */
+    private final Map<String, List<Message>>               resumingChannels;
 
     /** Counter of attempts to reconnect. */
     private int        frequentlyReconnectionAttemptsCounter;
@@ -77,6 +88,8 @@ abstract class AbstractMessageBus implements MessageBus {
     private int        seldomReconnectionAttemptsCounter;
     private WebSocket  ws;
     private WsListener wsListener;
+    /** Whether connection was lost, so subscriptions should be resumed after it is opened again. */
+    private boolean    reconnecting;
 
     public AbstractMessageBus(String wsConnectionUrl) {
         this.wsConnectionUrl = wsConnectionUrl;
@@ -88,6 +101,8 @@ abstract class AbstractMessageBus implements MessageBus {
         this.connectionClosedHandlers = ListenerManager.create();
         this.connectionErrorHandlers = ListenerManager.create();
         this.messages2send = new ArrayList<>();
+        this.channelSequences = new HashMap<>();
+        this.resumingChannels = new HashMap<>();
 
         MessageBuilder builder = new MessageBuilder(RequestBuilder.POST, null);
         builder.header("x-everrest-websocket-message-type", "ping");
@@ -211,7 +226,7 @@ abstract class AbstractMessageBus implements MessageBus {
 
         if (getChannel(message) != null) {
             // this is a message received by subscription
-            processSubscriptionMessage(message);
+            onChannelMessage(message);
         } else {
             String uuid = message.getStringField(MessageBuilder.UUID_FIELD);
             ReplyHandler replyCallback = replyCallbackMap.remove(uuid);
@@ -226,6 +241,143 @@ abstract class AbstractMessageBus implements MessageBus {
         }
     }
 
+    /**
+     * Dispatches the {@link Message} received by subscription or holds it if replay of its channel is in progress.
+     * Server drops messages which its subscribers are too slow to receive, in this case the gap in the sequence
+     * numbers is noticed and the dropped messages are replayed before the received one.
+     *
+     * @param message
+     *         {@link Message}
+     */
+    private void onChannelMessage(Message message) {
+        final String channel = getChannel(message);
+        final List<Message> pending = resumingChannels.get(channel);
+        if (pending != null) {
+            pending.add(message);
+            return;
+        }
+        final long sequence = getSequence(message);
+        final Long lastSequence = channelSequences.get(channel);
+        if (sequence > 0 && lastSequence != null && sequence > lastSequence + 1) {
+            final List<Message> held = new ArrayList<>();
+            held.add(message);
+            resumingChannels.put(channel, held);
+            try {
+                requestReplay(channel, lastSequence);
+                return;
+            } catch (WebSocketException e) {
+                resumingChannels.remove(channel);
+                Log.error(AbstractMessageBus.class, e);
+            }
+        }
+        if (sequence > 0) {
+            channelSequences.put(channel, sequence);
+        }
+        processSubscriptionMessage(message);
+    }
+
+    /**
+     * Re-subscribes all the channels after reconnection and asks the server for the messages
+     * which were sent to the channels while connection was closed.
+     */
+    private void resumeSubscriptions() {
+        for (final String channel : channelToSubscribersMap.keySet()) {
+            try {
+                sendSubscribeMessage(channel);
+                final Long sequence = channelSequences.get(channel);
+                if (sequence == null) {
+                    continue;
+                }
+                resumingChannels.put(channel, new ArrayList<Message>());
+                requestReplay(channel, sequence);
+            } catch (WebSocketException e) {
+                resumingChannels.remove(channel);
+                Log.error(AbstractMessageBus.class, e);
+            }
+        }
+    }
+
+    /**
+     * Asks the server for the messages of the channel which have sequence number greater than the given one,
+     * messages of the channel are held until the replay is received.
+     */
+    private void requestReplay(final String channel, final long sequence) throws WebSocketException {
+        final MessageBuilder builder = new MessageBuilder(RequestBuilder.GET, CHANNEL_REPLAY_PATH
+                                                                              + "?channel=" + URL.encodeQueryString(channel)
+                                                                              + "&since=" + sequence);
+        final Message message = builder.header(HTTPHeader.ACCEPT, "application/json").build();
+        internalSend(message.getStringField(MessageBuilder.UUID_FIELD), message.serialize(), new ReplyHandler() {
+            @Override
+            public void onReply(String response) {
+                onChannelReplay(channel, sequence, response);
+            }
+        });
+    }
+
+    /**
+     * Dispatches missed messages and then the messages received while replay was in progress.
+     * Messages which were already dispatched are skipped.
+     */
+    private void onChannelReplay(String channel, long lastSequence, String response) {
+        final List<Message> pending = resumingChannels.remove(channel);
+        final List<Message> replayed = new ArrayList<>();
+        boolean complete = false;
+        try {
+            final Jso replay = Jso.deserialize(response);
+            complete = replay.getBooleanField("complete");
+            final JsoArray<Jso> messages = replay.getJsObjectField("messages").cast();
+            for (int i = 0; i < messages.size(); i++) {
+                final Jso replayedMessage = messages.get(i);
+                replayed.add(newChannelMessage(channel,
+                                               (long)replayedMessage.getDoubleField("sequence"),
+                                               replayedMessage.getStringField("body")));
+            }
+        } catch (Exception e) {
+            Log.error(AbstractMessageBus.class, e);
+        }
+        if (!complete) {
+            // sequence numbers are not continuous anymore, e.g. server was restarted
+            Log.warn(AbstractMessageBus.class, "Some messages of channel " + channel + " were lost");
+            channelSequences.remove(channel);
+            lastSequence = 0;
+        }
+        if (pending != null) {
+            replayed.addAll(pending);
+        }
+        for (Message message : replayed) {
+            final long sequence = getSequence(message);
+            if (sequence > 0 && sequence <= lastSequence) {
+                continue;
+            }
+            if (sequence > lastSequence) {
+                lastSequence = sequence;
+                channelSequences.put(channel, sequence);
+            }
+            processSubscriptionMessage(message);
+        }
+    }
+
+    private Message newChannelMessage(String channel, long sequence, String body) {
+        final Message message = new MessageBuilder(null, null).header(CHANNEL_HEADER_NAME, channel)
+                                                              .header(MESSAGE_TYPE_HEADER_NAME, "none")
+                                                              .data(body)
+                                                              .build();
+        message.addField(MessageBuilder.UUID_FIELD, SEQUENCE_PREFIX + sequence);
+        return message;
+    }
+
+    /** Returns sequence number of the channel message or {@code 0} if the message doesn't have it. */
+    private long getSequence(Message message) {
+        final String uuid = message.getStringField(MessageBuilder.UUID_FIELD);
+        if (uuid != null && uuid.startsWith(SEQUENCE_PREFIX)) {
+            try {
+                return Long.parseLong(uuid.substring(SEQUENCE_PREFIX.length()));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return 0;
+    }
+
     /**
      * Process the {@link Message} that received by subscription.
      *
@@ -279,7 +431,7 @@ abstract class AbstractMessageBus implements MessageBus {
 
         if (headers != null) {
             for (Pair header : headers) {
-                if ("x-everrest-websocket-channel".equals(header.getName())) {
+                if (CHANNEL_HEADER_NAME.equals(header.getName())) {
                     return header.getValue();
                 }
             }
@@ -481,6 +633,8 @@ abstract class AbstractMessageBus implements MessageBus {
 
         if (subscribersSet.remove(handler) && subscribersSet.isEmpty()) {
             channelToSubscribersMap.remove(channel);
+            channelSequences.remove(channel);
+            resumingChannels.remove(channel);
             sendUnsubscribeMessage(channel);
         }
     }
@@ -512,6 +666,9 @@ abstract class AbstractMessageBus implements MessageBus {
 
         @Override
         public void onClose(final WebSocketClosedEvent event) {
+            reconnecting = true;
+            // replies to the pending replay requests will never come, messages are requested again after reconnection
+            resumingChannels.clear();
             heartbeatTimer.cancel();
             frequentlyReconnectionTimer.scheduleRepeating(FREQUENTLY_RECONNECTION_PERIOD);
             connectionClosedHandlers.dispatch(new ListenerManager.Dispatcher<ConnectionClosedHandler>() {
@@ -543,6 +700,10 @@ abstract class AbstractMessageBus implements MessageBus {
             frequentlyReconnectionAttemptsCounter = 0;
             seldomReconnectionAttemptsCounter = 0;
             heartbeatTimer.scheduleRepeating(HEARTBEAT_PERIOD);
+            if (reconnecting) {
+                reconnecting = false;
+                resumeSubscriptions();
+            }
             connectionOpenedHandlers.dispatch(new ListenerManager.Dispatcher<ConnectionOpenedHandler>() {
                 @Override
                 public void dispatch(ConnectionOpenedHandler listener) {
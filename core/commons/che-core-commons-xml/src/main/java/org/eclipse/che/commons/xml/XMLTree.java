@@ -22,6 +22,7 @@ import javax.xml.stream.XMLInputFactory;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import javax.xml.xpath.XPathFactoryConfigurationException;
@@ -33,10 +34,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 import static javax.xml.XMLConstants.FEATURE_SECURE_PROCESSING;
 import static javax.xml.stream.XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES;
@@ -98,6 +105,10 @@ import static org.w3c.dom.Node.TEXT_NODE;
  * is xpath query. You will be able to select/update
  * content provided with XMLTree elements or attributes
  * without working with xpath directly.
+ * Compiled xpath expressions are cached, and simple absolute
+ * paths like {@code /project/dependencies/dependency} are answered
+ * from the index of elements by their paths which is built on the first
+ * such query and dropped when elements are added or removed.
  * <p>
  * XMLTree provides methods which do the same
  * as model methods but sometimes they are more convenient,
@@ -174,6 +185,17 @@ public final class XMLTree {
     private static final XPathFactory           XPATH_FACTORY            = XPathFactory.newInstance();
     private static final String                 ROOT_TEMPLATE            = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<%s>\n</%s>";
     private static final int                    EXPECTED_NAMESPACES_SIZE = 2;
+    private static final int                    MAX_CACHED_EXPRESSIONS   = 128;
+    private static final Pattern                SIMPLE_PATH              = Pattern.compile("(/[A-Za-z_][\\w.\\-]*)+");
+
+    /** Compiled xpath expressions aren't thread-safe, so each thread keeps its own expressions. */
+    private static final ThreadLocal<Map<String, XPathExpression>> XPATH_EXPRESSIONS = ThreadLocal.withInitial(
+            () -> new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                    return size() > MAX_CACHED_EXPRESSIONS;
+                }
+            });
 
     /** Factories configuration. */
     static {
@@ -199,16 +221,17 @@ public final class XMLTree {
         }
     }
 
-    private Document            document;
-    private Map<String, String> namespaces;
-    private List<Element>       elements;
-    private byte[]              xml;
+    private Document                document;
+    private Map<String, String>     namespaces;
+    private Set<Element>            elements;
+    private byte[]                  xml;
+    private Map<String, List<Node>> pathIndex;
 
     private XMLTree(byte[] xml) {
         if (xml.length == 0) {
             throw new XMLTreeException("Source content is empty");
         }
-        elements = new LinkedList<>();
+        elements = new LinkedHashSet<>();
         namespaces = newHashMapWithExpectedSize(EXPECTED_NAMESPACES_SIZE);
         this.xml = normalizeLineEndings(xml);
         //reason: parser is going to replace all '\r\n' sequences with single '\n'
@@ -229,6 +252,10 @@ public final class XMLTree {
      * @see Element#getText()
      */
     public String getSingleText(String expression) {
+        final NodeList nodes = findByPath(expression);
+        if (nodes != null) {
+            return nodes.getLength() == 0 ? "" : nodes.item(0).getTextContent();
+        }
         return (String)evaluateXPath(expression, STRING);
     }
 
@@ -258,13 +285,11 @@ public final class XMLTree {
      * @return list of found elements or empty list if elements were not found
      */
     public List<Element> getElements(String expression) {
-        final NodeList nodes = (NodeList)evaluateXPath(expression, NODESET);
-        return asElements(nodes);
+        return asElements(findNodes(expression));
     }
 
     public <R> List<R> getElements(String expression, ElementMapper<? extends R> mapper) {
-        final NodeList nodes = (NodeList)evaluateXPath(expression, NODESET);
-        return asElements(nodes, mapper);
+        return asElements(findNodes(expression), mapper);
     }
 
     /**
@@ -414,14 +439,75 @@ public final class XMLTree {
      */
     @SuppressWarnings("unchecked")
     private Object evaluateXPath(String expression, QName returnType) {
-        final XPath xpath = XPATH_FACTORY.newXPath();
+        final Map<String, XPathExpression> expressions = XPATH_EXPRESSIONS.get();
         try {
-            return xpath.evaluate(expression, document, returnType);
+            XPathExpression compiled = expressions.get(expression);
+            if (compiled == null) {
+                final XPath xpath = XPATH_FACTORY.newXPath();
+                compiled = xpath.compile(expression);
+                expressions.put(expression, compiled);
+            }
+            return compiled.evaluate(document, returnType);
         } catch (XPathExpressionException xpathEx) {
             throw XMLTreeException.wrap(xpathEx);
         }
     }
 
+    /**
+     * Returns nodes selected by the expression, simple paths are
+     * answered from the index, others are evaluated as xpath.
+     */
+    private NodeList findNodes(String expression) {
+        final NodeList nodes = findByPath(expression);
+        return nodes != null ? nodes : (NodeList)evaluateXPath(expression, NODESET);
+    }
+
+    /**
+     * Returns elements with given absolute path like {@code /project/build/plugins} in document order,
+     * or {@code null} if the expression isn't such a path and should be evaluated as xpath.
+     * Like xpath over the document which isn't namespace aware, path segments are matched
+     * with element local names.
+     */
+    private NodeList findByPath(String expression) {
+        if (!SIMPLE_PATH.matcher(expression).matches()) {
+            return null;
+        }
+        if (pathIndex == null) {
+            pathIndex = new HashMap<>();
+            indexPaths(document.getDocumentElement(), "");
+        }
+        final List<Node> nodes = pathIndex.get(expression);
+        return asNodeList(nodes == null ? Collections.emptyList() : nodes);
+    }
+
+    /**
+     * Adds element and its descendants to the {@link #pathIndex}, elements are visited in document order.
+     */
+    private void indexPaths(Node element, String parentPath) {
+        final String name = element.getNodeName();
+        final String path = parentPath + '/' + name.substring(name.indexOf(':') + 1);
+        pathIndex.computeIfAbsent(path, key -> new ArrayList<>()).add(element);
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                indexPaths(child, path);
+            }
+        }
+    }
+
+    private static NodeList asNodeList(List<Node> nodes) {
+        return new NodeList() {
+            @Override
+            public Node item(int index) {
+                return index < nodes.size() ? nodes.get(index) : null;
+            }
+
+            @Override
+            public int getLength() {
+                return nodes.size();
+            }
+        };
+    }
+
     /**
      * Parses document using {@link DocumentBuilder}
      * Rethrows all exceptions as {@link XMLTreeException}
@@ -440,7 +526,7 @@ public final class XMLTree {
      * using {@link Node#getTextContent()} method
      */
     private List<String> retrieveText(String expression) {
-        final NodeList nodeList = (NodeList)evaluateXPath(expression, NODESET);
+        final NodeList nodeList = findNodes(expression);
         final List<String> elementsText = new ArrayList<>(nodeList.getLength());
         for (int i = 0; i < nodeList.getLength(); i++) {
             elementsText.add(nodeList.item(i).getTextContent());
@@ -890,6 +976,7 @@ public final class XMLTree {
      * Adds element and it children to tree
      */
     private void registerElement(Element element) {
+        pathIndex = null;
         elements.add(element);
         for (Element child : element.getChildren()) {
             registerElement(child);
@@ -900,6 +987,7 @@ public final class XMLTree {
      * Removes element and children from tree
      */
     private void unregisterElement(Element element) {
+        pathIndex = null;
         elements.remove(element);
         for (Element child : element.getChildren()) {
             unregisterElement(child);
@@ -146,6 +146,54 @@ public class XMLTreeTest {
         assertEquals(asList(artifacts.get(0).getText(), artifacts.get(1).getText()), asList("testng", "mockito-core"));
     }
 
+    @Test
+    public void shouldFindElementsBySimplePath() {
+        final XMLTree tree = XMLTree.from(XML_CONTENT);
+
+        assertEquals(tree.getText("/project/dependencies/dependency/artifactId"),
+                     tree.getText("/project/dependencies/dependency[true()]/artifactId"));
+        assertEquals(tree.getSingleText("/project/parent/artifactId"), "test-parent");
+        assertEquals(tree.getSingleText("/project/parent/missing"), "");
+        assertTrue(tree.getElements("/project/missing").isEmpty());
+    }
+
+    @Test
+    public void shouldFindElementsBySimplePathAfterTreeUpdate() {
+        final XMLTree tree = XMLTree.from(XML_CONTENT);
+        final int dependencies = tree.getElements("/project/dependencies/dependency").size();
+
+        tree.appendChild("/project/dependencies", NewElement.createElement("dependency",
+                                                                            NewElement.createElement("artifactId", "new-artifact")));
+        tree.removeElement("/project/parent");
+        tree.updateText("/project/name", "New name");
+
+        assertEquals(tree.getElements("/project/dependencies/dependency").size(), dependencies + 1);
+        assertEquals(tree.getElements("/project/dependencies/dependency").get(dependencies).getChildText("artifactId"), "new-artifact");
+        assertTrue(tree.getElements("/project/parent/artifactId").isEmpty());
+        assertEquals(tree.getSingleText("/project/name"), "New name");
+    }
+
+    @Test
+    public void shouldQueryAndUpdateLargeDocument() {
+        final StringBuilder sb = new StringBuilder("<project>\n    <dependencies>\n");
+        for (int i = 0; i < 5000; i++) {
+            sb.append("        <dependency>\n")
+              .append("            <artifactId>artifact-").append(i).append("</artifactId>\n")
+              .append("        </dependency>\n");
+        }
+        final XMLTree tree = XMLTree.from(sb.append("    </dependencies>\n</project>").toString());
+
+        final List<Element> dependencies = tree.getElements("/project/dependencies/dependency");
+        for (int i = 0; i < 10; i++) {
+            dependencies.get(i).remove();
+        }
+
+        final List<String> artifacts = tree.getText("/project/dependencies/dependency/artifactId");
+        assertEquals(artifacts.size(), 4990);
+        assertEquals(artifacts.get(0), "artifact-10");
+        assertEquals(tree.getSingleText("/project/dependencies/dependency[artifactId='artifact-4999']/artifactId"), "artifact-4999");
+    }
+
     @Test
     public void shouldFindAttributeValues() {
         final XMLTree tree = XMLTree.from(XML_CONTENT);
@@ -774,6 +774,9 @@ public interface CoreLocalizationConstant extends Messages {
     @Key("project.update.error")
     String projectUpdateError(String projectName);
 
+    @Key("project.init.error")
+    String projectInitError(String projectPath);
+
     @Key("project.status.title")
     String projectStatusTitle();
 
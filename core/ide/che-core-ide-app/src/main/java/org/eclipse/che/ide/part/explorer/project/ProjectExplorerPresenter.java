@@ -62,6 +62,7 @@ import org.eclipse.che.ide.api.project.node.Node;
 import org.eclipse.che.ide.api.selection.Selection;
 import org.eclipse.che.ide.part.explorer.project.ProjectExplorerView.ActionDelegate;
 import org.eclipse.che.ide.part.explorer.project.synchronize.ProjectConfigSynchronizationListener;
+import org.eclipse.che.ide.part.explorer.project.synchronize.ProjectInitListener;
 import org.eclipse.che.ide.project.event.ProjectExplorerLoadedEvent;
 import org.eclipse.che.ide.project.event.ResourceNodeDeletedEvent;
 import org.eclipse.che.ide.project.event.ResourceNodeDeletedEvent.ResourceNodeDeletedHandler;
@@ -142,6 +143,7 @@ public class ProjectExplorerPresenter extends BasePresenter implements ActionDel
                                     ProjectServiceClient projectService,
                                     NotificationManager notificationManager,
                                     ProjectConfigSynchronizationListener synchronizationListener,
+                                    ProjectInitListener projectInitListener,
                                     Provider<EditorAgent> editorAgentProvider) {
         this.view = view;
         this.view.setDelegate(this);
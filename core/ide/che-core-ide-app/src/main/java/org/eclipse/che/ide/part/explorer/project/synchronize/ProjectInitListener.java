@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.part.explorer.project.synchronize;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.web.bindery.event.shared.EventBus;
+
+import org.eclipse.che.api.machine.gwt.client.events.WsAgentStateEvent;
+import org.eclipse.che.api.machine.gwt.client.events.WsAgentStateHandler;
+import org.eclipse.che.api.project.gwt.client.ProjectServiceClient;
+import org.eclipse.che.api.project.shared.dto.event.ProjectInitEvent;
+import org.eclipse.che.api.promises.client.Operation;
+import org.eclipse.che.api.promises.client.OperationException;
+import org.eclipse.che.api.promises.client.PromiseError;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.ide.CoreLocalizationConstant;
+import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.api.event.project.ProjectUpdatedEvent;
+import org.eclipse.che.ide.api.notification.NotificationManager;
+import org.eclipse.che.ide.project.event.ProjectExplorerLoadedEvent;
+import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
+import org.eclipse.che.ide.util.loging.Log;
+import org.eclipse.che.ide.websocket.MessageBusProvider;
+import org.eclipse.che.ide.websocket.WebSocketException;
+import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
+
+import static org.eclipse.che.ide.api.notification.StatusNotification.Status.FAIL;
+
+/**
+ * Listens to the {@link ProjectInitEvent}s which are sent by the workspace agent when init handlers of the project
+ * are finished. Init handlers may change type and attributes of the project, so the project is reloaded and updated
+ * in the project explorer, failed initialization is reported to the user.
+ * <p/>
+ * Subscription is made after the projects are loaded into the project explorer, events which are sent before that
+ * are replayed by the agent.
+ */
+@Singleton
+public class ProjectInitListener implements WsAgentStateHandler, ProjectExplorerLoadedEvent.ProjectExplorerLoadedHandler {
+
+    private final EventBus                 eventBus;
+    private final MessageBusProvider       messageBusProvider;
+    private final ProjectServiceClient     projectService;
+    private final AppContext               appContext;
+    private final NotificationManager      notificationManager;
+    private final CoreLocalizationConstant locale;
+    private final DtoUnmarshallerFactory   dtoUnmarshallerFactory;
+
+    private boolean subscribed;
+
+    @Inject
+    public ProjectInitListener(EventBus eventBus,
+                               MessageBusProvider messageBusProvider,
+                               ProjectServiceClient projectService,
+                               AppContext appContext,
+                               NotificationManager notificationManager,
+                               CoreLocalizationConstant locale,
+                               DtoUnmarshallerFactory dtoUnmarshallerFactory) {
+        this.eventBus = eventBus;
+        this.messageBusProvider = messageBusProvider;
+        this.projectService = projectService;
+        this.appContext = appContext;
+        this.notificationManager = notificationManager;
+        this.locale = locale;
+        this.dtoUnmarshallerFactory = dtoUnmarshallerFactory;
+
+        eventBus.addHandler(WsAgentStateEvent.TYPE, this);
+        eventBus.addHandler(ProjectExplorerLoadedEvent.getType(), this);
+    }
+
+    @Override
+    public void onWsAgentStarted(WsAgentStateEvent event) {
+    }
+
+    @Override
+    public void onWsAgentStopped(WsAgentStateEvent event) {
+        // message bus of the stopped agent is closed, subscribe again when the projects are loaded next time
+        subscribed = false;
+    }
+
+    @Override
+    public void onProjectsLoaded(ProjectExplorerLoadedEvent event) {
+        if (subscribed) {
+            return;
+        }
+        try {
+            messageBusProvider.getMachineMessageBus().subscribe(
+                    ProjectInitEvent.CHANNEL,
+                    new SubscriptionHandler<ProjectInitEvent>(dtoUnmarshallerFactory.newWSUnmarshaller(ProjectInitEvent.class)) {
+                        @Override
+                        protected void onMessageReceived(ProjectInitEvent initEvent) {
+                            onProjectInitialized(initEvent);
+                        }
+
+                        @Override
+                        protected void onErrorReceived(Throwable exception) {
+                            Log.error(getClass(), exception);
+                        }
+                    });
+            subscribed = true;
+        } catch (WebSocketException e) {
+            Log.error(getClass(), e);
+        }
+    }
+
+    private void onProjectInitialized(ProjectInitEvent initEvent) {
+        final String path = initEvent.getPath();
+        if (initEvent.getError() != null) {
+            notificationManager.notify(locale.projectInitError(path), initEvent.getError(), FAIL, true);
+        }
+
+        projectService.getProject(appContext.getWorkspaceId(), path).then(new Operation<ProjectConfigDto>() {
+            @Override
+            public void apply(ProjectConfigDto project) throws OperationException {
+                eventBus.fireEvent(new ProjectUpdatedEvent(path, project));
+            }
+        }).catchError(new Operation<PromiseError>() {
+            @Override
+            public void apply(PromiseError error) throws OperationException {
+                Log.error(ProjectInitListener.class, error.getMessage());
+            }
+        });
+    }
+}
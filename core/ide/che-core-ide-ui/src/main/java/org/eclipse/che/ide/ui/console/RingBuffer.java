@@ -0,0 +1,84 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ui.console;
+
+/**
+ * Keeps the last {@code capacity} items, the oldest item is dropped when new one is added to the full buffer.
+ *
+ * @param <T>
+ *         type of the items
+ */
+public class RingBuffer<T> {
+    private final Object[] items;
+
+    private int  start;
+    private int  size;
+    private long dropped;
+
+    public RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.items = new Object[capacity];
+    }
+
+    /** Adds item to the end of the buffer, drops the first item if the buffer is full. */
+    public void add(T item) {
+        if (size == items.length) {
+            items[start] = item;
+            start = (start + 1) % items.length;
+            dropped++;
+        } else {
+            items[(start + size) % items.length] = item;
+            size++;
+        }
+    }
+
+    /** Replaces the last item of the buffer, adds item if the buffer is empty. */
+    public void replaceLast(T item) {
+        if (size == 0) {
+            add(item);
+        } else {
+            items[(start + size - 1) % items.length] = item;
+        }
+    }
+
+    /** Returns item by its index, the first kept item has index {@code 0}. */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        return (T)items[(start + index) % items.length];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return items.length;
+    }
+
+    /** Returns number of the items dropped from the buffer since it was created or cleared. */
+    public long getDropped() {
+        return dropped;
+    }
+
+    public void clear() {
+        for (int i = 0; i < items.length; i++) {
+            items[i] = null;
+        }
+        start = 0;
+        size = 0;
+        dropped = 0;
+    }
+}
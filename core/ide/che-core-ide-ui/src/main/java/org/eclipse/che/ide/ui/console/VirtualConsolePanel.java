@@ -0,0 +1,252 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ui.console;
+
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.PreElement;
+import com.google.gwt.dom.client.Style;
+import com.google.gwt.event.dom.client.ScrollEvent;
+import com.google.gwt.event.dom.client.ScrollHandler;
+import com.google.gwt.user.client.ui.Composite;
+import com.google.gwt.user.client.ui.FlowPanel;
+import com.google.gwt.user.client.ui.RequiresResize;
+import com.google.gwt.user.client.ui.ScrollPanel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.gwt.dom.client.Style.Unit.PX;
+
+/**
+ * Console which keeps the last {@link #DEFAULT_CAPACITY} lines of output and creates DOM elements for the visible lines only.
+ * <p/>
+ * Every line has the fixed height of {@link #ROW_HEIGHT} pixels and isn't wrapped, so the position of any line is known
+ * without rendering of the lines above it. Printed lines are collected in the buffer and the view is re-rendered
+ * at most once per animation frame.
+ */
+public class VirtualConsolePanel extends Composite implements RequiresResize, ScrollHandler {
+
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    /** Height of the line in pixels. */
+    public static final int ROW_HEIGHT = 16;
+
+    /** Number of the lines rendered above and below the visible area to reduce flickering while scrolling. */
+    private static final int OVERSCAN = 10;
+
+    private final RingBuffer<Line> lines;
+    private final ScrollPanel      scrollPanel;
+    private final FlowPanel        content;
+    private final Element          rows;
+    private final List<PreElement> rowPool;
+
+    /** If true - next printed line should replace the previous one. */
+    private boolean carriageReturn;
+
+    /** Follow the output. Scroll to the bottom automatically when <b>true</b>. */
+    private boolean followOutput = true;
+
+    private boolean renderScheduled;
+    private boolean visibilityCheckScheduled;
+
+    /** Number of the lines dropped from the buffer when the view was rendered last time. */
+    private long renderedDropped;
+
+    public VirtualConsolePanel() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public VirtualConsolePanel(int capacity) {
+        lines = new RingBuffer<>(capacity);
+        rowPool = new ArrayList<>();
+
+        rows = Document.get().createDivElement();
+        rows.getStyle().setPosition(Style.Position.ABSOLUTE);
+        rows.getStyle().setLeft(0, PX);
+        rows.getStyle().setTop(0, PX);
+        rows.getStyle().setProperty("minWidth", "100%");
+
+        content = new FlowPanel();
+        content.getElement().getStyle().setPosition(Style.Position.RELATIVE);
+        content.getElement().appendChild(rows);
+
+        scrollPanel = new ScrollPanel(content);
+        scrollPanel.setSize("100%", "100%");
+        scrollPanel.addScrollHandler(this);
+
+        initWidget(scrollPanel);
+    }
+
+    /**
+     * Prints line. Text which contains line breaks is printed as several lines, since the lines have the fixed height.
+     *
+     * @param text
+     *         text of the line
+     * @param cr
+     *         if {@code true} the next printed line replaces the last line of this text
+     */
+    public void print(String text, boolean cr) {
+        print(text, null, cr);
+    }
+
+    /** Prints line of the given CSS color, text which contains line breaks is printed as several lines. */
+    public void print(String text, String color) {
+        print(text, color, false);
+    }
+
+    private void print(String text, String color, boolean cr) {
+        for (String line : text.split("\n")) {
+            if (carriageReturn) {
+                lines.replaceLast(new Line(line, color));
+            } else {
+                lines.add(new Line(line, color));
+            }
+            carriageReturn = false;
+        }
+        carriageReturn = cr;
+        scheduleRender();
+    }
+
+    /** Removes all the lines. */
+    public void clear() {
+        lines.clear();
+        carriageReturn = false;
+        renderedDropped = 0;
+        scheduleRender();
+    }
+
+    /** Scrolls to the last line and follows the output. */
+    public void scrollToBottom() {
+        followOutput = true;
+        scheduleRender();
+    }
+
+    /** Returns number of the lines kept by the console. */
+    public int getLineCount() {
+        return lines.size();
+    }
+
+    @Override
+    public void onResize() {
+        scheduleRender();
+    }
+
+    @Override
+    public void onScroll(ScrollEvent event) {
+        final Element scroll = scrollPanel.getElement();
+        followOutput = scroll.getScrollTop() + scroll.getClientHeight() >= scroll.getScrollHeight() - ROW_HEIGHT;
+        scheduleRender();
+    }
+
+    @Override
+    protected void onLoad() {
+        scheduleRender();
+    }
+
+    private void scheduleRender() {
+        if (renderScheduled) {
+            return;
+        }
+        renderScheduled = true;
+        AnimationScheduler.get().requestAnimationFrame(new AnimationScheduler.AnimationCallback() {
+            @Override
+            public void execute(double timestamp) {
+                renderScheduled = false;
+                render();
+            }
+        });
+    }
+
+    /** Checks the visibility periodically and renders the view when it's visible. */
+    private void scheduleVisibilityCheck() {
+        if (visibilityCheckScheduled) {
+            return;
+        }
+        visibilityCheckScheduled = true;
+        Scheduler.get().scheduleFixedPeriod(new Scheduler.RepeatingCommand() {
+            @Override
+            public boolean execute() {
+                if (scrollPanel.getElement().getOffsetParent() == null) {
+                    return true;
+                }
+                visibilityCheckScheduled = false;
+                scheduleRender();
+                return false;
+            }
+        }, 500);
+    }
+
+    private void render() {
+        final Element scroll = scrollPanel.getElement();
+        if (scroll.getOffsetParent() == null) {
+            scheduleVisibilityCheck();
+            return;
+        }
+
+        content.getElement().getStyle().setHeight(lines.size() * ROW_HEIGHT, PX);
+
+        final long dropped = lines.getDropped();
+        if (followOutput) {
+            scroll.setScrollTop(scroll.getScrollHeight());
+        } else if (dropped > renderedDropped) {
+            // keep the same lines in the view while the oldest lines are dropped
+            scroll.setScrollTop(Math.max(0, scroll.getScrollTop() - (int)(dropped - renderedDropped) * ROW_HEIGHT));
+        }
+        renderedDropped = dropped;
+
+        final int first = Math.max(0, scroll.getScrollTop() / ROW_HEIGHT - OVERSCAN);
+        final int last = Math.min(lines.size(), first + scroll.getClientHeight() / ROW_HEIGHT + 1 + 2 * OVERSCAN);
+        rows.getStyle().setTop(first * ROW_HEIGHT, PX);
+
+        for (int i = 0; i < rowPool.size() || first + i < last; i++) {
+            if (i == rowPool.size()) {
+                rowPool.add(createRow());
+            }
+            final PreElement row = rowPool.get(i);
+            if (first + i < last) {
+                final Line line = lines.get(first + i);
+                row.setInnerText(line.text.isEmpty() ? " " : line.text);
+                if (line.color == null) {
+                    row.getStyle().clearColor();
+                } else {
+                    row.getStyle().setColor(line.color);
+                }
+                row.getStyle().clearDisplay();
+            } else {
+                row.getStyle().setDisplay(Style.Display.NONE);
+            }
+        }
+    }
+
+    private PreElement createRow() {
+        final PreElement row = Document.get().createPreElement();
+        final Style style = row.getStyle();
+        style.setMargin(0, PX);
+        style.setHeight(ROW_HEIGHT, PX);
+        style.setLineHeight(ROW_HEIGHT, PX);
+        style.setProperty("whiteSpace", "pre");
+        rows.appendChild(row);
+        return row;
+    }
+
+    private static class Line {
+        final String text;
+        final String color;
+
+        Line(String text, String color) {
+            this.text = text;
+            this.color = color;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ui.console;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/** @see RingBuffer */
+public class RingBufferTest {
+
+    @Test
+    public void itemsShouldBeKeptInOrderOfAdding() {
+        RingBuffer<String> buffer = new RingBuffer<>(3);
+
+        buffer.add("a");
+        buffer.add("b");
+
+        assertEquals(2, buffer.size());
+        assertEquals("a", buffer.get(0));
+        assertEquals("b", buffer.get(1));
+    }
+
+    @Test
+    public void oldestItemsShouldBeDroppedWhenBufferIsFull() {
+        RingBuffer<String> buffer = new RingBuffer<>(3);
+
+        for (String item : new String[]{"a", "b", "c", "d", "e"}) {
+            buffer.add(item);
+        }
+
+        assertEquals(3, buffer.size());
+        assertEquals(2, buffer.getDropped());
+        assertEquals("c", buffer.get(0));
+        assertEquals("e", buffer.get(2));
+    }
+
+    @Test
+    public void lastItemShouldBeReplaced() {
+        RingBuffer<String> buffer = new RingBuffer<>(2);
+        buffer.add("a");
+        buffer.add("b");
+        buffer.add("c");
+
+        buffer.replaceLast("d");
+
+        assertEquals(2, buffer.size());
+        assertEquals("b", buffer.get(0));
+        assertEquals("d", buffer.get(1));
+    }
+
+    @Test
+    public void itemShouldBeAddedWhenReplacingInEmptyBuffer() {
+        RingBuffer<String> buffer = new RingBuffer<>(2);
+
+        buffer.replaceLast("a");
+
+        assertEquals(1, buffer.size());
+        assertEquals("a", buffer.get(0));
+    }
+
+    @Test
+    public void bufferShouldBeCleared() {
+        RingBuffer<String> buffer = new RingBuffer<>(2);
+        buffer.add("a");
+        buffer.add("b");
+        buffer.add("c");
+
+        buffer.clear();
+
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.getDropped());
+        buffer.add("d");
+        assertEquals("d", buffer.get(0));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void exceptionShouldBeThrownWhenIndexIsOutOfBuffer() {
+        RingBuffer<String> buffer = new RingBuffer<>(2);
+        buffer.add("a");
+
+        buffer.get(1);
+    }
+}
@@ -18,6 +18,7 @@ import org.eclipse.che.ide.websocket.rest.Unmarshallable;
 
 /**
  * Unmarshaller for websocket messages from machine.
+ * Message may contain several lines of the output separated by {@code '\n'}.
  *
  * @author Artem Zatsarynnyi
  */
@@ -27,11 +28,22 @@ public class OutputMessageUnmarshaller implements Unmarshallable<String> {
     @Override
     public void unmarshal(Message message) {
         final JSONString jsonString = JSONParser.parseStrict(message.getBody()).isString();
-        payload = jsonString.stringValue();
+        final String[] lines = jsonString.stringValue().split("\n", -1);
+        final StringBuilder output = new StringBuilder();
+        for (int i = 0; i < lines.length; i++) {
+            if (i > 0) {
+                output.append('\n');
+            }
+            output.append(removeStreamPrefix(lines[i]));
+        }
+        payload = output.toString();
+    }
 
-        if (payload.startsWith("[STDOUT]") || payload.startsWith("[STDERR]")) {
-            payload = payload.substring(9);
+    private static String removeStreamPrefix(String line) {
+        if (line.startsWith("[STDOUT]") || line.startsWith("[STDERR]")) {
+            return line.substring(9);
         }
+        return line;
     }
 
     @Override
@@ -28,9 +28,10 @@ import javax.inject.Singleton;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.regex.Pattern;
 
 /**
  * @author Eugene Voevodin
@@ -43,9 +44,19 @@ public class LocalPreferenceDaoImpl implements PreferenceDao {
 
     private static final Logger LOG = LoggerFactory.getLogger(LocalPreferenceDaoImpl.class);
 
-    private final Map<String, Map<String, String>> preferences;
-    private final ReadWriteLock                    lock;
-    private final LocalStorage                     preferenceStorage;
+    /** Some file systems keep modification time with the precision of seconds, changes within it don't change the time. */
+    private static final long MODIFICATION_PRECISION_MS = 2000;
+
+    private final Map<String, NavigableMap<String, String>> preferences;
+    private final ReadWriteLock                             lock;
+    private final LocalStorage                              preferenceStorage;
+
+    /** Modification time of the storage file when it was loaded last time. */
+    private long loadedModification;
+    /** Size of the storage file when it was loaded last time. */
+    private long loadedLength;
+    /** Time when the storage file was loaded last time. */
+    private long loadedAt;
 
     @Inject
     public LocalPreferenceDaoImpl(LocalStorageFactory localStorageFactory) throws IOException {
@@ -56,10 +67,10 @@ public class LocalPreferenceDaoImpl implements PreferenceDao {
 
     @PostConstruct
     private void start() {
-        preferences.putAll(preferenceStorage.loadMap(new TypeToken<Map<String, Map<String, String>>>() {}));
+        load();
         // Add default entry if file doesn't exist or invalid or empty.
         if (preferences.isEmpty()) {
-            final Map<String, String> newPreferences = new HashMap<>(4);
+            final NavigableMap<String, String> newPreferences = new TreeMap<>();
             newPreferences.put("preference1", "value");
             newPreferences.put("preference2", "value");
             preferences.put("codenvy", newPreferences);
@@ -75,8 +86,11 @@ public class LocalPreferenceDaoImpl implements PreferenceDao {
     public void setPreferences(String userId, Map<String, String> prefs) throws ServerException, NotFoundException {
         lock.writeLock().lock();
         try {
-            preferences.put(userId, new HashMap<>(prefs));
+            preferences.put(userId, new TreeMap<>(prefs));
             preferenceStorage.store(preferences);
+            loadedModification = preferenceStorage.lastModified();
+            loadedLength = preferenceStorage.length();
+            loadedAt = System.currentTimeMillis();
         } catch (IOException e) {
             LOG.warn("Impossible to store preferences");
         } finally {
@@ -86,10 +100,9 @@ public class LocalPreferenceDaoImpl implements PreferenceDao {
 
     @Override
     public Map<String, String> getPreferences(String userId) throws ServerException {
+        reloadIfModified();
         lock.readLock().lock();
         try {
-            //Need read all new preferences without restarting dev-machine. It is needed for  IDEX-2180
-            preferences.putAll(preferenceStorage.loadMap(new TypeToken<Map<String, Map<String, String>>>() {}));
             final Map<String, String> prefs = new HashMap<>();
             if (preferences.containsKey(userId)) {
                 prefs.putAll(preferences.get(userId));
@@ -102,25 +115,19 @@ public class LocalPreferenceDaoImpl implements PreferenceDao {
 
     @Override
     public Map<String, String> getPreferences(String userId, String filter) throws ServerException {
+        reloadIfModified();
         lock.readLock().lock();
         try {
-            return filter(getPreferences(userId), filter);
+            final NavigableMap<String, String> prefs = preferences.get(userId);
+            if (prefs == null) {
+                return new HashMap<>();
+            }
+            return PreferenceFilter.filter(prefs, filter);
         } finally {
             lock.readLock().unlock();
         }
     }
 
-    private Map<String, String> filter(Map<String, String> prefs, String filter) {
-        final Map<String, String> filtered = new HashMap<>();
-        final Pattern pattern = Pattern.compile(filter);
-        for (Map.Entry<String, String> entry : prefs.entrySet()) {
-            if (pattern.matcher(entry.getKey()).matches()) {
-                filtered.put(entry.getKey(), entry.getValue());
-            }
-        }
-        return filtered;
-    }
-
     @Override
     public void remove(String userId) throws ServerException {
         lock.writeLock().lock();
@@ -130,4 +137,51 @@ public class LocalPreferenceDaoImpl implements PreferenceDao {
             lock.writeLock().unlock();
         }
     }
+
+    /**
+     * Need read all new preferences without restarting dev-machine. It is needed for IDEX-2180.
+     * Storage is read again only when it may be modified since the last load.
+     */
+    private void reloadIfModified() {
+        lock.readLock().lock();
+        try {
+            if (!isModified()) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (isModified()) {
+                load();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Storage is considered modified if its modification time or size differs from the loaded one. If storage was loaded
+     * within the precision of modification time after it was modified, the next change may keep both time and size, so
+     * storage is considered modified until it is loaded later.
+     */
+    private boolean isModified() {
+        return preferenceStorage.lastModified() != loadedModification
+               || preferenceStorage.length() != loadedLength
+               || loadedAt - loadedModification < MODIFICATION_PRECISION_MS;
+    }
+
+    private void load() {
+        final long now = System.currentTimeMillis();
+        final long modification = preferenceStorage.lastModified();
+        final long length = preferenceStorage.length();
+        final Map<String, Map<String, String>> stored = preferenceStorage.loadMap(new TypeToken<Map<String, Map<String, String>>>() {});
+        for (Map.Entry<String, Map<String, String>> entry : stored.entrySet()) {
+            preferences.put(entry.getKey(), new TreeMap<>(entry.getValue()));
+        }
+        loadedModification = modification;
+        loadedLength = length;
+        loadedAt = now;
+    }
 }
@@ -11,6 +11,7 @@
 package org.eclipse.che.api.local;
 
 
+import com.google.common.base.Functions;
 import com.google.common.base.Predicate;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableMap;
@@ -33,9 +34,9 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.inject.Singleton;
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -44,6 +45,9 @@ import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toMap;
 
 /**
+ * Recipes are kept sorted by identifier and indexed by tags, search intersects
+ * the index, filters the matched recipes by type and then applies paging.
+ *
  * @author Eugene Voevodin
  * @author Anton Korneta
  */
@@ -51,6 +55,7 @@ import static java.util.stream.Collectors.toMap;
 public class LocalRecipeDaoImpl implements RecipeDao {
 
     private final Map<String, ManagedRecipe> recipes;
+    private final TagIndex                   tagIndex;
     private final ReadWriteLock              lock;
     private final LocalStorage               recipeStorage;
 
@@ -58,13 +63,22 @@ public class LocalRecipeDaoImpl implements RecipeDao {
     public LocalRecipeDaoImpl(LocalStorageFactory storageFactory) throws IOException {
         Map<Class<?>, Object> adapters = ImmutableMap.of(Permissions.class, new PermissionsAdapter(), Group.class, new GroupAdapter());
         this.recipeStorage = storageFactory.create("recipes.json", adapters);
-        this.recipes = new HashMap<>();
+        this.recipes = new TreeMap<>();
+        this.tagIndex = new TagIndex();
         lock = new ReentrantReadWriteLock();
     }
 
     @PostConstruct
     public void start() {
-        recipes.putAll(recipeStorage.loadMap(new TypeToken<Map<String, RecipeImpl>>() {}));
+        lock.writeLock().lock();
+        try {
+            recipes.putAll(recipeStorage.loadMap(new TypeToken<Map<String, RecipeImpl>>() {}));
+            for (ManagedRecipe recipe : recipes.values()) {
+                tagIndex.put(recipe.getId(), recipe.getTags());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
     }
 
     @PreDestroy
@@ -85,6 +99,7 @@ public class LocalRecipeDaoImpl implements RecipeDao {
                 throw new ConflictException(format("Recipe with id %s already exists", recipe.getId()));
             }
             recipes.put(recipe.getId(), recipe);
+            tagIndex.put(recipe.getId(), recipe.getTags());
         } finally {
             lock.writeLock().unlock();
         }
@@ -112,6 +127,7 @@ public class LocalRecipeDaoImpl implements RecipeDao {
             }
             if (!update.getTags().isEmpty()) {
                 target.setTags(update.getTags());
+                tagIndex.put(target.getId(), target.getTags());
             }
         } finally {
             lock.writeLock().unlock();
@@ -123,6 +139,7 @@ public class LocalRecipeDaoImpl implements RecipeDao {
         lock.writeLock().lock();
         try {
             recipes.remove(id);
+            tagIndex.remove(id);
         } finally {
             lock.writeLock().unlock();
         }
@@ -146,15 +163,20 @@ public class LocalRecipeDaoImpl implements RecipeDao {
     public List<ManagedRecipe> search(final List<String> tags, final String type, int skipCount, int maxItems) {
         lock.readLock().lock();
         try {
-            return FluentIterable.from(recipes.values())
-                                 .skip(skipCount)
+            final Iterable<ManagedRecipe> candidates;
+            if (tags == null || tags.isEmpty()) {
+                candidates = recipes.values();
+            } else {
+                candidates = FluentIterable.from(tagIndex.find(tags)).transform(Functions.forMap(recipes));
+            }
+            return FluentIterable.from(candidates)
                                  .filter(new Predicate<ManagedRecipe>() {
                                      @Override
                                      public boolean apply(ManagedRecipe recipe) {
-                                         return (tags == null || recipe.getTags().containsAll(tags))
-                                                && (type == null || type.equals(recipe.getType()));
+                                         return type == null || type.equals(recipe.getType());
                                      }
                                  })
+                                 .skip(skipCount)
                                  .limit(maxItems)
                                  .toList();
         } finally {
@@ -167,13 +189,13 @@ public class LocalRecipeDaoImpl implements RecipeDao {
         lock.readLock().lock();
         try {
             return FluentIterable.from(recipes.values())
-                                 .skip(skipCount)
                                  .filter(new Predicate<ManagedRecipe>() {
                                      @Override
                                      public boolean apply(ManagedRecipe recipe) {
                                          return recipe.getCreator().equals(creator);
                                      }
                                  })
+                                 .skip(skipCount)
                                  .limit(maxItems)
                                  .toList();
         } finally {
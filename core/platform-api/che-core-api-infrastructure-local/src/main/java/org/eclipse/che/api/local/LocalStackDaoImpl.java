@@ -27,11 +27,12 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import java.io.IOException;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
 
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
@@ -40,6 +41,9 @@ import static java.util.stream.Collectors.toList;
 /**
  * Implementation local storage for {@link Stack}
  *
+ * <p>Stacks are kept sorted by identifier and indexed by tags, search intersects
+ * the index and then applies paging to the matched stacks.
+ *
  * @author Alexander Andrienko
  */
 @Singleton
@@ -47,20 +51,23 @@ public class LocalStackDaoImpl implements StackDao {
 
     private final StackLocalStorage      stackStorage;
     private final Map<String, StackImpl> stacks;
+    private final TagIndex               tagIndex;
     private final ReadWriteLock          lock;
 
     @Inject
     public LocalStackDaoImpl(StackLocalStorage stackLocalStorage) throws IOException {
         this.stackStorage = stackLocalStorage;
-        this.stacks = new HashMap<>();
+        this.stacks = new TreeMap<>();
+        this.tagIndex = new TagIndex();
         this.lock = new ReentrantReadWriteLock();
     }
 
     @PostConstruct
     public void start() {
-        lock.readLock().lock();
+        lock.writeLock().lock();
         stacks.putAll(stackStorage.loadMap());
-        lock.readLock().unlock();
+        stacks.values().forEach(stack -> tagIndex.put(stack.getId(), stack.getTags()));
+        lock.writeLock().unlock();
     }
 
     @PreDestroy
@@ -79,6 +86,7 @@ public class LocalStackDaoImpl implements StackDao {
                 throw new ConflictException(format("Stack with id %s is already exist", stack.getId()));
             }
             stacks.put(stack.getId(), stack);
+            tagIndex.put(stack.getId(), stack.getTags());
         } finally {
             lock.writeLock().unlock();
         }
@@ -105,6 +113,7 @@ public class LocalStackDaoImpl implements StackDao {
         lock.writeLock().lock();
         try {
             stacks.remove(id);
+            tagIndex.remove(id);
         } finally {
             lock.writeLock().unlock();
         }
@@ -121,6 +130,7 @@ public class LocalStackDaoImpl implements StackDao {
                 throw new NotFoundException(format("Stack with id %s was not found", updateId));
             }
             stacks.replace(updateId, update);
+            tagIndex.put(updateId, update.getTags());
         } finally {
             lock.writeLock().unlock();
         }
@@ -132,8 +142,8 @@ public class LocalStackDaoImpl implements StackDao {
         lock.readLock().lock();
         try {
             return stacks.values().stream()
-                         .skip(skipCount)
                          .filter(stack -> creator.equals(stack.getCreator()))
+                         .skip(skipCount)
                          .limit(maxItems)
                          .map(StackImpl::new)
                          .collect(toList());
@@ -146,12 +156,16 @@ public class LocalStackDaoImpl implements StackDao {
     public List<StackImpl> searchStacks(@Nullable List<String> tags, int skipCount, int maxItems) {
         lock.readLock().lock();
         try {
-            return stacks.values().stream()
-                         .skip(skipCount)
-                         .filter(decoratedStack -> tags == null || decoratedStack.getTags().containsAll(tags))
-                         .limit(maxItems)
-                         .map(StackImpl::new)
-                         .collect(toList());
+            final Stream<StackImpl> matched;
+            if (tags == null || tags.isEmpty()) {
+                matched = stacks.values().stream();
+            } else {
+                matched = tagIndex.find(tags).stream().map(stacks::get);
+            }
+            return matched.skip(skipCount)
+                          .limit(maxItems)
+                          .map(StackImpl::new)
+                          .collect(toList());
         } finally {
             lock.readLock().unlock();
         }
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local;
+
+import org.eclipse.che.api.core.ServerException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Selects preferences which names match the filter, filter is a regular expression which must match the whole name.
+ *
+ * <p>Most of the filters are prefixes, like {@code ^git\..*}, such filters are answered by the range scan
+ * of the sorted preferences, so cost of the filtering depends on the number of matched preferences only.
+ * Other filters are compiled once and kept in the bounded cache.
+ */
+final class PreferenceFilter {
+
+    private static final int                  PATTERNS_CACHE_SIZE = 128;
+    private static final Map<String, Pattern> PATTERNS            = Collections.synchronizedMap(
+            new LinkedHashMap<String, Pattern>(PATTERNS_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+                    return size() > PATTERNS_CACHE_SIZE;
+                }
+            });
+
+    /**
+     * Returns preferences which names match the filter.
+     *
+     * @param preferences
+     *         preferences sorted by name
+     * @param filter
+     *         regular expression
+     * @return new map of the matched preferences
+     * @throws ServerException
+     *         when filter is not a valid regular expression
+     */
+    static Map<String, String> filter(NavigableMap<String, String> preferences, String filter) throws ServerException {
+        final Map<String, String> filtered = new HashMap<>();
+        final String prefix = getPrefix(filter);
+        if (prefix != null) {
+            for (Map.Entry<String, String> entry : preferences.tailMap(prefix, true).entrySet()) {
+                if (!entry.getKey().startsWith(prefix)) {
+                    break;
+                }
+                // '.' doesn't match line terminators
+                if (!hasLineTerminator(entry.getKey(), prefix.length())) {
+                    filtered.put(entry.getKey(), entry.getValue());
+                }
+            }
+        } else {
+            final Pattern pattern = getPattern(filter);
+            for (Map.Entry<String, String> entry : preferences.entrySet()) {
+                if (pattern.matcher(entry.getKey()).matches()) {
+                    filtered.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Returns the literal prefix if the filter has form {@code [^]prefix.*} and {@code null} otherwise.
+     * Prefix may contain escaped characters, e.g. {@code git\.}.
+     */
+    static String getPrefix(String filter) {
+        final int start = filter.startsWith("^") ? 1 : 0;
+        if (!filter.endsWith(".*") || filter.length() - 2 < start) {
+            return null;
+        }
+        final int end = filter.length() - 2;
+        final StringBuilder prefix = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            final char c = filter.charAt(i);
+            if (c == '\\') {
+                if (i + 1 == end || Character.isLetterOrDigit(filter.charAt(i + 1))) {
+                    // \d, \Q, back references etc.
+                    return null;
+                }
+                prefix.append(filter.charAt(++i));
+            } else if ("^$.|?*+()[]{}".indexOf(c) != -1) {
+                return null;
+            } else {
+                prefix.append(c);
+            }
+        }
+        return prefix.toString();
+    }
+
+    private static Pattern getPattern(String filter) throws ServerException {
+        Pattern pattern = PATTERNS.get(filter);
+        if (pattern == null) {
+            try {
+                pattern = Pattern.compile(filter);
+            } catch (PatternSyntaxException ex) {
+                throw new ServerException("Invalid preferences filter '" + filter + "'", ex);
+            }
+            PATTERNS.put(filter, pattern);
+        }
+        return pattern;
+    }
+
+    private static boolean hasLineTerminator(String name, int from) {
+        for (int i = from; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            if (c == '\n' || c == '\r' || c == 0x85 || c == 0x2028 || c == 0x2029) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private PreferenceFilter() {}
+}
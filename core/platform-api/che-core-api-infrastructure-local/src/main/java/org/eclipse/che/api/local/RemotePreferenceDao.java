@@ -16,7 +16,9 @@ import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.core.rest.HttpJsonRequest;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.eclipse.che.api.core.rest.HttpJsonResponse;
 import org.eclipse.che.api.user.server.UserProfileService;
 import org.eclipse.che.api.user.server.dao.PreferenceDao;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -24,27 +26,52 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableNavigableMap;
 import static java.util.Objects.requireNonNull;
 
 /**
  * Delegates calls to {@link UserProfileService}.
  *
+ * <p>Preferences of the user are cached after the first read and updated with the response of each write.
+ * Cached preferences are used as is during {@code che.user.preferences.cache_ttl_ms}, then they are revalidated
+ * with conditional request, so unchanged preferences aren't transferred again.
+ * Filtered preferences are selected from the cached ones while they are not expired, see {@link PreferenceFilter},
+ * otherwise filter is passed to the {@link UserProfileService}.
+ *
  * @author Yevhenii Voevodin
  */
 @Singleton
 public class RemotePreferenceDao implements PreferenceDao {
 
-    private final String                 prefsUrl;
-    private final HttpJsonRequestFactory requestFactory;
+    private final String                                 prefsUrl;
+    private final HttpJsonRequestFactory                 requestFactory;
+    private final long                                   cacheTtlMs;
+    private final ConcurrentMap<String, CachedPreferences> cache;
 
     @Inject
-    public RemotePreferenceDao(@Named("api.endpoint") String apiUrl, HttpJsonRequestFactory requestFactory) {
+    public RemotePreferenceDao(@Named("api.endpoint") String apiUrl,
+                               HttpJsonRequestFactory requestFactory,
+                               @Named("che.user.preferences.cache_ttl_ms") long cacheTtlMs) {
         this.prefsUrl = apiUrl + "/profile/prefs";
         this.requestFactory = requestFactory;
+        this.cacheTtlMs = cacheTtlMs;
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    public RemotePreferenceDao(String apiUrl, HttpJsonRequestFactory requestFactory) {
+        this(apiUrl, requestFactory, 0);
     }
 
     @Override
@@ -52,11 +79,19 @@ public class RemotePreferenceDao implements PreferenceDao {
         requireNonNull(preferences, "Required non-null preferences");
         checkUserId(requireNonNull(userId, "Required non-null user id"));
         try {
-            requestFactory.fromUrl(prefsUrl)
-                          .usePostMethod()
-                          .setBody(preferences)
-                          .request();
+            final HttpJsonResponse response = requestFactory.fromUrl(prefsUrl)
+                                                            .usePostMethod()
+                                                            .setBody(preferences)
+                                                            .request();
+            // service responds with all the preferences of the user
+            final Map<String, String> updated = response.asProperties();
+            if (updated != null) {
+                cache.put(userId, new CachedPreferences(updated, getETag(response)));
+            } else {
+                cache.remove(userId);
+            }
         } catch (IOException | UnauthorizedException | ForbiddenException | ConflictException | NotFoundException | BadRequestException ex) {
+            cache.remove(userId);
             throw new ServerException(ex.getLocalizedMessage(), ex);
         }
     }
@@ -64,20 +99,17 @@ public class RemotePreferenceDao implements PreferenceDao {
     @Override
     public Map<String, String> getPreferences(String userId) throws ServerException {
         checkUserId(requireNonNull(userId, "Required non-null user id"));
-        try {
-            return requestFactory.fromUrl(prefsUrl)
-                                 .useGetMethod()
-                                 .request()
-                                 .asProperties();
-        } catch (IOException | UnauthorizedException | ForbiddenException | ConflictException | NotFoundException | BadRequestException ex) {
-            throw new ServerException(ex.getLocalizedMessage(), ex);
-        }
+        return new HashMap<>(getCached(userId).preferences);
     }
 
     @Override
     public Map<String, String> getPreferences(String userId, String filter) throws ServerException {
         requireNonNull(filter, "Required non-null filter");
         checkUserId(requireNonNull(userId, "Required non-null user id"));
+        final CachedPreferences cached = getFresh(userId);
+        if (cached != null) {
+            return PreferenceFilter.filter(cached.preferences, filter);
+        }
         try {
             return requestFactory.fromUrl(prefsUrl)
                                  .useGetMethod()
@@ -95,6 +127,7 @@ public class RemotePreferenceDao implements PreferenceDao {
     @Override
     public void remove(String userId) throws ServerException {
         checkUserId(requireNonNull(userId, "Required non-null user id"));
+        cache.remove(userId);
         try {
             requestFactory.fromUrl(prefsUrl)
                           .useDeleteMethod()
@@ -104,6 +137,63 @@ public class RemotePreferenceDao implements PreferenceDao {
         }
     }
 
+    /** Drops cached preferences of the user, so the next read fetches them from the master. */
+    public void invalidate(String userId) {
+        cache.remove(userId);
+    }
+
+    /**
+     * Returns cached preferences of the user, if they are expired revalidates them with
+     * conditional request which responds with the preferences only if they were changed.
+     */
+    private CachedPreferences getCached(String userId) throws ServerException {
+        final CachedPreferences fresh = getFresh(userId);
+        if (fresh != null) {
+            return fresh;
+        }
+        final CachedPreferences cached = cache.get(userId);
+        try {
+            final HttpJsonRequest request = requestFactory.fromUrl(prefsUrl).useGetMethod();
+            if (cached != null && cached.etag != null) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, cached.etag);
+            }
+            final HttpJsonResponse response = request.request();
+            final CachedPreferences actual;
+            if (cached != null && response.getResponseCode() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+                actual = new CachedPreferences(cached.preferences, cached.etag);
+            } else {
+                final Map<String, String> preferences = response.asProperties();
+                actual = new CachedPreferences(preferences == null ? emptyMap() : preferences, getETag(response));
+            }
+            // preferences may be updated concurrently, keep the written ones
+            if (cached == null ? cache.putIfAbsent(userId, actual) == null : cache.replace(userId, cached, actual)) {
+                return actual;
+            }
+            final CachedPreferences concurrent = cache.get(userId);
+            return concurrent != null ? concurrent : actual;
+        } catch (IOException | UnauthorizedException | ForbiddenException | ConflictException | NotFoundException | BadRequestException ex) {
+            throw new ServerException(ex.getLocalizedMessage(), ex);
+        }
+    }
+
+    /** Returns cached preferences of the user if they are not expired yet, otherwise returns {@code null}. */
+    private CachedPreferences getFresh(String userId) {
+        final CachedPreferences cached = cache.get(userId);
+        if (cached != null && System.currentTimeMillis() - cached.validatedAt < cacheTtlMs) {
+            return cached;
+        }
+        return null;
+    }
+
+    private static String getETag(HttpJsonResponse response) {
+        final Map<String, List<String>> headers = response.getHeaders();
+        if (headers == null) {
+            return null;
+        }
+        final List<String> values = headers.get(HttpHeaders.ETAG);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
     /**
      * Checks that {@code userId} is equal to current user id.
      */
@@ -112,5 +202,16 @@ public class RemotePreferenceDao implements PreferenceDao {
             throw new ServerException("This method is not allowed for user '" + userId + "'");
         }
     }
-}
 
+    private static class CachedPreferences {
+        final NavigableMap<String, String> preferences;
+        final String                       etag;
+        final long                         validatedAt;
+
+        CachedPreferences(Map<String, String> preferences, String etag) {
+            this.preferences = unmodifiableNavigableMap(new TreeMap<>(preferences));
+            this.etag = etag;
+            this.validatedAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Inverted index of the tagged objects, maps each tag to the sorted set of identifiers of the objects marked with it.
+ *
+ * <p>Search by tags intersects sets of the given tags starting from the smallest one,
+ * so its cost depends on the number of objects marked with the rarest tag rather than on the number of all objects.
+ * Identifiers are returned in the natural order, so pages of the search results are stable.
+ *
+ * <p>The index is not thread-safe, callers must guard it with the same lock as the indexed objects.
+ */
+class TagIndex {
+
+    private final Map<String, NavigableSet<String>> idsByTag;
+    private final Map<String, Set<String>>          tagsById;
+
+    TagIndex() {
+        this.idsByTag = new HashMap<>();
+        this.tagsById = new HashMap<>();
+    }
+
+    /** Indexes object with given identifier by its tags, replaces previously indexed tags of the object. */
+    void put(String id, Collection<String> tags) {
+        remove(id);
+        if (tags == null || tags.isEmpty()) {
+            return;
+        }
+        final Set<String> indexed = new HashSet<>(tags);
+        for (String tag : indexed) {
+            idsByTag.computeIfAbsent(tag, key -> new TreeSet<>()).add(id);
+        }
+        tagsById.put(id, indexed);
+    }
+
+    /** Removes object with given identifier from the index. */
+    void remove(String id) {
+        final Set<String> tags = tagsById.remove(id);
+        if (tags == null) {
+            return;
+        }
+        for (String tag : tags) {
+            final NavigableSet<String> ids = idsByTag.get(tag);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                idsByTag.remove(tag);
+            }
+        }
+    }
+
+    /**
+     * Returns sorted identifiers of the objects marked with all the given tags.
+     *
+     * @param tags
+     *         tags to search, must not be empty
+     */
+    List<String> find(Collection<String> tags) {
+        final List<NavigableSet<String>> sets = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            final NavigableSet<String> ids = idsByTag.get(tag);
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+            sets.add(ids);
+        }
+        NavigableSet<String> smallest = sets.get(0);
+        for (NavigableSet<String> ids : sets) {
+            if (ids.size() < smallest.size()) {
+                smallest = ids;
+            }
+        }
+        final List<String> result = new ArrayList<>();
+        for (String id : smallest) {
+            boolean matches = true;
+            for (NavigableSet<String> ids : sets) {
+                if (ids != smallest && !ids.contains(id)) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+}
@@ -61,6 +61,20 @@ public class LocalStorage {
         gson = builder.setPrettyPrinting().create();
     }
 
+    /**
+     * Returns time of the last modification of the json file in milliseconds or 0 if file doesn't exist.
+     */
+    public long lastModified() {
+        return storedFile.lastModified();
+    }
+
+    /**
+     * Returns size of the json file in bytes or 0 if file doesn't exist.
+     */
+    public long length() {
+        return storedFile.length();
+    }
+
     public void store(Object storedObj) throws IOException {
         try (Writer writer = Files.newWriter(storedFile, Charset.forName("UTF-8"))) {
             gson.toJson(storedObj, writer);
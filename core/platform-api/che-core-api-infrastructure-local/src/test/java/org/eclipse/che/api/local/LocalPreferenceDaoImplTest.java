@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local;
+
+import org.eclipse.che.api.local.storage.LocalStorageFactory;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.Files.readAllBytes;
+import static java.nio.file.Files.write;
+import static java.util.Collections.singletonMap;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+
+/**
+ * Tests reloading of the preferences modified outside of {@link LocalPreferenceDaoImpl}.
+ */
+public class LocalPreferenceDaoImplTest {
+
+    LocalPreferenceDaoImpl preferenceDao;
+    File                   preferencesFile;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        final URL url = Thread.currentThread().getContextClassLoader().getResource(".");
+        assertNotNull(url);
+        final Path storageRoot = Paths.get(url.toURI()).getParent().resolve("preferences");
+        preferencesFile = storageRoot.resolve("preferences.json").toFile();
+        preferencesFile.delete();
+        preferenceDao = new LocalPreferenceDaoImpl(new LocalStorageFactory(storageRoot.toString()));
+        preferenceDao.setPreferences("user123", singletonMap("key", "value"));
+    }
+
+    @Test
+    public void shouldReloadPreferencesWhenSizeOfFileIsChangedWithinSameModificationTime() throws Exception {
+        rewriteKeepingModificationTime("{\"user123\":{\"key\":\"new value\"}}");
+
+        assertEquals(preferenceDao.getPreferences("user123"), singletonMap("key", "new value"));
+    }
+
+    @Test
+    public void shouldReloadPreferencesWhenFileIsChangedWithinPrecisionOfModificationTime() throws Exception {
+        // the same size as the stored content
+        rewriteKeepingModificationTime(new String(readAllBytes(preferencesFile.toPath()), UTF_8).replace("value", "VALUE"));
+
+        assertEquals(preferenceDao.getPreferences("user123"), singletonMap("key", "VALUE"));
+    }
+
+    private void rewriteKeepingModificationTime(String content) throws Exception {
+        final long modification = preferencesFile.lastModified();
+        write(preferencesFile.toPath(), content.getBytes(UTF_8));
+        preferencesFile.setLastModified(modification);
+    }
+}
@@ -42,8 +42,11 @@ import java.util.Map;
 import static java.nio.file.Files.readAllBytes;
 import static java.nio.file.Files.write;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Test for {@link LocalStackDaoImpl}
@@ -106,6 +109,37 @@ public class LocalStackDaoTest {
         assertEquals(result, stack);
     }
 
+    @Test
+    public void shouldFilterStacksByTagsBeforePaging() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            stackDao.create(StackImpl.builder()
+                                     .setId("stack" + i)
+                                     .setName("stack" + i)
+                                     .setCreator("User")
+                                     .setTags(i % 2 == 0 ? asList("java", "maven") : singletonList("php"))
+                                     .setSource(new StackSourceImpl("image", "codenvy/ubuntu_jdk8"))
+                                     .build());
+        }
+
+        final List<StackImpl> firstPage = stackDao.searchStacks(singletonList("java"), 0, 3);
+        final List<StackImpl> secondPage = stackDao.searchStacks(asList("maven", "java"), 3, 3);
+
+        assertEquals(firstPage.stream().map(StackImpl::getId).collect(toList()), asList("stack0", "stack2", "stack4"));
+        assertEquals(secondPage.stream().map(StackImpl::getId).collect(toList()), asList("stack6", "stack8"));
+    }
+
+    @Test
+    public void shouldSearchStacksByUpdatedTags() throws Exception {
+        final StackImpl stack = createStack();
+        stackDao.create(stack);
+
+        stack.setTags(singletonList("go"));
+        stackDao.update(stack);
+
+        assertTrue(stackDao.searchStacks(singletonList("java"), 0, 10).isEmpty());
+        assertEquals(stackDao.searchStacks(singletonList("go"), 0, 10).size(), 1);
+    }
+
     private void createStackIcon() throws IOException {
         Files.createDirectories(parentIconFolder);
         Files.write(pathToIcon, SVG_ICON.getBytes());
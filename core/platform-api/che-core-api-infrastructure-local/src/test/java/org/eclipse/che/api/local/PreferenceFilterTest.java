@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local;
+
+import org.eclipse.che.api.core.ServerException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests of {@link PreferenceFilter}.
+ */
+public class PreferenceFilterTest {
+
+    @Test(dataProvider = "prefixes")
+    public void shouldRecognizePrefixFilters(String filter, String prefix) {
+        assertEquals(PreferenceFilter.getPrefix(filter), prefix);
+    }
+
+    @Test(dataProvider = "regexps")
+    public void shouldNotRecognizeRegexpsAsPrefixFilters(String filter) {
+        assertNull(PreferenceFilter.getPrefix(filter));
+    }
+
+    @Test(dataProvider = "filters")
+    public void shouldFilterTheSameWayAsRegexp(String filter) throws Exception {
+        final TreeMap<String, String> preferences = new TreeMap<>();
+        preferences.put("git.committer.name", "name");
+        preferences.put("git.committer.email", "email");
+        preferences.put("gitx", "value");
+        preferences.put("git", "value");
+        preferences.put("git.multi\nline", "value");
+        preferences.put("theme", "dark");
+        preferences.put("che.git.enabled", "true");
+
+        final Map<String, String> expected = new HashMap<>();
+        for (Map.Entry<String, String> entry : preferences.entrySet()) {
+            if (Pattern.compile(filter).matcher(entry.getKey()).matches()) {
+                expected.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        assertEquals(PreferenceFilter.filter(preferences, filter), expected);
+    }
+
+    @Test(expectedExceptions = ServerException.class)
+    public void shouldThrowServerExceptionIfFilterIsNotValidRegexp() throws Exception {
+        final TreeMap<String, String> preferences = new TreeMap<>();
+        preferences.put("git", "value");
+
+        PreferenceFilter.filter(preferences, "git(");
+    }
+
+    @DataProvider(name = "prefixes")
+    public Object[][] prefixes() {
+        return new Object[][] {
+                {"^git\\..*", "git."},
+                {"git\\..*", "git."},
+                {"git.*", "git"},
+                {".*", ""},
+                {"^.*", ""}
+        };
+    }
+
+    @DataProvider(name = "regexps")
+    public Object[][] regexps() {
+        return new Object[][] {
+                {"git"},
+                {"git.committer.*"},
+                {"(?i)git.*"},
+                {"git\\w.*"},
+                {".*git.*"},
+                {"git.*$"}
+        };
+    }
+
+    @DataProvider(name = "filters")
+    public Object[][] filters() {
+        return new Object[][] {
+                {"^git\\..*"},
+                {"git.*"},
+                {".*"},
+                {".*git.*"},
+                {"git\\.committer\\.(name|email)"},
+                {"theme"}
+        };
+    }
+}
@@ -31,13 +31,18 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.RETURNS_DEFAULTS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -96,6 +101,101 @@ public class RemotePreferenceDaoTest {
         assertEquals(result, prefs);
     }
 
+    @Test
+    public void shouldFilterCachedPreferencesWithoutRequest() throws Exception {
+        preferenceDao = new RemotePreferenceDao(API_ENDPOINT, requestFactory, 60_000);
+        final Map<String, String> prefs = new HashMap<>();
+        prefs.put("name", "value");
+        prefs.put("other", "value");
+        when(response.asProperties()).thenReturn(prefs);
+        preferenceDao.getPreferences(TEST_USER.getId());
+
+        final Map<String, String> result = preferenceDao.getPreferences(TEST_USER.getId(), "na.*");
+
+        assertEquals(result, singletonMap("name", "value"));
+        verify(request, times(1)).request();
+        verify(request, never()).addQueryParam(anyString(), anyObject());
+    }
+
+    @Test
+    public void shouldPassFilterToServiceIfPreferencesAreNotCached() throws Exception {
+        preferenceDao.getPreferences(TEST_USER.getId(), "na.*");
+
+        verify(request).addQueryParam("filter", "na.*");
+    }
+
+    @Test(expectedExceptions = ServerException.class)
+    public void shouldThrowServerExceptionIfFilterOfCachedPreferencesIsInvalid() throws Exception {
+        preferenceDao = new RemotePreferenceDao(API_ENDPOINT, requestFactory, 60_000);
+        when(response.asProperties()).thenReturn(singletonMap("name", "value"));
+        preferenceDao.getPreferences(TEST_USER.getId());
+
+        preferenceDao.getPreferences(TEST_USER.getId(), "na(");
+    }
+
+    @Test
+    public void shouldNotRequestCachedPreferencesUntilTheyExpire() throws Exception {
+        preferenceDao = new RemotePreferenceDao(API_ENDPOINT, requestFactory, 60_000);
+        final Map<String, String> prefs = singletonMap("name", "value");
+        when(response.asProperties()).thenReturn(prefs);
+
+        preferenceDao.getPreferences(TEST_USER.getId());
+        final Map<String, String> result = preferenceDao.getPreferences(TEST_USER.getId(), "name");
+
+        assertEquals(result, prefs);
+        verify(request, times(1)).request();
+    }
+
+    @Test
+    public void shouldRevalidateExpiredPreferencesWithETag() throws Exception {
+        final Map<String, String> prefs = singletonMap("name", "value");
+        when(response.asProperties()).thenReturn(prefs);
+        when(response.getHeaders()).thenReturn(singletonMap("ETag", singletonList("\"tag\"")));
+        preferenceDao.getPreferences(TEST_USER.getId());
+
+        final HttpJsonResponse notModified = mock(HttpJsonResponse.class);
+        when(notModified.getResponseCode()).thenReturn(304);
+        when(request.request()).thenReturn(notModified);
+        final Map<String, String> result = preferenceDao.getPreferences(TEST_USER.getId());
+
+        assertEquals(result, prefs);
+        verify(request).setHeader("If-None-Match", "\"tag\"");
+        verify(notModified, never()).asProperties();
+    }
+
+    @Test
+    public void shouldCachePreferencesReturnedAfterUpdate() throws Exception {
+        preferenceDao = new RemotePreferenceDao(API_ENDPOINT, requestFactory, 60_000);
+        final Map<String, String> prefs = new HashMap<>();
+        prefs.put("name", "value");
+        prefs.put("other", "value");
+        when(response.asProperties()).thenReturn(prefs);
+
+        preferenceDao.setPreferences(TEST_USER.getId(), singletonMap("other", "value"));
+        final Map<String, String> result = preferenceDao.getPreferences(TEST_USER.getId());
+
+        assertEquals(result, prefs);
+        verify(request).usePostMethod();
+        verify(request, never()).useGetMethod();
+    }
+
+    @Test
+    public void shouldRevalidatePreferencesReturnedAfterUpdateWithTheirETag() throws Exception {
+        final Map<String, String> prefs = singletonMap("name", "value");
+        when(response.asProperties()).thenReturn(prefs);
+        when(response.getHeaders()).thenReturn(singletonMap("ETag", singletonList("\"updated\"")));
+        preferenceDao.setPreferences(TEST_USER.getId(), prefs);
+
+        final HttpJsonResponse notModified = mock(HttpJsonResponse.class);
+        when(notModified.getResponseCode()).thenReturn(304);
+        when(request.request()).thenReturn(notModified);
+        final Map<String, String> result = preferenceDao.getPreferences(TEST_USER.getId());
+
+        assertEquals(result, prefs);
+        verify(request).setHeader("If-None-Match", "\"updated\"");
+        verify(notModified, never()).asProperties();
+    }
+
     @Test
     public void shouldRemovePreferences() throws Exception {
         preferenceDao.remove(TEST_USER.getId());
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.local;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests of {@link TagIndex}.
+ */
+public class TagIndexTest {
+
+    private TagIndex index;
+
+    @BeforeMethod
+    public void setUp() {
+        index = new TagIndex();
+        index.put("c", asList("java", "maven"));
+        index.put("a", asList("java", "ant"));
+        index.put("b", asList("java", "maven", "spring"));
+        index.put("d", singletonList("php"));
+    }
+
+    @Test
+    public void shouldFindSortedIdsMarkedWithAllTags() {
+        assertEquals(index.find(singletonList("java")), asList("a", "b", "c"));
+        assertEquals(index.find(asList("maven", "java")), asList("b", "c"));
+        assertEquals(index.find(asList("java", "spring", "maven")), singletonList("b"));
+    }
+
+    @Test
+    public void shouldNotFindAnythingByUnknownTag() {
+        assertTrue(index.find(asList("java", "go")).isEmpty());
+    }
+
+    @Test
+    public void shouldReplaceTagsOfUpdatedObject() {
+        index.put("c", singletonList("php"));
+
+        assertEquals(index.find(singletonList("maven")), singletonList("b"));
+        assertEquals(index.find(singletonList("php")), asList("c", "d"));
+    }
+
+    @Test
+    public void shouldRemoveObjectFromIndex() {
+        index.remove("b");
+
+        assertEquals(index.find(singletonList("maven")), singletonList("c"));
+        assertTrue(index.find(singletonList("spring")).isEmpty());
+    }
+}
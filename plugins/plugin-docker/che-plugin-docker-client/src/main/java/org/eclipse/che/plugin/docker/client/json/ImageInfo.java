@@ -28,6 +28,7 @@ public class ImageInfo {
     private long            virtualSize;
     private String          container;
     private ContainerConfig containerConfig;
+    private RootFS          rootFS;
 
     public String getArchitecture() {
         return architecture;
@@ -133,6 +134,15 @@ public class ImageInfo {
         this.virtualSize = virtualSize;
     }
 
+    /** Returns layers of the image or {@code null} if docker doesn't provide them. */
+    public RootFS getRootFS() {
+        return rootFS;
+    }
+
+    public void setRootFS(RootFS rootFS) {
+        this.rootFS = rootFS;
+    }
+
     @Override
     public String toString() {
         return "ImageInfo{" +
@@ -149,6 +159,7 @@ public class ImageInfo {
                ", virtualSize=" + virtualSize +
                ", container='" + container + '\'' +
                ", containerConfig=" + containerConfig +
+               ", rootFS=" + rootFS +
                '}';
     }
 }
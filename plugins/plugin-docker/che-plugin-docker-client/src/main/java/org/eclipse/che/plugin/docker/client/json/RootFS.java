@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.client.json;
+
+import java.util.List;
+
+/**
+ * Content addressable description of the image layers, available since docker 1.10.
+ * Each layer is described with digest of its content, so images with the same layers have the same file system.
+ */
+public class RootFS {
+    private String       type;
+    private List<String> layers;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public List<String> getLayers() {
+        return layers;
+    }
+
+    public void setLayers(List<String> layers) {
+        this.layers = layers;
+    }
+
+    @Override
+    public String toString() {
+        return "RootFS{" +
+               "type='" + type + '\'' +
+               ", layers=" + layers +
+               '}';
+    }
+}
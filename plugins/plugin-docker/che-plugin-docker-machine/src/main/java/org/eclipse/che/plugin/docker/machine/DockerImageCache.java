@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import org.eclipse.che.plugin.docker.client.Dockerfile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Keeps names of the images built from recipes by the digest of the build input,
+ * so machines with identical recipes may reuse the image instead of building it again.
+ * <p/>
+ * Cache holds at most {@code maxImages} images, least recently used images are evicted first.
+ * Evicted images are returned to the caller which is responsible for removing them from docker.
+ * Cache with {@code maxImages} equal to 0 is disabled, it doesn't keep any image.
+ */
+class DockerImageCache {
+    static final String IMAGE_PREFIX = "eclipse-che/recipe-";
+
+    private final int                 maxImages;
+    private final Map<String, String> images;
+
+    DockerImageCache(int maxImages) {
+        this.maxImages = maxImages;
+        this.images = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Counts digest of the build input. Dockerfile is normalized before counting,
+     * so blank lines, comments and leading or trailing whitespaces don't affect the digest.
+     */
+    static String digest(Dockerfile dockerfile, long memoryLimit, long memorySwapLimit) throws IOException {
+        final StringBuilder content = new StringBuilder();
+        dockerfile.writeDockerfile(content);
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (String line : content.toString().split("\n")) {
+            final String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                hasher.putString(trimmed, UTF_8).putByte((byte)'\n');
+            }
+        }
+        return hasher.putLong(memoryLimit)
+                     .putLong(memorySwapLimit)
+                     .hash()
+                     .toString();
+    }
+
+    /** Returns {@code true} if the cache may keep images. */
+    boolean isEnabled() {
+        return maxImages > 0;
+    }
+
+    /** Returns the name of the image built for the digest or {@code null} if there is no such image in the cache. */
+    synchronized String get(String digest) {
+        return images.get(digest);
+    }
+
+    /**
+     * Puts the image built for the digest to the cache.
+     *
+     * @return names of the images evicted from the cache
+     */
+    synchronized List<String> put(String digest, String image) {
+        images.put(digest, image);
+        final List<String> evicted = new ArrayList<>();
+        final Iterator<String> it = images.values().iterator();
+        while (images.size() > maxImages && it.hasNext()) {
+            evicted.add(it.next());
+            it.remove();
+        }
+        return evicted;
+    }
+
+    /** Removes the image from the cache, e.g. when the image was removed from docker. */
+    synchronized void remove(String digest) {
+        images.remove(digest);
+    }
+
+    /** Returns the name of the image which is used for keeping the image built for the digest. */
+    static String imageName(String digest) {
+        return IMAGE_PREFIX + digest;
+    }
+
+    /**
+     * Returns the digest of the cached image by one of its repository tags, e.g. {@code eclipse-che/recipe-<digest>:latest},
+     * or {@code null} if the tag doesn't belong to a cached image.
+     */
+    static String digestOf(String repoTag) {
+        if (!repoTag.startsWith(IMAGE_PREFIX)) {
+            return null;
+        }
+        final int tagIdx = repoTag.lastIndexOf(':');
+        final String digest = repoTag.substring(IMAGE_PREFIX.length(), tagIdx > 0 ? tagIdx : repoTag.length());
+        return digest.isEmpty() ? null : digest;
+    }
+}
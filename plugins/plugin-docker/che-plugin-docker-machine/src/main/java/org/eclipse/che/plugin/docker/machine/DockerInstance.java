@@ -28,7 +28,10 @@ import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.Exec;
 import org.eclipse.che.plugin.docker.client.LogMessage;
 import org.eclipse.che.plugin.docker.client.ProgressLineFormatterImpl;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,8 +40,10 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
@@ -82,8 +87,11 @@ public class DockerInstance extends AbstractInstance {
     private final DockerInstanceStopDetector                  dockerInstanceStopDetector;
     private final DockerInstanceProcessesCleaner              processesCleaner;
     private final ConcurrentHashMap<Integer, InstanceProcess> machineProcesses;
+    private final DockerRegistryPushLimiter                   pushLimiter;
+    private final DockerSnapshotTracker                       snapshotTracker;
 
-    private MachineRuntimeInfoImpl machineRuntime;
+    private MachineRuntimeInfoImpl    machineRuntime;
+    private volatile PushedSnapshot   lastSnapshot;
 
     @Inject
     public DockerInstance(DockerConnector docker,
@@ -95,7 +103,9 @@ public class DockerInstance extends AbstractInstance {
                           @Assisted DockerNode node,
                           @Assisted LineConsumer outputConsumer,
                           DockerInstanceStopDetector dockerInstanceStopDetector,
-                          DockerInstanceProcessesCleaner processesCleaner) {
+                          DockerInstanceProcessesCleaner processesCleaner,
+                          DockerRegistryPushLimiter pushLimiter,
+                          DockerSnapshotTracker snapshotTracker) {
         super(machine);
         this.dockerMachineFactory = dockerMachineFactory;
         this.container = container;
@@ -107,6 +117,8 @@ public class DockerInstance extends AbstractInstance {
         this.dockerInstanceStopDetector = dockerInstanceStopDetector;
         this.processesCleaner = processesCleaner;
         this.machineProcesses = new ConcurrentHashMap<>();
+        this.pushLimiter = pushLimiter;
+        this.snapshotTracker = snapshotTracker;
         processesCleaner.trackProcesses(this);
     }
 
@@ -183,10 +195,19 @@ public class DockerInstance extends AbstractInstance {
         return process;
     }
 
+    /**
+     * Commits container to the image and pushes it to the registry.
+     * <p/>
+     * Push is skipped if layers of the committed image are the same as layers of the image pushed
+     * by the previous snapshot of this instance, key of the previous snapshot is returned in this case.
+     * Previous snapshot is not reused if it was removed since it was pushed, see {@link DockerSnapshotTracker}.
+     * Number of simultaneous pushes to the registry is limited by {@link DockerRegistryPushLimiter}.
+     */
     @Override
     public InstanceKey saveToSnapshot(String owner) throws MachineException {
         try {
             final String repository = generateRepository();
+            final String image = registry + '/' + repository;
             String comment = format("Suspended at %1$ta %1$tb %1$td %1$tT %1$tZ %1$tY", System.currentTimeMillis());
             if (owner != null) {
                 comment = comment + " by " + owner;
@@ -194,21 +215,39 @@ public class DockerInstance extends AbstractInstance {
             // !! We SHOULD NOT pause container before commit because all execs will fail
             // to push image to private registry it should be tagged with registry in repo name
             // https://docs.docker.com/reference/api/docker_remote_api_v1.16/#push-an-image-on-the-registry
-            docker.commit(container, registry + '/' + repository, "latest", comment, owner);
+            docker.commit(container, image, "latest", comment, owner);
             //TODO fix this workaround. Docker image is not visible after commit when using swarm
             Thread.sleep(2000);
 
-            final ProgressLineFormatterImpl progressLineFormatter = new ProgressLineFormatterImpl();
-            String digest = docker.push(repository, "latest", registry, currentProgressStatus -> {
-                try {
-                    outputConsumer.writeLine(progressLineFormatter.format(currentProgressStatus));
-                } catch (IOException ignored) {
-                }
-            });
+            final List<String> layers = getLayers(image);
+            final PushedSnapshot previous = lastSnapshot;
+            if (previous != null && layers != null && layers.equals(previous.layers) && snapshotTracker.isTracked(previous.key)) {
+                docker.removeImage(image, false);
+                writeOutput("[DOCKER] File system of the machine was not changed since the last snapshot, push is skipped");
+                return previous.key;
+            }
 
-            docker.removeImage(registry + '/' + repository, false);
+            final String digest;
+            pushLimiter.acquire(registry);
+            try {
+                digest = docker.push(repository, "latest", registry, new LayersProgressMonitor(layers == null ? 0 : layers.size()));
+            } finally {
+                pushLimiter.release(registry);
+            }
+
+            docker.removeImage(image, false);
 
-            return new DockerInstanceKey(repository, "latest", registry, digest);
+            final DockerInstanceKey key = new DockerInstanceKey(repository, "latest", registry, digest);
+            if (previous != null) {
+                snapshotTracker.forget(previous.key);
+            }
+            if (layers != null) {
+                lastSnapshot = new PushedSnapshot(layers, key);
+                snapshotTracker.track(key);
+            } else {
+                lastSnapshot = null;
+            }
+            return key;
         } catch (IOException e) {
             throw new MachineException(e);
         } catch (InterruptedException e) {
@@ -217,12 +256,34 @@ public class DockerInstance extends AbstractInstance {
         }
     }
 
+    /** Returns content digests of the image layers or {@code null} if docker doesn't provide them. */
+    private List<String> getLayers(String image) {
+        try {
+            final ImageInfo imageInfo = docker.inspectImage(image);
+            return imageInfo.getRootFS() == null ? null : imageInfo.getRootFS().getLayers();
+        } catch (IOException e) {
+            LOG.warn("Unable to inspect image {}. {}", image, e.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    private void writeOutput(String line) {
+        try {
+            outputConsumer.writeLine(line);
+        } catch (IOException ignored) {
+        }
+    }
+
     private String generateRepository() {
         return NameGenerator.generate(null, 16);
     }
 
     @Override
     public void destroy() throws MachineException {
+        final PushedSnapshot snapshot = lastSnapshot;
+        if (snapshot != null) {
+            snapshotTracker.forget(snapshot.key);
+        }
         machineProcesses.clear();
         processesCleaner.untrackProcesses(getId());
         dockerInstanceStopDetector.stopDetection(container);
@@ -328,6 +389,51 @@ public class DockerInstance extends AbstractInstance {
         }
     }
 
+    /** Snapshot pushed by this instance, its layers allow to detect whether machine was changed since then. */
+    private static class PushedSnapshot {
+        final List<String>      layers;
+        final DockerInstanceKey key;
+
+        PushedSnapshot(List<String> layers, DockerInstanceKey key) {
+            this.layers = layers;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Reports progress of the push per layer instead of each transferred chunk.
+     * Counter of pushed layers is added to the message when layer is pushed or already exists in the registry.
+     */
+    private class LayersProgressMonitor implements ProgressMonitor {
+        private final ProgressLineFormatterImpl formatter     = new ProgressLineFormatterImpl();
+        private final Map<String, String>       layerStatuses = new HashMap<>();
+        private final int                       layers;
+        private       int                       pushed;
+
+        LayersProgressMonitor(int layers) {
+            this.layers = layers;
+        }
+
+        @Override
+        public void updateProgress(ProgressStatus progressStatus) {
+            final String id = progressStatus.getId();
+            final String status = progressStatus.getStatus();
+            if (id == null || status == null || progressStatus.getError() != null) {
+                writeOutput(formatter.format(progressStatus));
+                return;
+            }
+            if (status.equals(layerStatuses.put(id, status))) {
+                return;
+            }
+            if (status.equals("Pushed") || status.endsWith("already exists") || status.startsWith("Mounted from")) {
+                pushed++;
+                writeOutput(format("%s (%d/%d layers)", formatter.format(progressStatus).trim(), pushed, Math.max(layers, pushed)));
+            } else {
+                writeOutput(formatter.format(progressStatus));
+            }
+        }
+    }
+
     /**
      * Removes process from the list of processes
      *
@@ -42,6 +42,7 @@ import org.eclipse.che.plugin.docker.client.ProgressLineFormatterImpl;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
 import org.eclipse.che.plugin.docker.client.json.HostConfig;
+import org.eclipse.che.plugin.docker.client.json.Image;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
 import org.eclipse.che.plugin.docker.machine.node.WorkspaceFolderPathProvider;
 import org.slf4j.Logger;
@@ -56,7 +57,9 @@ import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -90,6 +93,8 @@ public class DockerInstanceProvider implements InstanceProvider {
     private final Set<String>                      commonMachineEnvVariables;
     private final String[]                         allMachinesExtraHosts;
     private final String                           projectFolderPath;
+    private final DockerImageCache                 imageCache;
+    private final DockerSnapshotTracker            snapshotTracker;
 
     @Inject
     public DockerInstanceProvider(DockerConnector docker,
@@ -105,7 +110,9 @@ public class DockerInstanceProvider implements InstanceProvider {
                                   @Named("che.machine.projects.internal.storage") String projectFolderPath,
                                   @Named("machine.docker.pull_image") boolean doForcePullOnBuild,
                                   @Named("machine.docker.dev_machine.machine_env") Set<String> devMachineEnvVariables,
-                                  @Named("machine.docker.machine_env") Set<String> allMachinesEnvVariables)
+                                  @Named("machine.docker.machine_env") Set<String> allMachinesEnvVariables,
+                                  @Named("machine.docker.image_cache.max_images") int maxCachedImages,
+                                  DockerSnapshotTracker snapshotTracker)
             throws IOException {
 
         this.docker = docker;
@@ -115,6 +122,9 @@ public class DockerInstanceProvider implements InstanceProvider {
         this.doForcePullOnBuild = doForcePullOnBuild;
         this.supportedRecipeTypes = Collections.singleton("Dockerfile");
         this.projectFolderPath = projectFolderPath;
+        this.imageCache = new DockerImageCache(maxCachedImages);
+        this.snapshotTracker = snapshotTracker;
+        restoreImageCache();
 
         if (SystemInfo.isWindows()) {
             allMachinesSystemVolumes = escapePaths(allMachinesSystemVolumes);
@@ -212,8 +222,22 @@ public class DockerInstanceProvider implements InstanceProvider {
         final String machineContainerName = generateContainerName(machine.getWorkspaceId(), machine.getConfig().getName());
         final String machineImageName = "eclipse-che/" + machineContainerName;
         final long memoryLimit = (long)machine.getConfig().getLimits().getRam() * 1024 * 1024;
+        final long memorySwapLimit = -1;
 
-        buildImage(dockerfile, creationLogsOutput, machineImageName, doForcePullOnBuild, memoryLimit, -1);
+        if (imageCache.isEnabled()) {
+            final String digest;
+            try {
+                digest = DockerImageCache.digest(dockerfile, memoryLimit, memorySwapLimit);
+            } catch (IOException e) {
+                throw new MachineException(e.getLocalizedMessage(), e);
+            }
+            if (!reuseCachedImage(digest, machineImageName, creationLogsOutput)) {
+                buildImage(dockerfile, creationLogsOutput, machineImageName, doForcePullOnBuild, memoryLimit, memorySwapLimit);
+                cacheImage(digest, machineImageName);
+            }
+        } else {
+            buildImage(dockerfile, creationLogsOutput, machineImageName, doForcePullOnBuild, memoryLimit, memorySwapLimit);
+        }
 
         return createInstance(machineContainerName,
                               machine,
@@ -318,6 +342,84 @@ public class DockerInstanceProvider implements InstanceProvider {
         }
     }
 
+    /**
+     * Tags the image previously built from the recipe with the same digest with the name of the machine image.
+     *
+     * @return {@code true} if the cached image is reused, {@code false} if there is no such image and the recipe should be built
+     */
+    private boolean reuseCachedImage(String digest, String machineImageName, LineConsumer creationLogsOutput) {
+        final String cachedImage = imageCache.get(digest);
+        if (cachedImage == null) {
+            return false;
+        }
+        try {
+            docker.tag(cachedImage, machineImageName, null);
+        } catch (IOException e) {
+            // image was removed from docker bypassing the cache
+            LOG.warn("Unable to reuse image {}. {}", cachedImage, e.getLocalizedMessage());
+            imageCache.remove(digest);
+            return false;
+        }
+        try {
+            creationLogsOutput.writeLine("[DOCKER] Image built from the same recipe is found, build is skipped");
+        } catch (IOException e) {
+            LOG.error(e.getLocalizedMessage(), e);
+        }
+        return true;
+    }
+
+    /**
+     * Tags the image built from the recipe with the name derived from the digest, so the image outlives the machine
+     * and may be reused by the other machines with the same recipe. Images evicted from the cache are untagged.
+     */
+    private void cacheImage(String digest, String builtImage) {
+        final String cachedImage = DockerImageCache.imageName(digest);
+        try {
+            docker.tag(builtImage, cachedImage, null);
+        } catch (IOException e) {
+            LOG.warn("Unable to cache image {}. {}", builtImage, e.getLocalizedMessage());
+            return;
+        }
+        removeEvictedImages(imageCache.put(digest, cachedImage));
+    }
+
+    /**
+     * Puts the images cached before the restart to the cache, so they are reused and evicted as the images built after it.
+     * Images which don't fit the cache are removed, e.g. all the cached images are removed when the cache is disabled.
+     */
+    private void restoreImageCache() {
+        final Image[] images;
+        try {
+            images = docker.listImages();
+        } catch (IOException e) {
+            LOG.warn("Unable to restore the cache of images. {}", e.getLocalizedMessage());
+            return;
+        }
+        // the least recently created images are put first, so they are evicted first
+        Arrays.sort(images, Comparator.comparingLong(Image::getCreated));
+        for (Image image : images) {
+            if (image.getRepoTags() == null) {
+                continue;
+            }
+            for (String repoTag : image.getRepoTags()) {
+                final String digest = DockerImageCache.digestOf(repoTag);
+                if (digest != null) {
+                    removeEvictedImages(imageCache.put(digest, DockerImageCache.imageName(digest)));
+                }
+            }
+        }
+    }
+
+    private void removeEvictedImages(List<String> evictedImages) {
+        for (String evicted : evictedImages) {
+            try {
+                docker.removeImage(evicted, false);
+            } catch (IOException e) {
+                LOG.warn("Unable to remove image {} evicted from the cache. {}", evicted, e.getLocalizedMessage());
+            }
+        }
+    }
+
     private void pullImage(DockerInstanceKey dockerInstanceKey, final LineConsumer creationLogsOutput) throws MachineException {
         if (dockerInstanceKey.getRepository() == null) {
             throw new MachineException("Machine creation failed. Snapshot state is invalid. Please, contact support.");
@@ -344,6 +446,8 @@ public class DockerInstanceProvider implements InstanceProvider {
         // use registry API directly because docker doesn't have such API yet
         // https://github.com/docker/docker-registry/issues/45
         final DockerInstanceKey dockerInstanceKey = new DockerInstanceKey(instanceKey);
+        // instance must not reuse the snapshot for the next one even if removing fails
+        snapshotTracker.forget(dockerInstanceKey);
         String registry = dockerInstanceKey.getRegistry();
         String repository = dockerInstanceKey.getRepository();
         if (registry == null || repository == null) {
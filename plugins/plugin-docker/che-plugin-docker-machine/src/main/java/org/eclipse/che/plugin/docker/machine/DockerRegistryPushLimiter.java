@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits number of images pushed to the same docker registry simultaneously,
+ * so concurrent snapshots of many machines don't overload the registry.
+ */
+@Singleton
+public class DockerRegistryPushLimiter {
+    private final int                             maxPushes;
+    private final ConcurrentMap<String, Semaphore> permits;
+
+    @Inject
+    public DockerRegistryPushLimiter(@Named("machine.docker.snapshot.max_pushes_per_registry") int maxPushes) {
+        this.maxPushes = maxPushes;
+        this.permits = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Waits until push to the registry is allowed.
+     * Each successful call must be followed by {@link #release(String)}.
+     */
+    public void acquire(String registry) throws InterruptedException {
+        getPermits(registry).acquire();
+    }
+
+    /** Releases permit which was acquired with {@link #acquire(String)}. */
+    public void release(String registry) {
+        getPermits(registry).release();
+    }
+
+    private Semaphore getPermits(String registry) {
+        return permits.computeIfAbsent(registry, key -> new Semaphore(maxPushes, true));
+    }
+}
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import javax.inject.Singleton;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks snapshots which were pushed by running instances and are still present in the registry,
+ * so an instance doesn't reuse its previous snapshot for the next one once the image of that snapshot is removed.
+ */
+@Singleton
+public class DockerSnapshotTracker {
+    private final Set<String> snapshots;
+
+    public DockerSnapshotTracker() {
+        this.snapshots = ConcurrentHashMap.newKeySet();
+    }
+
+    /** Starts tracking of the snapshot pushed by the instance. */
+    public void track(DockerInstanceKey key) {
+        snapshots.add(toId(key));
+    }
+
+    /** Stops tracking of the snapshot, called when the snapshot is removed or the instance doesn't need it anymore. */
+    public void forget(DockerInstanceKey key) {
+        snapshots.remove(toId(key));
+    }
+
+    /** Returns {@code true} if the snapshot is tracked and wasn't removed since it was pushed. */
+    public boolean isTracked(DockerInstanceKey key) {
+        return snapshots.contains(toId(key));
+    }
+
+    private static String toId(DockerInstanceKey key) {
+        return key.getRegistry() + '/' + key.getRepository() + '@' + key.getDigest();
+    }
+}
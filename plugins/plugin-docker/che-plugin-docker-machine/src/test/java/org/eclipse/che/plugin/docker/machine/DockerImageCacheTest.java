@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.plugin.docker.client.DockerfileParser;
+import org.testng.annotations.Test;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNull;
+
+public class DockerImageCacheTest {
+
+    @Test
+    public void shouldIgnoreCommentsAndWhitespacesInDigest() throws Exception {
+        assertEquals(DockerImageCache.digest(DockerfileParser.parse("FROM busybox\nRUN echo 1"), 1024, -1),
+                     DockerImageCache.digest(DockerfileParser.parse("# base\nFROM busybox\n\n   RUN echo 1  \n"), 1024, -1));
+    }
+
+    @Test
+    public void shouldCountDifferentDigestsForDifferentBuildInputs() throws Exception {
+        final String digest = DockerImageCache.digest(DockerfileParser.parse("FROM busybox"), 1024, -1);
+
+        assertNotEquals(DockerImageCache.digest(DockerfileParser.parse("FROM ubuntu"), 1024, -1), digest);
+        assertNotEquals(DockerImageCache.digest(DockerfileParser.parse("FROM busybox"), 2048, -1), digest);
+        assertNotEquals(DockerImageCache.digest(DockerfileParser.parse("FROM busybox"), 1024, 2048), digest);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedImage() throws Exception {
+        final DockerImageCache cache = new DockerImageCache(2);
+        assertEquals(cache.put("a", "image-a"), emptyList());
+        assertEquals(cache.put("b", "image-b"), emptyList());
+
+        cache.get("a");
+
+        assertEquals(cache.put("c", "image-c"), singletonList("image-b"));
+        assertNull(cache.get("b"));
+        assertEquals(cache.get("a"), "image-a");
+        assertEquals(cache.get("c"), "image-c");
+    }
+
+    @Test
+    public void shouldNotKeepImagesIfCacheIsDisabled() throws Exception {
+        final DockerImageCache cache = new DockerImageCache(0);
+
+        assertFalse(cache.isEnabled());
+        assertEquals(cache.put("a", "image-a"), singletonList("image-a"));
+    }
+
+    @Test
+    public void shouldFindDigestOfCachedImageByRepositoryTag() throws Exception {
+        assertEquals(DockerImageCache.digestOf(DockerImageCache.imageName("abc") + ":latest"), "abc");
+        assertEquals(DockerImageCache.digestOf(DockerImageCache.imageName("abc")), "abc");
+        assertNull(DockerImageCache.digestOf("eclipse-che/machine:latest"));
+        assertNull(DockerImageCache.digestOf("<none>:<none>"));
+    }
+
+    @Test
+    public void shouldRemoveImage() throws Exception {
+        final DockerImageCache cache = new DockerImageCache(2);
+        cache.put("a", "image-a");
+
+        cache.remove("a");
+
+        assertNull(cache.get("a"));
+    }
+}
@@ -27,11 +27,13 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.user.UserImpl;
 import org.eclipse.che.plugin.docker.client.DockerConnector;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
+import org.eclipse.che.plugin.docker.client.DockerfileParser;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
 import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
 import org.eclipse.che.plugin.docker.client.json.ContainerCreated;
 import org.eclipse.che.plugin.docker.client.json.HostConfig;
+import org.eclipse.che.plugin.docker.client.json.Image;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
 import org.eclipse.che.plugin.docker.machine.node.WorkspaceFolderPathProvider;
 import org.mockito.ArgumentCaptor;
@@ -43,6 +45,7 @@ import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
 import javax.ws.rs.core.UriBuilder;
+import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -58,12 +61,16 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.anyVararg;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.startsWith;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -78,6 +85,7 @@ public class DockerInstanceProviderTest {
     private static final String DISPLAY_NAME        = "DisplayName";
     private static final String USER_TOKEN          = "userToken";
     private static final int    MEMORY_LIMIT_MB     = 64;
+    private static final int    MAX_CACHED_IMAGES   = 1;
 
     @Mock
     private DockerConnector dockerConnector;
@@ -97,26 +105,17 @@ public class DockerInstanceProviderTest {
     @Mock
     private WorkspaceFolderPathProvider workspaceFolderPathProvider;
 
+    @Mock
+    private DockerSnapshotTracker snapshotTracker;
+
     private DockerInstanceProvider dockerInstanceProvider;
 
     @BeforeMethod
     public void setUp() throws Exception {
         when(dockerConnectorConfiguration.getDockerHostIp()).thenReturn("123.123.123.123");
+        when(dockerConnector.listImages()).thenReturn(new Image[0]);
 
-        dockerInstanceProvider = spy(new DockerInstanceProvider(dockerConnector,
-                                                                dockerConnectorConfiguration,
-                                                                dockerMachineFactory,
-                                                                dockerInstanceStopDetector,
-                                                                Collections.emptySet(),
-                                                                Collections.emptySet(),
-                                                                Collections.emptySet(),
-                                                                Collections.emptySet(),
-                                                                null,
-                                                                workspaceFolderPathProvider,
-                                                                PROJECT_FOLDER_PATH,
-                                                                false,
-                                                                Collections.emptySet(),
-                                                                Collections.emptySet()));
+        dockerInstanceProvider = spy(createInstanceProviderWithImageCache(MAX_CACHED_IMAGES));
 
         EnvironmentContext envCont = new EnvironmentContext();
         envCont.setUser(new UserImpl("user", "userId", USER_TOKEN, null, false));
@@ -163,6 +162,134 @@ public class DockerInstanceProviderTest {
                                            anyVararg());
     }
 
+    @Test
+    public void shouldReuseImageBuiltFromTheSameRecipe() throws Exception {
+        doReturn("first").doReturn("second").when(dockerInstanceProvider).generateContainerName(WORKSPACE_ID, DISPLAY_NAME);
+
+
+        createInstanceFromRecipe(new RecipeImpl().withType("Dockerfile").withScript("FROM busybox"), getMachineBuilder().build());
+        createInstanceFromRecipe(new RecipeImpl().withType("Dockerfile").withScript("# comment\n\n  FROM busybox  "),
+                                 getMachineBuilder().build());
+
+
+        final ArgumentCaptor<String> cachedImage = ArgumentCaptor.forClass(String.class);
+        verify(dockerConnector).tag(eq("eclipse-che/first"), cachedImage.capture(), eq(null));
+        assertTrue(cachedImage.getValue().startsWith(DockerImageCache.IMAGE_PREFIX));
+        verify(dockerConnector).tag(eq(cachedImage.getValue()), eq("eclipse-che/second"), eq(null));
+        verify(dockerConnector, never()).buildImage(eq("eclipse-che/second"),
+                                                    any(ProgressMonitor.class),
+                                                    any(AuthConfigs.class),
+                                                    anyBoolean(),
+                                                    anyLong(),
+                                                    anyLong(),
+                                                    anyVararg());
+    }
+
+    @Test
+    public void shouldNotReuseImageBuiltWithDifferentMemoryLimit() throws Exception {
+        createInstanceFromRecipe(MEMORY_LIMIT_MB);
+        createInstanceFromRecipe(MEMORY_LIMIT_MB * 2);
+
+
+        verify(dockerConnector, times(2)).buildImage(anyString(),
+                                                     any(ProgressMonitor.class),
+                                                     any(AuthConfigs.class),
+                                                     anyBoolean(),
+                                                     anyLong(),
+                                                     anyLong(),
+                                                     anyVararg());
+    }
+
+    @Test
+    public void shouldBuildImageAgainIfCachedImageWasRemoved() throws Exception {
+        doReturn("first").doReturn("second").when(dockerInstanceProvider).generateContainerName(WORKSPACE_ID, DISPLAY_NAME);
+        doThrow(new IOException("No such image")).when(dockerConnector).tag(startsWith(DockerImageCache.IMAGE_PREFIX),
+                                                                            eq("eclipse-che/second"),
+                                                                            eq(null));
+
+
+        createInstanceFromRecipe();
+        createInstanceFromRecipe();
+
+
+        verify(dockerConnector).buildImage(eq("eclipse-che/second"),
+                                           any(ProgressMonitor.class),
+                                           any(AuthConfigs.class),
+                                           anyBoolean(),
+                                           anyLong(),
+                                           anyLong(),
+                                           anyVararg());
+    }
+
+    @Test
+    public void shouldRemoveImageEvictedFromCache() throws Exception {
+        doReturn("first").doReturn("second").when(dockerInstanceProvider).generateContainerName(WORKSPACE_ID, DISPLAY_NAME);
+
+
+        createInstanceFromRecipe(new RecipeImpl().withType("Dockerfile").withScript("FROM busybox"), getMachineBuilder().build());
+        createInstanceFromRecipe(new RecipeImpl().withType("Dockerfile").withScript("FROM ubuntu"), getMachineBuilder().build());
+
+
+        final ArgumentCaptor<String> cachedImage = ArgumentCaptor.forClass(String.class);
+        verify(dockerConnector).tag(eq("eclipse-che/first"), cachedImage.capture(), eq(null));
+        verify(dockerConnector).removeImage(eq(cachedImage.getValue()), eq(false));
+    }
+
+    @Test
+    public void shouldReuseImageCachedBeforeRestart() throws Exception {
+        final String cachedImage = DockerImageCache.imageName(busyboxDigest());
+        when(dockerConnector.listImages()).thenReturn(new Image[] {image(cachedImage, 1)});
+        dockerInstanceProvider = createInstanceProviderWithImageCache(MAX_CACHED_IMAGES);
+
+
+        createInstanceFromRecipe();
+
+
+        verify(dockerConnector).tag(eq(cachedImage), startsWith("eclipse-che/"), eq(null));
+        verify(dockerConnector, never()).buildImage(anyString(),
+                                                    any(ProgressMonitor.class),
+                                                    any(AuthConfigs.class),
+                                                    anyBoolean(),
+                                                    anyLong(),
+                                                    anyLong(),
+                                                    anyVararg());
+    }
+
+    @Test
+    public void shouldRemoveImagesCachedBeforeRestartWhichDoNotFitCache() throws Exception {
+        final String olderImage = DockerImageCache.imageName("older");
+        final String newerImage = DockerImageCache.imageName("newer");
+        when(dockerConnector.listImages()).thenReturn(new Image[] {image(newerImage, 2), image(olderImage, 1)});
+
+
+        createInstanceProviderWithImageCache(MAX_CACHED_IMAGES);
+
+
+        verify(dockerConnector).removeImage(olderImage, false);
+        verify(dockerConnector, never()).removeImage(eq(newerImage), anyBoolean());
+    }
+
+    @Test
+    public void shouldNotCacheImagesIfCacheIsDisabled() throws Exception {
+        final String cachedImage = DockerImageCache.imageName(busyboxDigest());
+        when(dockerConnector.listImages()).thenReturn(new Image[] {image(cachedImage, 1)});
+        dockerInstanceProvider = createInstanceProviderWithImageCache(0);
+
+
+        createInstanceFromRecipe();
+
+
+        verify(dockerConnector).removeImage(cachedImage, false);
+        verify(dockerConnector, never()).tag(anyString(), startsWith(DockerImageCache.IMAGE_PREFIX), anyString());
+        verify(dockerConnector).buildImage(anyString(),
+                                           any(ProgressMonitor.class),
+                                           any(AuthConfigs.class),
+                                           anyBoolean(),
+                                           anyLong(),
+                                           anyLong(),
+                                           anyVararg());
+    }
+
     @Test
     public void shouldPullDockerImageOnInstanceCreationFromSnapshot() throws Exception {
         String repo = "repo";
@@ -422,7 +549,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = true;
 
@@ -458,7 +587,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = false;
 
@@ -500,7 +631,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = true;
 
@@ -536,7 +669,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = false;
 
@@ -573,7 +708,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = false;
 
@@ -613,7 +750,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = false;
 
@@ -653,7 +792,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = true;
 
@@ -693,7 +834,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = true;
 
@@ -728,7 +871,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         when(workspaceFolderPathProvider.getPath(anyString())).thenReturn(expectedHostPathOfProjects);
 
@@ -763,7 +908,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         when(workspaceFolderPathProvider.getPath(anyString())).thenReturn(expectedHostPathOfProjects);
 
@@ -797,7 +944,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         when(dockerNode.getProjectsFolder()).thenReturn("/tmp/projects");
 
@@ -831,7 +980,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         when(dockerNode.getProjectsFolder()).thenReturn("/tmp/projects");
 
@@ -872,7 +1023,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         when(workspaceFolderPathProvider.getPath(anyString())).thenReturn(expectedHostPathOfProjects);
         final boolean isDev = true;
@@ -914,7 +1067,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         when(workspaceFolderPathProvider.getPath(anyString())).thenReturn(expectedHostPathOfProjects);
 
@@ -955,7 +1110,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         when(dockerNode.getProjectsFolder()).thenReturn(expectedHostPathOfProjects);
 
@@ -994,7 +1151,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         when(dockerNode.getProjectsFolder()).thenReturn(expectedHostPathOfProjects);
 
@@ -1033,7 +1192,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         when(dockerNode.getProjectsFolder()).thenReturn(expectedHostPathOfProjects);
         final boolean isDev = true;
@@ -1072,7 +1233,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         when(dockerNode.getProjectsFolder()).thenReturn(expectedHostPathOfProjects);
 
@@ -1111,7 +1274,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         when(dockerNode.getProjectsFolder()).thenReturn(expectedHostPathOfProjects);
         final boolean isDev = false;
@@ -1152,7 +1317,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         when(dockerNode.getProjectsFolder()).thenReturn(expectedHostPathOfProjects);
 
@@ -1287,7 +1454,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             devEnv,
-                                                            commonEnv);
+                                                            commonEnv,
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = true;
 
@@ -1318,7 +1487,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             devEnv,
-                                                            commonEnv);
+                                                            commonEnv,
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = false;
 
@@ -1354,7 +1525,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             devEnv,
-                                                            commonEnv);
+                                                            commonEnv,
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = true;
 
@@ -1385,7 +1558,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             devEnv,
-                                                            commonEnv);
+                                                            commonEnv,
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = false;
 
@@ -1418,7 +1593,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = false;
 
@@ -1459,7 +1636,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = true;
 
@@ -1500,7 +1679,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = false;
 
@@ -1541,7 +1722,9 @@ public class DockerInstanceProviderTest {
                                                             PROJECT_FOLDER_PATH,
                                                             false,
                                                             Collections.emptySet(),
-                                                            Collections.emptySet());
+                                                            Collections.emptySet(),
+                                                            MAX_CACHED_IMAGES,
+                                                            snapshotTracker);
 
         final boolean isDev = true;
 
@@ -1562,6 +1745,37 @@ public class DockerInstanceProviderTest {
                                                                                            .collect(Collectors.toList())));
     }
 
+    private DockerInstanceProvider createInstanceProviderWithImageCache(int maxCachedImages) throws Exception {
+        return new DockerInstanceProvider(dockerConnector,
+                                          dockerConnectorConfiguration,
+                                          dockerMachineFactory,
+                                          dockerInstanceStopDetector,
+                                          Collections.emptySet(),
+                                          Collections.emptySet(),
+                                          Collections.emptySet(),
+                                          Collections.emptySet(),
+                                          null,
+                                          workspaceFolderPathProvider,
+                                          PROJECT_FOLDER_PATH,
+                                          false,
+                                          Collections.emptySet(),
+                                          Collections.emptySet(),
+                                          maxCachedImages,
+                                          snapshotTracker);
+    }
+
+    /** Returns digest of the recipe used by {@link #createInstanceFromRecipe()}. */
+    private String busyboxDigest() throws Exception {
+        return DockerImageCache.digest(DockerfileParser.parse("FROM busybox"), (long)MEMORY_LIMIT_MB * 1024 * 1024, -1);
+    }
+
+    private Image image(String repository, long created) {
+        final Image image = new Image();
+        image.setRepoTags(new String[] {repository + ":latest"});
+        image.setCreated(created);
+        return image;
+    }
+
     private void createInstanceFromRecipe() throws Exception {
         createInstanceFromRecipe(getMachineBuilder().build());
     }
@@ -92,7 +92,9 @@ public class DockerInstanceReadFileContentTest {
                                                 null,
                                                 null,
                                                 dockerInstanceStopDetector,
-                                                mock(DockerInstanceProcessesCleaner.class)));
+                                                mock(DockerInstanceProcessesCleaner.class),
+                                                mock(DockerRegistryPushLimiter.class),
+                                                mock(DockerSnapshotTracker.class)));
     }
 
 
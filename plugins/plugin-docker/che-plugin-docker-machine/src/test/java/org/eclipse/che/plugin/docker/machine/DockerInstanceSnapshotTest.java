@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.plugin.docker.machine;
+
+import org.eclipse.che.api.core.model.machine.MachineStatus;
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.api.machine.server.model.impl.LimitsImpl;
+import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
+import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
+import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
+import org.eclipse.che.api.machine.server.spi.InstanceKey;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.eclipse.che.plugin.docker.client.json.RootFS;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+@Listeners(value = {MockitoTestNGListener.class})
+public class DockerInstanceSnapshotTest {
+    private static final String REGISTRY = "registry:5000";
+
+    @Mock
+    private DockerConnector dockerConnector;
+    @Mock
+    private LineConsumer    outputConsumer;
+
+    private DockerInstance        dockerInstance;
+    private DockerSnapshotTracker snapshotTracker;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        snapshotTracker = new DockerSnapshotTracker();
+        dockerInstance = new DockerInstance(dockerConnector,
+                                            REGISTRY,
+                                            null,
+                                            new MachineImpl(new MachineConfigImpl(false,
+                                                                                  "Display name",
+                                                                                  "machineType",
+                                                                                  new MachineSourceImpl("type", "location"),
+                                                                                  new LimitsImpl(64),
+                                                                                  Collections.emptyList(),
+                                                                                  Collections.emptyMap()),
+                                                            "machineId",
+                                                            "workspaceId",
+                                                            "envName",
+                                                            "userId",
+                                                            MachineStatus.RUNNING,
+                                                            null),
+                                            "container",
+                                            "image",
+                                            null,
+                                            outputConsumer,
+                                            mock(DockerInstanceStopDetector.class),
+                                            mock(DockerInstanceProcessesCleaner.class),
+                                            new DockerRegistryPushLimiter(1),
+                                            snapshotTracker);
+        when(dockerConnector.push(anyString(), eq("latest"), eq(REGISTRY), any(ProgressMonitor.class))).thenReturn("digest1", "digest2");
+    }
+
+    @Test
+    public void shouldNotPushSnapshotIfLayersWereNotChanged() throws Exception {
+        when(dockerConnector.inspectImage(anyString())).thenReturn(imageWithLayers("sha256:base", "sha256:changes"));
+
+        final InstanceKey first = dockerInstance.saveToSnapshot("owner");
+        final InstanceKey second = dockerInstance.saveToSnapshot("owner");
+
+        assertEquals(second, first);
+        verify(dockerConnector, times(2)).commit(eq("container"), anyString(), eq("latest"), anyString(), eq("owner"));
+        verify(dockerConnector).push(anyString(), eq("latest"), eq(REGISTRY), any(ProgressMonitor.class));
+    }
+
+    @Test
+    public void shouldPushSnapshotIfLayersWereChanged() throws Exception {
+        when(dockerConnector.inspectImage(anyString())).thenReturn(imageWithLayers("sha256:base", "sha256:changes"),
+                                                                   imageWithLayers("sha256:base", "sha256:other changes"));
+
+        final InstanceKey first = dockerInstance.saveToSnapshot("owner");
+        final InstanceKey second = dockerInstance.saveToSnapshot("owner");
+
+        assertNotEquals(second.getFields(), first.getFields());
+        assertEquals(second.getFields().get(DockerInstanceKey.DIGEST), "digest2");
+        verify(dockerConnector, times(2)).push(anyString(), eq("latest"), eq(REGISTRY), any(ProgressMonitor.class));
+    }
+
+    @Test
+    public void shouldPushSnapshotIfPreviousSnapshotWasRemoved() throws Exception {
+        when(dockerConnector.inspectImage(anyString())).thenReturn(imageWithLayers("sha256:base", "sha256:changes"));
+
+        final InstanceKey first = dockerInstance.saveToSnapshot("owner");
+        snapshotTracker.forget(new DockerInstanceKey(first));
+        final InstanceKey second = dockerInstance.saveToSnapshot("owner");
+
+        assertEquals(second.getFields().get(DockerInstanceKey.DIGEST), "digest2");
+        verify(dockerConnector, times(2)).push(anyString(), eq("latest"), eq(REGISTRY), any(ProgressMonitor.class));
+    }
+
+    private static ImageInfo imageWithLayers(String... layers) {
+        final RootFS rootFS = new RootFS();
+        rootFS.setType("layers");
+        rootFS.setLayers(asList(layers));
+        final ImageInfo imageInfo = new ImageInfo();
+        imageInfo.setRootFS(rootFS);
+        return imageInfo;
+    }
+}
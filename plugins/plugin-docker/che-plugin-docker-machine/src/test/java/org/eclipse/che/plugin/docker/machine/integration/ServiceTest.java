@@ -24,6 +24,7 @@ import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineStateImpl;
+import org.eclipse.che.api.machine.server.proxy.MachineProxyMetrics;
 import org.eclipse.che.api.machine.server.spi.InstanceProvider;
 import org.eclipse.che.api.machine.shared.dto.CommandDto;
 import org.eclipse.che.api.machine.shared.dto.MachineProcessDto;
@@ -173,7 +174,7 @@ public class ServiceTest {
                                             eventService,
                                             100);
 
-        machineService = spy(new MachineService(machineManager));
+        machineService = spy(new MachineService(machineManager, new MachineProxyMetrics(eventService)));
 
         EnvironmentContext.getCurrent().setUser(new User() {
             @Override
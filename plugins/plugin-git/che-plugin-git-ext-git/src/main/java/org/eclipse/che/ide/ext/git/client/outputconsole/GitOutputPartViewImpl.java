@@ -12,19 +12,17 @@ package org.eclipse.che.ide.ext.git.client.outputconsole;
 
 import org.eclipse.che.ide.api.parts.PartStackUIResources;
 
-import com.google.gwt.safehtml.shared.SimpleHtmlSanitizer;
 import com.google.gwt.uibinder.client.UiBinder;
 import com.google.gwt.uibinder.client.UiField;
 import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.FlowPanel;
-import com.google.gwt.user.client.ui.HTML;
-import com.google.gwt.user.client.ui.ScrollPanel;
 import com.google.gwt.user.client.ui.Widget;
 import com.google.inject.Inject;
 
 import org.eclipse.che.ide.ext.git.client.GitLocalizationConstant;
 import org.eclipse.che.ide.ui.button.ConsoleButton;
 import org.eclipse.che.ide.ui.button.ConsoleButtonFactory;
+import org.eclipse.che.ide.ui.console.VirtualConsolePanel;
 import org.vectomatic.dom.svg.ui.SVGResource;
 
 import javax.validation.constraints.NotNull;
@@ -49,10 +47,7 @@ public class GitOutputPartViewImpl extends Composite implements GitOutputPartVie
     FlowPanel buttons;
 
     @UiField
-    FlowPanel consoleArea;
-
-    @UiField
-    ScrollPanel scrollPanel;
+    VirtualConsolePanel console;
 
     @Inject
     public GitOutputPartViewImpl(GitLocalizationConstant constant,
@@ -82,37 +77,24 @@ public class GitOutputPartViewImpl extends Composite implements GitOutputPartVie
     /** {@inheritDoc} */
     @Override
     public void print(String text) {
-        String preStyle = " style='margin:0px; font-size: 12px;' ";
-
-        HTML html = new HTML();
-        html.setHTML("<pre" + preStyle + ">" + SimpleHtmlSanitizer.sanitizeHtml(text).asString() + "</pre>");
-        html.getElement().setAttribute("style", "padding-left: 2px;");
-
-        consoleArea.add(html);
+        console.print(text, false);
     }
 
     @Override
     public void print(String text, String color) {
-        String preStyle = " style='margin:0px; font-size: 12px;' ";
-
-        HTML html = new HTML();
-        html.setHTML("<pre" + preStyle + "><span style='color:" + SimpleHtmlSanitizer.sanitizeHtml(color).asString() +
-                     ";'>" + SimpleHtmlSanitizer.sanitizeHtml(text).asString() + "</span></pre>");
-
-        html.getElement().setAttribute("style", "padding-left: 2px;");
-        consoleArea.add(html);
+        console.print(text, color);
     }
 
     /** {@inheritDoc} */
     @Override
     public void clear() {
-        consoleArea.clear();
+        console.clear();
     }
 
     /** {@inheritDoc} */
     @Override
     public void scrollBottom() {
-        scrollPanel.getElement().setScrollTop(scrollPanel.getElement().getScrollHeight());
+        console.scrollToBottom();
     }
 
     @Override
@@ -25,6 +25,7 @@ import org.eclipse.che.api.promises.client.Operation;
 import org.eclipse.che.api.promises.client.OperationException;
 import org.eclipse.che.api.promises.client.Promise;
 import org.eclipse.che.api.promises.client.PromiseError;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.ide.api.app.AppContext;
 import org.eclipse.che.ide.api.app.CurrentProject;
 import org.eclipse.che.ide.api.editor.EditorAgent;
@@ -55,6 +56,7 @@ import org.eclipse.che.ide.ext.java.jdi.client.debug.expression.EvaluateExpressi
 import org.eclipse.che.ide.ext.java.jdi.client.fqn.FqnResolver;
 import org.eclipse.che.ide.ext.java.jdi.client.fqn.FqnResolverFactory;
 import org.eclipse.che.ide.ext.java.jdi.client.fqn.FqnResolverObserver;
+import org.eclipse.che.ide.ext.java.jdi.client.marshaller.DebuggerEventListUnmarshaller;
 import org.eclipse.che.ide.ext.java.jdi.client.marshaller.DebuggerEventListUnmarshallerWS;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPoint;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPointEvent;
@@ -94,7 +96,9 @@ import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.eclipse.che.ide.api.event.FileEvent.FileOperation.OPEN;
 import static org.eclipse.che.ide.api.notification.StatusNotification.Status.FAIL;
@@ -123,6 +127,10 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
 
     protected static final String LOCAL_STORAGE_DEBUGGER_KEY = "che-debugger";
     private static final   String TITLE                      = "Debug";
+    /** Max number of nested variables loaded at once, the rest are split to the groups loaded when expanded. */
+    private static final   int    PAGE_SIZE                  = 100;
+    /** Max number of variables of the stack frame whose values are loaded at once. */
+    private static final   int    VALUES_BATCH_SIZE          = 50;
 
     private final DtoFactory               dtoFactory;
     private final DtoUnmarshallerFactory   dtoUnmarshallerFactory;
@@ -154,6 +162,12 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
     private SubscriptionHandler<Void>              debuggerDisconnectedHandler;
     private List<DebuggerVariable>                 variables;
     private Location                               executionPoint;
+    /** Incremented on each request of stack frame dump, so responses for the previous frame are ignored. */
+    private int                                    dumpGeneration;
+    /** Index of the first variable of the current frame whose value is loaded when the debugger panel is opened, or -1. */
+    private int                                    deferredValuesFrom = -1;
+    /** Sequence number of the last debugger event processed by client, <code>0</code> if no events are processed yet. */
+    private long                                   eventsSequence;
 
     @Inject
     public DebuggerPresenter(final DebuggerView view,
@@ -209,9 +223,16 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
                 debuggerInfo = loadDebugInfo();
 
                 if (isDebuggerConnected()) {
-                    service.checkEvents(debuggerInfo.getId(), new AsyncRequestCallback<DebuggerEventList>() {
+                    service.checkEvents(debuggerInfo.getId(), eventsSequence, new AsyncRequestCallback<DebuggerEventList>(
+                            new DebuggerEventListUnmarshaller(dtoFactory)) {
                         @Override
                         protected void onSuccess(DebuggerEventList result) {
+                            if (eventsSequence == 0) {
+                                // events occurred before page was loaded aren't replayed, current state is loaded on connect
+                                eventsSequence = result.getSequence();
+                            } else {
+                                onEventListReceived(result);
+                            }
                             onDebuggerConnected();
                         }
 
@@ -232,7 +253,11 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
         this.debuggerEventsHandler = new SubscriptionHandler<DebuggerEventList>(new DebuggerEventListUnmarshallerWS(dtoFactory)) {
             @Override
             public void onMessageReceived(DebuggerEventList result) {
-                onEventListReceived(result);
+                if (isEventsLost(result)) {
+                    checkLostEvents();
+                } else {
+                    onEventListReceived(result);
+                }
             }
 
             @Override
@@ -394,6 +419,7 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
             @Override
             public void onSuccess(DebuggerInfo result) {
                 debuggerInfo = result;
+                eventsSequence = 0;
                 preserveDebugInfo();
 
                 notification.setTitle(constant.debuggerConnectedTitle());
@@ -547,6 +573,13 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
         view.setVisible(visible);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void onOpen() {
+        super.onOpen();
+        loadDeferredValues();
+    }
+
     /** {@inheritDoc} */
     @Override
     public IsWidget getView() {
@@ -580,8 +613,45 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
         debuggerToolbar.go(view.getDebuggerToolbarPanel());
     }
 
+    /**
+     * Returns <code>true</code> if some of the events published by debugger before the given ones were not received,
+     * e.g. while WebSocket connection was restored.
+     */
+    private boolean isEventsLost(@NotNull DebuggerEventList eventList) {
+        long publishedBefore = eventList.getSequence() - eventList.getEvents().size() - eventList.getMissed();
+        return eventsSequence > 0 && publishedBefore > eventsSequence;
+    }
+
+    /** Requests events of the debugger which occurred after the last processed event. */
+    private void checkLostEvents() {
+        service.checkEvents(debuggerInfo.getId(), eventsSequence,
+                            new AsyncRequestCallback<DebuggerEventList>(new DebuggerEventListUnmarshaller(dtoFactory)) {
+                                @Override
+                                protected void onSuccess(DebuggerEventList result) {
+                                    onEventListReceived(result);
+                                }
+
+                                @Override
+                                protected void onFailure(Throwable exception) {
+                                    Log.error(DebuggerPresenter.class, exception);
+                                }
+                            });
+    }
+
     private void onEventListReceived(@NotNull DebuggerEventList eventList) {
-        if (eventList.getEvents().size() == 0) {
+        List<DebuggerEvent> events = eventList.getEvents();
+        // events are numbered one by one up to the sequence number of the list, skip the already processed ones
+        long processed = eventsSequence - (eventList.getSequence() - events.size());
+        if (processed > 0) {
+            events = events.subList((int)Math.min(processed, events.size()), events.size());
+        }
+        eventsSequence = Math.max(eventsSequence, eventList.getSequence());
+
+        if (eventList.getMissed() > 0) {
+            // debugger dropped events before they were delivered, so shown state may be stale
+            showAndUpdateView();
+        }
+        if (events.isEmpty()) {
             return;
         }
 
@@ -591,7 +661,6 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
             activeFile = activeEditor.getEditorInput().getFile();
         }
         Location location;
-        List<DebuggerEvent> events = eventList.getEvents();
         for (DebuggerEvent event : events) {
             switch (event.getType()) {
                 case STEP:
@@ -767,14 +836,28 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
         });
     }
 
+    /**
+     * Gets names and types of variables of the current frame and then loads their values in batches,
+     * so the variables are shown without waiting for the target JVM to render all the values.
+     */
     private void getStackFrameDump() {
-        service.getStackFrameDump(debuggerInfo.getId(),
+        final int generation = ++dumpGeneration;
+        deferredValuesFrom = -1;
+        service.getStackFrameDump(debuggerInfo.getId(), false,
                                   new AsyncRequestCallback<StackFrameDump>(dtoUnmarshallerFactory.newUnmarshaller(StackFrameDump.class)) {
                                       @Override
                                       protected void onSuccess(StackFrameDump result) {
+                                          if (generation != dumpGeneration) {
+                                              return;
+                                          }
                                           List<Variable> variables = new ArrayList<>();
                                           variables.addAll(result.getFields());
                                           variables.addAll(result.getLocalVariables());
+                                          for (Variable variable : variables) {
+                                              if (variable.getValue() == null) {
+                                                  variable.setValue("");
+                                              }
+                                          }
 
                                           List<DebuggerVariable> debuggerVariables = getDebuggerVariables(variables);
 
@@ -783,6 +866,7 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
                                           if (!variables.isEmpty()) {
                                               view.setExecutionPoint(variables.get(0).isExistInformation(), executionPoint);
                                           }
+                                          loadValues(0, generation, false);
                                       }
 
                                       @Override
@@ -792,6 +876,64 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
                                   });
     }
 
+    /**
+     * Loads values of the next batch of variables of the current frame, starting from the given index. Values are shown
+     * in place, so variables expanded meanwhile stay expanded. Values aren't loaded while the debugger panel is collapsed,
+     * the loading continues once the panel is opened. Failed batch is requested once more and then skipped.
+     */
+    private void loadValues(final int from, final int generation, final boolean retry) {
+        if (generation != dumpGeneration || from >= variables.size()) {
+            return;
+        }
+        if (!isDebuggerPanelOpened()) {
+            deferredValuesFrom = from;
+            return;
+        }
+        final int to = Math.min(from + VALUES_BATCH_SIZE, variables.size());
+        final List<DebuggerVariable> batch = new ArrayList<>(variables.subList(from, to));
+        List<VariablePath> paths = new ArrayList<>(batch.size());
+        for (DebuggerVariable variable : batch) {
+            paths.add(variable.getVariablePath());
+        }
+
+        service.getValues(debuggerInfo.getId(), paths,
+                          new AsyncRequestCallback<List<Variable>>(dtoUnmarshallerFactory.newListUnmarshaller(Variable.class)) {
+                              @Override
+                              protected void onSuccess(List<Variable> result) {
+                                  if (generation != dumpGeneration) {
+                                      return;
+                                  }
+                                  Map<List<String>, String> values = new HashMap<>();
+                                  for (Variable variable : result) {
+                                      values.put(variable.getVariablePath().getPath(), variable.getValue());
+                                  }
+                                  for (DebuggerVariable variable : batch) {
+                                      String value = values.get(variable.getVariablePath().getPath());
+                                      if (value != null) {
+                                          view.updateVariableValue(variable, value);
+                                      }
+                                  }
+                                  loadValues(to, generation, false);
+                              }
+
+                              @Override
+                              protected void onFailure(Throwable exception) {
+                                  Log.error(DebuggerPresenter.class, exception);
+                                  // values of the batch stay empty if it fails again
+                                  loadValues(retry ? to : from, generation, !retry);
+                              }
+                          });
+    }
+
+    /** Continues loading of the values of the current frame which was put off while the debugger panel was collapsed. */
+    private void loadDeferredValues() {
+        if (deferredValuesFrom >= 0) {
+            int from = deferredValuesFrom;
+            deferredValuesFrom = -1;
+            loadValues(from, dumpGeneration, false);
+        }
+    }
+
     @NotNull
     private List<DebuggerVariable> getDebuggerVariables(@NotNull List<Variable> variables) {
         List<DebuggerVariable> debuggerVariables = new ArrayList<>();
@@ -808,24 +950,97 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
     public void onExpandVariablesTree() {
         List<DebuggerVariable> rootVariables = selectedVariable.getVariables();
         if (rootVariables.size() == 0) {
-            service.getValue(debuggerInfo.getId(), selectedVariable.getVariable(),
-                             new AsyncRequestCallback<Value>(dtoUnmarshallerFactory.newUnmarshaller(Value.class)) {
-                                 @Override
-                                 protected void onSuccess(Value result) {
-                                     List<Variable> variables = result.getVariables();
+            Variable variable = selectedVariable.getVariable();
+            List<String> path = variable.getVariablePath().getPath();
+            int[] range = getGroupRange(variable.getName());
+            if (range == null) {
+                // the value itself is expanded, it is split to the groups if it has too many nested variables
+                loadVariables(variable.getVariablePath(), 0, PAGE_SIZE, true);
+                return;
+            }
 
-                                     List<DebuggerVariable> debuggerVariables = getDebuggerVariables(variables);
+            VariablePath parentPath = dtoFactory.createDto(VariablePath.class)
+                                                .withPath(new ArrayList<>(path.subList(0, path.size() - 1)));
+            int count = range[1] - range[0] + 1;
+            if (count > PAGE_SIZE) {
+                view.setVariablesIntoSelectedVariable(createGroups(parentPath, range[0], count));
+                view.updateSelectedVariable();
+            } else {
+                loadVariables(parentPath, range[0], count, false);
+            }
+        }
+    }
 
-                                     view.setVariablesIntoSelectedVariable(debuggerVariables);
-                                     view.updateSelectedVariable();
+    /**
+     * Loads page of nested variables into the selected variable. If {@code group} is {@code true} and the value has more
+     * nested variables than fit the page, they are split to the groups which are loaded when expanded.
+     */
+    private void loadVariables(@NotNull final VariablePath path, int offset, int limit, final boolean group) {
+        Variable variable = dtoFactory.createDto(Variable.class).withVariablePath(path);
+        service.getValue(debuggerInfo.getId(), variable, offset, limit,
+                         new AsyncRequestCallback<Value>(dtoUnmarshallerFactory.newUnmarshaller(Value.class)) {
+                             @Override
+                             protected void onSuccess(Value result) {
+                                 List<Variable> variables = result.getVariables();
+
+                                 List<DebuggerVariable> debuggerVariables;
+                                 if (group && result.getTotal() > variables.size()) {
+                                     debuggerVariables = createGroups(path, 0, result.getTotal());
+                                 } else {
+                                     debuggerVariables = getDebuggerVariables(variables);
                                  }
 
-                                 @Override
-                                 protected void onFailure(Throwable exception) {
-                                     notificationManager
-                                             .notify(constant.failedToGetVariableValueTitle(), exception.getMessage(), FAIL, true);
-                                 }
-                             });
+                                 view.setVariablesIntoSelectedVariable(debuggerVariables);
+                                 view.updateSelectedVariable();
+                             }
+
+                             @Override
+                             protected void onFailure(Throwable exception) {
+                                 notificationManager
+                                         .notify(constant.failedToGetVariableValueTitle(), exception.getMessage(), FAIL, true);
+                             }
+                         });
+    }
+
+    /** Splits nested variables to at most {@link #PAGE_SIZE} groups named in form <i>[from..to]</i>. */
+    @NotNull
+    private List<DebuggerVariable> createGroups(@NotNull VariablePath parentPath, int from, int count) {
+        long groupSize = PAGE_SIZE;
+        while (groupSize * PAGE_SIZE < count) {
+            groupSize *= PAGE_SIZE;
+        }
+
+        List<DebuggerVariable> groups = new ArrayList<>();
+        for (long start = from; start < from + count; start += groupSize) {
+            long end = Math.min(start + groupSize, from + count) - 1;
+            String name = "[" + start + ".." + end + "]";
+
+            VariablePath path = dtoFactory.createDto(VariablePath.class).withPath(new ArrayList<>(parentPath.getPath()));
+            path.getPath().add(name);
+            Variable group = dtoFactory.createDto(Variable.class)
+                                       .withName(name)
+                                       .withValue("...")
+                                       .withType("")
+                                       .withExistInformation(true)
+                                       .withPrimitive(false)
+                                       .withVariablePath(path);
+            groups.add(new DebuggerVariable(group));
+        }
+        return groups;
+    }
+
+    /** Returns first and last index of the group of nested variables or {@code null} if the name isn't name of the group. */
+    @Nullable
+    private static int[] getGroupRange(@NotNull String name) {
+        int separator = name.indexOf("..");
+        if (!name.startsWith("[") || !name.endsWith("]") || separator < 0) {
+            return null;
+        }
+        try {
+            return new int[]{Integer.parseInt(name.substring(1, separator)),
+                             Integer.parseInt(name.substring(separator + 2, name.length() - 1))};
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
 
@@ -837,6 +1052,7 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
 
     public void showDebuggerPanel() {
         partStack.setActivePart(this);
+        loadDeferredValues();
     }
 
     public void hideDebuggerPanel() {
@@ -844,7 +1060,7 @@ public class DebuggerPresenter extends BasePresenter implements DebuggerView.Act
     }
 
     public boolean isDebuggerPanelOpened() {
-        return partStack.getActivePart() == this;
+        return partStack != null && partStack.getActivePart() == this;
     }
 
     public boolean isDebuggerPanelPresent() {
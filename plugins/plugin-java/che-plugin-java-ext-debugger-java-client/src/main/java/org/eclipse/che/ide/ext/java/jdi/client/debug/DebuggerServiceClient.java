@@ -18,9 +18,11 @@ import org.eclipse.che.ide.ext.java.jdi.shared.StackFrameDump;
 import org.eclipse.che.ide.ext.java.jdi.shared.UpdateVariableRequest;
 import org.eclipse.che.ide.ext.java.jdi.shared.Value;
 import org.eclipse.che.ide.ext.java.jdi.shared.Variable;
+import org.eclipse.che.ide.ext.java.jdi.shared.VariablePath;
 import org.eclipse.che.ide.rest.AsyncRequestCallback;
 
 import javax.validation.constraints.NotNull;
+import java.util.List;
 
 /**
  * The client for service to debug java application.
@@ -80,12 +82,14 @@ public interface DebuggerServiceClient {
     void deleteAllBreakpoints(@NotNull String id, @NotNull AsyncRequestCallback<String> callback);
 
     /**
-     * Checks event.
+     * Gets events which occurred after the event with specified sequence number.
      *
      * @param id
+     * @param after
+     *         sequence number of the last event seen by client
      * @param callback
      */
-    void checkEvents(@NotNull String id, @NotNull AsyncRequestCallback<DebuggerEventList> callback);
+    void checkEvents(@NotNull String id, long after, @NotNull AsyncRequestCallback<DebuggerEventList> callback);
 
     /**
      * Get dump of fields and local variable of current stack frame.
@@ -95,6 +99,27 @@ public interface DebuggerServiceClient {
      */
     void getStackFrameDump(@NotNull String id, @NotNull AsyncRequestCallback<StackFrameDump> callback);
 
+    /**
+     * Get dump of fields and local variable of current stack frame.
+     *
+     * @param id
+     * @param withValues
+     *         if <code>false</code> only names and types of variables are dumped, see {@link #getValues(String, List,
+     *         AsyncRequestCallback)}
+     * @param callback
+     */
+    void getStackFrameDump(@NotNull String id, boolean withValues, @NotNull AsyncRequestCallback<StackFrameDump> callback);
+
+    /**
+     * Returns values of variables.
+     *
+     * @param id
+     * @param paths
+     *         paths of variables
+     * @param callback
+     */
+    void getValues(@NotNull String id, @NotNull List<VariablePath> paths, @NotNull AsyncRequestCallback<List<Variable>> callback);
+
     /**
      * Resume process.
      *
@@ -112,6 +137,19 @@ public interface DebuggerServiceClient {
      */
     void getValue(@NotNull String id, @NotNull Variable var, @NotNull AsyncRequestCallback<Value> callback);
 
+    /**
+     * Returns value of a variable with page of its nested variables.
+     *
+     * @param id
+     * @param var
+     * @param offset
+     *         index of the first nested variable
+     * @param limit
+     *         max number of nested variables
+     * @param callback
+     */
+    void getValue(@NotNull String id, @NotNull Variable var, int offset, int limit, @NotNull AsyncRequestCallback<Value> callback);
+
     /**
      * Sets value of a variable.
      *
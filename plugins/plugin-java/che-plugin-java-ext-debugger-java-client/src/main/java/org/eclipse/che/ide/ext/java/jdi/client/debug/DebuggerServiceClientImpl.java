@@ -24,12 +24,15 @@ import org.eclipse.che.ide.ext.java.jdi.shared.StackFrameDump;
 import org.eclipse.che.ide.ext.java.jdi.shared.UpdateVariableRequest;
 import org.eclipse.che.ide.ext.java.jdi.shared.Value;
 import org.eclipse.che.ide.ext.java.jdi.shared.Variable;
+import org.eclipse.che.ide.ext.java.jdi.shared.VariablePath;
 import org.eclipse.che.ide.rest.AsyncRequestCallback;
 import org.eclipse.che.ide.rest.AsyncRequestFactory;
 import org.eclipse.che.ide.rest.StringUnmarshaller;
 import org.eclipse.che.ide.ui.loaders.request.LoaderFactory;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.eclipse.che.ide.MimeType.TEXT_PLAIN;
 import static org.eclipse.che.ide.rest.HTTPHeader.ACCEPT;
@@ -106,8 +109,8 @@ public class DebuggerServiceClientImpl implements DebuggerServiceClient {
 
     /** {@inheritDoc} */
     @Override
-    public void checkEvents(@NotNull String id, @NotNull AsyncRequestCallback<DebuggerEventList> callback) {
-        final String requestUrl = baseUrl + "/events/" + id;
+    public void checkEvents(@NotNull String id, long after, @NotNull AsyncRequestCallback<DebuggerEventList> callback) {
+        final String requestUrl = baseUrl + "/events/" + id + "?after=" + after;
         asyncRequestFactory.createGetRequest(requestUrl).send(callback);
     }
 
@@ -118,6 +121,20 @@ public class DebuggerServiceClientImpl implements DebuggerServiceClient {
         asyncRequestFactory.createGetRequest(requestUrl).loader(loaderFactory.newLoader()).send(callback);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void getStackFrameDump(@NotNull String id, boolean withValues, @NotNull AsyncRequestCallback<StackFrameDump> callback) {
+        final String requestUrl = baseUrl + "/dump/" + id + "?values=" + withValues;
+        asyncRequestFactory.createGetRequest(requestUrl).loader(loaderFactory.newLoader()).send(callback);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void getValues(@NotNull String id, @NotNull List<VariablePath> paths, @NotNull AsyncRequestCallback<List<Variable>> callback) {
+        final String requestUrl = baseUrl + "/values/get/" + id;
+        asyncRequestFactory.createPostRequest(requestUrl, new ArrayList<Object>(paths)).loader(loaderFactory.newLoader()).send(callback);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void resume(@NotNull String id, @NotNull AsyncRequestCallback<Void> callback) {
@@ -132,6 +149,13 @@ public class DebuggerServiceClientImpl implements DebuggerServiceClient {
         asyncRequestFactory.createPostRequest(requestUrl, var.getVariablePath()).loader(loaderFactory.newLoader()).send(callback);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void getValue(@NotNull String id, @NotNull Variable var, int offset, int limit, @NotNull AsyncRequestCallback<Value> callback) {
+        final String requestUrl = baseUrl + "/value/get/" + id + "?offset=" + offset + "&limit=" + limit;
+        asyncRequestFactory.createPostRequest(requestUrl, var.getVariablePath()).loader(loaderFactory.newLoader()).send(callback);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void setValue(@NotNull String id, @NotNull UpdateVariableRequest request, @NotNull AsyncRequestCallback<Void> callback) {
@@ -60,6 +60,16 @@ public interface DebuggerView extends View<DebuggerView.ActionDelegate> {
      */
     void setVariables(@NotNull List<DebuggerVariable> variables);
 
+    /**
+     * Updates value of the shown variable without rendering the tree again, so expanded and selected variables stay as is.
+     *
+     * @param variable
+     *         shown variable
+     * @param value
+     *         new value of the variable
+     */
+    void updateVariableValue(@NotNull DebuggerVariable variable, @NotNull String value);
+
     /**
      * Sets breakpoints.
      *
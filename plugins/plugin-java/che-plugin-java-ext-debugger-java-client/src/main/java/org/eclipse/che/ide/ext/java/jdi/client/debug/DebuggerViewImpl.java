@@ -231,6 +231,18 @@ public class DebuggerViewImpl extends BaseView<DebuggerView.ActionDelegate> impl
         this.variables.renderTree(0);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void updateVariableValue(@NotNull DebuggerVariable variable, @NotNull String value) {
+        // hash code of the variable depends on its value, so the rendered node is found before the value is changed
+        TreeNodeElement<DebuggerVariable> node = variables.getNode(variable);
+        variable.setValue(value);
+        if (node != null) {
+            variables.getModel().getDataAdapter().setRenderedTreeNode(node.getData(), node);
+            variables.getModel().getNodeRenderer().updateNodeContents(node);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void setBreakpoints(@NotNull List<Breakpoint> breakpoints) {
@@ -73,6 +73,7 @@ public class VariableTreeNodeRenderer implements NodeRenderer<DebuggerVariable>
     /** {@inheritDoc} */
     @Override
     public void updateNodeContents(@NotNull TreeNodeElement<DebuggerVariable> treeNode) {
-        // do nothing
+        DebuggerVariable data = treeNode.getData();
+        treeNode.getNodeLabel().getFirstChild().setTextContent(data.getName() + ": " + data.getValue());
     }
 }
\ No newline at end of file
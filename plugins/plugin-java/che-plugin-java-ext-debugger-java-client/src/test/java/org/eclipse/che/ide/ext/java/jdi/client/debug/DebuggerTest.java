@@ -30,19 +30,26 @@ import org.eclipse.che.ide.debug.BreakpointManager;
 import org.eclipse.che.ide.debug.Debugger;
 import org.eclipse.che.ide.debug.DebuggerManager;
 import org.eclipse.che.ide.ext.java.jdi.client.BaseTest;
+import org.eclipse.che.ide.ext.java.jdi.client.JavaRuntimeExtension;
 import org.eclipse.che.ide.ext.java.jdi.client.debug.changevalue.ChangeValuePresenter;
 import org.eclipse.che.ide.ext.java.jdi.client.debug.expression.EvaluateExpressionPresenter;
 import org.eclipse.che.ide.ext.java.jdi.client.fqn.FqnResolver;
 import org.eclipse.che.ide.ext.java.jdi.client.fqn.FqnResolverFactory;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPoint;
+import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEvent;
+import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEventList;
 import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerInfo;
 import org.eclipse.che.ide.ext.java.jdi.shared.Location;
+import org.eclipse.che.ide.ext.java.jdi.shared.StackFrameDump;
 import org.eclipse.che.ide.ext.java.jdi.shared.UpdateVariableRequest;
+import org.eclipse.che.ide.ext.java.jdi.shared.Value;
+import org.eclipse.che.ide.ext.java.jdi.shared.Variable;
 import org.eclipse.che.ide.ext.java.jdi.shared.VariablePath;
 import org.eclipse.che.ide.rest.AsyncRequestCallback;
 import org.eclipse.che.ide.util.storage.LocalStorage;
 import org.eclipse.che.ide.util.storage.LocalStorageProvider;
 import org.eclipse.che.ide.websocket.MessageBusProvider;
+import org.eclipse.che.ide.websocket.events.MessageHandler;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -56,14 +63,23 @@ import org.mockito.stubbing.Answer;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyListOf;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -124,7 +140,15 @@ public class DebuggerTest extends BaseTest {
     private FileTypeRegistry                    fileTypeRegistry;
 
     @Captor
-    private ArgumentCaptor<WsAgentStateHandler> extServerStateHandlerCaptor;
+    private ArgumentCaptor<WsAgentStateHandler>    extServerStateHandlerCaptor;
+    @Captor
+    private ArgumentCaptor<List<DebuggerVariable>> variablesCaptor;
+    @Captor
+    private ArgumentCaptor<DebuggerVariable>       variableCaptor;
+    @Captor
+    private ArgumentCaptor<AsyncRequestCallback<DebuggerEventList>> eventsCallbackCaptor;
+    @Captor
+    private ArgumentCaptor<MessageHandler>         eventsHandlerCaptor;
 
     @InjectMocks
     private DebuggerPresenter presenter;
@@ -457,4 +481,260 @@ public class DebuggerTest extends BaseTest {
         verify(asyncCallbackVoid).onFailure((Throwable)anyObject());
     }
 
+    @Test
+    public void shouldSplitNestedVariablesToGroupsWhenArrayIsExpanded() throws Exception {
+        Variable group = selfReturningMock(Variable.class);
+        when(dtoFactory.createDto(Variable.class)).thenReturn(group);
+        when(dtoFactory.createDto(VariablePath.class)).thenReturn(selfReturningMock(VariablePath.class));
+        returnValueOnGetValue(0, 100, 250, 100);
+
+        presenter.onSelectedVariableElement(new DebuggerVariable(variable("array", "array")));
+        presenter.onExpandVariablesTree();
+
+        verify(service).getValue(anyString(), any(Variable.class), eq(0), eq(100), Matchers.<AsyncRequestCallback<Value>>anyObject());
+        verify(view).setVariablesIntoSelectedVariable(variablesCaptor.capture());
+        assertEquals(3, variablesCaptor.getValue().size());
+        verify(group).withName("[0..99]");
+        verify(group).withName("[100..199]");
+        verify(group).withName("[200..249]");
+    }
+
+    @Test
+    public void shouldLoadElementsOfFirstGroupWithoutSplittingThemAgain() throws Exception {
+        when(dtoFactory.createDto(Variable.class)).thenReturn(selfReturningMock(Variable.class));
+        when(dtoFactory.createDto(VariablePath.class)).thenReturn(selfReturningMock(VariablePath.class));
+        List<Variable> elements = returnValueOnGetValue(0, 100, 250, 100);
+
+        presenter.onSelectedVariableElement(new DebuggerVariable(variable("[0..99]", "array", "[0..99]")));
+        presenter.onExpandVariablesTree();
+
+        verify(service).getValue(anyString(), any(Variable.class), eq(0), eq(100), Matchers.<AsyncRequestCallback<Value>>anyObject());
+        verify(view).setVariablesIntoSelectedVariable(variablesCaptor.capture());
+        assertEquals(100, variablesCaptor.getValue().size());
+        assertSame(elements.get(0), variablesCaptor.getValue().get(0).getVariable());
+    }
+
+    @Test
+    public void shouldLoadElementsOfGroupByItsRange() throws Exception {
+        when(dtoFactory.createDto(Variable.class)).thenReturn(selfReturningMock(Variable.class));
+        when(dtoFactory.createDto(VariablePath.class)).thenReturn(selfReturningMock(VariablePath.class));
+        returnValueOnGetValue(200, 50, 250, 50);
+
+        presenter.onSelectedVariableElement(new DebuggerVariable(variable("[200..249]", "array", "[200..249]")));
+        presenter.onExpandVariablesTree();
+
+        verify(service).getValue(anyString(), any(Variable.class), eq(200), eq(50), Matchers.<AsyncRequestCallback<Value>>anyObject());
+        verify(view).setVariablesIntoSelectedVariable(variablesCaptor.capture());
+        assertEquals(50, variablesCaptor.getValue().size());
+    }
+
+    @Test
+    public void shouldSplitLargeGroupToSmallerGroupsWithoutLoadingIt() throws Exception {
+        Variable group = selfReturningMock(Variable.class);
+        when(dtoFactory.createDto(Variable.class)).thenReturn(group);
+        when(dtoFactory.createDto(VariablePath.class)).thenReturn(selfReturningMock(VariablePath.class));
+
+        presenter.onSelectedVariableElement(new DebuggerVariable(variable("[10000..19999]", "array", "[10000..19999]")));
+        presenter.onExpandVariablesTree();
+
+        verify(service, never()).getValue(anyString(), any(Variable.class), anyInt(), anyInt(),
+                                          Matchers.<AsyncRequestCallback<Value>>anyObject());
+        verify(view).setVariablesIntoSelectedVariable(variablesCaptor.capture());
+        assertEquals(100, variablesCaptor.getValue().size());
+        verify(group).withName("[10000..10099]");
+        verify(group).withName("[19900..19999]");
+    }
+
+    @Test
+    public void shouldNotLoadValuesWhileDebuggerPanelIsCollapsed() throws Exception {
+        presenter.setPartStack(partStack);
+        returnStackFrameDumpWithVariable("i");
+
+        presenter.showAndUpdateView();
+
+        verify(view).setVariables(anyListOf(DebuggerVariable.class));
+        verify(service, never()).getValues(anyString(), anyListOf(VariablePath.class),
+                                           Matchers.<AsyncRequestCallback<List<Variable>>>anyObject());
+
+        when(partStack.getActivePart()).thenReturn(presenter);
+        presenter.onOpen();
+
+        verify(service).getValues(anyString(), anyListOf(VariablePath.class), Matchers.<AsyncRequestCallback<List<Variable>>>anyObject());
+    }
+
+    @Test
+    public void shouldUpdateLoadedValuesWithoutRenderingVariablesAgain() throws Exception {
+        presenter.setPartStack(partStack);
+        when(partStack.getActivePart()).thenReturn(presenter);
+        Variable variable = returnStackFrameDumpWithVariable("i");
+        Variable loaded = variable("i", "i");
+        when(loaded.getValue()).thenReturn("42");
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                Object[] arguments = invocation.getArguments();
+                //noinspection unchecked
+                AsyncRequestCallback<List<Variable>> callback = (AsyncRequestCallback<List<Variable>>)arguments[2];
+                Method onSuccess = GwtReflectionUtils.getMethod(callback.getClass(), "onSuccess");
+                onSuccess.invoke(callback, singletonList(loaded));
+                return callback;
+            }
+        }).when(service).getValues(anyString(), anyListOf(VariablePath.class), Matchers.<AsyncRequestCallback<List<Variable>>>anyObject());
+
+        presenter.showAndUpdateView();
+
+        verify(view).updateVariableValue(variableCaptor.capture(), eq("42"));
+        assertSame(variable, variableCaptor.getValue().getVariable());
+        verify(view, times(1)).setVariables(anyListOf(DebuggerVariable.class));
+    }
+
+    @Test
+    public void shouldRequestFailedBatchOfValuesOnceMore() throws Exception {
+        presenter.setPartStack(partStack);
+        when(partStack.getActivePart()).thenReturn(presenter);
+        returnStackFrameDumpWithVariable("i");
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                Object[] arguments = invocation.getArguments();
+                //noinspection unchecked
+                AsyncRequestCallback<List<Variable>> callback = (AsyncRequestCallback<List<Variable>>)arguments[2];
+                Method onFailure = GwtReflectionUtils.getMethod(callback.getClass(), "onFailure");
+                onFailure.invoke(callback, mock(Throwable.class));
+                return callback;
+            }
+        }).when(service).getValues(anyString(), anyListOf(VariablePath.class), Matchers.<AsyncRequestCallback<List<Variable>>>anyObject());
+
+        presenter.showAndUpdateView();
+
+        verify(service, times(2)).getValues(anyString(), anyListOf(VariablePath.class),
+                                             Matchers.<AsyncRequestCallback<List<Variable>>>anyObject());
+    }
+
+    @Test
+    public void shouldRequestEventsLostWhileWebSocketWasReconnected() throws Exception {
+        MessageHandler eventsHandler = connectAfterEvent(5);
+
+        // events 6, 7 and 8 were published with messages which were not received
+        receiveEvents(eventsHandler, eventList(9, 1, 0));
+
+        verify(service).checkEvents(eq(DEBUGGER_ID), eq(5L), Matchers.<AsyncRequestCallback<DebuggerEventList>>anyObject());
+    }
+
+    @Test
+    public void shouldNotRequestEventsIfNoMessagesWereLost() throws Exception {
+        MessageHandler eventsHandler = connectAfterEvent(5);
+
+        receiveEvents(eventsHandler, eventList(6, 1, 0));
+
+        verify(service, never()).checkEvents(eq(DEBUGGER_ID), eq(5L), Matchers.<AsyncRequestCallback<DebuggerEventList>>anyObject());
+    }
+
+    @Test
+    public void shouldReloadStateIfDebuggerDroppedEvents() throws Exception {
+        MessageHandler eventsHandler = connectAfterEvent(5);
+        when(gutterManager.getCurrentBreakpoint()).thenReturn(mock(Breakpoint.class));
+
+        receiveEvents(eventsHandler, eventList(8, 0, 3));
+
+        verify(service).getStackFrameDump(anyString(), eq(false), Matchers.<AsyncRequestCallback<StackFrameDump>>anyObject());
+    }
+
+    /** Answers on the check of events sent when workspace agent is started, so debugger is connected at given event. */
+    private MessageHandler connectAfterEvent(long sequence) throws Exception {
+        presenter.setPartStack(partStack);
+        verify(service).checkEvents(eq(DEBUGGER_ID), eq(0L), eventsCallbackCaptor.capture());
+        AsyncRequestCallback<DebuggerEventList> callback = eventsCallbackCaptor.getValue();
+        Method onSuccess = GwtReflectionUtils.getMethod(callback.getClass(), "onSuccess");
+        onSuccess.invoke(callback, eventList(sequence, 0, 0));
+
+        verify(messageBus).subscribe(eq(JavaRuntimeExtension.EVENTS_CHANNEL + DEBUGGER_ID), eventsHandlerCaptor.capture());
+        return eventsHandlerCaptor.getValue();
+    }
+
+    private void receiveEvents(MessageHandler eventsHandler, DebuggerEventList eventList) throws Exception {
+        Method onMessageReceived = GwtReflectionUtils.getMethod(eventsHandler.getClass(), "onMessageReceived");
+        onMessageReceived.invoke(eventsHandler, eventList);
+    }
+
+    /** Returns list of {@code size} events which ends with the event with given sequence number. */
+    private DebuggerEventList eventList(long sequence, int size, long missed) {
+        List<DebuggerEvent> events = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            events.add(mock(DebuggerEvent.class));
+        }
+        DebuggerEventList eventList = mock(DebuggerEventList.class);
+        when(eventList.getEvents()).thenReturn(events);
+        when(eventList.getSequence()).thenReturn(sequence);
+        when(eventList.getMissed()).thenReturn(missed);
+        return eventList;
+    }
+
+    /** Answers on request of the stack frame dump with single local variable, without its value. */
+    private Variable returnStackFrameDumpWithVariable(String name) {
+        Variable variable = variable(name, name);
+        final StackFrameDump dump = mock(StackFrameDump.class);
+        when(dump.getLocalVariables()).thenReturn(singletonList(variable));
+        when(gutterManager.getCurrentBreakpoint()).thenReturn(mock(Breakpoint.class));
+
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                Object[] arguments = invocation.getArguments();
+                //noinspection unchecked
+                AsyncRequestCallback<StackFrameDump> callback = (AsyncRequestCallback<StackFrameDump>)arguments[2];
+                Method onSuccess = GwtReflectionUtils.getMethod(callback.getClass(), "onSuccess");
+                onSuccess.invoke(callback, dump);
+                return callback;
+            }
+        }).when(service).getStackFrameDump(anyString(), eq(false), Matchers.<AsyncRequestCallback<StackFrameDump>>anyObject());
+        return variable;
+    }
+
+    /** Answers on request of the page of nested variables with value which has {@code total} nested variables. */
+    private List<Variable> returnValueOnGetValue(int offset, int limit, int total, int size) {
+        final List<Variable> variables = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            variables.add(mock(Variable.class));
+        }
+        final Value value = mock(Value.class);
+        when(value.getVariables()).thenReturn(variables);
+        when(value.getTotal()).thenReturn(total);
+
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                Object[] arguments = invocation.getArguments();
+                //noinspection unchecked
+                AsyncRequestCallback<Value> callback = (AsyncRequestCallback<Value>)arguments[4];
+                Method onSuccess = GwtReflectionUtils.getMethod(callback.getClass(), "onSuccess");
+                onSuccess.invoke(callback, value);
+                return callback;
+            }
+        }).when(service).getValue(anyString(), any(Variable.class), eq(offset), eq(limit),
+                                  Matchers.<AsyncRequestCallback<Value>>anyObject());
+        return variables;
+    }
+
+    private Variable variable(String name, String... path) {
+        VariablePath variablePath = mock(VariablePath.class);
+        when(variablePath.getPath()).thenReturn(new ArrayList<>(asList(path)));
+        Variable variable = mock(Variable.class);
+        when(variable.getName()).thenReturn(name);
+        when(variable.getVariablePath()).thenReturn(variablePath);
+        return variable;
+    }
+
+    /** Creates mock of dto which returns itself from the builder methods, e.g. {@code withName}. */
+    private static <T> T selfReturningMock(Class<T> type) {
+        return mock(type, new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                if (invocation.getMethod().getReturnType().isInstance(invocation.getMock())) {
+                    return invocation.getMock();
+                }
+                return RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
 }
@@ -32,6 +32,7 @@ import com.sun.jdi.request.StepRequest;
 import org.eclipse.che.ide.ext.java.jdi.server.expression.Evaluator;
 import org.eclipse.che.ide.ext.java.jdi.server.expression.ExpressionException;
 import org.eclipse.che.ide.ext.java.jdi.server.expression.ExpressionParser;
+import org.eclipse.che.ide.ext.java.jdi.server.expression.MemberCache;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPoint;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakPointEvent;
 import org.eclipse.che.ide.ext.java.jdi.shared.BreakpointActivatedEvent;
@@ -54,10 +55,15 @@ import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -82,6 +88,16 @@ public class Debugger implements EventsHandler {
     private static final ConcurrentMap<String, Debugger> instances            = new ConcurrentHashMap<>();
     private static final String                          EVENTS_CHANNEL       = "debugger:events:";
     private static final String                          DISCONNECTED_CHANNEL = "debugger:disconnected:";
+    /** Max number of events kept by debugger. */
+    public static final  int                             EVENTS_CAPACITY      = 1000;
+    /** Delay before publishing of events over WebSocket, events which occur within the delay are sent with single message. */
+    private static final long                            EVENTS_PUBLISH_DELAY_MS = 50;
+
+    private static final ScheduledExecutorService EVENTS_PUBLISHER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "DebuggerEventsPublisher");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public static Debugger newInstance(String host, int port) throws VMConnectException {
         Debugger d = new Debugger(host, port);
@@ -100,7 +116,12 @@ public class Debugger implements EventsHandler {
     final String id = Long.toString(counter.getAndIncrement());
     private final String host;
     private final int    port;
-    private final List<DebuggerEvent> events = new ArrayList<>();
+    private final DebuggerEventBuffer events = new DebuggerEventBuffer(EVENTS_CAPACITY);
+    private final AtomicBoolean       publishScheduled = new AtomicBoolean();
+    /** Sequence number of the last event returned by {@link #getEvents()}. */
+    private       long                readSequence;
+    /** Sequence number of the last event published over WebSocket. */
+    private volatile long             publishedSequence;
 
     /**
      * A mapping of source file names to breakpoints. This mapping is used to set
@@ -118,6 +139,13 @@ public class Debugger implements EventsHandler {
     private ThreadReference thread;
     /** Current stack frame. Not <code>null</code> is thread suspended, e.g breakpoint reached. */
     private JdiStackFrame   stackFrame;
+    /**
+     * Rendered values of variables of current frame by path. Cleared when target JVM is resumed or current frame is changed,
+     * so values rendered for the previous frame are never reused. Guarded by {@link #lock}.
+     */
+    private final Map<List<String>, String> renderedValues = new HashMap<>();
+    /** Fields and methods resolved while evaluating expressions, dropped when new class is prepared in target JVM. */
+    private final MemberCache memberCache;
     /** Lock for synchronization debug processes. */
     private Lock lock = new ReentrantLock();
 
@@ -134,9 +162,21 @@ public class Debugger implements EventsHandler {
     private Debugger(String host, int port) throws VMConnectException {
         this.host = host;
         this.port = port;
+        this.memberCache = new MemberCache();
         connect();
     }
 
+    /**
+     * Create debugger for the JVM which is already connected. Events of the JVM are not collected by this debugger,
+     * they are passed to {@link #handleEvents(com.sun.jdi.event.EventSet)} by caller.
+     */
+    Debugger(VirtualMachine vm, String host, int port, MemberCache memberCache) {
+        this.host = host;
+        this.port = port;
+        this.vm = vm;
+        this.memberCache = memberCache;
+    }
+
     /**
      * Attach to a JVM that is already running at specified host.
      *
@@ -354,12 +394,38 @@ public class Debugger implements EventsHandler {
      *         when any JDI errors occurs when try to get events
      */
     public List<DebuggerEvent> getEvents() throws DebuggerException {
-        List<DebuggerEvent> eventsSnapshot;
         synchronized (events) {
-            eventsSnapshot = new ArrayList<>(events);
-            events.clear();
+            List<DebuggerEvent> eventsSnapshot = events.getAfter(readSequence);
+            readSequence = events.getLastSequence();
+            return eventsSnapshot;
         }
-        return eventsSnapshot;
+    }
+
+    /**
+     * Get debugger events which occurred after the event with specified sequence number. Only the last {@link #EVENTS_CAPACITY}
+     * events are kept, number of the events which are dropped before they were read is available with
+     * {@link DebuggerEventList#getMissed()}.
+     *
+     * @param sequence
+     *         sequence number of the last event seen by the client, <code>0</code> to get all the kept events
+     * @return list of events with sequence number of the last event in it
+     */
+    public DebuggerEventList getEventsAfter(long sequence) {
+        synchronized (events) {
+            return newDto(DebuggerEventList.class).withEvents(events.getAfter(sequence))
+                                                  .withSequence(events.getLastSequence())
+                                                  .withMissed(events.getMissed(sequence));
+        }
+    }
+
+    /** Returns number of the events which are not yet published over WebSocket. */
+    public long getPendingEventsCount() {
+        return events.getLastSequence() - publishedSequence;
+    }
+
+    /** Returns total number of the events dropped from the buffer of events. */
+    public long getDroppedEventsCount() {
+        return events.getDropped();
     }
 
     /**
@@ -389,6 +455,22 @@ public class Debugger implements EventsHandler {
      *         when any other errors occur when try to access the current state of target JVM
      */
     public StackFrameDump dumpStackFrame() throws DebuggerStateException, DebuggerException {
+        return dumpStackFrame(true);
+    }
+
+    /**
+     * Get dump of fields and local variable of current object and current frame.
+     *
+     * @param withValues
+     *         if <code>false</code> only names and types of variables are dumped, values may be fetched later with
+     *         {@link #getValues(List)}
+     * @return dump of current stack frame
+     * @throws DebuggerStateException
+     *         when target JVM is not suspended
+     * @throws DebuggerException
+     *         when any other errors occur when try to access the current state of target JVM
+     */
+    public StackFrameDump dumpStackFrame(boolean withValues) throws DebuggerStateException, DebuggerException {
         lock.lock();
         try {
             final JdiStackFrame currentFrame = getCurrentFrame();
@@ -408,7 +490,7 @@ public class Debugger implements EventsHandler {
                                                                .withIsVolatile(f.isVolatile())
                                                                .withName(f.getName())
                                                                .withExistInformation(existInformation)
-                                                               .withValue(f.getValue().getAsString())
+                                                               .withValue(withValues ? renderValue(variablePath, f) : null)
                                                                .withType(f.getTypeName())
                                                                .withVariablePath(newDto(VariablePath.class).withPath(variablePath))
                                                                .withPrimitive(f.isPrimitive()));
@@ -416,7 +498,8 @@ public class Debugger implements EventsHandler {
             for (JdiLocalVariable var : variables) {
                 dump.getLocalVariables().add(newDto(Variable.class).withName(var.getName())
                                                                    .withExistInformation(existInformation)
-                                                                   .withValue(var.getValue().getAsString())
+                                                                   .withValue(withValues ? renderValue(singletonList(var.getName()), var)
+                                                                                         : null)
                                                                    .withType(var.getTypeName())
                                                                    .withVariablePath(
                                                                            newDto(VariablePath.class).withPath(singletonList(var.getName()))
@@ -475,37 +558,46 @@ public class Debugger implements EventsHandler {
      *         when any other errors occur when try to access the variable
      */
     public Value getValue(VariablePath variablePath) throws DebuggerStateException, DebuggerException {
-        List<String> path = variablePath.getPath();
-        if (path.size() == 0) {
-            throw new IllegalArgumentException("Path to value may not be empty. ");
-        }
-        JdiVariable variable;
-        int offset;
-        if ("this".equals(path.get(0)) || "static".equals(path.get(0))) {
-            if (path.size() < 2) {
-                throw new IllegalArgumentException("Name of field required. ");
-            }
-            variable = getCurrentFrame().getFieldByName(path.get(1));
-            offset = 2;
-        } else {
-            try {
-                variable = getCurrentFrame().getLocalVariableByName(path.get(0));
-            } catch (DebuggerAbsentInformationException e) {
-                return null;
-            }
-            offset = 1;
-        }
+        return getValue(variablePath, 0, -1);
+    }
 
-        for (int i = offset; variable != null && i < path.size(); i++) {
-            variable = variable.getValue().getVariableByName(path.get(i));
+    /**
+     * Get value of variable with only page of its nested variables. Total number of nested variables is available
+     * with {@link Value#getTotal()}.
+     *
+     * @param variablePath
+     *         path to variable
+     * @param offset
+     *         index of the first nested variable
+     * @param limit
+     *         max number of nested variables, negative value means all the nested variables from the offset
+     * @return variable or <code>null</code> if variable not found
+     * @throws DebuggerStateException
+     *         when target JVM is not suspended
+     * @throws DebuggerException
+     *         when any other errors occur when try to access the variable
+     * @see #getValue(VariablePath)
+     */
+    public Value getValue(VariablePath variablePath, int offset, int limit) throws DebuggerStateException, DebuggerException {
+        lock.lock();
+        try {
+            return doGetValue(variablePath, offset, limit);
+        } finally {
+            lock.unlock();
         }
+    }
 
+    private Value doGetValue(VariablePath variablePath, int offset, int limit) throws DebuggerException {
+        List<String> path = variablePath.getPath();
+        JdiVariable variable = findVariable(path);
         if (variable == null) {
             return null;
         }
 
-        Value value = newDto(Value.class).withValue(variable.getValue().getAsString());
-        for (JdiVariable ch : variable.getValue().getVariables()) {
+        JdiValue jdiValue = variable.getValue();
+        Value value = newDto(Value.class).withValue(renderValue(path, variable))
+                                         .withTotal(jdiValue.getVariablesCount());
+        for (JdiVariable ch : jdiValue.getVariables(offset, limit)) {
             VariablePath chPath = newDto(VariablePath.class).withPath(new ArrayList<>(path));
             chPath.getPath().add(ch.getName());
             if (ch instanceof JdiField) {
@@ -516,7 +608,7 @@ public class Debugger implements EventsHandler {
                                                             .withIsVolatile(f.isVolatile())
                                                             .withName(f.getName())
                                                             .withExistInformation(true)
-                                                            .withValue(f.getValue().getAsString())
+                                                            .withValue(renderValue(chPath.getPath(), f))
                                                             .withType(f.getTypeName())
                                                             .withVariablePath(chPath)
                                                             .withPrimitive(f.isPrimitive()));
@@ -524,7 +616,7 @@ public class Debugger implements EventsHandler {
                 // Array element.
                 value.getVariables().add(newDto(Variable.class).withName(ch.getName())
                                                                .withExistInformation(true)
-                                                               .withValue(ch.getValue().getAsString())
+                                                               .withValue(renderValue(chPath.getPath(), ch))
                                                                .withType(ch.getTypeName())
                                                                .withVariablePath(chPath)
                                                                .withPrimitive(ch.isPrimitive()));
@@ -533,6 +625,79 @@ public class Debugger implements EventsHandler {
         return value;
     }
 
+    /**
+     * Get values of variables with specified paths. Values are rendered once while target JVM stays suspended in the same
+     * frame, so repeated requests don't access target JVM.
+     *
+     * @param variablePaths
+     *         paths to variables, see {@link #getValue(VariablePath)}
+     * @return variables with values, variables which are not found are skipped
+     * @throws DebuggerStateException
+     *         when target JVM is not suspended
+     * @throws DebuggerException
+     *         when any other errors occur when try to access the variables
+     */
+    public List<Variable> getValues(List<VariablePath> variablePaths) throws DebuggerStateException, DebuggerException {
+        lock.lock();
+        try {
+            List<Variable> variables = new ArrayList<>(variablePaths.size());
+            for (VariablePath variablePath : variablePaths) {
+                JdiVariable variable = findVariable(variablePath.getPath());
+                if (variable != null) {
+                    variables.add(newDto(Variable.class).withName(variable.getName())
+                                                        .withExistInformation(true)
+                                                        .withValue(renderValue(variablePath.getPath(), variable))
+                                                        .withType(variable.getTypeName())
+                                                        .withVariablePath(variablePath)
+                                                        .withPrimitive(variable.isPrimitive()));
+                }
+            }
+            return variables;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private JdiVariable findVariable(List<String> path) throws DebuggerException {
+        if (path.size() == 0) {
+            throw new IllegalArgumentException("Path to value may not be empty. ");
+        }
+        JdiVariable variable;
+        int offset;
+        if ("this".equals(path.get(0)) || "static".equals(path.get(0))) {
+            if (path.size() < 2) {
+                throw new IllegalArgumentException("Name of field required. ");
+            }
+            variable = getCurrentFrame().getFieldByName(path.get(1));
+            offset = 2;
+        } else {
+            try {
+                variable = getCurrentFrame().getLocalVariableByName(path.get(0));
+            } catch (DebuggerAbsentInformationException e) {
+                return null;
+            }
+            offset = 1;
+        }
+
+        for (int i = offset; variable != null && i < path.size(); i++) {
+            variable = variable.getValue().getVariableByName(path.get(i));
+        }
+        return variable;
+    }
+
+    /**
+     * Returns string representation of the value of variable, it is rendered once per suspended frame.
+     * Must be called while holding {@link #lock}.
+     */
+    private String renderValue(List<String> path, JdiVariable variable) throws DebuggerException {
+        String value = renderedValues.get(path);
+        if (value == null) {
+            value = variable.getValue().getAsString();
+            renderedValues.put(path, value);
+        }
+        return value;
+    }
+
     /**
      * Update the value of variable with the value of an evaluated expression.
      *
@@ -640,21 +805,12 @@ public class Debugger implements EventsHandler {
 
         if (hitBreakpoint) {
             com.sun.jdi.Location location = event.location();
-            BreakPointEvent breakPointEvent;
-            synchronized (events) {
-                Location locationDto = newDto(Location.class).withClassName(location.declaringType().name())
-                                                             .withLineNumber(location.lineNumber());
-                // Breakpoint always enabled at the moment. Managing states of breakpoint is not supported for now.
-                breakPointEvent =
-                        (BreakPointEvent)newDto(BreakPointEvent.class).withBreakPoint(newDto(BreakPoint.class).withEnabled(true)
-                                                                                                              .withLocation(locationDto))
-                                                                      .withType(DebuggerEvent.BREAKPOINT);
-                events.add(breakPointEvent);
-            }
-
-            List<DebuggerEvent> eventsList = new ArrayList<>();
-            eventsList.add(breakPointEvent);
-            publishWebSocketMessage(newDto(DebuggerEventList.class).withEvents(eventsList), EVENTS_CHANNEL + id);
+            Location locationDto = newDto(Location.class).withClassName(location.declaringType().name())
+                                                         .withLineNumber(location.lineNumber());
+            // Breakpoint always enabled at the moment. Managing states of breakpoint is not supported for now.
+            addEvent(newDto(BreakPointEvent.class).withBreakPoint(newDto(BreakPoint.class).withEnabled(true)
+                                                                                          .withLocation(locationDto))
+                                                  .withType(DebuggerEvent.BREAKPOINT));
         }
 
         // Left target JVM in suspended state if result of evaluation of expression is boolean value and true
@@ -665,18 +821,9 @@ public class Debugger implements EventsHandler {
     private boolean processStepEvent(com.sun.jdi.event.StepEvent event) throws DebuggerException {
         setCurrentThread(event.thread());
         com.sun.jdi.Location location = event.location();
-        StepEvent stepEvent;
-        synchronized (events) {
-            stepEvent =
-                    (StepEvent)newDto(StepEvent.class).withLocation(newDto(Location.class).withClassName(location.declaringType().name())
-                                                                                          .withLineNumber(location.lineNumber()))
-                                                      .withType(DebuggerEvent.STEP);
-            events.add(stepEvent);
-        }
-
-        List<DebuggerEvent> eventsList = new ArrayList<>();
-        eventsList.add(stepEvent);
-        publishWebSocketMessage(newDto(DebuggerEventList.class).withEvents(eventsList), EVENTS_CHANNEL + id);
+        addEvent(newDto(StepEvent.class).withLocation(newDto(Location.class).withClassName(location.declaringType().name())
+                                                                            .withLineNumber(location.lineNumber()))
+                                        .withType(DebuggerEvent.STEP));
         // Lets target JVM to be in suspend state.
         return false;
     }
@@ -690,24 +837,20 @@ public class Debugger implements EventsHandler {
 
     private boolean processClassPrepareEvent(com.sun.jdi.event.ClassPrepareEvent event) throws DebuggerException {
         setCurrentThread(event.thread());
+        // Members resolved by evaluator may be changed after preparing of new class.
+        memberCache.invalidate();
         final String className = event.referenceType().name();
 
         // add deferred breakpoints
         List<BreakPoint> breakpointsToAdd = deferredBreakpoints.get(className);
         if (breakpointsToAdd != null) {
-            List<DebuggerEvent> eventsList = new ArrayList<>();
-
             for (BreakPoint b : breakpointsToAdd) {
                 addBreakpoint(b);
 
-                BreakpointActivatedEvent breakpointActivatedEvent;
-                synchronized (events) {
-                    breakpointActivatedEvent = newDto(BreakpointActivatedEvent.class);
-                    breakpointActivatedEvent.setType(DebuggerEvent.BREAKPOINT_ACTIVATED);
-                    breakpointActivatedEvent.setBreakPoint(b);
-                    events.add(breakpointActivatedEvent);
-                }
-                eventsList.add(breakpointActivatedEvent);
+                BreakpointActivatedEvent breakpointActivatedEvent = newDto(BreakpointActivatedEvent.class);
+                breakpointActivatedEvent.setType(DebuggerEvent.BREAKPOINT_ACTIVATED);
+                breakpointActivatedEvent.setBreakPoint(b);
+                addEvent(breakpointActivatedEvent);
             }
             deferredBreakpoints.remove(className);
 
@@ -717,12 +860,45 @@ public class Debugger implements EventsHandler {
             if (request != null) {
                 getEventManager().deleteEventRequest(request);
             }
-
-            publishWebSocketMessage(newDto(DebuggerEventList.class).withEvents(eventsList), EVENTS_CHANNEL + id);
         }
         return true;
     }
 
+    /**
+     * Adds event to the buffer of events and schedules publishing of it over WebSocket. Events added before the publishing
+     * task is run are sent with single message.
+     */
+    private void addEvent(DebuggerEvent event) {
+        events.add(event);
+        if (publishScheduled.compareAndSet(false, true)) {
+            EVENTS_PUBLISHER.schedule(this::publishEvents, EVENTS_PUBLISH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void publishEvents() {
+        publishScheduled.set(false);
+        List<DebuggerEvent> pending;
+        long sequence;
+        long missed;
+        long dropped;
+        synchronized (events) {
+            pending = events.getAfter(publishedSequence);
+            missed = events.getMissed(publishedSequence);
+            sequence = events.getLastSequence();
+            dropped = events.getDropped();
+        }
+        if (missed > 0) {
+            LOG.warn("{} events of debugger {} were dropped before publishing, {} events dropped in total", missed, id, dropped);
+        }
+        publishedSequence = sequence;
+        if (!pending.isEmpty()) {
+            publishWebSocketMessage(newDto(DebuggerEventList.class).withEvents(pending)
+                                                                   .withSequence(sequence)
+                                                                   .withMissed(missed),
+                                    EVENTS_CHANNEL + id);
+        }
+    }
+
     /**
      * Step to the next line.
      *
@@ -791,7 +967,7 @@ public class Debugger implements EventsHandler {
     private com.sun.jdi.Value evaluate(ExpressionParser parser) throws DebuggerStateException {
         final long startTime = System.currentTimeMillis();
         try {
-            return parser.evaluate(new Evaluator(vm, getCurrentThread()));
+            return parser.evaluate(new Evaluator(vm, getCurrentThread(), memberCache));
         } catch (ExpressionException e) {
             throw new DebuggerStateException(e.getMessage());
         } finally {
@@ -822,17 +998,35 @@ public class Debugger implements EventsHandler {
     }
 
     private void setCurrentThread(ThreadReference t) {
-        stackFrame = null;
-        thread = t;
+        lock.lock();
+        try {
+            stackFrame = null;
+            thread = t;
+            renderedValues.clear();
+        } finally {
+            lock.unlock();
+        }
     }
 
     private void resetCurrentFrame() {
-        stackFrame = null;
+        lock.lock();
+        try {
+            stackFrame = null;
+            renderedValues.clear();
+        } finally {
+            lock.unlock();
+        }
     }
 
     private void resetCurrentThread() {
-        this.stackFrame = null;
-        this.thread = null;
+        lock.lock();
+        try {
+            this.stackFrame = null;
+            this.thread = null;
+            this.renderedValues.clear();
+        } finally {
+            lock.unlock();
+        }
     }
 
     //
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.server;
+
+import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded buffer of debugger events. Each event gets sequence number, the first event has number 1, so clients read
+ * events after the sequence number of the last event they have seen. The oldest events are dropped when the buffer is full.
+ */
+class DebuggerEventBuffer {
+    private final DebuggerEvent[] events;
+
+    /** Sequence number of the last added event, <code>0</code> if there are no events yet. */
+    private long lastSequence;
+    private long dropped;
+
+    DebuggerEventBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive. ");
+        }
+        this.events = new DebuggerEvent[capacity];
+    }
+
+    /**
+     * Adds event to the buffer.
+     *
+     * @return sequence number of the event
+     */
+    synchronized long add(DebuggerEvent event) {
+        if (lastSequence >= events.length) {
+            dropped++;
+        }
+        lastSequence++;
+        events[(int)(lastSequence % events.length)] = event;
+        return lastSequence;
+    }
+
+    /** Returns all the kept events with sequence number greater than the given one. */
+    synchronized List<DebuggerEvent> getAfter(long sequence) {
+        final long from = Math.max(sequence, getFirstSequence() - 1) + 1;
+        final List<DebuggerEvent> result = new ArrayList<>((int)Math.max(0, lastSequence - from + 1));
+        for (long i = from; i <= lastSequence; i++) {
+            result.add(events[(int)(i % events.length)]);
+        }
+        return result;
+    }
+
+    /** Returns number of the events with sequence number greater than the given one which were dropped from the buffer. */
+    synchronized long getMissed(long sequence) {
+        return Math.max(0, getFirstSequence() - 1 - sequence);
+    }
+
+    synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /** Returns total number of the events dropped from the buffer. */
+    synchronized long getDropped() {
+        return dropped;
+    }
+
+    private long getFirstSequence() {
+        return Math.max(1, lastSequence - events.length + 1);
+    }
+}
@@ -18,9 +18,11 @@ import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerInfo;
 import org.eclipse.che.ide.ext.java.jdi.shared.StackFrameDump;
 import org.eclipse.che.ide.ext.java.jdi.shared.UpdateVariableRequest;
 import org.eclipse.che.ide.ext.java.jdi.shared.Value;
+import org.eclipse.che.ide.ext.java.jdi.shared.Variable;
 import org.eclipse.che.ide.ext.java.jdi.shared.VariablePath;
 
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
@@ -28,6 +30,7 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
+import java.util.List;
 
 /**
  * Provide access to {@link Debugger} through HTTP.
@@ -41,13 +44,14 @@ public class DebuggerService {
     @Produces(MediaType.APPLICATION_JSON)
     public DebuggerInfo create(@QueryParam("host") String host,
                                @QueryParam("port") int port) throws DebuggerException {
-        Debugger d = Debugger.newInstance(host, port);
-        return DtoFactory.getInstance().createDto(DebuggerInfo.class)
-                         .withHost(d.getHost())
-                         .withPort(d.getPort())
-                         .withId(d.id)
-                         .withVmName(d.getVmName())
-                         .withVmVersion(d.getVmVersion());
+        return toInfo(Debugger.newInstance(host, port));
+    }
+
+    @GET
+    @Path("info/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public DebuggerInfo getInfo(@PathParam("id") String id) throws DebuggerException {
+        return toInfo(Debugger.getInstance(id));
     }
 
     @GET
@@ -93,23 +97,38 @@ public class DebuggerService {
     @GET
     @Path("events/{id}")
     @Produces(MediaType.APPLICATION_JSON)
-    public DebuggerEventList getEvents(@PathParam("id") String id) throws DebuggerException {
+    public DebuggerEventList getEvents(@PathParam("id") String id, @QueryParam("after") Long after) throws DebuggerException {
+        if (after != null) {
+            return Debugger.getInstance(id).getEventsAfter(after);
+        }
         return DtoFactory.getInstance().createDto(DebuggerEventList.class).withEvents(Debugger.getInstance(id).getEvents());
     }
 
     @GET
     @Path("dump/{id}")
     @Produces(MediaType.APPLICATION_JSON)
-    public StackFrameDump getStackFrameDump(@PathParam("id") String id) throws DebuggerException {
-        return Debugger.getInstance(id).dumpStackFrame();
+    public StackFrameDump getStackFrameDump(@PathParam("id") String id,
+                                            @QueryParam("values") @DefaultValue("true") boolean values) throws DebuggerException {
+        return Debugger.getInstance(id).dumpStackFrame(values);
     }
 
     @POST
     @Path("value/get/{id}")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public Value getValue(@PathParam("id") String id, VariablePath path) throws DebuggerException {
-        return Debugger.getInstance(id).getValue(path);
+    public Value getValue(@PathParam("id") String id,
+                          @QueryParam("offset") @DefaultValue("0") int offset,
+                          @QueryParam("limit") @DefaultValue("-1") int limit,
+                          VariablePath path) throws DebuggerException {
+        return Debugger.getInstance(id).getValue(path, offset, limit);
+    }
+
+    @POST
+    @Path("values/get/{id}")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<Variable> getValues(@PathParam("id") String id, List<VariablePath> paths) throws DebuggerException {
+        return Debugger.getInstance(id).getValues(paths);
     }
 
     @POST
@@ -144,4 +163,15 @@ public class DebuggerService {
     public String expression(@PathParam("id") String id, String expression) throws DebuggerException {
         return Debugger.getInstance(id).expression(expression);
     }
+
+    private DebuggerInfo toInfo(Debugger d) throws DebuggerException {
+        return DtoFactory.getInstance().createDto(DebuggerInfo.class)
+                         .withHost(d.getHost())
+                         .withPort(d.getPort())
+                         .withId(d.id)
+                         .withVmName(d.getVmName())
+                         .withVmVersion(d.getVmVersion())
+                         .withPendingEvents(d.getPendingEventsCount())
+                         .withDroppedEvents(d.getDroppedEventsCount());
+    }
 }
@@ -35,6 +35,29 @@ public interface JdiValue {
      */
     JdiVariable[] getVariables() throws DebuggerException;
 
+    /**
+     * Get page of nested variables. Array members of the page are fetched from the target JVM with single request.
+     *
+     * @param offset
+     *         index of the first variable
+     * @param limit
+     *         max number of variables, negative value means all the variables from the offset
+     * @return nested variables
+     * @throws DebuggerException
+     *         if an error occurs
+     * @see #getVariables()
+     */
+    JdiVariable[] getVariables(int offset, int limit) throws DebuggerException;
+
+    /**
+     * Get number of nested variables without fetching them.
+     *
+     * @return number of nested variables
+     * @throws DebuggerException
+     *         if an error occurs
+     */
+    int getVariablesCount() throws DebuggerException;
+
     /**
      * Get nested variable by name.
      *
@@ -12,18 +12,39 @@ package org.eclipse.che.ide.ext.java.jdi.server;
 
 import com.sun.jdi.ArrayReference;
 import com.sun.jdi.Field;
+import com.sun.jdi.IntegerValue;
 import com.sun.jdi.ObjectReference;
 import com.sun.jdi.PrimitiveValue;
 import com.sun.jdi.ReferenceType;
 import com.sun.jdi.Value;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-/** @author andrew00x */
+/**
+ * Nested variables of the array are its elements, nested variables of the object are its fields. Elements of the lists
+ * backed by array, e.g. {@link java.util.ArrayList}, go before the fields of the list, so large lists are paged the same way
+ * as arrays instead of fetching their whole backing array.
+ *
+ * @author andrew00x
+ */
 public class JdiValueImpl implements JdiValue {
-    private final Value         value;
-    private       JdiVariable[] variables;
+    /** Types of the lists backed by array, mapped to the name of the field which holds size of the list. */
+    private static final Map<String, String> ARRAY_LISTS     = new HashMap<>();
+    private static final String              ARRAY_LIST_DATA = "elementData";
+
+    static {
+        ARRAY_LISTS.put("java.util.ArrayList", "size");
+        ARRAY_LISTS.put("java.util.Vector", "elementCount");
+    }
+
+    private final Value          value;
+    private       JdiVariable[]  variables;
+    private       JdiVariable[]  fields;
+    private       ArrayReference elements;
+    private       int            elementsCount = -1;
 
     public JdiValueImpl(Value value) {
         if (value == null) {
@@ -40,38 +61,81 @@ public class JdiValueImpl implements JdiValue {
     @Override
     public JdiVariable[] getVariables() {
         if (variables == null) {
-            if (isPrimitive()) {
-                variables = new JdiVariable[0];
-            } else {
-                if (isArray()) {
-                    ArrayReference array = (ArrayReference)value;
-                    int length = array.length();
-                    variables = new JdiVariable[length];
-                    for (int i = 0; i < length; i++) {
-                        variables[i] = new JdiArrayElementImpl(i, array.getValue(i));
-                    }
-                } else {
-                    ObjectReference object = (ObjectReference)value;
-                    ReferenceType type = object.referenceType();
-                    List<Field> fields = type.allFields();
-                    variables = new JdiVariable[fields.size()];
-                    int i = 0;
-                    for (Field f : fields) {
-                        variables[i++] = new JdiFieldImpl(f, object);
-                    }
-                    // See JdiFieldImpl#compareTo(JdiFieldImpl).
-                    Arrays.sort(variables);
-                }
-            }
+            variables = getVariables(0, -1);
         }
         return variables;
     }
 
+    @Override
+    public JdiVariable[] getVariables(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset may not be negative. ");
+        }
+        if (isPrimitive()) {
+            return new JdiVariable[0];
+        }
+        if (variables != null) {
+            return Arrays.copyOfRange(variables, Math.min(offset, variables.length), end(offset, limit, variables.length));
+        }
+        if (isArray()) {
+            ArrayReference array = (ArrayReference)value;
+            return getElements(array, offset, end(offset, limit, array.length()));
+        }
+        JdiVariable[] fields = getFields();
+        int count = getElementsCount();
+        if (count == 0) {
+            return Arrays.copyOfRange(fields, Math.min(offset, fields.length), end(offset, limit, fields.length));
+        }
+        // Elements of the list go first, then its fields.
+        int to = end(offset, limit, count + fields.length);
+        JdiVariable[] page = getElements(elements, offset, Math.min(to, count));
+        JdiVariable[] pageFields = Arrays.copyOfRange(fields,
+                                                      Math.min(Math.max(offset - count, 0), fields.length),
+                                                      Math.max(to - count, 0));
+        JdiVariable[] result = Arrays.copyOf(page, page.length + pageFields.length);
+        System.arraycopy(pageFields, 0, result, page.length, pageFields.length);
+        return result;
+    }
+
+    @Override
+    public int getVariablesCount() {
+        if (isPrimitive()) {
+            return 0;
+        }
+        if (variables != null) {
+            return variables.length;
+        }
+        if (isArray()) {
+            return ((ArrayReference)value).length();
+        }
+        return getElementsCount() + getFields().length;
+    }
+
     @Override
     public JdiVariable getVariableByName(String name) throws DebuggerException {
         if (name == null) {
             throw new IllegalArgumentException("Variable name may not be null. ");
         }
+        if (variables == null && !isPrimitive() && (isArray() || getElementsCount() > 0)) {
+            // Name of element is in form [i], get the element by index without fetching of the whole array.
+            if (name.length() >= 3 && name.charAt(0) == '[' && name.charAt(name.length() - 1) == ']') {
+                ArrayReference array = isArray() ? (ArrayReference)value : elements;
+                int count = isArray() ? array.length() : getElementsCount();
+                int index;
+                try {
+                    index = Integer.parseInt(name.substring(1, name.length() - 1));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+                if (index < 0 || index >= count) {
+                    return null;
+                }
+                return new JdiArrayElementImpl(index, array.getValue(index));
+            }
+            if (isArray()) {
+                return null;
+            }
+        }
         for (JdiVariable variable : getVariables()) {
             if (name.equals(variable.getName())) {
                 return variable;
@@ -80,6 +144,66 @@ public class JdiValueImpl implements JdiValue {
         return null;
     }
 
+    private JdiVariable[] getFields() {
+        if (fields == null) {
+            ObjectReference object = (ObjectReference)value;
+            ReferenceType type = object.referenceType();
+            List<Field> typeFields = type.allFields();
+            fields = new JdiVariable[typeFields.size()];
+            int i = 0;
+            for (Field f : typeFields) {
+                fields[i++] = new JdiFieldImpl(f, object);
+            }
+            // See JdiFieldImpl#compareTo(JdiFieldImpl).
+            Arrays.sort(fields);
+        }
+        return fields;
+    }
+
+    /** Fetches elements of the page with single request to the target JVM. */
+    private static JdiVariable[] getElements(ArrayReference array, int from, int to) {
+        if (from >= to) {
+            return new JdiVariable[0];
+        }
+        List<Value> values = array.getValues(from, to - from);
+        JdiVariable[] elements = new JdiVariable[values.size()];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = new JdiArrayElementImpl(from + i, values.get(i));
+        }
+        return elements;
+    }
+
+    /** Returns number of elements of the list backed by array or {@code 0} if the value isn't such list. */
+    private int getElementsCount() {
+        if (elementsCount < 0) {
+            elementsCount = 0;
+            if (value instanceof ObjectReference && !isArray()) {
+                ObjectReference object = (ObjectReference)value;
+                ReferenceType type = object.referenceType();
+                String sizeFieldName = ARRAY_LISTS.get(type.name());
+                if (sizeFieldName != null) {
+                    Field sizeField = type.fieldByName(sizeFieldName);
+                    Field dataField = type.fieldByName(ARRAY_LIST_DATA);
+                    Value size = sizeField == null ? null : object.getValue(sizeField);
+                    Value data = dataField == null ? null : object.getValue(dataField);
+                    if (size instanceof IntegerValue && data instanceof ArrayReference) {
+                        elements = (ArrayReference)data;
+                        elementsCount = Math.min(((IntegerValue)size).value(), elements.length());
+                    }
+                }
+            }
+        }
+        return elementsCount;
+    }
+
+    /** Returns index next to the last index of the page, negative limit means all the items up to the end. */
+    private static int end(int offset, int limit, int length) {
+        if (limit < 0) {
+            return length;
+        }
+        return (int)Math.min((long)offset + limit, length);
+    }
+
     private boolean isArray() {
         return value instanceof ArrayReference;
     }
@@ -16,14 +16,31 @@ import org.antlr.runtime.ANTLRStringStream;
 import org.antlr.runtime.CommonTokenStream;
 import org.antlr.runtime.RecognitionException;
 import org.antlr.runtime.tree.CommonTreeNodeStream;
+import org.antlr.runtime.tree.Tree;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * ANTLR based implementation of ExpressionParser.
+ * <p/>
+ * Syntax trees of parsed expressions are cached by the text of expression, so conditions of breakpoints and expressions
+ * evaluated repeatedly are lexed and parsed once.
  *
  * @author andrew00x
  */
 public final class ANTLRExpressionParser extends ExpressionParser {
-    private CommonTreeNodeStream nodes;
+    private static final int MAX_CACHED_TREES = 256;
+
+    private static final Map<String, Tree> TREES = Collections.synchronizedMap(new LinkedHashMap<String, Tree>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Tree> eldest) {
+            return size() > MAX_CACHED_TREES;
+        }
+    });
+
+    private Tree tree;
 
     public ANTLRExpressionParser(String expression) {
         super(expression);
@@ -32,22 +49,27 @@ public final class ANTLRExpressionParser extends ExpressionParser {
     @Override
     public Value evaluate(Evaluator ev) {
         try {
-            if (nodes == null) {
-                parse();
-            } else {
-                nodes.reset();
+            if (tree == null) {
+                tree = parse();
             }
-            JavaTreeParser walker = new JavaTreeParser(nodes, ev);
+            // Tree is only read while walking, so the same tree may be walked by different streams.
+            JavaTreeParser walker = new JavaTreeParser(new CommonTreeNodeStream(tree), ev);
             return walker.evaluate();
         } catch (RecognitionException e) {
             throw new ExpressionException(e.getMessage(), e);
         }
     }
 
-    private void parse() throws RecognitionException {
-        JavaLexer lexer = new JavaLexer(new ANTLRStringStream(getExpression()));
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
-        JavaParser parser = new JavaParser(tokens);
-        nodes = new CommonTreeNodeStream(parser.expression().getTree());
+    /** Returns syntax tree of the expression, trees of the recently parsed expressions are reused. */
+    Tree parse() throws RecognitionException {
+        Tree parsed = TREES.get(getExpression());
+        if (parsed == null) {
+            JavaLexer lexer = new JavaLexer(new ANTLRStringStream(getExpression()));
+            CommonTokenStream tokens = new CommonTokenStream(lexer);
+            JavaParser parser = new JavaParser(tokens);
+            parsed = (Tree)parser.expression().getTree();
+            TREES.put(getExpression(), parsed);
+        }
+        return parsed;
     }
 }
@@ -69,10 +69,16 @@ public class Evaluator {
 
     private final VirtualMachine  vm;
     private final ThreadReference thread;
+    private final MemberCache     members;
 
     public Evaluator(VirtualMachine vm, ThreadReference thread) {
+        this(vm, thread, new MemberCache());
+    }
+
+    public Evaluator(VirtualMachine vm, ThreadReference thread, MemberCache members) {
         this.vm = vm;
         this.thread = thread;
+        this.members = members;
     }
 
     private static boolean isPrimitive(Type type) {
@@ -241,7 +247,7 @@ public class Evaluator {
         ExpressionValue value = null;
         try {
             ObjectReference object = (ObjectReference)parent;
-            Field field = object.referenceType().fieldByName(name);
+            Field field = members.getField(object.referenceType(), name);
             if (field != null) {
                 value = new InstanceValue(object, field);
             }
@@ -282,7 +288,7 @@ public class Evaluator {
         for (Method mm : methods) {
             List<Type> argumentTypes;
             try {
-                argumentTypes = mm.argumentTypes();
+                argumentTypes = members.getArgumentTypes(mm);
             } catch (ClassNotLoadedException e) {
                 continue;
             }
@@ -328,6 +334,15 @@ public class Evaluator {
     }
 
     private boolean isAssignable(Type from, Type to) {
+        Boolean assignable = members.isAssignable(from, to);
+        if (assignable == null) {
+            assignable = resolveAssignable(from, to);
+            members.putAssignable(from, to, assignable);
+        }
+        return assignable;
+    }
+
+    private boolean resolveAssignable(Type from, Type to) {
         if (from.equals(to)) {
             return true;
         }
@@ -391,10 +406,13 @@ public class Evaluator {
         }
         ObjectReference object = (ObjectReference)value;
         ReferenceType type = object.referenceType();
-        List<Method> methods = type.methodsByName(name);
-        Method method = findMethod(methods, arguments);
+        Method method = members.getMethod(type, name, arguments);
         if (method == null) {
-            throw new ExpressionException("No method with name " + name + " matched to specified arguments for " + type.name());
+            method = findMethod(type.methodsByName(name), arguments);
+            if (method == null) {
+                throw new ExpressionException("No method with name " + name + " matched to specified arguments for " + type.name());
+            }
+            members.putMethod(type, name, arguments, method);
         }
         try {
             return new ReadOnlyValue(object.invokeMethod(thread, method, arguments, 0));
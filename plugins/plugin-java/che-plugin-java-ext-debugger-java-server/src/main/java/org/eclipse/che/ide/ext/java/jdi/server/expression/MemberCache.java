@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.server.expression;
+
+import com.sun.jdi.ClassNotLoadedException;
+import com.sun.jdi.Field;
+import com.sun.jdi.Method;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.Type;
+import com.sun.jdi.Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of fields, methods and types resolved by {@link Evaluator}, so repeated evaluation of the same expression doesn't
+ * look up members and hierarchy of the types in target JVM again. Cache must be invalidated when new classes are prepared
+ * in target JVM.
+ */
+public class MemberCache {
+    private final ConcurrentMap<Key, Field>          fields        = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Key, Method>         methods       = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Method, List<Type>>  argumentTypes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<List<Type>, Boolean> assignable    = new ConcurrentHashMap<>();
+
+    /** Returns field of the type with specified name or <code>null</code> if there is no such field. */
+    public Field getField(ReferenceType type, String name) {
+        final Key key = new Key(type, name, null);
+        Field field = fields.get(key);
+        if (field == null) {
+            field = type.fieldByName(name);
+            if (field != null) {
+                fields.put(key, field);
+            }
+        }
+        return field;
+    }
+
+    /** Returns method previously resolved for the arguments of the same types or <code>null</code>. */
+    public Method getMethod(ReferenceType type, String name, List<Value> arguments) {
+        return methods.get(new Key(type, name, argumentTypes(arguments)));
+    }
+
+    public void putMethod(ReferenceType type, String name, List<Value> arguments, Method method) {
+        methods.put(new Key(type, name, argumentTypes(arguments)), method);
+    }
+
+    /**
+     * Returns types of arguments of the method.
+     *
+     * @throws ClassNotLoadedException
+     *         if type of some argument is not loaded yet, such result is not cached
+     */
+    public List<Type> getArgumentTypes(Method method) throws ClassNotLoadedException {
+        List<Type> types = argumentTypes.get(method);
+        if (types == null) {
+            types = method.argumentTypes();
+            argumentTypes.put(method, types);
+        }
+        return types;
+    }
+
+    /** Returns whether value of type {@code from} was found assignable to type {@code to} or {@code null} if not checked yet. */
+    public Boolean isAssignable(Type from, Type to) {
+        return assignable.get(Arrays.asList(from, to));
+    }
+
+    public void putAssignable(Type from, Type to, boolean isAssignable) {
+        assignable.put(Arrays.asList(from, to), isAssignable);
+    }
+
+    /** Drops all the resolved members and types. */
+    public void invalidate() {
+        fields.clear();
+        methods.clear();
+        argumentTypes.clear();
+        assignable.clear();
+    }
+
+    private static List<Type> argumentTypes(List<Value> arguments) {
+        final List<Type> types = new ArrayList<>(arguments.size());
+        for (Value argument : arguments) {
+            types.add(argument == null ? null : argument.type());
+        }
+        return types;
+    }
+
+    private static final class Key {
+        final ReferenceType type;
+        final String        name;
+        final List<Type>    argumentTypes;
+
+        Key(ReferenceType type, String name, List<Type> argumentTypes) {
+            this.type = type;
+            this.name = name;
+            this.argumentTypes = argumentTypes;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key)obj;
+            return type.equals(other.type) && name.equals(other.name) && Objects.equals(argumentTypes, other.argumentTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, name, argumentTypes);
+        }
+    }
+}
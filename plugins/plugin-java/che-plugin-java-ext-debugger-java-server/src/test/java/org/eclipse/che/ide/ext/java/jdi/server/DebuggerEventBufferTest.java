@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.server;
+
+import org.eclipse.che.ide.ext.java.jdi.shared.DebuggerEvent;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link DebuggerEventBuffer}.
+ */
+public class DebuggerEventBufferTest {
+    private static final int CAPACITY = 3;
+
+    private DebuggerEventBuffer buffer;
+    private List<DebuggerEvent> added;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        buffer = new DebuggerEventBuffer(CAPACITY);
+        added = new ArrayList<>();
+    }
+
+    @Test
+    public void shouldNumberEventsStartingFromOne() throws Exception {
+        assertEquals(buffer.getLastSequence(), 0);
+
+        assertEquals(add(), 1);
+        assertEquals(add(), 2);
+        assertEquals(buffer.getLastSequence(), 2);
+    }
+
+    @Test
+    public void shouldReturnEventsAfterSequenceNumber() throws Exception {
+        add();
+        add();
+        add();
+
+        assertEquals(buffer.getAfter(0), added);
+        assertEquals(buffer.getAfter(1), added.subList(1, 3));
+        assertTrue(buffer.getAfter(3).isEmpty());
+        assertEquals(buffer.getMissed(0), 0);
+    }
+
+    @Test
+    public void shouldKeepLastEventsWhenBufferWrapsAround() throws Exception {
+        for (int i = 0; i < 2 * CAPACITY + 1; i++) {
+            add();
+        }
+
+        assertEquals(buffer.getLastSequence(), 7);
+        assertEquals(buffer.getAfter(0), added.subList(4, 7));
+        assertEquals(buffer.getAfter(5), added.subList(5, 7));
+    }
+
+    @Test
+    public void shouldCountDroppedEvents() throws Exception {
+        for (int i = 0; i < CAPACITY; i++) {
+            add();
+        }
+        assertEquals(buffer.getDropped(), 0);
+
+        add();
+        add();
+
+        assertEquals(buffer.getDropped(), 2);
+    }
+
+    @Test
+    public void shouldCountEventsMissedByReaderAfterSequenceNumber() throws Exception {
+        for (int i = 0; i < CAPACITY + 2; i++) {
+            add();
+        }
+
+        // events 1 and 2 are dropped
+        assertEquals(buffer.getMissed(0), 2);
+        assertEquals(buffer.getMissed(1), 1);
+        assertEquals(buffer.getMissed(2), 0);
+        assertEquals(buffer.getMissed(5), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void shouldNotCreateBufferWithoutCapacity() throws Exception {
+        new DebuggerEventBuffer(0);
+    }
+
+    private long add() {
+        DebuggerEvent event = mock(DebuggerEvent.class);
+        added.add(event);
+        return buffer.add(event);
+    }
+}
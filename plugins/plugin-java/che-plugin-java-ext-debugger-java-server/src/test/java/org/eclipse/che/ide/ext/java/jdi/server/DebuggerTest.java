@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.server;
+
+import com.sun.jdi.IntegerValue;
+import com.sun.jdi.LocalVariable;
+import com.sun.jdi.Location;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.StackFrame;
+import com.sun.jdi.ThreadReference;
+import com.sun.jdi.VirtualMachine;
+import com.sun.jdi.event.ClassPrepareEvent;
+import com.sun.jdi.event.Event;
+import com.sun.jdi.event.EventSet;
+import com.sun.jdi.event.StepEvent;
+
+import org.eclipse.che.ide.ext.java.jdi.server.expression.MemberCache;
+import org.eclipse.che.ide.ext.java.jdi.shared.Variable;
+import org.eclipse.che.ide.ext.java.jdi.shared.VariablePath;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests rendering of the values of variables of the current frame and handling of the events of target JVM by {@link Debugger}.
+ */
+public class DebuggerTest {
+
+    private ThreadReference thread;
+    private StackFrame      frame;
+    private LocalVariable   local;
+    private MemberCache     memberCache;
+    private Debugger        debugger;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        thread = mock(ThreadReference.class);
+        frame = mock(StackFrame.class);
+        local = mock(LocalVariable.class);
+        when(thread.frame(0)).thenReturn(frame);
+        Location location = mock(Location.class);
+        when(location.declaringType()).thenReturn(mock(ReferenceType.class));
+        when(frame.location()).thenReturn(location);
+        when(frame.visibleVariables()).thenReturn(singletonList(local));
+        when(local.name()).thenReturn("i");
+        when(local.signature()).thenReturn("I");
+        when(local.typeName()).thenReturn("int");
+        setValue("1");
+
+        memberCache = mock(MemberCache.class);
+        debugger = new Debugger(mock(VirtualMachine.class), "localhost", 8000, memberCache);
+    }
+
+    @Test(expectedExceptions = DebuggerStateException.class)
+    public void shouldNotGetValuesIfTargetJvmIsNotSuspended() throws Exception {
+        debugger.getValues(singletonList(path("i")));
+    }
+
+    @Test
+    public void shouldRenderValueOnceWhileTargetJvmStaysInTheSameFrame() throws Exception {
+        suspend();
+
+        List<Variable> first = debugger.getValues(singletonList(path("i")));
+        List<Variable> second = debugger.getValues(singletonList(path("i")));
+
+        assertEquals(first.size(), 1);
+        assertEquals(first.get(0).getValue(), "1");
+        assertEquals(second.get(0).getValue(), "1");
+        verify(frame, times(1)).getValue(local);
+    }
+
+    @Test
+    public void shouldRenderValueAgainAfterStep() throws Exception {
+        suspend();
+        debugger.getValues(singletonList(path("i")));
+        setValue("2");
+
+        suspend();
+        List<Variable> values = debugger.getValues(singletonList(path("i")));
+
+        assertEquals(values.get(0).getValue(), "2");
+        verify(frame, times(2)).getValue(local);
+    }
+
+    @Test
+    public void shouldReuseValueRenderedByStackFrameDump() throws Exception {
+        suspend();
+        debugger.dumpStackFrame(true);
+
+        List<Variable> values = debugger.getValues(singletonList(path("i")));
+
+        assertEquals(values.get(0).getValue(), "1");
+        verify(frame, times(1)).getValue(local);
+    }
+
+    @Test
+    public void shouldSkipVariablesWhichAreNotFound() throws Exception {
+        suspend();
+
+        assertTrue(debugger.getValues(singletonList(path("unknown"))).isEmpty());
+    }
+
+    @Test
+    public void shouldInvalidateResolvedMembersWhenClassIsPrepared() throws Exception {
+        ReferenceType type = mock(ReferenceType.class);
+        when(type.name()).thenReturn("com.example.Loaded");
+        ClassPrepareEvent event = mock(ClassPrepareEvent.class);
+        when(event.thread()).thenReturn(thread);
+        when(event.referenceType()).thenReturn(type);
+        EventSet eventSet = mock(EventSet.class);
+        when(eventSet.iterator()).thenReturn(Collections.<Event>singletonList(event).iterator());
+
+        debugger.handleEvents(eventSet);
+
+        verify(memberCache).invalidate();
+    }
+
+    @Test
+    public void shouldCountEventsUntilTheyArePublished() throws Exception {
+        assertEquals(debugger.getPendingEventsCount(), 0);
+
+        suspend();
+
+        assertTrue(debugger.getPendingEventsCount() <= 1);
+        final long deadline = System.currentTimeMillis() + 5_000;
+        while (debugger.getPendingEventsCount() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(debugger.getPendingEventsCount(), 0);
+        assertEquals(debugger.getDroppedEventsCount(), 0);
+    }
+
+    private void setValue(String value) {
+        IntegerValue integer = mock(IntegerValue.class);
+        when(integer.toString()).thenReturn(value);
+        when(frame.getValue(local)).thenReturn(integer);
+    }
+
+    /** Passes step event to the debugger, so the target JVM is suspended in the new frame. */
+    private void suspend() throws Exception {
+        ReferenceType type = mock(ReferenceType.class);
+        when(type.name()).thenReturn("com.example.Main");
+        Location location = mock(Location.class);
+        when(location.declaringType()).thenReturn(type);
+        when(location.lineNumber()).thenReturn(10);
+        StepEvent event = mock(StepEvent.class);
+        when(event.thread()).thenReturn(thread);
+        when(event.location()).thenReturn(location);
+        EventSet eventSet = mock(EventSet.class);
+        when(eventSet.iterator()).thenReturn(Collections.<Event>singletonList(event).iterator());
+
+        debugger.handleEvents(eventSet);
+    }
+
+    private VariablePath path(String... path) {
+        return newDto(VariablePath.class).withPath(asList(path));
+    }
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.server;
+
+import com.sun.jdi.ArrayReference;
+import com.sun.jdi.Field;
+import com.sun.jdi.IntegerValue;
+import com.sun.jdi.ObjectReference;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.Value;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests paging of nested variables by {@link JdiValueImpl}.
+ */
+public class JdiValueImplTest {
+
+    @Test
+    public void shouldFetchOnlyElementsOfRequestedPageOfArray() throws Exception {
+        ArrayReference array = array(250);
+
+        JdiVariable[] page = new JdiValueImpl(array).getVariables(100, 100);
+
+        assertEquals(page.length, 100);
+        assertEquals(page[0].getName(), "[100]");
+        assertEquals(page[99].getName(), "[199]");
+        verify(array).getValues(100, 100);
+    }
+
+    @Test
+    public void shouldReturnTruncatedLastPageOfArray() throws Exception {
+        ArrayReference array = array(250);
+
+        JdiVariable[] page = new JdiValueImpl(array).getVariables(200, 100);
+
+        assertEquals(page.length, 50);
+        assertEquals(page[49].getName(), "[249]");
+        verify(array).getValues(200, 50);
+    }
+
+    @Test
+    public void shouldReturnEmptyPageIfOffsetIsOutOfArray() throws Exception {
+        ArrayReference array = array(250);
+
+        JdiVariable[] page = new JdiValueImpl(array).getVariables(300, 100);
+
+        assertEquals(page.length, 0);
+        verify(array, never()).getValues(anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldCountElementsOfArrayWithoutFetchingThem() throws Exception {
+        ArrayReference array = array(250);
+
+        assertEquals(new JdiValueImpl(array).getVariablesCount(), 250);
+        verify(array, never()).getValues(anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldGetElementOfArrayByNameWithoutFetchingWholeArray() throws Exception {
+        ArrayReference array = array(250);
+
+        JdiVariable element = new JdiValueImpl(array).getVariableByName("[42]");
+
+        assertEquals(element.getName(), "[42]");
+        verify(array).getValue(42);
+        verify(array, never()).getValues(anyInt(), anyInt());
+        assertNull(new JdiValueImpl(array).getVariableByName("[250]"));
+    }
+
+    @Test
+    public void shouldPageFieldsOfObject() throws Exception {
+        ObjectReference object = object("com.example.Point", "y", "x", "z");
+
+        JdiVariable[] page = new JdiValueImpl(object).getVariables(1, 1);
+
+        assertEquals(page.length, 1);
+        assertEquals(page[0].getName(), "y");
+    }
+
+    @Test
+    public void shouldShowElementsOfArrayListBeforeItsFields() throws Exception {
+        ArrayReference elementData = array(16);
+        ObjectReference list = list("java.util.ArrayList", "size", 10, elementData);
+
+        JdiValueImpl value = new JdiValueImpl(list);
+
+        assertEquals(value.getVariablesCount(), 12);
+        JdiVariable[] page = value.getVariables(5, 6);
+        assertEquals(page.length, 6);
+        assertEquals(page[0].getName(), "[5]");
+        assertEquals(page[4].getName(), "[9]");
+        assertEquals(page[5].getName(), "elementData");
+        verify(elementData).getValues(5, 5);
+    }
+
+    @Test
+    public void shouldPageFieldsOfArrayListAfterElements() throws Exception {
+        ArrayReference elementData = array(16);
+        ObjectReference list = list("java.util.Vector", "elementCount", 10, elementData);
+
+        JdiVariable[] page = new JdiValueImpl(list).getVariables(11, 100);
+
+        assertEquals(page.length, 1);
+        assertEquals(page[0].getName(), "elementData");
+        verify(elementData, never()).getValues(anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldGetElementOfArrayListByName() throws Exception {
+        ArrayReference elementData = array(16);
+        ObjectReference list = list("java.util.ArrayList", "size", 10, elementData);
+
+        JdiValueImpl value = new JdiValueImpl(list);
+
+        assertEquals(value.getVariableByName("[3]").getName(), "[3]");
+        verify(elementData).getValue(3);
+        // element of backing array which is out of the list
+        assertNull(value.getVariableByName("[12]"));
+        assertEquals(value.getVariableByName("size").getName(), "size");
+    }
+
+    private ArrayReference array(int length) {
+        ArrayReference array = mock(ArrayReference.class);
+        when(array.length()).thenReturn(length);
+        when(array.getValues(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int count = (Integer)invocation.getArguments()[1];
+            List<Value> values = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                values.add(mock(Value.class));
+            }
+            return values;
+        });
+        return array;
+    }
+
+    private ObjectReference object(String typeName, String... fieldNames) {
+        ObjectReference object = mock(ObjectReference.class);
+        ReferenceType type = mock(ReferenceType.class);
+        List<Field> fields = new ArrayList<>();
+        for (String fieldName : fieldNames) {
+            Field field = mock(Field.class);
+            when(field.name()).thenReturn(fieldName);
+            when(type.fieldByName(fieldName)).thenReturn(field);
+            fields.add(field);
+        }
+        when(type.name()).thenReturn(typeName);
+        when(type.allFields()).thenReturn(fields);
+        when(object.referenceType()).thenReturn(type);
+        return object;
+    }
+
+    private ObjectReference list(String typeName, String sizeFieldName, int size, ArrayReference elementData) {
+        ObjectReference list = object(typeName, "elementData", sizeFieldName);
+        ReferenceType type = list.referenceType();
+        IntegerValue sizeValue = mock(IntegerValue.class);
+        when(sizeValue.value()).thenReturn(size);
+        when(list.getValue(type.fieldByName(sizeFieldName))).thenReturn(sizeValue);
+        when(list.getValue(type.fieldByName("elementData"))).thenReturn(elementData);
+        return list;
+    }
+}
@@ -0,0 +1,55 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.server.expression;
+
+import org.antlr.runtime.tree.Tree;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+/**
+ * Tests caching of syntax trees by {@link ANTLRExpressionParser}.
+ */
+public class ANTLRExpressionParserTest {
+    private static final int MAX_CACHED_TREES = 256;
+
+    @Test
+    public void shouldReuseTreeOfSameExpression() throws Exception {
+        Tree tree = new ANTLRExpressionParser("a.b + 1").parse();
+
+        assertSame(new ANTLRExpressionParser("a.b + 1").parse(), tree);
+    }
+
+    @Test
+    public void shouldDropTreeOfLeastRecentlyUsedExpression() throws Exception {
+        Tree tree = new ANTLRExpressionParser("dropped").parse();
+
+        for (int i = 0; i < MAX_CACHED_TREES; i++) {
+            new ANTLRExpressionParser("dropped + " + i).parse();
+        }
+
+        assertNotSame(new ANTLRExpressionParser("dropped").parse(), tree);
+    }
+
+    @Test
+    public void shouldKeepTreeOfRecentlyUsedExpression() throws Exception {
+        Tree tree = new ANTLRExpressionParser("kept").parse();
+
+        for (int i = 0; i < MAX_CACHED_TREES; i++) {
+            new ANTLRExpressionParser("kept + " + i).parse();
+            // use the tree, so it isn't the least recently used one
+            new ANTLRExpressionParser("kept").parse();
+        }
+
+        assertSame(new ANTLRExpressionParser("kept").parse(), tree);
+    }
+}
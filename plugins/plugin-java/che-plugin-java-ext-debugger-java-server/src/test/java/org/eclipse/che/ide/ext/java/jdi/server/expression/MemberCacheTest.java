@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.jdi.server.expression;
+
+import com.sun.jdi.Field;
+import com.sun.jdi.Method;
+import com.sun.jdi.ReferenceType;
+import com.sun.jdi.Type;
+import com.sun.jdi.Value;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link MemberCache}.
+ */
+public class MemberCacheTest {
+
+    private ReferenceType type;
+    private MemberCache   cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        type = mock(ReferenceType.class);
+        cache = new MemberCache();
+    }
+
+    @Test
+    public void shouldLookUpFieldOnce() throws Exception {
+        Field field = mock(Field.class);
+        when(type.fieldByName("x")).thenReturn(field);
+
+        assertSame(cache.getField(type, "x"), field);
+        assertSame(cache.getField(type, "x"), field);
+
+        verify(type, times(1)).fieldByName("x");
+    }
+
+    @Test
+    public void shouldNotCacheMissingField() throws Exception {
+        assertNull(cache.getField(type, "unknown"));
+        assertNull(cache.getField(type, "unknown"));
+
+        verify(type, times(2)).fieldByName("unknown");
+    }
+
+    @Test
+    public void shouldReturnMethodResolvedForArgumentsOfSameTypes() throws Exception {
+        Type intType = mock(Type.class);
+        Type stringType = mock(Type.class);
+        Method method = mock(Method.class);
+        cache.putMethod(type, "get", singletonList(value(intType)), method);
+
+        assertSame(cache.getMethod(type, "get", singletonList(value(intType))), method);
+        assertNull(cache.getMethod(type, "get", singletonList(value(stringType))));
+        assertNull(cache.getMethod(type, "put", singletonList(value(intType))));
+    }
+
+    @Test
+    public void shouldLookUpArgumentTypesOfMethodOnce() throws Exception {
+        Method method = mock(Method.class);
+        List<Type> types = singletonList(mock(Type.class));
+        when(method.argumentTypes()).thenReturn(types);
+
+        assertEquals(cache.getArgumentTypes(method), types);
+        assertEquals(cache.getArgumentTypes(method), types);
+
+        verify(method, times(1)).argumentTypes();
+    }
+
+    @Test
+    public void shouldRememberAssignabilityOfTypes() throws Exception {
+        Type from = mock(Type.class);
+        Type to = mock(Type.class);
+
+        assertNull(cache.isAssignable(from, to));
+        cache.putAssignable(from, to, true);
+        cache.putAssignable(to, from, false);
+
+        assertTrue(cache.isAssignable(from, to));
+        assertFalse(cache.isAssignable(to, from));
+    }
+
+    @Test
+    public void shouldDropEverythingOnInvalidate() throws Exception {
+        Field field = mock(Field.class);
+        when(type.fieldByName("x")).thenReturn(field);
+        Method method = mock(Method.class);
+        when(method.argumentTypes()).thenReturn(singletonList(mock(Type.class)));
+        Type argumentType = mock(Type.class);
+        cache.getField(type, "x");
+        cache.getArgumentTypes(method);
+        cache.putMethod(type, "get", singletonList(value(argumentType)), method);
+        cache.putAssignable(argumentType, argumentType, true);
+
+        cache.invalidate();
+
+        assertNull(cache.getMethod(type, "get", singletonList(value(argumentType))));
+        assertNull(cache.isAssignable(argumentType, argumentType));
+        cache.getField(type, "x");
+        cache.getArgumentTypes(method);
+        verify(type, times(2)).fieldByName("x");
+        verify(method, times(2)).argumentTypes();
+    }
+
+    private Value value(Type type) {
+        Value value = mock(Value.class);
+        when(value.type()).thenReturn(type);
+        return value;
+    }
+}
@@ -22,4 +22,18 @@ public interface DebuggerEventList {
     void setEvents(List<DebuggerEvent> events);
 
     DebuggerEventList withEvents(List<DebuggerEvent> events);
+
+    /** Returns sequence number of the last event of the debugger, it should be used to request the next events. */
+    long getSequence();
+
+    void setSequence(long sequence);
+
+    DebuggerEventList withSequence(long sequence);
+
+    /** Returns number of the events which were dropped by the debugger before they were delivered. */
+    long getMissed();
+
+    void setMissed(long missed);
+
+    DebuggerEventList withMissed(long missed);
 }
\ No newline at end of file
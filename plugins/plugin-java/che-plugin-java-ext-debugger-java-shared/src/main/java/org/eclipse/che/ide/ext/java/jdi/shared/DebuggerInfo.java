@@ -48,4 +48,18 @@ public interface DebuggerInfo {
     void setVmVersion(String vmVersion);
 
     DebuggerInfo withVmVersion(String vmVersion);
+
+    /** Number of the debugger events which are not yet published over WebSocket. */
+    long getPendingEvents();
+
+    void setPendingEvents(long pendingEvents);
+
+    DebuggerInfo withPendingEvents(long pendingEvents);
+
+    /** Total number of the debugger events dropped before the client received them. */
+    long getDroppedEvents();
+
+    void setDroppedEvents(long droppedEvents);
+
+    DebuggerInfo withDroppedEvents(long droppedEvents);
 }
\ No newline at end of file
@@ -28,4 +28,11 @@ public interface Value {
     void setValue(String value);
 
     Value withValue(String value);
+
+    /** Returns total number of the nested variables, {@link #getVariables()} may contain only part of them. */
+    int getTotal();
+
+    void setTotal(int total);
+
+    Value withTotal(int total);
 }
\ No newline at end of file
@@ -0,0 +1,343 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
+import org.eclipse.che.ide.ext.java.shared.dto.Problem;
+import org.eclipse.che.ide.ext.java.shared.dto.ProblemsDelta;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
+import org.eclipse.che.jdt.javaeditor.JavaReconciler;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.everrest.websockets.WSConnectionContext;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Reconciles java editors incrementally.
+ * <p/>
+ * Keeps content of each opened editor in memory and applies edit deltas sent by the client to it. Editors are identified
+ * by the id generated by the client, so several editors of the same compilation unit don't share their state.
+ * Reconcile of the editor is debounced: every new portion of edits cancels pending and running reconcile
+ * of the same editor and schedules new one after {@code che.jdt.reconcile.delay_ms}.
+ * Result of the reconcile is pushed to the channel {@code jdt:reconcile:<project path>:<fqn>:<editor id>}
+ * as {@link ProblemsDelta} which contains only problems changed since the previous reconcile.
+ * <p/>
+ * Every portion of edits carries version of the document, edits are applied only if they directly follow the previously
+ * applied ones, so reordered requests can't corrupt server copy of the document. Content of the editor which isn't edited
+ * for {@code che.jdt.reconcile.session_expiry_ms} is dropped, client resends the whole document when it edits it again.
+ */
+@Singleton
+public class JavaReconcileScheduler {
+    private static final Logger    LOG     = LoggerFactory.getLogger(JavaReconcileScheduler.class);
+    private static final String CHANNEL = "jdt:reconcile:%s:%s:%s";
+
+    private final JavaReconciler                          reconciler;
+    private final long                                    delayMs;
+    private final long                                    sessionExpiryMs;
+    private final ScheduledExecutorService                executor;
+    private final ConcurrentMap<String, ReconcileSession> sessions;
+
+    @Inject
+    public JavaReconcileScheduler(JavaReconciler reconciler,
+                                  @Named("che.jdt.reconcile.delay_ms") long delayMs,
+                                  @Named("che.jdt.reconcile.session_expiry_ms") long sessionExpiryMs) {
+        this(reconciler, delayMs, sessionExpiryMs, Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors(),
+                                                                   new ThreadFactoryBuilder().setNameFormat("JavaReconcileScheduler-%d")
+                                                                                             .setDaemon(true)
+                                                                                             .build()));
+    }
+
+    JavaReconcileScheduler(JavaReconciler reconciler, long delayMs, long sessionExpiryMs, ScheduledExecutorService executor) {
+        this.reconciler = reconciler;
+        this.delayMs = delayMs;
+        this.sessionExpiryMs = sessionExpiryMs;
+        this.executor = executor;
+        this.sessions = new ConcurrentHashMap<>();
+        executor.scheduleWithFixedDelay(() -> evictExpired(System.currentTimeMillis()), sessionExpiryMs, sessionExpiryMs, MILLISECONDS);
+    }
+
+    /**
+     * Applies editor changes to the in-memory copy of the editor content and schedules its reconcile.
+     * Change with negative length replaces the whole content of the editor.
+     *
+     * @param projectPath
+     *         path of the project which contains the compilation unit
+     * @param fqn
+     *         fully qualified name of the edited type
+     * @param editorId
+     *         id of the editor generated by the client
+     * @param version
+     *         version of the document after the changes, client increments it for every portion of changes
+     * @param changes
+     *         editor changes in the order they were applied
+     * @throws ConflictException
+     *         when the server doesn't hold content of the editor or changes don't follow the previously applied ones,
+     *         client has to resend the whole content
+     * @throws BadRequestException
+     *         when changes are out of the bounds of the editor content, the server copy of the editor is dropped,
+     *         so the next changes are rejected with {@link ConflictException}
+     */
+    public void applyChanges(String projectPath, String fqn, String editorId, long version, List<Change> changes)
+            throws ConflictException, BadRequestException {
+        final String key = sessionKey(projectPath, fqn, editorId);
+        final boolean replacesAll = !changes.isEmpty() && changes.get(0).getLength() < 0;
+        ReconcileSession session = sessions.get(key);
+        if (session == null) {
+            if (!replacesAll) {
+                throw new ConflictException("Server doesn't hold content of the editor of " + fqn);
+            }
+            final ReconcileSession newSession = new ReconcileSession(projectPath, fqn, editorId);
+            session = sessions.putIfAbsent(key, newSession);
+            if (session == null) {
+                session = newSession;
+            }
+        }
+        synchronized (session) {
+            if (replacesAll) {
+                if (version <= session.editsVersion) {
+                    // content sent before the already applied one arrived late
+                    return;
+                }
+                // client sends the whole document, so it expects all problems in the next delta
+                session.contents = new StringBuilder();
+                session.problems = Collections.emptyList();
+            } else if (session.contents == null) {
+                throw new ConflictException("Server doesn't hold content of the editor of " + fqn);
+            } else if (version <= session.editsVersion) {
+                throw new ConflictException("Edits of version " + version + " of " + fqn + " are outdated");
+            } else if (version != session.editsVersion + 1) {
+                // previous edits are lost or delayed, so content of the editor can't be restored from the following ones
+                session.cancel();
+                session.contents = null;
+                throw new ConflictException("Edits of version " + version + " of " + fqn + " don't follow version " +
+                                            session.editsVersion);
+            }
+            try {
+                applyToContents(session.contents, changes);
+            } catch (IllegalArgumentException e) {
+                session.cancel();
+                session.contents = null;
+                sessions.remove(key, session);
+                throw new BadRequestException(e.getMessage());
+            }
+            session.cancel();
+            session.editsVersion = version;
+            session.lastEdited = System.currentTimeMillis();
+            session.version++;
+            session.pending = executor.schedule(session, delayMs, MILLISECONDS);
+        }
+    }
+
+    /**
+     * Forgets in-memory copy of the editor content and cancels its pending reconcile.
+     *
+     * @param projectPath
+     *         path of the project which contains the compilation unit
+     * @param fqn
+     *         fully qualified name of the type
+     * @param editorId
+     *         id of the editor generated by the client
+     */
+    public void close(String projectPath, String fqn, String editorId) {
+        final ReconcileSession session = sessions.remove(sessionKey(projectPath, fqn, editorId));
+        if (session != null) {
+            synchronized (session) {
+                session.cancel();
+                session.contents = null;
+            }
+        }
+    }
+
+    /** Drops content of the editors which weren't edited for {@code che.jdt.reconcile.session_expiry_ms} until the given time. */
+    void evictExpired(long now) {
+        for (Map.Entry<String, ReconcileSession> entry : sessions.entrySet()) {
+            final ReconcileSession session = entry.getValue();
+            synchronized (session) {
+                if (now - session.lastEdited < sessionExpiryMs) {
+                    continue;
+                }
+                session.cancel();
+                session.contents = null;
+            }
+            sessions.remove(entry.getKey(), session);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    private static String sessionKey(String projectPath, String fqn, String editorId) {
+        return projectPath + ':' + fqn + ':' + editorId;
+    }
+
+    private static void applyToContents(StringBuilder contents, List<Change> changes) {
+        for (Change change : changes) {
+            final String text = change.getText() == null ? "" : change.getText();
+            if (change.getLength() < 0) {
+                contents.setLength(0);
+                contents.append(text);
+            } else {
+                final int offset = change.getOffset();
+                final int end = offset + change.getLength();
+                if (offset < 0 || end > contents.length()) {
+                    throw new IllegalArgumentException("Change [" + offset + ", " + end + "] is out of document bounds");
+                }
+                contents.replace(offset, end, text);
+            }
+        }
+    }
+
+    /**
+     * Computes difference between previously reported and new problems and stores it in the given delta.
+     * Problems are considered equal when they have the same id, position and message.
+     */
+    private static void computeDelta(List<Problem> oldProblems, List<Problem> newProblems, ProblemsDelta delta) {
+        final Map<String, Problem> removed = new LinkedHashMap<>();
+        for (Problem problem : oldProblems) {
+            removed.put(problemKey(problem), problem);
+        }
+        final List<Problem> added = new ArrayList<>();
+        for (Problem problem : newProblems) {
+            if (removed.remove(problemKey(problem)) == null) {
+                added.add(problem);
+            }
+        }
+        delta.setAddedProblems(added);
+        delta.setRemovedProblems(new ArrayList<>(removed.values()));
+    }
+
+    private static String problemKey(Problem problem) {
+        return problem.getID() + ":" + problem.getSourceStart() + ':' + problem.getSourceEnd() + ':' + problem.isError() + ':' +
+               problem.getMessage();
+    }
+
+    IJavaProject getJavaProject(String projectPath) {
+        return JavaModelManager.getJavaModelManager().getJavaModel().getJavaProject(projectPath);
+    }
+
+    void publish(ProblemsDelta delta) {
+        try {
+            final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+            bm.setChannel(String.format(CHANNEL, delta.getProjectPath(), delta.getFqn(), delta.getEditorId()));
+            bm.setBody(DtoFactory.getInstance().toJson(delta));
+            WSConnectionContext.sendMessage(bm);
+        } catch (Exception e) {
+            LOG.error(e.getMessage(), e);
+        }
+    }
+
+    private class ReconcileSession implements Runnable {
+        private final String projectPath;
+        private final String fqn;
+        private final String editorId;
+
+        /* All fields below are guarded by this session. */
+        private StringBuilder      contents;
+        /** Version of the document sent by the client with the last applied edits. */
+        private long               editsVersion;
+        private long               lastEdited;
+        /** Incremented on every applied portion of edits to detect outdated reconcile results. */
+        private long               version;
+        private ScheduledFuture<?> pending;
+        private IProgressMonitor   running;
+        private List<Problem>      problems = Collections.emptyList();
+
+        ReconcileSession(String projectPath, String fqn, String editorId) {
+            this.projectPath = projectPath;
+            this.fqn = fqn;
+            this.editorId = editorId;
+            this.lastEdited = System.currentTimeMillis();
+        }
+
+        void cancel() {
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+            if (running != null) {
+                running.setCanceled(true);
+                running = null;
+            }
+        }
+
+        @Override
+        public void run() {
+            final IProgressMonitor monitor = new NullProgressMonitor();
+            final String snapshot;
+            final long snapshotVersion;
+            synchronized (this) {
+                if (contents == null) {
+                    return;
+                }
+                snapshot = contents.toString();
+                snapshotVersion = version;
+                pending = null;
+                running = monitor;
+            }
+            final ReconcileResult result;
+            try {
+                result = reconciler.reconcile(getJavaProject(projectPath), fqn, snapshot, monitor);
+            } catch (OperationCanceledException e) {
+                return;
+            } catch (Exception e) {
+                LOG.error("Can't reconcile class: " + fqn + " in project:" + projectPath, e);
+                return;
+            }
+            if (result == null || monitor.isCanceled()) {
+                return;
+            }
+            final ProblemsDelta delta = DtoFactory.getInstance().createDto(ProblemsDelta.class)
+                                                  .withProjectPath(projectPath)
+                                                  .withFqn(fqn)
+                                                  .withEditorId(editorId)
+                                                  .withHighlightedPositions(result.getHighlightedPositions());
+            synchronized (this) {
+                if (snapshotVersion != version) {
+                    // newer edits arrived, their reconcile is already scheduled
+                    return;
+                }
+                running = null;
+                computeDelta(problems, result.getProblems(), delta);
+                problems = result.getProblems();
+            }
+            publish(delta);
+        }
+    }
+}
@@ -44,6 +44,7 @@ public class JdtGuiceModule extends AbstractModule {
         bind(JavadocService.class);
         bind(JavaNavigationService.class);
         bind(JavaReconcileService.class);
+        bind(JavaReconcileScheduler.class);
         bind(JavaClasspathService.class);
         bind(FormatService.class);
         bind(CodeAssistService.class);
@@ -13,14 +13,21 @@ package org.eclipse.che.jdt.rest;
 
 import com.google.inject.Inject;
 
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileEdits;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
+import org.eclipse.che.jdt.JavaReconcileScheduler;
 import org.eclipse.che.jdt.javaeditor.JavaReconciler;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.internal.core.JavaModel;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
@@ -36,6 +43,9 @@ public class JavaReconcileService {
     @Inject
     private JavaReconciler reconciler;
 
+    @Inject
+    private JavaReconcileScheduler scheduler;
+
     @GET
     @Produces("application/json")
     public ReconcileResult reconcile(@QueryParam("projectpath") String projectPath, @QueryParam("fqn") String fqn)
@@ -43,4 +53,24 @@ public class JavaReconcileService {
         IJavaProject javaProject = model.getJavaProject(projectPath);
         return reconciler.reconcile(javaProject, fqn);
     }
+
+    /**
+     * Applies editor changes to the server copy of the editor content. Reconcile is debounced and its result is pushed
+     * via websocket channel {@code jdt:reconcile:<project path>:<fqn>:<editor id>}.
+     */
+    @POST
+    @Path("edits")
+    @Consumes("application/json")
+    public void applyEdits(ReconcileEdits edits) throws ConflictException, BadRequestException {
+        scheduler.applyChanges(edits.getProjectPath(), edits.getFqn(), edits.getEditorId(), edits.getVersion(), edits.getChanges());
+    }
+
+    /** Releases server copy of the editor content when editor is closed. */
+    @DELETE
+    @Path("edits")
+    public void closeEdits(@QueryParam("projectpath") String projectPath,
+                           @QueryParam("fqn") String fqn,
+                           @QueryParam("editorid") String editorId) {
+        scheduler.close(projectPath, fqn, editorId);
+    }
 }
@@ -0,0 +1,274 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.jdt;
+
+import org.eclipse.che.api.core.BadRequestException;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
+import org.eclipse.che.ide.ext.java.shared.dto.Problem;
+import org.eclipse.che.ide.ext.java.shared.dto.ProblemsDelta;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
+import org.eclipse.che.jdt.javaeditor.JavaReconciler;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.IJavaProject;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JavaReconcileSchedulerTest {
+    private static final String PROJECT = "/project";
+    private static final String FQN     = "a.A";
+    private static final long   EXPIRY  = 60_000;
+
+    private JavaReconciler           reconciler;
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?>       future;
+    private List<ProblemsDelta>      published;
+    private JavaReconcileScheduler   scheduler;
+
+    @Before
+    public void setUp() throws Exception {
+        reconciler = mock(JavaReconciler.class);
+        executor = mock(ScheduledExecutorService.class);
+        future = mock(ScheduledFuture.class);
+        doReturnFuture();
+        published = new ArrayList<>();
+        scheduler = new JavaReconcileScheduler(reconciler, 500, EXPIRY, executor) {
+            @Override
+            IJavaProject getJavaProject(String projectPath) {
+                return mock(IJavaProject.class);
+            }
+
+            @Override
+            void publish(ProblemsDelta delta) {
+                published.add(delta);
+            }
+        };
+    }
+
+    @Test
+    public void shouldApplyEditsToContentOfEditor() throws Exception {
+        scheduler.applyChanges(PROJECT, FQN, "editor", 1L, singletonList(replaceAll("class A {}")));
+        scheduler.applyChanges(PROJECT, FQN, "editor", 2L, asList(change(9, 0, " int a; "), change(0, 5, "interface")));
+
+        reconcileResult(FQN, "interface A { int a; }");
+        runLastScheduled();
+
+        verify(reconciler).reconcile(any(IJavaProject.class), eq(FQN), eq("interface A { int a; }"), any(IProgressMonitor.class));
+    }
+
+    @Test(expected = ConflictException.class)
+    public void shouldRejectEditsWhenServerDoesNotHoldContentOfEditor() throws Exception {
+        scheduler.applyChanges(PROJECT, FQN, "editor", 1L, singletonList(change(0, 0, "text")));
+    }
+
+    @Test(expected = ConflictException.class)
+    public void shouldRejectEditsOfClosedEditor() throws Exception {
+        scheduler.applyChanges(PROJECT, FQN, "editor", 1L, singletonList(replaceAll("class A {}")));
+        scheduler.close(PROJECT, FQN, "editor");
+
+        scheduler.applyChanges(PROJECT, FQN, "editor", 2L, singletonList(change(0, 0, "text")));
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void shouldRejectOutOfBoundsEdit() throws Exception {
+        scheduler.applyChanges(PROJECT, FQN, "editor", 1L, singletonList(replaceAll("class A {}")));
+
+        scheduler.applyChanges(PROJECT, FQN, "editor", 2L, singletonList(change(5, 100, "")));
+    }
+
+    @Test(expected = ConflictException.class)
+    public void shouldDropContentOfEditorAfterOutOfBoundsEdit() throws Exception {
+        scheduler.applyChanges(PROJECT, FQN, "editor", 1L, singletonList(replaceAll("class A {}")));
+        try {
+            scheduler.applyChanges(PROJECT, FQN, "editor", 2L, singletonList(change(5, 100, "")));
+        } catch (BadRequestException ignored) {
+        }
+
+        scheduler.applyChanges(PROJECT, FQN, "editor", 3L, singletonList(change(0, 0, "text")));
+    }
+
+    @Test(expected = ConflictException.class)
+    public void shouldRejectEditsWhichDoNotFollowAppliedVersion() throws Exception {
+        scheduler.applyChanges(PROJECT, FQN, "editor", 1L, singletonList(replaceAll("class A {}")));
+
+        scheduler.applyChanges(PROJECT, FQN, "editor", 3L, singletonList(change(0, 0, "text")));
+    }
+
+    @Test(expected = ConflictException.class)
+    public void shouldDropContentOfEditorWhenEditsAreMissed() throws Exception {
+        scheduler.applyChanges(PROJECT, FQN, "editor", 1L, singletonList(replaceAll("class A {}")));
+        try {
+            scheduler.applyChanges(PROJECT, FQN, "editor", 3L, singletonList(change(0, 0, "text")));
+        } catch (ConflictException ignored) {
+        }
+
+        // delayed edits can't be applied after the following ones were rejected
+        scheduler.applyChanges(PROJECT, FQN, "editor", 2L, singletonList(change(0, 0, "text")));
+    }
+
+    @Test
+    public void shouldIgnoreContentOfEditorWhichArrivesAfterNewerOne() throws Exception {
+        scheduler.applyChanges(PROJECT, FQN, "editor", 2L, singletonList(replaceAll("class B {}")));
+        scheduler.applyChanges(PROJECT, FQN, "editor", 1L, singletonList(replaceAll("class A {}")));
+
+        reconcileResult(FQN, "class B {}");
+        runLastScheduled();
+
+        verify(reconciler).reconcile(any(IJavaProject.class), eq(FQN), eq("class B {}"), any(IProgressMonitor.class));
+    }
+
+    @Test(expected = ConflictException.class)
+    public void shouldDropContentOfEditorWhichIsNotEditedUntilExpiry() throws Exception {
+        scheduler.applyChanges(PROJECT, FQN, "editor", 1L, singletonList(replaceAll("class A {}")));
+
+        scheduler.evictExpired(System.currentTimeMillis() + EXPIRY);
+
+        verify(future).cancel(false);
+        scheduler.applyChanges(PROJECT, FQN, "editor", 2L, singletonList(change(0, 0, "text")));
+    }
+
+    @Test
+    public void shouldKeepContentOfRecentlyEditedEditor() throws Exception {
+        scheduler.applyChanges(PROJECT, FQN, "editor", 1L, singletonList(replaceAll("class A {}")));
+
+        scheduler.evictExpired(System.currentTimeMillis());
+
+        scheduler.applyChanges(PROJECT, FQN, "editor", 2L, singletonList(change(0, 5, "interface")));
+    }
+
+    @Test
+    public void shouldKeepContentsOfEditorsOfTheSameFileSeparately() throws Exception {
+        scheduler.applyChanges(PROJECT, FQN, "first", 1L, singletonList(replaceAll("class A {}")));
+        scheduler.applyChanges(PROJECT, FQN, "second", 1L, singletonList(replaceAll("class A { int a; }")));
+        scheduler.applyChanges(PROJECT, FQN, "first", 2L, singletonList(change(0, 5, "interface")));
+
+        reconcileResult(FQN, "interface A {}");
+        runLastScheduled();
+
+        verify(reconciler).reconcile(any(IJavaProject.class), eq(FQN), eq("interface A {}"), any(IProgressMonitor.class));
+        assertEquals(published.size(), 1);
+        assertEquals(published.get(0).getEditorId(), "first");
+    }
+
+    @Test
+    public void shouldCancelPendingReconcileWhenNewEditsArrive() throws Exception {
+        scheduler.applyChanges(PROJECT, FQN, "editor", 1L, singletonList(replaceAll("class A {}")));
+        scheduler.applyChanges(PROJECT, FQN, "editor", 2L, singletonList(change(10, 0, " ")));
+
+        verify(future).cancel(false);
+    }
+
+    @Test
+    public void shouldNotPublishResultOfOutdatedReconcile() throws Exception {
+        scheduler.applyChanges(PROJECT, FQN, "editor", 1L, singletonList(replaceAll("class A {}")));
+        final Runnable outdated = lastScheduled();
+        scheduler.applyChanges(PROJECT, FQN, "editor", 2L, singletonList(change(10, 0, " ")));
+        reconcileResult(FQN, "class A {}");
+
+        outdated.run();
+
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    public void shouldPublishOnlyChangedProblems() throws Exception {
+        final Problem first = problem(1, "first");
+        final Problem second = problem(2, "second");
+        final Problem third = problem(3, "third");
+        scheduler.applyChanges(PROJECT, FQN, "editor", 1L, singletonList(replaceAll("class A {}")));
+        when(reconciler.reconcile(any(IJavaProject.class), anyString(), anyString(), any(IProgressMonitor.class)))
+                .thenReturn(result(asList(first, second)));
+        runLastScheduled();
+
+        scheduler.applyChanges(PROJECT, FQN, "editor", 2L, singletonList(change(10, 0, " ")));
+        when(reconciler.reconcile(any(IJavaProject.class), anyString(), anyString(), any(IProgressMonitor.class)))
+                .thenReturn(result(asList(second, third)));
+        runLastScheduled();
+
+        assertEquals(published.size(), 2);
+        assertEquals(published.get(1).getAddedProblems(), singletonList(third));
+        assertEquals(published.get(1).getRemovedProblems(), singletonList(first));
+    }
+
+    @Test
+    public void shouldNotReconcileClosedEditor() throws Exception {
+        scheduler.applyChanges(PROJECT, FQN, "editor", 1L, singletonList(replaceAll("class A {}")));
+        final Runnable pending = lastScheduled();
+        scheduler.close(PROJECT, FQN, "editor");
+
+        verify(future).cancel(false);
+        pending.run();
+        verify(reconciler, never()).reconcile(any(IJavaProject.class), anyString(), anyString(), any(IProgressMonitor.class));
+        assertTrue(published.isEmpty());
+    }
+
+    private void doReturnFuture() {
+        when(executor.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(invocation -> future);
+    }
+
+    private void reconcileResult(String fqn, String contents) throws Exception {
+        when(reconciler.reconcile(any(IJavaProject.class), eq(fqn), eq(contents), any(IProgressMonitor.class)))
+                .thenReturn(result(new ArrayList<>()));
+    }
+
+    private static ReconcileResult result(List<Problem> problems) {
+        final ReconcileResult result = newDto(ReconcileResult.class);
+        result.setProblems(problems);
+        return result;
+    }
+
+    private Runnable lastScheduled() {
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, atLeastOnce()).schedule(captor.capture(), eq(500L), eq(TimeUnit.MILLISECONDS));
+        return captor.getValue();
+    }
+
+    private void runLastScheduled() {
+        lastScheduled().run();
+    }
+
+    private static Change replaceAll(String text) {
+        return newDto(Change.class).withOffset(0).withLength(-1).withText(text);
+    }
+
+    private static Change change(int offset, int length, String text) {
+        return newDto(Change.class).withOffset(offset).withLength(length).withText(text);
+    }
+
+    private static Problem problem(int id, String message) {
+        final Problem problem = newDto(Problem.class);
+        problem.setID(id);
+        problem.setMessage(message);
+        return problem;
+    }
+}
@@ -19,6 +19,7 @@ import org.eclipse.che.ide.ext.java.shared.dto.HighlightedPosition;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IBuffer;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
@@ -53,6 +54,28 @@ public class JavaReconciler {
     }
 
     public ReconcileResult reconcile(IJavaProject javaProject, String fqn) throws JavaModelException {
+        return reconcile(javaProject, fqn, null, null);
+    }
+
+    /**
+     * Reconciles type with given fqn using provided content instead of content of the file on the disk.
+     *
+     * @param javaProject
+     *         project which contains the type
+     * @param fqn
+     *         fully qualified name of the type to reconcile
+     * @param contents
+     *         actual editor content of the compilation unit, if {@code null} content of the file is used
+     * @param monitor
+     *         progress monitor which allows to cancel reconcile, may be {@code null}
+     * @return reconcile result or {@code null} if type wasn't found
+     * @throws JavaModelException
+     *         if compilation unit can't be reconciled
+     * @throws org.eclipse.core.runtime.OperationCanceledException
+     *         if reconcile was canceled via given monitor
+     */
+    public ReconcileResult reconcile(IJavaProject javaProject, String fqn, final String contents, IProgressMonitor monitor)
+            throws JavaModelException {
         final ProblemRequestor requestor = new ProblemRequestor();
         WorkingCopyOwner wcOwner = new WorkingCopyOwner() {
             public IProblemRequestor getProblemRequestor(ICompilationUnit unit) {
@@ -63,6 +86,9 @@ public class JavaReconciler {
             public IBuffer createBuffer(ICompilationUnit workingCopy) {
 //                return BufferManager.createBuffer(workingCopy);
 //                ?????
+                if (contents != null) {
+                    return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, workingCopy.getPath(), contents);
+                }
                 return new org.eclipse.jdt.internal.ui.javaeditor.DocumentAdapter(workingCopy, (IFile)workingCopy.getResource());
             }
         };
@@ -79,7 +105,7 @@ public class JavaReconciler {
                 compilationUnit = type.getCompilationUnit().getWorkingCopy(wcOwner, null);
             }
             requestor.reset();
-            CompilationUnit unit = compilationUnit.reconcile(AST.JLS8, true, wcOwner, null);
+            CompilationUnit unit = compilationUnit.reconcile(AST.JLS8, true, wcOwner, monitor);
             positions = semanticHighlighting.reconcileSemanticHighlight(unit);
             if (compilationUnit instanceof ClassFileWorkingCopy) {
                 //we don't wont to show any errors from ".class" files
@@ -10,11 +10,14 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.java.client.editor;
 
+import com.google.gwt.http.client.URL;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.google.inject.name.Named;
 
+import org.eclipse.che.api.promises.client.Promise;
 import org.eclipse.che.ide.api.app.AppContext;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileEdits;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.ide.rest.AsyncRequestCallback;
 import org.eclipse.che.ide.rest.AsyncRequestFactory;
@@ -59,6 +62,29 @@ public class JavaReconcileClient {
                            });
     }
 
+    /**
+     * Sends editor changes to the server. Reconcile result is pushed to the {@link #getReconcileChannel(String, String)} channel.
+     *
+     * @param edits
+     *         changes applied to the editor since the previous call
+     */
+    public Promise<Void> sendEdits(ReconcileEdits edits) {
+        String url = javaCAPath + "/jdt/" + workspaceId + "/reconcile/edits";
+        return asyncRequestFactory.createPostRequest(url, edits).send();
+    }
+
+    /** Releases server copy of the editor content which was created by {@link #sendEdits(ReconcileEdits)}. */
+    public Promise<Void> closeEdits(String projectPath, String fqn, String editorId) {
+        String url = javaCAPath + "/jdt/" + workspaceId + "/reconcile/edits?projectpath=" + URL.encodeQueryString(projectPath) +
+                     "&fqn=" + URL.encodeQueryString(fqn) + "&editorid=" + URL.encodeQueryString(editorId);
+        return asyncRequestFactory.createDeleteRequest(url).send();
+    }
+
+    /** Returns websocket channel which receives incremental reconcile results of the given editor. */
+    public String getReconcileChannel(String projectPath, String fqn, String editorId) {
+        return "jdt:reconcile:" + projectPath + ":" + fqn + ":" + editorId;
+    }
+
     public interface ReconcileCallback {
         void onReconcile(ReconcileResult result);
     }
@@ -10,40 +10,78 @@
  *******************************************************************************/
 package org.eclipse.che.ide.ext.java.client.editor;
 
+import com.google.gwt.user.client.Random;
 import com.google.inject.assistedinject.Assisted;
 import com.google.inject.assistedinject.AssistedInject;
 import com.google.web.bindery.event.shared.EventBus;
 import com.google.web.bindery.event.shared.HandlerRegistration;
 
+import org.eclipse.che.api.promises.client.Operation;
+import org.eclipse.che.api.promises.client.OperationException;
+import org.eclipse.che.api.promises.client.PromiseError;
 import org.eclipse.che.ide.api.editor.EditorWithErrors;
 import org.eclipse.che.ide.api.project.tree.VirtualFile;
 import org.eclipse.che.ide.api.text.Region;
+import org.eclipse.che.ide.commons.exception.ServerException;
+import org.eclipse.che.ide.dto.DtoFactory;
 import org.eclipse.che.ide.ext.java.client.event.DependencyUpdatedEvent;
 import org.eclipse.che.ide.ext.java.client.event.DependencyUpdatedEventHandler;
 import org.eclipse.che.ide.ext.java.client.projecttree.JavaSourceFolderUtil;
+import org.eclipse.che.ide.ext.java.shared.dto.Change;
 import org.eclipse.che.ide.ext.java.shared.dto.Problem;
+import org.eclipse.che.ide.ext.java.shared.dto.ProblemsDelta;
+import org.eclipse.che.ide.ext.java.shared.dto.ReconcileEdits;
 import org.eclipse.che.ide.ext.java.shared.dto.ReconcileResult;
 import org.eclipse.che.ide.jseditor.client.annotation.AnnotationModel;
 import org.eclipse.che.ide.jseditor.client.document.Document;
+import org.eclipse.che.ide.jseditor.client.events.DocumentChangeEvent;
+import org.eclipse.che.ide.jseditor.client.events.DocumentChangeHandler;
 import org.eclipse.che.ide.jseditor.client.reconciler.DirtyRegion;
 import org.eclipse.che.ide.jseditor.client.reconciler.ReconcilingStrategy;
 import org.eclipse.che.ide.jseditor.client.texteditor.EmbeddedTextEditorPresenter;
+import org.eclipse.che.ide.rest.DtoUnmarshallerFactory;
+import org.eclipse.che.ide.rest.HTTPStatus;
 import org.eclipse.che.ide.util.loging.Log;
+import org.eclipse.che.ide.websocket.MessageBus;
+import org.eclipse.che.ide.websocket.MessageBusProvider;
+import org.eclipse.che.ide.websocket.WebSocketException;
+import org.eclipse.che.ide.websocket.rest.SubscriptionHandler;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class JavaReconcilerStrategy implements ReconcilingStrategy {
 
 
-    private final EmbeddedTextEditorPresenter<?> editor;
-    private final JavaCodeAssistProcessor        codeAssistProcessor;
-    private final AnnotationModel                annotationModel;
-    private final HandlerRegistration            handlerRegistration;
-    private       SemanticHighlightRenderer      highlighter;
-    private       JavaReconcileClient            client;
-    private       VirtualFile                    file;
+    private final EmbeddedTextEditorPresenter<?>     editor;
+    private final JavaCodeAssistProcessor            codeAssistProcessor;
+    private final AnnotationModel                    annotationModel;
+    private final HandlerRegistration                handlerRegistration;
+    private final DtoFactory                         dtoFactory;
+    private final DtoUnmarshallerFactory             dtoUnmarshallerFactory;
+    private final MessageBusProvider                 messageBusProvider;
+    private final List<Change>                       pendingChanges;
+    /** Identifies this editor on the server, so several editors of the same file don't share their server state. */
+    private final String                             editorId;
+    private final Map<String, Problem>               problems;
+    private       SemanticHighlightRenderer          highlighter;
+    private       JavaReconcileClient                client;
+    private       VirtualFile                        file;
+    private       Document                           document;
+    private       HandlerRegistration                documentChangeRegistration;
+    private       MessageBus                         messageBus;
+    private       SubscriptionHandler<ProblemsDelta> deltaHandler;
+    private       String                             reconcileChannel;
     private boolean first = true;
+    /** Whether the server holds the actual content of the document so only changes may be sent. */
+    private boolean synced;
+    /** Whether the next delta contains all problems of the document. */
+    private boolean resetProblems;
+    /** Version of the document sent with the last changes, server applies only changes following the applied version. */
+    private long    version;
 
     @AssistedInject
     public JavaReconcilerStrategy(@Assisted @NotNull final EmbeddedTextEditorPresenter<?> editor,
@@ -51,9 +89,18 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
                                   @Assisted final AnnotationModel annotationModel,
                                   final JavaReconcileClient client,
                                   final SemanticHighlightRenderer highlighter,
+                                  final DtoFactory dtoFactory,
+                                  final DtoUnmarshallerFactory dtoUnmarshallerFactory,
+                                  final MessageBusProvider messageBusProvider,
                                   EventBus eventBus) {
         this.editor = editor;
         this.client = client;
+        this.dtoFactory = dtoFactory;
+        this.dtoUnmarshallerFactory = dtoUnmarshallerFactory;
+        this.messageBusProvider = messageBusProvider;
+        this.pendingChanges = new ArrayList<>();
+        this.editorId = Long.toString(System.currentTimeMillis(), 36) + '-' + Integer.toString(Random.nextInt(Integer.MAX_VALUE), 36);
+        this.problems = new LinkedHashMap<>();
         this.codeAssistProcessor = codeAssistProcessor;
         this.annotationModel = annotationModel;
         this.highlighter = highlighter;
@@ -68,13 +115,112 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
 
     @Override
     public void setDocument(final Document document) {
+        this.document = document;
         file = editor.getEditorInput().getFile();
         highlighter.init(editor.getHasTextMarkers(), document);
+
+        final DocumentChangeHandler changeHandler = new DocumentChangeHandler() {
+            @Override
+            public void onDocumentChange(DocumentChangeEvent event) {
+                pendingChanges.add(dtoFactory.createDto(Change.class)
+                                             .withOffset(event.getOffset())
+                                             .withLength(event.getRemoveCharCount())
+                                             .withText(event.getText()));
+            }
+        };
+        documentChangeRegistration = document.getDocumentHandle().getDocEventBus().addHandler(DocumentChangeEvent.TYPE, changeHandler);
+        subscribeToReconcileResults();
     }
 
     @Override
     public void reconcile(final DirtyRegion dirtyRegion, final Region subRegion) {
-        parse();
+        sendChanges();
+    }
+
+    /**
+     * Sends changes collected since the previous call to the server.
+     * The whole document is sent instead if the server doesn't hold its actual content.
+     * Server reconciles the document asynchronously and pushes changed problems to the {@link #reconcileChannel}.
+     */
+    private void sendChanges() {
+        if (synced && pendingChanges.isEmpty()) {
+            return;
+        }
+        final List<Change> changes = new ArrayList<>();
+        if (synced) {
+            changes.addAll(pendingChanges);
+        } else {
+            changes.add(dtoFactory.createDto(Change.class).withOffset(0).withLength(-1).withText(document.getContents()));
+            synced = true;
+            resetProblems = true;
+        }
+        pendingChanges.clear();
+
+        final ReconcileEdits edits = dtoFactory.createDto(ReconcileEdits.class)
+                                               .withProjectPath(file.getProject().getProjectConfig().getPath())
+                                               .withFqn(JavaSourceFolderUtil.getFQNForFile(file))
+                                               .withEditorId(editorId)
+                                               .withVersion(++version)
+                                               .withChanges(changes);
+        client.sendEdits(edits).catchError(new Operation<PromiseError>() {
+            @Override
+            public void apply(PromiseError error) throws OperationException {
+                // server copy of the document is lost or out of sync, whole document will be sent next time
+                synced = false;
+                final Throwable cause = error.getCause();
+                if (cause instanceof ServerException && ((ServerException)cause).getHTTPStatus() == HTTPStatus.CONFLICT) {
+                    if (edits.getVersion() == version) {
+                        // nothing was sent after the rejected edits, so the document is resent right away
+                        sendChanges();
+                    }
+                    return;
+                }
+                Log.error(JavaReconcilerStrategy.class, cause);
+            }
+        });
+    }
+
+    private void subscribeToReconcileResults() {
+        reconcileChannel = client.getReconcileChannel(file.getProject().getProjectConfig().getPath(),
+                                                      JavaSourceFolderUtil.getFQNForFile(file),
+                                                      editorId);
+        deltaHandler = new SubscriptionHandler<ProblemsDelta>(dtoUnmarshallerFactory.newWSUnmarshaller(ProblemsDelta.class)) {
+            @Override
+            protected void onMessageReceived(ProblemsDelta delta) {
+                applyDelta(delta);
+            }
+
+            @Override
+            protected void onErrorReceived(Throwable exception) {
+                Log.error(JavaReconcilerStrategy.class, exception);
+            }
+        };
+        messageBus = messageBusProvider.getMachineMessageBus();
+        try {
+            messageBus.subscribe(reconcileChannel, deltaHandler);
+        } catch (WebSocketException e) {
+            Log.error(getClass(), e);
+        }
+    }
+
+    private void applyDelta(ProblemsDelta delta) {
+        if (resetProblems) {
+            problems.clear();
+            resetProblems = false;
+        }
+        for (Problem problem : delta.getRemovedProblems()) {
+            problems.remove(problemKey(problem));
+        }
+        for (Problem problem : delta.getAddedProblems()) {
+            problems.put(problemKey(problem), problem);
+        }
+        doReconcile(new ArrayList<>(problems.values()));
+        highlighter.reconcile(delta.getHighlightedPositions());
+    }
+
+    private static String problemKey(Problem problem) {
+        return problem.getID() + ":" + problem.getSourceStart() + ':' + problem.getSourceEnd() + ':' + problem.isError() + ':' +
+               problem.getMessage();
     }
 
     public void parse() {
@@ -91,6 +237,12 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
                 if (result == null) {
                     return;
                 }
+                problems.clear();
+                for (Problem problem : result.getProblems()) {
+                    problems.put(problemKey(problem), problem);
+                }
+                // server copy of the document has to be refreshed as well, otherwise next delta may be relative to stale problems
+                synced = false;
                 doReconcile(result.getProblems());
                 highlighter.reconcile(result.getHighlightedPositions());
             }
@@ -155,5 +307,18 @@ public class JavaReconcilerStrategy implements ReconcilingStrategy {
         if (handlerRegistration != null) {
             handlerRegistration.removeHandler();
         }
+        if (documentChangeRegistration != null) {
+            documentChangeRegistration.removeHandler();
+        }
+        if (messageBus != null && deltaHandler != null) {
+            try {
+                messageBus.unsubscribe(reconcileChannel, deltaHandler);
+            } catch (WebSocketException e) {
+                Log.error(getClass(), e);
+            }
+        }
+        if (file != null) {
+            client.closeEdits(file.getProject().getProjectConfig().getPath(), JavaSourceFolderUtil.getFQNForFile(file), editorId);
+        }
     }
 }
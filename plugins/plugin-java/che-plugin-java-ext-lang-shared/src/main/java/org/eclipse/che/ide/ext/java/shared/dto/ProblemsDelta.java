@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Result of the incremental reconcile which is pushed to the client via websocket.
+ * Contains only problems which were added or removed since the previous reconcile of the same file.
+ */
+@DTO
+public interface ProblemsDelta {
+
+    /** Returns path of the project which contains reconciled compilation unit. */
+    String getProjectPath();
+
+    void setProjectPath(String projectPath);
+
+    ProblemsDelta withProjectPath(String projectPath);
+
+    /** Returns fully qualified name of the reconciled type. */
+    String getFqn();
+
+    void setFqn(String fqn);
+
+    ProblemsDelta withFqn(String fqn);
+
+    /** Returns id of the editor whose content was reconciled. */
+    String getEditorId();
+
+    void setEditorId(String editorId);
+
+    ProblemsDelta withEditorId(String editorId);
+
+    /** Returns problems which appeared since the previous reconcile. */
+    List<Problem> getAddedProblems();
+
+    void setAddedProblems(List<Problem> problems);
+
+    ProblemsDelta withAddedProblems(List<Problem> problems);
+
+    /** Returns problems which disappeared since the previous reconcile. */
+    List<Problem> getRemovedProblems();
+
+    void setRemovedProblems(List<Problem> problems);
+
+    ProblemsDelta withRemovedProblems(List<Problem> problems);
+
+    /** Returns semantic highlighting of the whole compilation unit. */
+    List<HighlightedPosition> getHighlightedPositions();
+
+    void setHighlightedPositions(List<HighlightedPosition> positions);
+
+    ProblemsDelta withHighlightedPositions(List<HighlightedPosition> positions);
+}
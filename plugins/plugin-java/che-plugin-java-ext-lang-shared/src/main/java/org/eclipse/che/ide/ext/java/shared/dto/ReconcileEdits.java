@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.ext.java.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+import java.util.List;
+
+/**
+ * Describes edits which were applied to the java editor since the previous request.
+ */
+@DTO
+public interface ReconcileEdits {
+
+    /** Returns path of the project which contains edited compilation unit. */
+    String getProjectPath();
+
+    void setProjectPath(String projectPath);
+
+    ReconcileEdits withProjectPath(String projectPath);
+
+    /** Returns fully qualified name of the edited type. */
+    String getFqn();
+
+    void setFqn(String fqn);
+
+    ReconcileEdits withFqn(String fqn);
+
+    /** Returns id of the edited editor generated by the client, several editors of the same file have different ids. */
+    String getEditorId();
+
+    void setEditorId(String editorId);
+
+    ReconcileEdits withEditorId(String editorId);
+
+    /**
+     * Returns version of the document after the changes. Client increments it for every request, so the server applies
+     * changes only if they directly follow the previously applied ones.
+     */
+    long getVersion();
+
+    void setVersion(long version);
+
+    ReconcileEdits withVersion(long version);
+
+    /** Returns editor changes in the order they were applied to the document. */
+    List<Change> getChanges();
+
+    void setChanges(List<Change> changes);
+
+    ReconcileEdits withChanges(List<Change> changes);
+}
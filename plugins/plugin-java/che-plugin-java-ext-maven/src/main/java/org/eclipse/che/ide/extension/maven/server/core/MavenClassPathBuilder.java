@@ -22,6 +22,7 @@ import org.eclipse.che.api.project.server.RegisteredProject;
 import org.eclipse.che.ide.ext.java.server.classpath.ClassPathBuilder;
 import org.eclipse.che.ide.ext.java.shared.dto.ClassPathBuilderResult;
 import org.eclipse.che.ide.extension.maven.server.projecttype.MavenClassPathConfigurator;
+import org.eclipse.che.ide.extension.maven.server.projecttype.MavenModelCache;
 import org.eclipse.che.ide.maven.tools.MavenUtils;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.jdt.core.IClasspathContainer;
@@ -54,12 +55,14 @@ public class MavenClassPathBuilder implements ClassPathBuilder {
 
     private final ExecutorService executorService;
     private final ProjectManager  projectManager;
+    private final MavenModelCache modelCache;
 
     private String workspaceId;
 
     @Inject
-    public MavenClassPathBuilder(ResourcesPlugin resourcesPlugin, ProjectManager projectManager) {
+    public MavenClassPathBuilder(ResourcesPlugin resourcesPlugin, ProjectManager projectManager, MavenModelCache modelCache) {
         this.projectManager = projectManager;
+        this.modelCache = modelCache;
         JavaModelManager.getJavaModelManager().containerInitializersCache.put(MavenClasspathContainer.CONTAINER_ID,
                                                                               new MavenClasspathContainerInitializer());
 
@@ -76,7 +79,7 @@ public class MavenClassPathBuilder implements ClassPathBuilder {
         //TODO Temporary solution for IDEX-4270
         try {
             RegisteredProject project = projectManager.getProject(projectPath);
-            MavenClassPathConfigurator.configure(project.getBaseFolder());
+            MavenClassPathConfigurator.configure(project.getBaseFolder(), modelCache);
         } catch (Exception e) {
             LOG.error(e.getMessage(), e);
         }
@@ -37,13 +37,13 @@ public class MavenClassPathConfigurator {
                                                      "\t<classpathentry kind=\"con\" path=\"org.eclipse.che.MAVEN2_CLASSPATH_CONTAINER\"/>\n" +
                                                      "</classpath>";
 
-    public static void configure(FolderEntry projectFolder)
+    public static void configure(FolderEntry projectFolder, MavenModelCache modelCache)
             throws ServerException, ForbiddenException, ConflictException {
         try {
             VirtualFileEntry pom = projectFolder.getChild("pom.xml");
             if (pom != null) {
-                Model model = Model.readFrom(pom.getVirtualFile());
-                configure(projectFolder, model);
+                MavenModelView model = modelCache.get(pom.getVirtualFile());
+                configure(projectFolder, model.getSourceDirectory(), model.getTestSourceDirectory());
             }
         } catch (IOException e) {
             throw new ServerException("Unable read pom.xml.");
@@ -51,25 +51,39 @@ public class MavenClassPathConfigurator {
     }
 
     public static void configure(FolderEntry projectFolder, Model model) throws ServerException, ForbiddenException, ConflictException {
+        String sourceDirectory = null;
+        String testDirectory = null;
+        Build build = model.getBuild();
+        if (build != null) {
+            sourceDirectory = build.getSourceDirectory();
+            testDirectory = build.getTestSourceDirectory();
+        }
+        configure(projectFolder, sourceDirectory, testDirectory);
+    }
+
+    private static void configure(FolderEntry projectFolder, String sourceDirectory, String testDirectory)
+            throws ServerException, ForbiddenException, ConflictException {
         FolderEntry cheFolder = (FolderEntry)projectFolder.getChild(CODENVY_DIR);
 
         if (cheFolder == null) {
-            cheFolder = projectFolder.createFolder(CODENVY_DIR);
+            try {
+                cheFolder = projectFolder.createFolder(CODENVY_DIR);
+            } catch (ConflictException e) {
+                // module may be configured concurrently by init handlers of several projects
+                cheFolder = (FolderEntry)projectFolder.getChild(CODENVY_DIR);
+            }
         }
 
         if (cheFolder != null && cheFolder.getChild("classpath") == null) {
-            String sourceDirectory = null;
-            String testDirectory = null;
-            Build build = model.getBuild();
-            if (build != null) {
-                sourceDirectory = build.getSourceDirectory();
-                testDirectory = build.getTestSourceDirectory();
-            }
             sourceDirectory = sourceDirectory != null && !sourceDirectory.isEmpty() ? sourceDirectory : DEFAULT_SOURCE_FOLDER;
             testDirectory = testDirectory != null && !testDirectory.isEmpty() ? testDirectory : DEFAULT_TEST_SOURCE_FOLDER;
 
             String classPathContent = String.format(CLASS_PATH_CONTENT, sourceDirectory, testDirectory);
-            cheFolder.getVirtualFile().createFile("classpath", new ByteArrayInputStream(classPathContent.getBytes()));
+            try {
+                cheFolder.getVirtualFile().createFile("classpath", new ByteArrayInputStream(classPathContent.getBytes()));
+            } catch (ConflictException ignored) {
+                // the same content is already written by another init handler
+            }
         }
     }
 }
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.extension.maven.server.projecttype;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherEventType;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.eclipse.che.ide.maven.tools.Model;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of the parsed pom.xml files shared by all the maven projects of the workspace.
+ * <p/>
+ * Model is cached by path of the pom.xml and is reused while the modification time and size of the file stay the same,
+ * otherwise content of the file is read and the model is parsed again only if hash of the content is changed.
+ * Content of the file modified less than {@link #RACY_INTERVAL_MS} ago is always verified since the file may be modified
+ * again without visible change of the modification time. Cached models of the changed and deleted files are dropped
+ * when the file watcher reports about the change.
+ * <p/>
+ * The same model is shared by all the callers, so it is returned as {@link MavenModelView read only view}.
+ * Use {@link Model#readFrom(VirtualFile)} to get the model which may be updated.
+ */
+@Singleton
+public class MavenModelCache {
+    private static final long RACY_INTERVAL_MS = 2000;
+
+    private final Map<Path, Entry> models;
+
+    @Inject
+    public MavenModelCache(@Named("project.maven.model_cache.max_models") int maxModels,
+                           FileWatcherNotificationHandler fileWatcherNotificationHandler) {
+        this(maxModels);
+        fileWatcherNotificationHandler.addNotificationListener(new FileWatcherNotificationListener(
+                file -> file.isFolder() || "pom.xml".equals(file.getName())) {
+            @Override
+            public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+                if (virtualFile.isFolder()) {
+                    if (eventType == FileWatcherEventType.DELETED) {
+                        invalidateAll(virtualFile.getPath());
+                    }
+                } else {
+                    invalidate(virtualFile.getPath());
+                }
+            }
+        });
+    }
+
+    public MavenModelCache(int maxModels) {
+        this.models = new LinkedHashMap<Path, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, Entry> eldest) {
+                return size() > maxModels;
+            }
+        };
+    }
+
+    /** Returns model of the pom.xml, the model is parsed only if content of the file is changed since the previous call. */
+    public MavenModelView get(VirtualFile pom) throws ServerException, ForbiddenException, IOException {
+        final Path path = pom.getPath();
+        final long modified = pom.getLastModificationDate();
+        final long length = pom.getLength();
+        Entry entry;
+        synchronized (models) {
+            entry = models.get(path);
+        }
+        if (entry != null && entry.isSame(modified, length)) {
+            return entry.model;
+        }
+
+        final byte[] content = pom.getContentAsBytes();
+        final HashCode hash = Hashing.sha1().hashBytes(content);
+        if (entry == null || !entry.hash.equals(hash)) {
+            entry = new Entry(new MavenModelView(Model.readFrom(new ByteArrayInputStream(content))), hash, modified, length);
+        } else {
+            entry = new Entry(entry.model, hash, modified, length);
+        }
+        synchronized (models) {
+            models.put(path, entry);
+        }
+        return entry.model;
+    }
+
+    /** Drops cached model of the pom.xml with the given path. */
+    public void invalidate(Path path) {
+        synchronized (models) {
+            models.remove(path);
+        }
+    }
+
+    /** Drops cached models of all the pom.xml files located under the given folder. */
+    public void invalidateAll(Path folder) {
+        synchronized (models) {
+            models.keySet().removeIf(path -> path.isChild(folder));
+        }
+    }
+
+    private static class Entry {
+        final MavenModelView model;
+        final HashCode       hash;
+        final long           modified;
+        final long           length;
+
+        Entry(MavenModelView model, HashCode hash, long modified, long length) {
+            this.model = model;
+            this.hash = hash;
+            this.modified = modified;
+            this.length = length;
+        }
+
+        boolean isSame(long modified, long length) {
+            return this.modified == modified
+                   && this.length == length
+                   && System.currentTimeMillis() - modified > RACY_INTERVAL_MS;
+        }
+    }
+}
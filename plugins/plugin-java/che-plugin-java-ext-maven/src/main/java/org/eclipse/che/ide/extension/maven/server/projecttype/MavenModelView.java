@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.extension.maven.server.projecttype;
+
+import org.eclipse.che.ide.maven.tools.Build;
+import org.eclipse.che.ide.maven.tools.Model;
+import org.eclipse.che.ide.maven.tools.Parent;
+import org.eclipse.che.ide.maven.tools.Resource;
+
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Read only view of the {@link Model} cached by {@link MavenModelCache}.
+ * <p/>
+ * The model is shared by all the callers of the cache, so the view exposes only values of the model
+ * and never returns the model or its mutable parts.
+ */
+public class MavenModelView {
+    private final Model model;
+
+    MavenModelView(Model model) {
+        this.model = model;
+    }
+
+    public String getArtifactId() {
+        return model.getArtifactId();
+    }
+
+    public String getGroupId() {
+        return model.getGroupId();
+    }
+
+    public String getVersion() {
+        return model.getVersion();
+    }
+
+    public String getPackaging() {
+        return model.getPackaging();
+    }
+
+    public boolean hasParent() {
+        return model.getParent() != null;
+    }
+
+    /** Returns artifact id of the parent or {@code null} if the model has no parent. */
+    public String getParentArtifactId() {
+        final Parent parent = model.getParent();
+        return parent == null ? null : parent.getArtifactId();
+    }
+
+    /** Returns group id of the parent or {@code null} if the model has no parent. */
+    public String getParentGroupId() {
+        final Parent parent = model.getParent();
+        return parent == null ? null : parent.getGroupId();
+    }
+
+    /** Returns version of the parent or {@code null} if the model has no parent. */
+    public String getParentVersion() {
+        final Parent parent = model.getParent();
+        return parent == null ? null : parent.getVersion();
+    }
+
+    /** Returns source directory from the build section or {@code null} if it isn't set. */
+    public String getSourceDirectory() {
+        final Build build = model.getBuild();
+        return build == null ? null : build.getSourceDirectory();
+    }
+
+    /** Returns test source directory from the build section or {@code null} if it isn't set. */
+    public String getTestSourceDirectory() {
+        final Build build = model.getBuild();
+        return build == null ? null : build.getTestSourceDirectory();
+    }
+
+    /** Returns directories of the resources from the build section or {@code null} if resources aren't set. */
+    public List<String> getResourceDirectories() {
+        final Build build = model.getBuild();
+        if (build == null || build.getResources() == null) {
+            return null;
+        }
+        return unmodifiableList(build.getResources().stream().map(Resource::getDirectory).collect(toList()));
+    }
+
+    public List<String> getModules() {
+        return unmodifiableList(model.getModules());
+    }
+}
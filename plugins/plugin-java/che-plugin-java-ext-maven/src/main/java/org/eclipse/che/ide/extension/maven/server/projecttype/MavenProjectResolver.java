@@ -20,7 +20,6 @@ import org.eclipse.che.api.project.server.VirtualFileEntry;
 import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
-import org.eclipse.che.ide.maven.tools.Model;
 
 import java.io.File;
 import java.io.IOException;
@@ -43,17 +42,21 @@ public class MavenProjectResolver {
      *         base folder which represents project
      * @param projectRegistry
      *         special manager which is necessary for updating project after resolve
+     * @param modelCache
+     *         cache of the parsed pom.xml files
      * @throws ConflictException
      * @throws ForbiddenException
      * @throws ServerException
      * @throws NotFoundException
      * @throws IOException
      */
-    public static void resolve(FolderEntry projectFolder, ProjectRegistry projectRegistry) throws ConflictException,
-                                                                                                ForbiddenException,
-                                                                                                ServerException,
-                                                                                                NotFoundException,
-                                                                                                IOException {
+    public static void resolve(FolderEntry projectFolder,
+                               ProjectRegistry projectRegistry,
+                               MavenModelCache modelCache) throws ConflictException,
+                                                                  ForbiddenException,
+                                                                  ServerException,
+                                                                  NotFoundException,
+                                                                  IOException {
 
         if (projectFolder.getVirtualFile().exists() && projectFolder.getVirtualFile().isFolder()) {
             final VirtualFileEntry pom = projectFolder.getChild("pom.xml");
@@ -64,8 +67,8 @@ public class MavenProjectResolver {
             //projectRegistry.initProject(projectFolder.getPath().toString(), MAVEN_ID);
             projectRegistry.setProjectType(projectFolder.getPath().toString(), MAVEN_ID, false);
 
-            Model model = Model.readFrom(pom.getVirtualFile());
-            MavenClassPathConfigurator.configure(projectFolder);
+            MavenModelView model = modelCache.get(pom.getVirtualFile());
+            MavenClassPathConfigurator.configure(projectFolder, modelCache);
             String packaging = model.getPackaging();
             if ("pom".equals(packaging)) {
                 final List<String> mavenModules = model.getModules();
@@ -77,7 +80,7 @@ public class MavenProjectResolver {
                         final VirtualFileSystem fileSystem = projectFolder.getVirtualFile().getFileSystem();
                         final VirtualFile root = fileSystem.getRoot();
                         final String substring = modulePath.toString().substring(root.toIoFile().getPath().length());
-                        resolve(new FolderEntry(root.getChild(Path.of(substring))), projectRegistry);
+                        resolve(new FolderEntry(root.getChild(Path.of(substring))), projectRegistry, modelCache);
                     }
                 }
             }
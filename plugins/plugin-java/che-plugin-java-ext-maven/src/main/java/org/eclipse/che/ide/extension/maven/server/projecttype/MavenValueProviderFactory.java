@@ -18,15 +18,12 @@ import org.eclipse.che.api.project.server.type.ValueProvider;
 import org.eclipse.che.api.project.server.type.ValueProviderFactory;
 import org.eclipse.che.api.project.server.type.ValueStorageException;
 import org.eclipse.che.commons.xml.XMLTreeException;
-import org.eclipse.che.ide.maven.tools.Build;
-import org.eclipse.che.ide.maven.tools.Model;
-import org.eclipse.che.ide.maven.tools.Resource;
 
+import javax.inject.Inject;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static org.eclipse.che.ide.extension.maven.shared.MavenAttributes.ARTIFACT_ID;
 import static org.eclipse.che.ide.extension.maven.shared.MavenAttributes.DEFAULT_RESOURCES_FOLDER;
@@ -47,13 +44,19 @@ import static org.eclipse.che.ide.extension.maven.shared.MavenAttributes.VERSION
  * @author Evgen Vidolob
  */
 public class MavenValueProviderFactory implements ValueProviderFactory {
+    private final MavenModelCache modelCache;
 
-    protected Model readModel(FolderEntry projectFolder) throws ValueStorageException, ServerException, ForbiddenException, IOException {
+    @Inject
+    public MavenValueProviderFactory(MavenModelCache modelCache) {
+        this.modelCache = modelCache;
+    }
+
+    protected MavenModelView readModel(FolderEntry projectFolder) throws ValueStorageException, ServerException, ForbiddenException, IOException {
         FileEntry pomFile = (FileEntry)projectFolder.getChild("pom.xml");
         if (pomFile == null) {
             throw new ValueStorageException("pom.xml does not exist.");
         }
-        return Model.readFrom(pomFile.getInputStream());
+        return modelCache.get(pomFile.getVirtualFile());
     }
 
     protected void throwReadException(Exception e) throws ValueStorageException {
@@ -77,7 +80,7 @@ public class MavenValueProviderFactory implements ValueProviderFactory {
         public List<String> getValues(String attributeName) throws ValueStorageException {
             try {
                 String value = "";
-                final Model model = readModel(projectFolder);
+                final MavenModelView model = readModel(projectFolder);
                 if (attributeName.equals(ARTIFACT_ID)) {
                     value = model.getArtifactId();
                 } else if (attributeName.equals(GROUP_ID)) {
@@ -87,30 +90,30 @@ public class MavenValueProviderFactory implements ValueProviderFactory {
                     value = packaging == null ? "" : packaging;
                 } else if (attributeName.equals(VERSION)) {
                     value = model.getVersion();
-                } else if (attributeName.equals(PARENT_ARTIFACT_ID) && model.getParent() != null) {
-                    value = model.getParent().getArtifactId();
-                } else if (attributeName.equals(PARENT_GROUP_ID) && model.getParent() != null) {
-                    value = model.getParent().getGroupId();
-                } else if (attributeName.equals(PARENT_VERSION) && model.getParent() != null) {
-                    value = model.getParent().getVersion();
+                } else if (attributeName.equals(PARENT_ARTIFACT_ID) && model.hasParent()) {
+                    value = model.getParentArtifactId();
+                } else if (attributeName.equals(PARENT_GROUP_ID) && model.hasParent()) {
+                    value = model.getParentGroupId();
+                } else if (attributeName.equals(PARENT_VERSION) && model.hasParent()) {
+                    value = model.getParentVersion();
                 } else if (attributeName.equals(SOURCE_FOLDER)) {
-                    Build build = model.getBuild();
-                    if (build != null && build.getSourceDirectory() != null) {
-                        value = build.getSourceDirectory();
+                    String sourceDirectory = model.getSourceDirectory();
+                    if (sourceDirectory != null) {
+                        value = sourceDirectory;
                     } else {
                         value = DEFAULT_SOURCE_FOLDER;
                     }
                 } else if (attributeName.equals(TEST_SOURCE_FOLDER)) {
-                    Build build = model.getBuild();
-                    if (build != null && build.getTestSourceDirectory() != null) {
-                        value = build.getTestSourceDirectory();
+                    String testSourceDirectory = model.getTestSourceDirectory();
+                    if (testSourceDirectory != null) {
+                        value = testSourceDirectory;
                     } else {
                         value = DEFAULT_TEST_SOURCE_FOLDER;
                     }
                 } else if (attributeName.equals(RESOURCE_FOLDER)) {
-                    Build build = model.getBuild();
-                    if (build != null && build.getResources() != null) {
-                        return build.getResources().stream().map(Resource::getDirectory).collect(Collectors.toList());
+                    List<String> resourceDirectories = model.getResourceDirectories();
+                    if (resourceDirectories != null) {
+                        return resourceDirectories;
                     } else {
                         return Arrays.asList(DEFAULT_RESOURCES_FOLDER, DEFAULT_TEST_RESOURCES_FOLDER);
                     }
@@ -10,6 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.ide.extension.maven.server.projecttype.handler;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import org.eclipse.che.api.core.ConflictException;
@@ -19,6 +20,7 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.project.server.FolderEntry;
 import org.eclipse.che.api.project.server.ProjectRegistry;
 import org.eclipse.che.api.project.server.handlers.ProjectInitHandler;
+import org.eclipse.che.ide.extension.maven.server.projecttype.MavenModelCache;
 import org.eclipse.che.ide.extension.maven.server.projecttype.MavenProjectResolver;
 
 import java.io.IOException;
@@ -30,6 +32,12 @@ import static org.eclipse.che.ide.extension.maven.shared.MavenAttributes.MAVEN_I
  */
 @Singleton
 public class ProjectBecomeMavenHandler implements ProjectInitHandler {
+    private final MavenModelCache modelCache;
+
+    @Inject
+    public ProjectBecomeMavenHandler(MavenModelCache modelCache) {
+        this.modelCache = modelCache;
+    }
 
     @Override
     public String getProjectType() {
@@ -42,7 +50,7 @@ public class ProjectBecomeMavenHandler implements ProjectInitHandler {
                                                                                                         ConflictException,
                                                                                                         NotFoundException {
         try {
-            MavenProjectResolver.resolve(projectFolder, projectRegistry);
+            MavenProjectResolver.resolve(projectFolder, projectRegistry, modelCache);
         } catch (IOException e) {
             throw new ServerException(e);
         }
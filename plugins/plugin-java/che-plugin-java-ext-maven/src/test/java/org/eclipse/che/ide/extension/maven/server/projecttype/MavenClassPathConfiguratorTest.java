@@ -167,7 +167,7 @@ public class MavenClassPathConfiguratorTest {
                                                        .withType("maven"), null);
         testProject.getBaseFolder().createFile("pom.xml", POM_CONTENT_WITHOUT_BUILD.getBytes());
 
-        MavenClassPathConfigurator.configure(testProject.getBaseFolder());
+        MavenClassPathConfigurator.configure(testProject.getBaseFolder(), new MavenModelCache(100));
         VirtualFileEntry classPathFile = projectManager.getProject("projectName").getBaseFolder().getChild(".codenvy/classpath");
 
         assertNotNull(classPathFile);
@@ -186,7 +186,7 @@ public class MavenClassPathConfiguratorTest {
         String classPath = String.format(CLASS_PATH_CONTENT, DEFAULT_SOURCE_DIRECTORY, DEFAULT_TEST_SOURCE_DIRECTORY);
         testProject.getBaseFolder().createFile("pom.xml", pom.getBytes());
 
-        MavenClassPathConfigurator.configure(testProject.getBaseFolder());
+        MavenClassPathConfigurator.configure(testProject.getBaseFolder(), new MavenModelCache(100));
         VirtualFileEntry classPathFile = projectManager.getProject("projectName").getBaseFolder().getChild(".codenvy/classpath");
 
         assertNotNull(classPathFile);
@@ -205,7 +205,7 @@ public class MavenClassPathConfiguratorTest {
         String classPath = String.format(CLASS_PATH_CONTENT, SOURCE_DIRECTORY, DEFAULT_TEST_SOURCE_DIRECTORY);
         testProject.getBaseFolder().createFile("pom.xml", pom.getBytes());
 
-        MavenClassPathConfigurator.configure(testProject.getBaseFolder());
+        MavenClassPathConfigurator.configure(testProject.getBaseFolder(), new MavenModelCache(100));
         VirtualFileEntry classPathFile = projectManager.getProject("projectName").getBaseFolder().getChild(".codenvy/classpath");
 
         assertNotNull(classPathFile);
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.ide.extension.maven.server.projecttype;
+
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherEventType;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MavenModelCacheTest {
+    private static final String POM = "<project>\n" +
+                                      "    <modelVersion>4.0.0</modelVersion>\n" +
+                                      "    <groupId>org.eclipse.che</groupId>\n" +
+                                      "    <artifactId>%s</artifactId>\n" +
+                                      "    <version>1.0</version>\n" +
+                                      "</project>";
+
+    private MavenModelCache                 cache;
+    private FileWatcherNotificationListener watcherListener;
+
+    @Before
+    public void setUp() {
+        final FileWatcherNotificationHandler handler = mock(FileWatcherNotificationHandler.class);
+        cache = new MavenModelCache(2, handler);
+        final ArgumentCaptor<FileWatcherNotificationListener> captor = ArgumentCaptor.forClass(FileWatcherNotificationListener.class);
+        verify(handler).addNotificationListener(captor.capture());
+        watcherListener = captor.getValue();
+    }
+
+    @Test
+    public void shouldNotReadUnchangedPomAgain() throws Exception {
+        final VirtualFile pom = pom("/project/pom.xml", "project", 0);
+
+        final MavenModelView model = cache.get(pom);
+
+        assertSame(cache.get(pom), model);
+        assertEquals(model.getArtifactId(), "project");
+        verify(pom).getContentAsBytes();
+    }
+
+    @Test
+    public void shouldReuseModelIfContentIsNotChanged() throws Exception {
+        final VirtualFile pom = pom("/project/pom.xml", "project", 0);
+        final MavenModelView model = cache.get(pom);
+
+        when(pom.getLastModificationDate()).thenReturn(System.currentTimeMillis() - 30_000);
+
+        assertSame(cache.get(pom), model);
+        verify(pom, times(2)).getContentAsBytes();
+    }
+
+    @Test
+    public void shouldParsePomAgainIfContentIsChanged() throws Exception {
+        final VirtualFile pom = pom("/project/pom.xml", "project", 0);
+        cache.get(pom);
+
+        pomContent(pom, "changed", 30_000);
+
+        assertEquals(cache.get(pom).getArtifactId(), "changed");
+    }
+
+    @Test
+    public void shouldVerifyContentOfRecentlyModifiedPom() throws Exception {
+        final VirtualFile pom = pom("/project/pom.xml", "project", 59_000);
+        cache.get(pom);
+
+        pomContent(pom, "changed", 59_000);
+
+        assertEquals(cache.get(pom).getArtifactId(), "changed");
+    }
+
+    @Test
+    public void shouldDropModelWhenWatcherReportsChangeOfPom() throws Exception {
+        final VirtualFile pom = pom("/project/pom.xml", "project", 0);
+        final MavenModelView model = cache.get(pom);
+
+        watcherListener.onFileWatcherEvent(pom, FileWatcherEventType.MODIFIED);
+
+        assertNotSame(cache.get(pom), model);
+        verify(pom, times(2)).getContentAsBytes();
+    }
+
+    @Test
+    public void shouldDropModelsOfDeletedFolder() throws Exception {
+        final VirtualFile module = pom("/project/module/pom.xml", "module", 0);
+        final VirtualFile other = pom("/other/pom.xml", "other", 0);
+        final MavenModelView moduleModel = cache.get(module);
+        final MavenModelView otherModel = cache.get(other);
+        final VirtualFile folder = mock(VirtualFile.class);
+        when(folder.isFolder()).thenReturn(true);
+        when(folder.getName()).thenReturn("project");
+        when(folder.getPath()).thenReturn(Path.of("/project"));
+
+        assertTrue(watcherListener.shouldBeNotifiedFor(folder));
+        watcherListener.onFileWatcherEvent(folder, FileWatcherEventType.DELETED);
+
+        assertNotSame(cache.get(module), moduleModel);
+        assertSame(cache.get(other), otherModel);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedModel() throws Exception {
+        final VirtualFile a = pom("/a/pom.xml", "a", 0);
+        final VirtualFile b = pom("/b/pom.xml", "b", 0);
+        final VirtualFile c = pom("/c/pom.xml", "c", 0);
+        final MavenModelView modelA = cache.get(a);
+        final MavenModelView modelB = cache.get(b);
+        cache.get(a);
+
+        cache.get(c);
+
+        assertSame(cache.get(a), modelA);
+        assertNotSame(cache.get(b), modelB);
+    }
+
+    /** Creates pom.xml which was modified a minute ago plus the given shift. */
+    private static VirtualFile pom(String path, String artifactId, long shiftMs) throws Exception {
+        final VirtualFile pom = mock(VirtualFile.class);
+        when(pom.getPath()).thenReturn(Path.of(path));
+        when(pom.getName()).thenReturn("pom.xml");
+        when(pom.isFile()).thenReturn(true);
+        pomContent(pom, artifactId, shiftMs);
+        return pom;
+    }
+
+    private static void pomContent(VirtualFile pom, String artifactId, long shiftMs) throws Exception {
+        final byte[] content = String.format(POM, artifactId).getBytes(UTF_8);
+        when(pom.getContentAsBytes()).thenReturn(content);
+        when(pom.getLength()).thenReturn((long)content.length);
+        when(pom.getLastModificationDate()).thenReturn(System.currentTimeMillis() - 60_000 + shiftMs);
+    }
+}
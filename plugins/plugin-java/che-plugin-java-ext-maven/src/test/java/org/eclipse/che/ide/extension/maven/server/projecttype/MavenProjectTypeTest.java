@@ -93,7 +93,7 @@ public class MavenProjectTypeTest {
 
         Set<ProjectTypeDef> projTypes = new HashSet<>();
         projTypes.add(new JavaProjectType(new JavaPropertiesValueProviderFactory()));
-        projTypes.add(new MavenProjectType(new MavenValueProviderFactory()));
+        projTypes.add(new MavenProjectType(new MavenValueProviderFactory(new MavenModelCache(100))));
 
         ptRegistry = new ProjectTypeRegistry(projTypes);
 
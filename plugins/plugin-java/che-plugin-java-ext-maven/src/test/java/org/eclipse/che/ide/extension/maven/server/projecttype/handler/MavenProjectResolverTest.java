@@ -11,6 +11,7 @@
 package org.eclipse.che.ide.extension.maven.server.projecttype.handler;
 
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.ChannelReplayBuffer;
 import org.eclipse.che.api.project.server.FolderEntry;
 import org.eclipse.che.api.project.server.ProjectRegistry;
 import org.eclipse.che.api.project.server.WorkspaceHolder;
@@ -27,6 +28,7 @@ import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.ide.ext.java.server.projecttype.JavaProjectType;
 import org.eclipse.che.ide.ext.java.server.projecttype.JavaPropertiesValueProviderFactory;
+import org.eclipse.che.ide.extension.maven.server.projecttype.MavenModelCache;
 import org.eclipse.che.ide.extension.maven.server.projecttype.MavenProjectResolver;
 import org.eclipse.che.ide.extension.maven.server.projecttype.MavenProjectType;
 import org.eclipse.che.ide.extension.maven.server.projecttype.MavenValueProviderFactory;
@@ -98,14 +100,14 @@ public class MavenProjectResolverTest {
         WorkspaceHolder workspaceHolder = new TestWorkspaceHolder(projects);
         ProjectTypeRegistry projectTypeRegistry = new ProjectTypeRegistry(new HashSet<>());
         projectTypeRegistry.registerProjectType(new JavaProjectType(new JavaPropertiesValueProviderFactory()));
-        projectTypeRegistry.registerProjectType(new MavenProjectType(new MavenValueProviderFactory()));
+        projectTypeRegistry.registerProjectType(new MavenProjectType(new MavenValueProviderFactory(new MavenModelCache(100))));
 
         VirtualFileSystemProvider vfsProvider = new LocalVirtualFileSystemProvider(rootDirectory, null);
         root = vfsProvider.getVirtualFileSystem().getRoot();
 
 
         projectRegistry = new ProjectRegistry(workspaceHolder, vfsProvider, projectTypeRegistry, new ProjectHandlerRegistry(
-                Collections.<ProjectHandler>emptySet()));
+                Collections.<ProjectHandler>emptySet()), new ChannelReplayBuffer(1024 * 1024, 1024 * 1024));
 
     }
 
@@ -122,7 +124,7 @@ public class MavenProjectResolverTest {
         final VirtualFile virtualFile = root.getChild(org.eclipse.che.api.vfs.Path.of(projectName));
         FolderEntry projectFolder = new FolderEntry(virtualFile);
 
-        MavenProjectResolver.resolve(projectFolder, projectRegistry);
+        MavenProjectResolver.resolve(projectFolder, projectRegistry, new MavenModelCache(100));
 
         assertNotNull(projectRegistry.getProjects());
         assertEquals(3, projectRegistry.getProjects().size());
@@ -148,7 +150,7 @@ public class MavenProjectResolverTest {
         final VirtualFile virtualFile = root.getChild(org.eclipse.che.api.vfs.Path.of(path));
         FolderEntry projectFolder = new FolderEntry(virtualFile);
 
-        MavenProjectResolver.resolve(projectFolder, projectRegistry);
+        MavenProjectResolver.resolve(projectFolder, projectRegistry, new MavenModelCache(100));
 
         assertNotNull(projectRegistry.getProjects());
         assertEquals(3, projectRegistry.getProjects().size());
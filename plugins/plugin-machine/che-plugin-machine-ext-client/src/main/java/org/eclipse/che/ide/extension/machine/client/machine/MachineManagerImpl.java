@@ -157,7 +157,10 @@ public class MachineManagerImpl implements MachineManager, WorkspaceStoppedHandl
         outputHandler = new SubscriptionHandler<String>(new OutputMessageUnmarshaller()) {
             @Override
             protected void onMessageReceived(String result) {
-                machineConsolePresenter.print(result);
+                // output comes in batches of lines
+                for (String line : result.split("\n")) {
+                    machineConsolePresenter.print(line);
+                }
             }
 
             @Override
@@ -117,7 +117,10 @@ public class CommandOutputConsolePresenter implements CommandOutputConsole, Outp
         outputHandler = new SubscriptionHandler<String>(new OutputMessageUnmarshaller()) {
             @Override
             protected void onMessageReceived(String result) {
-                view.print(result, result.endsWith("\r"));
+                // output comes in batches of lines
+                for (String line : result.split("\n")) {
+                    view.print(line, line.endsWith("\r"));
+                }
 
                 for (ConsoleOutputListener listener : outputListenes) {
                     listener.onConsoleOutput(CommandOutputConsolePresenter.this);
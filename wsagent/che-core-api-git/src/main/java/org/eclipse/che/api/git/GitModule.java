@@ -45,6 +45,7 @@ public class GitModule extends AbstractModule {
         bind(StatusPageWriter.class);
         bind(TagListWriter.class);
         bind(GitWebSocketMessenger.class);
+        bind(GitStatusCache.class);
 
         //bind(GitConnectionFactory.class).to(NativeGitConnectionFactory.class);
     }
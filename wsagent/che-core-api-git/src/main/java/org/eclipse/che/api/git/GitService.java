@@ -92,6 +92,9 @@ public class GitService {
     @Inject
     private GitUrlResolver gitUrlResolver;
 
+    @Inject
+    private GitStatusCache statusCache;
+
     @PathParam("ws-id")
     private String workspace;
 
@@ -352,9 +355,7 @@ public class GitService {
     @POST
     @Produces({MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN})
     public Status status(@QueryParam("format") StatusFormat format) throws ApiException {
-        try (GitConnection gitConnection = getGitConnection()) {
-            return gitConnection.status(format);
-        }
+        return statusCache.getStatus(getAbsoluteProjectPath(projectPath), format);
     }
 
     @Path("tag-create")
@@ -471,6 +472,8 @@ public class GitService {
     }
 
     private GitConnection getGitConnection() throws ApiException {
-        return gitConnectionFactory.getConnection(getAbsoluteProjectPath(projectPath));
+        final String workDir = getAbsoluteProjectPath(projectPath);
+        // any git command may change the repository, so the status is computed again once the connection is closed
+        return statusCache.track(workDir, gitConnectionFactory.getConnection(workDir));
     }
 }
@@ -0,0 +1,369 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.git.shared.StatusFormat;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.VirtualFileFilter;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherEventType;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.DELETED;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.MOVED;
+
+/**
+ * Cache of the statuses of git repositories.
+ * <p/>
+ * Status is computed once per repository and format and is returned as is until the repository is invalidated by the file
+ * watcher event about any file of the repository (including the files under .git), by the explicit call of
+ * {@link #invalidate(String)} or by git command run with the connection returned by {@link #track(String, GitConnection)}.
+ * File watcher reports changes with a delay, so changes made through the project API are also taken from
+ * {@link ProjectItemModifiedEvent}s, which are published synchronously, and the status read right after the change
+ * is up to date. Repository is dropped from the cache when its folder is deleted.
+ * Invalidation of the repository doesn't run git status immediately, the status of the repository is refreshed in the
+ * background once the repository stays unchanged for the refresh delay, so burst of events is coalesced into a single run
+ * of git status. Only formats requested since the previous background refresh are refreshed. Status of the invalidated
+ * repository which isn't refreshed yet is computed on demand.
+ * <p/>
+ * Git status itself may rewrite .git/index and creates lock files, such changes don't invalidate the repository.
+ * <p/>
+ * The same status is returned to all the callers, so it must not be modified.
+ */
+@Singleton
+public class GitStatusCache {
+    private static final Logger LOG = LoggerFactory.getLogger(GitStatusCache.class);
+
+    private static final Path INDEX = Paths.get(".git", "index");
+
+    /** Some file systems keep modification time with the precision of seconds. */
+    private static final long MODIFICATION_PRECISION_MS = 1000;
+
+    private final GitConnectionFactory            gitConnectionFactory;
+    private final File                            rootDirectory;
+    private final long                            refreshDelayMs;
+    private final ConcurrentMap<Path, Repository> repositories;
+    private final ScheduledExecutorService        executor;
+
+    @Inject
+    public GitStatusCache(GitConnectionFactory gitConnectionFactory,
+                          FileWatcherNotificationHandler fileWatcherNotificationHandler,
+                          EventService eventService,
+                          @Named("che.user.workspaces.storage") File rootDirectory,
+                          @Named("git.status_cache.refresh_delay_ms") long refreshDelayMs) {
+        this(gitConnectionFactory, fileWatcherNotificationHandler, eventService, rootDirectory, refreshDelayMs, newRefreshExecutor());
+    }
+
+    public GitStatusCache(GitConnectionFactory gitConnectionFactory,
+                          FileWatcherNotificationHandler fileWatcherNotificationHandler,
+                          EventService eventService,
+                          File rootDirectory,
+                          long refreshDelayMs,
+                          ScheduledExecutorService executor) {
+        this.gitConnectionFactory = gitConnectionFactory;
+        this.rootDirectory = rootDirectory;
+        this.refreshDelayMs = refreshDelayMs;
+        this.repositories = new ConcurrentHashMap<>();
+        this.executor = executor;
+        fileWatcherNotificationHandler.addNotificationListener(new FileWatcherNotificationListener(VirtualFileFilter.ACCEPT_ALL) {
+            @Override
+            public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
+                final Path path = normalize(virtualFile.toIoFile());
+                if (eventType == FileWatcherEventType.DELETED) {
+                    onFileDeleted(path);
+                }
+                onFileChanged(path);
+            }
+        });
+        eventService.subscribe(new EventSubscriber<ProjectItemModifiedEvent>() {
+            @Override
+            public void onEvent(ProjectItemModifiedEvent event) {
+                onProjectItemModified(event);
+            }
+        });
+    }
+
+    /**
+     * Returns status of the git repository.
+     *
+     * @param workDir
+     *         working directory of the repository
+     * @param format
+     *         format of the status
+     * @throws GitException
+     *         if status of the repository can't be computed
+     */
+    public Status getStatus(String workDir, StatusFormat format) throws GitException {
+        final Repository repository = repositories.computeIfAbsent(normalize(new File(workDir)), Repository::new);
+        final Status cached = repository.getSnapshot(format);
+        if (cached != null) {
+            return cached;
+        }
+        return repository.refresh(format);
+    }
+
+    /** Drops the cached statuses of the repository, e.g. when the repository is changed by git command. */
+    public void invalidate(String workDir) {
+        final Repository repository = repositories.get(normalize(new File(workDir)));
+        if (repository != null) {
+            repository.invalidate();
+        }
+    }
+
+    /**
+     * Returns connection which keeps the status of the repository invalidated until the connection is closed,
+     * so the status is neither cached nor refreshed while git commands run by the connection may change the repository,
+     * and is computed again after they are finished.
+     *
+     * @param workDir
+     *         working directory of the repository
+     * @param connection
+     *         connection to the repository
+     */
+    public GitConnection track(String workDir, GitConnection connection) {
+        final Repository repository = repositories.computeIfAbsent(normalize(new File(workDir)), Repository::new);
+        repository.commandStarted();
+        final AtomicBoolean closed = new AtomicBoolean();
+        return (GitConnection)Proxy.newProxyInstance(GitConnection.class.getClassLoader(),
+                                                     new Class<?>[] {GitConnection.class},
+                                                     (proxy, method, args) -> {
+                                                         if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                                                             try {
+                                                                 connection.close();
+                                                             } finally {
+                                                                 if (closed.compareAndSet(false, true)) {
+                                                                     repository.commandFinished();
+                                                                 }
+                                                             }
+                                                             return null;
+                                                         }
+                                                         try {
+                                                             return method.invoke(connection, args);
+                                                         } catch (InvocationTargetException e) {
+                                                             throw e.getCause();
+                                                         }
+                                                     });
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    private void onProjectItemModified(ProjectItemModifiedEvent event) {
+        if (event.getPath() == null) {
+            return;
+        }
+        final Path path = normalize(new File(rootDirectory, event.getPath()));
+        if (event.getType() == DELETED) {
+            onFileDeleted(path);
+        } else if (event.getType() == MOVED && event.getOldPath() != null) {
+            final Path oldPath = normalize(new File(rootDirectory, event.getOldPath()));
+            onFileDeleted(oldPath);
+            onFileChanged(oldPath);
+        }
+        onFileChanged(path);
+    }
+
+    /** Drops the repositories which are located in the deleted folder, the other repositories are invalidated as usual. */
+    private void onFileDeleted(Path path) {
+        for (Repository repository : repositories.values()) {
+            if (repository.workDir.startsWith(path) && repositories.remove(repository.workDir, repository)) {
+                repository.discard();
+            }
+        }
+    }
+
+    private void onFileChanged(Path path) {
+        for (Repository repository : repositories.values()) {
+            if (path.startsWith(repository.workDir)) {
+                final Path relative = repository.workDir.relativize(path);
+                if (!isGitLock(relative) && !(INDEX.equals(relative) && repository.isIndexWrittenByStatus(path))) {
+                    repository.invalidate();
+                }
+            }
+        }
+    }
+
+    /** Lock files are created and removed by git status itself, so they mustn't cause refresh of the status. */
+    private static boolean isGitLock(Path relative) {
+        return relative.getNameCount() > 1
+               && ".git".equals(relative.getName(0).toString())
+               && relative.getFileName().toString().endsWith(".lock");
+    }
+
+    private static Path normalize(File file) {
+        return file.toPath().toAbsolutePath().normalize();
+    }
+
+    private static ScheduledExecutorService newRefreshExecutor() {
+        final AtomicInteger threads = new AtomicInteger();
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "GitStatusRefresher-" + threads.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private class Repository {
+        final Path                      workDir;
+        final Map<StatusFormat, Status> snapshots;
+        /** Formats requested since the previous background refresh. */
+        final Set<StatusFormat>         requestedFormats;
+        long               version;
+        /** Whether the repository is dropped from the cache, so it isn't refreshed anymore. */
+        boolean            discarded;
+        int                runningCommands;
+        /** Number of running git status commands and the time range of the latest runs of them. */
+        int                runningStatuses;
+        long               statusStarted;
+        long               statusFinished;
+        ScheduledFuture<?> scheduledRefresh;
+
+        Repository(Path workDir) {
+            this.workDir = workDir;
+            this.snapshots = new EnumMap<>(StatusFormat.class);
+            this.requestedFormats = EnumSet.noneOf(StatusFormat.class);
+        }
+
+        synchronized Status getSnapshot(StatusFormat format) {
+            requestedFormats.add(format);
+            return snapshots.get(format);
+        }
+
+        synchronized void invalidate() {
+            version++;
+            snapshots.clear();
+            if (scheduledRefresh != null) {
+                scheduledRefresh.cancel(false);
+                scheduledRefresh = null;
+            }
+            // status is refreshed after the running git commands are finished
+            if (runningCommands == 0 && !discarded) {
+                scheduledRefresh = executor.schedule(this::refreshAll, refreshDelayMs, MILLISECONDS);
+            }
+        }
+
+        synchronized void discard() {
+            discarded = true;
+            invalidate();
+        }
+
+        synchronized void commandStarted() {
+            runningCommands++;
+            invalidate();
+        }
+
+        synchronized void commandFinished() {
+            runningCommands--;
+            invalidate();
+        }
+
+        /**
+         * Returns {@code true} if the index was modified while git status was running, i.e. git status refreshed it.
+         * Index modified by the other command at the same time is indistinguishable, but the status computed then
+         * isn't cached unless the command was finished before.
+         */
+        boolean isIndexWrittenByStatus(Path index) {
+            final long modified;
+            try {
+                modified = Files.getLastModifiedTime(index).toMillis();
+            } catch (IOException e) {
+                return false;
+            }
+            // modification time may be truncated to seconds
+            final long precision = modified % MODIFICATION_PRECISION_MS == 0 ? MODIFICATION_PRECISION_MS : 0;
+            synchronized (this) {
+                return statusStarted > 0
+                       && modified >= statusStarted - precision
+                       && (runningStatuses > 0 || modified <= statusFinished);
+            }
+        }
+
+        /** Computes the status and caches it unless the repository is invalidated while git status is running. */
+        Status refresh(StatusFormat format) throws GitException {
+            final long startVersion;
+            synchronized (this) {
+                startVersion = version;
+                if (runningStatuses++ == 0) {
+                    statusStarted = System.currentTimeMillis();
+                }
+            }
+            final Status status;
+            try (GitConnection connection = gitConnectionFactory.getConnection(workDir.toFile())) {
+                status = connection.status(format);
+            } finally {
+                synchronized (this) {
+                    runningStatuses--;
+                    statusFinished = System.currentTimeMillis();
+                }
+            }
+            synchronized (this) {
+                if (version == startVersion && runningCommands == 0) {
+                    snapshots.put(format, status);
+                }
+            }
+            return status;
+        }
+
+        void refreshAll() {
+            final Set<StatusFormat> toRefresh;
+            synchronized (this) {
+                if (runningCommands > 0) {
+                    return;
+                }
+                toRefresh = EnumSet.copyOf(requestedFormats);
+                toRefresh.removeAll(snapshots.keySet());
+                // formats which aren't requested until the next refresh aren't refreshed anymore
+                requestedFormats.clear();
+            }
+            for (StatusFormat format : toRefresh) {
+                try {
+                    refresh(format);
+                } catch (GitException e) {
+                    LOG.debug("Unable refresh status of git repository {}. {}", workDir, e.getMessage());
+                    repositories.remove(workDir, this);
+                    return;
+                }
+            }
+        }
+    }
+}
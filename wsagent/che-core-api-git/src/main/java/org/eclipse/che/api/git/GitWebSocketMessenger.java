@@ -10,12 +10,12 @@
  *******************************************************************************/
 package org.eclipse.che.api.git;
 
+import org.eclipse.che.api.core.notification.ChannelReplayBuffer;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.git.shared.GitCheckoutEvent;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.inject.StringArrayConverter;
-import org.everrest.websockets.WSConnectionContext;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,11 +33,13 @@ public class GitWebSocketMessenger implements EventSubscriber<GitCheckoutEvent>
     private static final Logger LOG = LoggerFactory.getLogger(GitWebSocketMessenger.class);
     private static final String CHANNEL = "git:checkout:%s:%s";
 
-    private final EventService eventService;
+    private final EventService        eventService;
+    private final ChannelReplayBuffer channelReplayBuffer;
 
     @Inject
-    public GitWebSocketMessenger(EventService eventService) {
+    public GitWebSocketMessenger(EventService eventService, ChannelReplayBuffer channelReplayBuffer) {
         this.eventService = eventService;
+        this.channelReplayBuffer = channelReplayBuffer;
     }
 
     @PostConstruct
@@ -57,7 +59,7 @@ public class GitWebSocketMessenger implements EventSubscriber<GitCheckoutEvent>
             final String channel = String.format(CHANNEL, event.getWorkspaceId(), event.getProjectName());
             bm.setChannel(channel);
             bm.setBody(DtoFactory.getInstance().toJson(event));
-            WSConnectionContext.sendMessage(bm);
+            channelReplayBuffer.send(bm);
         } catch (Exception e) {
             LOG.error(e.getMessage(), e);
         }
@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.git;
+
+import com.google.common.io.Files;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.util.LineConsumerFactory;
+import org.eclipse.che.api.git.shared.Status;
+import org.eclipse.che.api.git.shared.StatusFormat;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherEventType;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationHandler;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherNotificationListener;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.DELETED;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.UPDATED;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link GitStatusCache}.
+ * <p/>
+ * Git status is emulated by the mocked connection which reports all the files of the repository as untracked.
+ */
+public class GitStatusCacheTest {
+    private File                           repository;
+    private File                           outside;
+    private ScheduledExecutorService       executor;
+    private ScheduledFuture<?>             scheduledRefresh;
+    private GitConnection                  connection;
+    private GitConnectionFactory           factory;
+    private FileWatcherNotificationHandler notificationHandler;
+    private EventService                   eventService;
+    private GitStatusCache                 cache;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        repository = Files.createTempDir();
+        outside = Files.createTempDir();
+        assertTrue(new File(repository, ".git").mkdir());
+        executor = mock(ScheduledExecutorService.class);
+        scheduledRefresh = mock(ScheduledFuture.class);
+        doReturn(scheduledRefresh).when(executor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        connection = mock(GitConnection.class);
+        when(connection.status(any(StatusFormat.class))).thenAnswer(invocation -> status(untrackedFiles()));
+        factory = mock(GitConnectionFactory.class);
+        when(factory.getConnection(any(File.class), any(LineConsumerFactory.class))).thenReturn(connection);
+        notificationHandler = mock(FileWatcherNotificationHandler.class);
+        eventService = new EventService();
+        cache = new GitStatusCache(factory, notificationHandler, eventService, repository.getParentFile(), 60_000, executor);
+    }
+
+    @AfterMethod
+    public void cleanUp() {
+        IoUtil.deleteRecursive(repository);
+        IoUtil.deleteRecursive(outside);
+    }
+
+    @Test
+    public void shouldReturnCachedStatusWhileRepositoryIsNotChanged() throws Exception {
+        //given
+        addFile(repository, "a");
+        Status status = cache.getStatus(repository.getPath(), StatusFormat.SHORT);
+        //when
+        addFile(repository, "b");
+        //then
+        assertSame(cache.getStatus(repository.getPath(), StatusFormat.SHORT), status);
+        assertEquals(status.getUntracked(), singletonList("a"));
+        verify(connection).status(StatusFormat.SHORT);
+    }
+
+    @Test
+    public void shouldComputeStatusOfInvalidatedRepositoryOnDemand() throws Exception {
+        //given
+        addFile(repository, "a");
+        cache.getStatus(repository.getPath(), StatusFormat.SHORT);
+        addFile(repository, "b");
+        //when
+        cache.invalidate(repository.getPath());
+        //then
+        assertEquals(cache.getStatus(repository.getPath(), StatusFormat.SHORT).getUntracked(), asList("a", "b"));
+    }
+
+    @Test
+    public void shouldComputeStatusRightAfterFileIsWrittenThroughProjectApi() throws Exception {
+        //given
+        Status status = cache.getStatus(repository.getPath(), StatusFormat.SHORT);
+        //when
+        addFile(repository, "a");
+        eventService.publish(new ProjectItemModifiedEvent(UPDATED, "workspace", projectPath(), projectPath() + "/a", false));
+        //then
+        Status updated = cache.getStatus(repository.getPath(), StatusFormat.SHORT);
+        assertNotSame(updated, status);
+        assertEquals(updated.getUntracked(), singletonList("a"));
+    }
+
+    @Test
+    public void shouldDropRepositoryWhenProjectIsDeleted() throws Exception {
+        //given
+        cache.getStatus(repository.getPath(), StatusFormat.SHORT);
+        //when
+        eventService.publish(new ProjectItemModifiedEvent(DELETED, "workspace", projectPath(), projectPath(), true));
+        //then
+        cache.invalidate(repository.getPath());
+        verify(executor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void shouldRefreshStatusInBackgroundOnceForBurstOfEvents() throws Exception {
+        //given
+        cache = new GitStatusCache(factory, notificationHandler, eventService, repository.getParentFile(), 200, executor);
+        FileWatcherNotificationListener listener = captureListener(1);
+        cache.getStatus(repository.getPath(), StatusFormat.SHORT);
+        //when
+        for (int i = 0; i < 10; i++) {
+            listener.onFileWatcherEvent(file(addFile(repository, "file" + i)), FileWatcherEventType.CREATED);
+        }
+        //then
+        verify(executor, times(10)).schedule(any(Runnable.class), eq(200L), eq(MILLISECONDS));
+        verify(scheduledRefresh, times(9)).cancel(false);
+        runScheduledRefresh();
+        verify(connection, times(2)).status(StatusFormat.SHORT);
+        assertEquals(cache.getStatus(repository.getPath(), StatusFormat.SHORT).getUntracked().size(), 10);
+        verify(connection, times(2)).status(StatusFormat.SHORT);
+    }
+
+    @Test
+    public void shouldInvalidateStatusWhenGitMetadataIsChanged() throws Exception {
+        //given
+        FileWatcherNotificationListener listener = captureListener(0);
+        File index = new File(repository, ".git/index");
+        assertTrue(index.createNewFile());
+        Status status = cache.getStatus(repository.getPath(), StatusFormat.SHORT);
+        //when
+        index.setLastModified(System.currentTimeMillis() + 2000);
+        listener.onFileWatcherEvent(file(index), FileWatcherEventType.MODIFIED);
+        //then
+        assertNotSame(cache.getStatus(repository.getPath(), StatusFormat.SHORT), status);
+    }
+
+    @Test
+    public void shouldIgnoreChangeOfIndexMadeByStatusItself() throws Exception {
+        //given
+        File index = new File(repository, ".git/index");
+        assertTrue(index.createNewFile());
+        when(connection.status(StatusFormat.SHORT)).thenAnswer(invocation -> {
+            // git status refreshes stat information of the index
+            index.setLastModified(System.currentTimeMillis());
+            return status(untrackedFiles());
+        });
+        FileWatcherNotificationListener listener = captureListener(0);
+        Status status = cache.getStatus(repository.getPath(), StatusFormat.SHORT);
+        //when
+        listener.onFileWatcherEvent(file(index), FileWatcherEventType.MODIFIED);
+        //then
+        assertSame(cache.getStatus(repository.getPath(), StatusFormat.SHORT), status);
+        verify(executor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void shouldRefreshInBackgroundOnlyFormatsRequestedSincePreviousRefresh() throws Exception {
+        //given
+        cache.getStatus(repository.getPath(), StatusFormat.SHORT);
+        cache.getStatus(repository.getPath(), StatusFormat.LONG);
+        cache.invalidate(repository.getPath());
+        runScheduledRefresh();
+        verify(factory, times(4)).getConnection(any(File.class), any(LineConsumerFactory.class));
+        //when
+        cache.getStatus(repository.getPath(), StatusFormat.SHORT);
+        cache.invalidate(repository.getPath());
+        runScheduledRefresh();
+        cache.invalidate(repository.getPath());
+        runScheduledRefresh();
+        //then
+        verify(factory, times(5)).getConnection(any(File.class), any(LineConsumerFactory.class));
+    }
+
+    @Test
+    public void shouldNotCacheStatusUntilTrackedConnectionIsClosed() throws Exception {
+        //given
+        cache.getStatus(repository.getPath(), StatusFormat.SHORT);
+        GitConnection command = mock(GitConnection.class);
+        GitConnection tracked = cache.track(repository.getPath(), command);
+        Status status = cache.getStatus(repository.getPath(), StatusFormat.SHORT);
+        assertNotSame(cache.getStatus(repository.getPath(), StatusFormat.SHORT), status);
+        addFile(repository, "a");
+        //when
+        tracked.close();
+        //then
+        verify(command).close();
+        status = cache.getStatus(repository.getPath(), StatusFormat.SHORT);
+        assertEquals(status.getUntracked(), singletonList("a"));
+        assertSame(cache.getStatus(repository.getPath(), StatusFormat.SHORT), status);
+        verify(executor).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void shouldIgnoreEventsOfGitLocksAndFilesOutsideRepository() throws Exception {
+        //given
+        FileWatcherNotificationListener listener = captureListener(0);
+        Status status = cache.getStatus(repository.getPath(), StatusFormat.SHORT);
+        //when
+        listener.onFileWatcherEvent(file(new File(repository, ".git/index.lock")), FileWatcherEventType.CREATED);
+        listener.onFileWatcherEvent(file(new File(outside, "a")), FileWatcherEventType.CREATED);
+        //then
+        assertSame(cache.getStatus(repository.getPath(), StatusFormat.SHORT), status);
+    }
+
+    private String projectPath() {
+        return "/" + repository.getName();
+    }
+
+    private List<String> untrackedFiles() {
+        return Arrays.stream(repository.list())
+                     .filter(name -> !".git".equals(name))
+                     .sorted()
+                     .collect(toList());
+    }
+
+    private void runScheduledRefresh() {
+        ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, atLeastOnce()).schedule(refresh.capture(), anyLong(), any(TimeUnit.class));
+        refresh.getValue().run();
+    }
+
+    /** Returns the listener added by the cache, caches created in the test are registered after the one of {@link #setUp()}. */
+    private FileWatcherNotificationListener captureListener(int index) {
+        ArgumentCaptor<FileWatcherNotificationListener> captor = ArgumentCaptor.forClass(FileWatcherNotificationListener.class);
+        verify(notificationHandler, times(index + 1)).addNotificationListener(captor.capture());
+        return captor.getAllValues().get(index);
+    }
+
+    private static Status status(List<String> untracked) {
+        Status status = mock(Status.class);
+        when(status.getUntracked()).thenReturn(untracked);
+        return status;
+    }
+
+    private static File addFile(File parent, String name) throws Exception {
+        File file = new File(parent, name);
+        Files.write("content", file, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static VirtualFile file(File ioFile) {
+        VirtualFile file = mock(VirtualFile.class);
+        when(file.toIoFile()).thenReturn(ioFile);
+        return file;
+    }
+}
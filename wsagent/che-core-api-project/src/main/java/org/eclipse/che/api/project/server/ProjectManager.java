@@ -21,6 +21,7 @@ import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.project.SourceStorage;
 import org.eclipse.che.api.core.model.project.type.ProjectType;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
+import org.eclipse.che.api.core.notification.ChannelReplayBuffer;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.LineConsumerFactory;
 import org.eclipse.che.api.project.server.handlers.CreateProjectHandler;
@@ -80,6 +81,7 @@ public final class ProjectManager {
     private final ProjectImporterRegistry        importers;
     private final FileTreeWatcher                fileWatcher;
     private final FileWatcherNotificationHandler fileWatchNotifier;
+    private final ChannelReplayBuffer            channelReplayBuffer;
     private final ExecutorService                executor;
 
     @Inject
@@ -90,7 +92,8 @@ public final class ProjectManager {
                           ProjectHandlerRegistry handlers,
                           ProjectImporterRegistry importers,
                           FileWatcherNotificationHandler fileWatcherNotificationHandler,
-                          FileTreeWatcher fileTreeWatcher) throws ServerException {
+                          FileTreeWatcher fileTreeWatcher,
+                          ChannelReplayBuffer channelReplayBuffer) throws ServerException {
         this.vfs = vfsProvider.getVirtualFileSystem();
         this.eventService = eventService;
         this.projectTypeRegistry = projectTypeRegistry;
@@ -99,6 +102,7 @@ public final class ProjectManager {
         this.importers = importers;
         this.fileWatchNotifier = fileWatcherNotificationHandler;
         this.fileWatcher = fileTreeWatcher;
+        this.channelReplayBuffer = channelReplayBuffer;
         executor = Executors.newFixedThreadPool(1 + Runtime.getRuntime().availableProcessors(),
                                                 new ThreadFactoryBuilder().setNameFormat("ProjectService-IndexingThread-")
                                                                           .setDaemon(true).build());
@@ -110,6 +114,7 @@ public final class ProjectManager {
             @Override
             public void onFileWatcherEvent(VirtualFile virtualFile, FileWatcherEventType eventType) {
                 LOG.debug("FS event detected: " + eventType + " " + virtualFile.getPath().toString() + " " + virtualFile.isFile());
+                projectRegistry.onFileChanged(virtualFile.getPath().toString(), virtualFile.isFolder(), eventType);
                 eventService.publish(DtoFactory.newDto(VfsWatchEvent.class)
                                                .withPath(virtualFile.getPath().toString())
                                                .withFile(virtualFile.isFile())
@@ -310,7 +315,10 @@ public final class ProjectManager {
         // Preparing websocket output publisher to broadcast output of import process to the ide clients while importing
         String normalizePath = (path.startsWith("/")) ? path : "/".concat(path);
         final LineConsumerFactory outputOutputConsumerFactory =
-                () -> new ProjectImportOutputWSLineConsumer(normalizePath, projectRegistry.getWorkspaceId(), 300);
+                () -> new ProjectImportOutputWSLineConsumer(normalizePath,
+                                                            projectRegistry.getWorkspaceId(),
+                                                            300,
+                                                            channelReplayBuffer);
 
         FolderEntry folder = asFolder(normalizePath);
 
@@ -0,0 +1,221 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.vfs.Path;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Index of the registered projects by path. Each node of the trie is a segment of the path,
+ * so lookup of the project, its nearest parent project or its sub-projects costs the depth of the path.
+ */
+class ProjectPathTrie {
+    private final Node          root;
+    private final ReadWriteLock lock;
+    private       int           size;
+
+    ProjectPathTrie() {
+        this.root = new Node(null);
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Registers project by its path.
+     *
+     * @return previously registered project with the same path or {@code null}
+     */
+    RegisteredProject put(String path, RegisteredProject project) {
+        lock.writeLock().lock();
+        try {
+            Node node = root;
+            for (String segment : Path.of(path).elements()) {
+                node = node.children.computeIfAbsent(segment, key -> new Node(null));
+            }
+            final RegisteredProject previous = node.project;
+            node.project = project;
+            if (previous == null) {
+                size++;
+            }
+            return previous;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Returns project registered with the path or {@code null}. */
+    RegisteredProject get(String path) {
+        lock.readLock().lock();
+        try {
+            final Node node = find(Path.of(path));
+            return node == null ? null : node.project;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns project registered with the path or the project with the longest path which is parent of it. */
+    RegisteredProject getNearest(String path) {
+        lock.readLock().lock();
+        try {
+            RegisteredProject nearest = null;
+            Node node = root;
+            for (String segment : Path.of(path).elements()) {
+                node = node.children.get(segment);
+                if (node == null) {
+                    break;
+                }
+                if (node.project != null) {
+                    nearest = node.project;
+                }
+            }
+            return nearest;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns paths of all the projects located under the path, the project registered with the path isn't included. */
+    List<String> getChildPaths(String path) {
+        lock.readLock().lock();
+        try {
+            final List<String> paths = new ArrayList<>();
+            final Node node = find(Path.of(path));
+            if (node != null) {
+                collect(node, project -> paths.add(project.getPath()));
+            }
+            return paths;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns all registered projects. */
+    List<RegisteredProject> getAll() {
+        lock.readLock().lock();
+        try {
+            final List<RegisteredProject> projects = new ArrayList<>(size);
+            collect(root, projects::add);
+            return projects;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Unregisters project with the path.
+     *
+     * @return removed project or {@code null} if there was no project with the path
+     */
+    RegisteredProject remove(String path) {
+        lock.writeLock().lock();
+        try {
+            final Path p = Path.of(path);
+            final Node node = find(p);
+            if (node == null || node.project == null) {
+                return null;
+            }
+            final RegisteredProject removed = node.project;
+            node.project = null;
+            size--;
+            prune(p);
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Unregisters project with the path and all the projects under it.
+     *
+     * @return removed projects
+     */
+    List<RegisteredProject> removeAll(String path) {
+        lock.writeLock().lock();
+        try {
+            final List<RegisteredProject> removed = new ArrayList<>();
+            final Path p = Path.of(path);
+            final Node node = find(p);
+            if (node == null) {
+                return removed;
+            }
+            if (node.project != null) {
+                removed.add(node.project);
+                node.project = null;
+            }
+            collect(node, removed::add);
+            node.children.clear();
+            size -= removed.size();
+            prune(p);
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Node find(Path path) {
+        Node node = root;
+        for (String segment : path.elements()) {
+            node = node.children.get(segment);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    /** Collects projects of all descendants of the node. */
+    private static void collect(Node from, Consumer<RegisteredProject> consumer) {
+        final Deque<Node> queue = new ArrayDeque<>(from.children.values());
+        while (!queue.isEmpty()) {
+            final Node node = queue.poll();
+            if (node.project != null) {
+                consumer.accept(node.project);
+            }
+            queue.addAll(node.children.values());
+        }
+    }
+
+    /** Removes nodes of the path which have neither project nor children. */
+    private void prune(Path path) {
+        final String[] segments = path.elements();
+        final Node[] nodes = new Node[segments.length + 1];
+        nodes[0] = root;
+        for (int i = 0; i < segments.length; i++) {
+            nodes[i + 1] = nodes[i].children.get(segments[i]);
+        }
+        for (int i = segments.length; i > 0; i--) {
+            final Node node = nodes[i];
+            if (node.project != null || !node.children.isEmpty()) {
+                return;
+            }
+            nodes[i - 1].children.remove(segments[i - 1]);
+        }
+    }
+
+    private static class Node {
+        final Map<String, Node> children;
+        RegisteredProject project;
+
+        Node(RegisteredProject project) {
+            this.project = project;
+            this.children = new HashMap<>();
+        }
+    }
+}
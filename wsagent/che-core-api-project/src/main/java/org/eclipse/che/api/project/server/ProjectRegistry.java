@@ -10,6 +10,9 @@
  *******************************************************************************/
 package org.eclipse.che.api.project.server;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -17,18 +20,24 @@ import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.core.model.workspace.UsersWorkspace;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
+import org.eclipse.che.api.core.notification.ChannelReplayBuffer;
 import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
 import org.eclipse.che.api.project.server.handlers.ProjectInitHandler;
 import org.eclipse.che.api.project.server.type.BaseProjectType;
 import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
+import org.eclipse.che.api.project.shared.dto.event.ProjectInitEvent;
 import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.VirtualFileSystemProvider;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherEventType;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.ArrayList;
@@ -36,8 +45,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Stores internal representation of Projects registered in the Workspace Agent.
@@ -48,52 +65,187 @@ import java.util.stream.Collectors;
 public class ProjectRegistry {
     private static final Logger LOG = LoggerFactory.getLogger(ProjectRegistry.class);
 
-    private final Map<String, RegisteredProject> projects;
+    private final ProjectPathTrie                projects;
     private final WorkspaceHolder                workspaceHolder;
     private final VirtualFileSystem              vfs;
     private final ProjectTypeRegistry            projectTypeRegistry;
     private final ProjectHandlerRegistry         handlers;
     private final FolderEntry                    root;
+    private final ChannelReplayBuffer            channelReplayBuffer;
+    private final ExecutorService                executor;
 
-    private boolean initialized;
+    /* incremented on each change of folders on the root, the scan of unconfigured folders catches up with it */
+    private final AtomicLong rootGeneration;
+    private final Object     rootLock;
+
+    private volatile boolean initialized;
+    private volatile long    scannedRootGeneration;
 
     @Inject
     public ProjectRegistry(WorkspaceHolder workspaceHolder,
                            VirtualFileSystemProvider vfsProvider,
                            ProjectTypeRegistry projectTypeRegistry,
-                           ProjectHandlerRegistry handlers) throws ServerException {
-        this.projects = new ConcurrentHashMap<>();
+                           ProjectHandlerRegistry handlers,
+                           ChannelReplayBuffer channelReplayBuffer) throws ServerException {
+        this.projects = new ProjectPathTrie();
         this.workspaceHolder = workspaceHolder;
         this.vfs = vfsProvider.getVirtualFileSystem();
         this.projectTypeRegistry = projectTypeRegistry;
         this.handlers = handlers;
         this.root = new FolderEntry(vfs.getRoot());
+        this.channelReplayBuffer = channelReplayBuffer;
+        this.rootGeneration = new AtomicLong();
+        this.rootLock = new Object();
+        this.executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                                                     new ThreadFactoryBuilder().setNameFormat("ProjectRegistry-Init-%d")
+                                                                               .setDaemon(true)
+                                                                               .build());
     }
 
+    /**
+     * Registers projects at agent startup. Init handlers of the projects are still running when this method returns,
+     * readiness of each project is reported with {@link ProjectInitEvent} on the channel {@link ProjectInitEvent#CHANNEL}.
+     */
     @PostConstruct
+    void startProjects() throws ConflictException, NotFoundException, ServerException {
+        initProjectsAsync().whenComplete((result, error) -> {
+            if (error != null) {
+                LOG.error("Projects initialization failed", unwrap(error));
+            }
+        });
+    }
+
+    /**
+     * Registers projects of the workspace and projects from unconfigured folders on root, then fires their init handlers.
+     * Returns when init handlers of all the projects are finished.
+     */
     public void initProjects() throws ConflictException, NotFoundException, ServerException, ForbiddenException {
+        try {
+            initProjectsAsync().join();
+        } catch (CompletionException e) {
+            final Throwable cause = unwrap(e);
+            if (cause instanceof ConflictException) {
+                throw (ConflictException)cause;
+            } else if (cause instanceof NotFoundException) {
+                throw (NotFoundException)cause;
+            } else if (cause instanceof ForbiddenException) {
+                throw (ForbiddenException)cause;
+            } else if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            }
+            throw new ServerException(cause.getLocalizedMessage(), cause);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Registers projects in parallel and waits for their registration, because creation of {@link RegisteredProject}
+     * resolves its attributes with value providers. Init handlers are fired in parallel too, but handlers of the project
+     * start after handlers of its parent project are finished, since they may change sub-projects.
+     *
+     * @return future which is completed when init handlers of all the projects are finished
+     */
+    private CompletableFuture<Void> initProjectsAsync() throws ConflictException, NotFoundException, ServerException {
         final UsersWorkspace workspace = workspaceHolder.getWorkspace();
 
         List<? extends ProjectConfig> projectConfigs = new ArrayList<>(workspace.getConfig().getProjects());
 
         // take all the projects from ws's config
+        final List<Future<RegisteredProject>> registrations = new ArrayList<>(projectConfigs.size());
         for (ProjectConfig projectConfig : projectConfigs) {
-            final String path = projectConfig.getPath();
-            final VirtualFile vf = vfs.getRoot().getChild(Path.of(path));
-            final FolderEntry projectFolder = ((vf == null) ? null : new FolderEntry(vf, this));
-            putProject(projectConfig, projectFolder, false, false);
+            registrations.add(executor.submit(() -> {
+                final String path = projectConfig.getPath();
+                final VirtualFile vf = vfs.getRoot().getChild(Path.of(path));
+                final FolderEntry projectFolder = ((vf == null) ? null : new FolderEntry(vf, this));
+                return putProject(projectConfig, projectFolder, false, false);
+            }));
+        }
+        for (Future<RegisteredProject> registration : registrations) {
+            try {
+                registration.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServerException("Projects initialization was interrupted");
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof ConflictException) {
+                    throw (ConflictException)cause;
+                } else if (cause instanceof NotFoundException) {
+                    throw (NotFoundException)cause;
+                } else if (cause instanceof ServerException) {
+                    throw (ServerException)cause;
+                }
+                throw new ServerException(cause.getLocalizedMessage(), cause);
+            }
         }
 
+        rootGeneration.incrementAndGet();
         initUnconfiguredFolders();
 
         initialized = true;
 
-        for (RegisteredProject project : projects.values()) {
-            // only for projects with sources
-            if(project.getBaseFolder() != null) {
-                fireInitHandlers(project);
+        // only for projects with sources, parents go first
+        final List<RegisteredProject> toInit = projects.getAll()
+                                                       .stream()
+                                                       .filter(project -> project.getBaseFolder() != null)
+                                                       .sorted(comparingInt(project -> Path.of(project.getPath()).length()))
+                                                       .collect(toList());
+        final Map<String, CompletableFuture<Void>> inits = new HashMap<>();
+        for (RegisteredProject project : toInit) {
+            final CompletableFuture<Void> init = getParentInit(inits, project.getPath())
+                    // sub-project is initialized even if initialization of its parent failed
+                    .handle((result, error) -> null)
+                    .thenRunAsync(() -> {
+                        try {
+                            fireInitHandlers(project);
+                        } catch (ApiException e) {
+                            throw new CompletionException(e);
+                        }
+                    }, executor);
+            init.whenComplete((result, error) -> publishInitEvent(project.getPath(), error == null ? null : unwrap(error)));
+            inits.put(project.getPath(), init);
+        }
+        return CompletableFuture.allOf(inits.values().toArray(new CompletableFuture[inits.size()]));
+    }
+
+    private static CompletableFuture<Void> getParentInit(Map<String, CompletableFuture<Void>> inits, String path) {
+        Path parent = Path.of(path).getParent();
+        while (parent != null && !parent.isRoot()) {
+            final CompletableFuture<Void> init = inits.get(parent.toString());
+            if (init != null) {
+                return init;
             }
+            parent = parent.getParent();
         }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private void publishInitEvent(String path, Throwable error) {
+        if (error != null) {
+            LOG.error("Initialization of project " + path + " failed", error);
+        }
+        try {
+            final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
+            bm.setChannel(ProjectInitEvent.CHANNEL);
+            bm.setBody(DtoFactory.getInstance().toJson(DtoFactory.newDto(ProjectInitEvent.class)
+                                                                 .withPath(path)
+                                                                 .withError(error == null ? null : error.getLocalizedMessage())));
+            channelReplayBuffer.send(bm);
+        } catch (Exception e) {
+            LOG.error(e.getLocalizedMessage(), e);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
     }
 
     /**
@@ -118,7 +270,7 @@ public class ProjectRegistry {
 
         initUnconfiguredFolders();
 
-        return new ArrayList<>(projects.values());
+        return projects.getAll();
     }
 
     /**
@@ -144,12 +296,7 @@ public class ProjectRegistry {
 
         initUnconfiguredFolders();
 
-        final Path root = Path.of(absolutizePath(parentPath));
-
-        return projects.keySet()
-                       .stream()
-                       .filter(key -> Path.of(key).isChild(root))
-                       .collect(Collectors.toList());
+        return projects.getChildPaths(absolutizePath(parentPath));
     }
 
     /**
@@ -160,23 +307,10 @@ public class ProjectRegistry {
     public RegisteredProject getParentProject(String path) {
         checkInitializationState();
 
-        // return this if a project
-        if (getProject(path) != null) {
-            return getProject(path);
-        }
-
-        // otherwise try to find matched parent
-        Path test;
-        while ((test = Path.of(path).getParent()) != null) {
-            final RegisteredProject project = projects.get(test.toString());
-            if (project != null) {
-                return project;
-            }
-
-            path = test.toString();
-        }
+        initUnconfiguredFolders();
 
-        return null;
+        // this if a project, otherwise the nearest matched parent
+        return projects.getNearest(absolutizePath(path));
     }
 
     /**
@@ -227,12 +361,7 @@ public class ProjectRegistry {
      * @throws ServerException
      */
     void removeProjects(String path) throws ServerException {
-        List<RegisteredProject> removed = new ArrayList<>();
-        Optional.ofNullable(projects.remove(path)).ifPresent(removed::add);
-        getProjects(path).forEach(p -> Optional.ofNullable(projects.remove(p))
-                                               .ifPresent(removed::add));
-
-        workspaceHolder.removeProjects(removed);
+        workspaceHolder.removeProjects(projects.removeAll(path));
     }
 
     /*  ------------------------------------------ */
@@ -258,6 +387,9 @@ public class ProjectRegistry {
      * For example:
      * - extension code knows that particular folder inside should (or may) be treated
      * as sub-project of same as "parent" project type
+     * <p/>
+     * Type of the project is read and updated atomically, since init handlers of different projects may update
+     * the same project concurrently, e.g. a maven module referenced by several aggregator projects.
      *
      * @param projectPath
      *         absolute project path
@@ -270,11 +402,11 @@ public class ProjectRegistry {
      * @throws NotFoundException
      * @throws ServerException
      */
-    public RegisteredProject setProjectType(String projectPath,
-                                            String type,
-                                            boolean asMixin) throws ConflictException,
-                                                                    NotFoundException,
-                                                                    ServerException {
+    public synchronized RegisteredProject setProjectType(String projectPath,
+                                                         String type,
+                                                         boolean asMixin) throws ConflictException,
+                                                                                 NotFoundException,
+                                                                                 ServerException {
         final RegisteredProject project = getProject(projectPath);
         final NewProjectConfig conf;
         List<String> newMixins = new ArrayList<>();
@@ -336,10 +468,10 @@ public class ProjectRegistry {
      * @throws NotFoundException
      * @throws ServerException
      */
-    public RegisteredProject removeProjectType(String projectPath, String type) throws ConflictException,
-                                                                                       ForbiddenException,
-                                                                                       NotFoundException,
-                                                                                       ServerException {
+    public synchronized RegisteredProject removeProjectType(String projectPath, String type) throws ConflictException,
+                                                                                                    ForbiddenException,
+                                                                                                    NotFoundException,
+                                                                                                    ServerException {
         final RegisteredProject project = getProject(projectPath);
 
         if (project == null) {
@@ -380,16 +512,60 @@ public class ProjectRegistry {
         return (path.startsWith("/")) ? path : "/".concat(path);
     }
 
-    /** Try to initialize projects from unconfigured folders on root. */
+    /**
+     * Should be called when file system is changed outside of the registry, e.g. on VFS watcher events.
+     * Creation or removal of the folder on the root causes lookup of unconfigured folders on the next access to the registry.
+     * Removal of the folder unregisters projects on and under it, as {@link ProjectManager#delete(String)} does.
+     *
+     * @param path
+     *         path of the changed item
+     * @param folder
+     *         whether the changed item is a folder
+     * @param eventType
+     *         type of the change
+     */
+    public void onFileChanged(String path, boolean folder, FileWatcherEventType eventType) {
+        if (!folder || eventType == FileWatcherEventType.MODIFIED) {
+            return;
+        }
+        if (Path.of(path).length() == 1) {
+            rootGeneration.incrementAndGet();
+        }
+        if (eventType == FileWatcherEventType.DELETED) {
+            try {
+                // events are delayed, so the folder may be already restored
+                if (vfs.getRoot().getChild(Path.of(path)) == null) {
+                    removeProjects(absolutizePath(path));
+                }
+            } catch (ServerException e) {
+                LOG.warn(e.getLocalizedMessage());
+            }
+        }
+    }
+
+    /**
+     * Try to initialize projects from unconfigured folders on root if root was changed since the last scan.
+     * Scanned generation is updated after the scan, so changes which come during the scan cause one more scan.
+     */
     private void initUnconfiguredFolders() {
-        try {
-            for (FolderEntry folder : root.getChildFolders()) {
-                if (!projects.containsKey(folder.getVirtualFile().getPath().toString())) {
-                    putProject(null, folder, true, false);
+        if (scannedRootGeneration == rootGeneration.get()) {
+            return;
+        }
+        synchronized (rootLock) {
+            final long generation = rootGeneration.get();
+            if (scannedRootGeneration == generation) {
+                return;
+            }
+            try {
+                for (FolderEntry folder : root.getChildFolders()) {
+                    if (projects.get(folder.getVirtualFile().getPath().toString()) == null) {
+                        putProject(null, folder, true, false);
+                    }
                 }
+                scannedRootGeneration = generation;
+            } catch (ServerException | ConflictException | NotFoundException e) {
+                LOG.warn(e.getLocalizedMessage());
             }
-        } catch (ServerException | ConflictException | NotFoundException e) {
-            LOG.warn(e.getLocalizedMessage());
         }
     }
 
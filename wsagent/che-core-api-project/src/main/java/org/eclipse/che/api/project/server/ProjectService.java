@@ -227,7 +227,16 @@ public class ProjectService extends Service {
                        @PathParam("ws-id") String workspace,
                        @ApiParam("Path to a resource to be deleted")
                        @PathParam("path") String path) throws NotFoundException, ForbiddenException, ConflictException, ServerException {
+        final VirtualFileEntry entry = projectManager.getProjectsRoot().getChild(path);
         projectManager.delete(path);
+
+        if (entry != null) {
+            eventService.publish(new ProjectItemModifiedEvent(ProjectItemModifiedEvent.EventType.DELETED,
+                                                              workspace,
+                                                              projectPath(entry.getPath().toString()),
+                                                              entry.getPath().toString(),
+                                                              entry.isFolder()));
+        }
     }
 
     @GET
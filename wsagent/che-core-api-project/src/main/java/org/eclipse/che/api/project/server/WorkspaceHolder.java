@@ -87,7 +87,7 @@ public class WorkspaceHolder {
      *         project to add
      * @throws ServerException
      */
-    void addProject(RegisteredProject project) throws ServerException {
+    synchronized void addProject(RegisteredProject project) throws ServerException {
         if (project.isDetected()) {
             return;
         }
@@ -116,7 +116,7 @@ public class WorkspaceHolder {
      *         project to update
      * @throws ServerException
      */
-    void updateProject(RegisteredProject project) throws ServerException {
+    synchronized void updateProject(RegisteredProject project) throws ServerException {
         if (project.isDetected()) {
             return;
         }
@@ -145,7 +145,7 @@ public class WorkspaceHolder {
      *         projects to remove
      * @throws ServerException
      */
-    void removeProjects(Collection<RegisteredProject> projects) throws ServerException {
+    synchronized void removeProjects(Collection<RegisteredProject> projects) throws ServerException {
         for (RegisteredProject project : projects) {
             removeProject(project);
         }
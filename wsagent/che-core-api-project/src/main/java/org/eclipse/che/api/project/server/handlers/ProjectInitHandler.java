@@ -19,6 +19,9 @@ import org.eclipse.che.api.project.server.ProjectRegistry;
 
 /**
  * Called after project initialized.
+ * <p/>
+ * Handlers of different projects are fired in parallel, only handlers of the sub-project wait for handlers
+ * of its parent project, so implementation must be thread-safe.
  *
  * @author gazarenkov
  */
@@ -10,69 +10,40 @@
  *******************************************************************************/
 package org.eclipse.che.api.project.server.importer;
 
-import org.eclipse.che.api.core.util.LineConsumer;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-
+import org.eclipse.che.api.core.notification.ChannelReplayBuffer;
+import org.eclipse.che.api.core.util.BatchingLineConsumer;
 import org.everrest.core.impl.provider.json.JsonUtils;
-import org.everrest.websockets.WSConnectionContext;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Send project import output to WS by skipping output messages written below the delay specified.
+ * Only the last line of the lines written during the delay is sent.
  */
-public class ProjectImportOutputWSLineConsumer implements LineConsumer {
-    private static final Logger LOG = LoggerFactory.getLogger(ProjectImportOutputWSLineConsumer.class);
-
-    protected final AtomicInteger            lineCounter;
-    protected final String                   fPath;
-    protected final String                   fWorkspace;
-    protected final BlockingQueue<String>    lineToSendQueue;
-    protected final ScheduledExecutorService executor;
-
-    public ProjectImportOutputWSLineConsumer(String fPath, String fWorkspace, int delayBetweenMessages) {
+public class ProjectImportOutputWSLineConsumer extends BatchingLineConsumer {
+    private static final int MAX_PENDING_LINES = 1024;
+
+    protected final AtomicInteger       lineCounter;
+    protected final String              fPath;
+    protected final String              fWorkspace;
+    protected final ChannelReplayBuffer channelReplayBuffer;
+
+    public ProjectImportOutputWSLineConsumer(String fPath,
+                                             String fWorkspace,
+                                             int delayBetweenMessages,
+                                             ChannelReplayBuffer channelReplayBuffer) {
+        super(delayBetweenMessages, MAX_PENDING_LINES, Integer.MAX_VALUE, MAX_PENDING_LINES);
         this.fPath = fPath;
         this.fWorkspace = fWorkspace;
-        lineToSendQueue = new ArrayBlockingQueue<>(1024);
-        executor = Executors.newSingleThreadScheduledExecutor(
-                new ThreadFactoryBuilder().setNameFormat(ProjectImportOutputWSLineConsumer.class.getSimpleName()+"-%d").setDaemon(true).build());
-        executor.scheduleAtFixedRate(new Runnable() {
-            @Override
-            public void run() {
-                String lineToSend = null;
-                while (!lineToSendQueue.isEmpty()) {
-                    lineToSend = lineToSendQueue.poll();
-                }
-                if (lineToSend == null) {
-                    return;
-                }
-                sendMessage(lineToSend);
-            }
-        }, 0, delayBetweenMessages, TimeUnit.MILLISECONDS);
+        this.channelReplayBuffer = channelReplayBuffer;
         lineCounter = new AtomicInteger(1);
     }
 
     @Override
-    public void close() throws IOException {
-        executor.shutdown();
-    }
-
-    @Override
-    public void writeLine(String line) throws IOException {
-        try {
-            lineToSendQueue.put(line);
-        } catch (InterruptedException ignored) {
-            // ignore if interrupted
-        }
+    protected void sendBatch(List<String> lines) {
+        sendMessage(lines.get(lines.size() - 1));
     }
 
     protected void sendMessage(String line) {
@@ -84,10 +55,6 @@ public class ProjectImportOutputWSLineConsumer implements LineConsumer {
     }
 
     protected void sendMessageToWS(final ChannelBroadcastMessage bm) {
-        try {
-            WSConnectionContext.sendMessage(bm);
-        } catch (Exception e) {
-            LOG.error("A problem occurred while sending websocket message", e);
-        }
+        channelReplayBuffer.send(bm);
     }
 }
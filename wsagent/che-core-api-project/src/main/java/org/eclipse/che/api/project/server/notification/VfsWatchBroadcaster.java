@@ -10,11 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.project.server.notification;
 
+import org.eclipse.che.api.core.notification.ChannelReplayBuffer;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.project.shared.dto.event.VfsWatchEvent;
 import org.eclipse.che.dto.server.DtoFactory;
-import org.everrest.websockets.WSConnectionContext;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,11 +32,13 @@ public class VfsWatchBroadcaster implements EventSubscriber<VfsWatchEvent> {
 
     private static final Logger LOG = LoggerFactory.getLogger(VfsWatchBroadcaster.class);
 
-    private final EventService eventService;
+    private final EventService        eventService;
+    private final ChannelReplayBuffer channelReplayBuffer;
 
     @Inject
-    public VfsWatchBroadcaster(EventService eventService) {
+    public VfsWatchBroadcaster(EventService eventService, ChannelReplayBuffer channelReplayBuffer) {
         this.eventService = eventService;
+        this.channelReplayBuffer = channelReplayBuffer;
     }
 
     @Override
@@ -46,7 +48,7 @@ public class VfsWatchBroadcaster implements EventSubscriber<VfsWatchEvent> {
             final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
             bm.setChannel(VfsWatchEvent.VFS_CHANNEL);
             bm.setBody(DtoFactory.getInstance().toJson(event));
-            WSConnectionContext.sendMessage(bm);
+            channelReplayBuffer.send(bm);
         } catch (Exception e) {
             LOG.error(e.getLocalizedMessage(), e);
         }
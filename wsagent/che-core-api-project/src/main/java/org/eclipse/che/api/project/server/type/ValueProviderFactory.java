@@ -14,6 +14,9 @@ import org.eclipse.che.api.project.server.FolderEntry;
 
 /**
  * Factory for {@link ValueProvider}.
+ * <p/>
+ * Projects are registered in parallel at agent startup, so factory and value providers it creates may be used
+ * by several threads at the same time and must be thread-safe.
  *
  * @author andrew00x
  */
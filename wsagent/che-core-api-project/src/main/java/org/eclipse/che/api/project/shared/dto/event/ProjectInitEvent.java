@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.shared.dto.event;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Sent when init handlers of the project are finished at agent startup, so the project is ready for use.
+ */
+@DTO
+public interface ProjectInitEvent {
+
+    String CHANNEL = "project:init";
+
+    String getPath();
+
+    ProjectInitEvent withPath(String path);
+
+    /** Returns message of the error occurred while initializing the project or {@code null} if it was initialized successfully. */
+    String getError();
+
+    ProjectInitEvent withError(String error);
+
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.ForbiddenException;
+import org.eclipse.che.api.core.ServerException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reads content of the files being archived on a bounded pool of workers ahead of the archiver,
+ * so reading of the next files overlaps with compressing and writing of the current one.
+ * <p/>
+ * Entries are handed to the consumer in the original order. At most {@link #READ_AHEAD_ENTRIES} entries
+ * are read ahead and only files not bigger than {@link #MAX_READ_AHEAD_SIZE} are kept in memory,
+ * content of the bigger files is streamed by the consumer itself.
+ */
+class ArchiveContentReader {
+    private static final int  WORKERS             = Runtime.getRuntime().availableProcessors();
+    private static final int  READ_AHEAD_ENTRIES  = WORKERS * 4;
+    private static final long MAX_READ_AHEAD_SIZE = 1024 * 1024;
+
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(WORKERS,
+                                                                             new ThreadFactoryBuilder().setNameFormat("ArchiverThread-%d")
+                                                                                                       .setDaemon(true).build());
+
+    interface EntryConsumer {
+        /**
+         * Writes entry to the archive.
+         *
+         * @param entry
+         *         file or folder to be archived
+         * @param content
+         *         content of the file or {@code null} if the entry is folder or the file is too big to be read ahead
+         */
+        void accept(VirtualFile entry, byte[] content) throws ServerException;
+    }
+
+    private ArchiveContentReader() {
+    }
+
+    /** Reads content of the entries ahead and hands the entries to the consumer in the original order. */
+    static void read(List<VirtualFile> entries, EntryConsumer consumer) throws ServerException {
+        final Deque<Future<byte[]>> readAhead = new ArrayDeque<>(READ_AHEAD_ENTRIES);
+        int submitted = 0;
+        try {
+            for (VirtualFile entry : entries) {
+                while (submitted < entries.size() && readAhead.size() < READ_AHEAD_ENTRIES) {
+                    readAhead.add(submit(entries.get(submitted++)));
+                }
+                consumer.accept(entry, get(readAhead.poll()));
+            }
+        } finally {
+            readAhead.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static Future<byte[]> submit(VirtualFile entry) throws ServerException {
+        if (entry.isFolder() || entry.getLength() > MAX_READ_AHEAD_SIZE) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return POOL.submit(() -> {
+            try (InputStream content = entry.getContent()) {
+                return ByteStreams.toByteArray(content);
+            }
+        });
+    }
+
+    private static byte[] get(Future<byte[]> future) throws ServerException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerException("Interrupted while reading content of archived file", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof ServerException) {
+                throw (ServerException)cause;
+            }
+            if (cause instanceof ForbiddenException) {
+                throw new ServerException(((ForbiddenException)cause).getServiceError());
+            }
+            throw new ServerException(cause.getMessage(), cause);
+        }
+    }
+}
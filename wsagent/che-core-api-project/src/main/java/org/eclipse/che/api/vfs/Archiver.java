@@ -17,6 +17,8 @@ import org.eclipse.che.api.core.ServerException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
 /** Archiver for compressing and extracting content of folder. */
 public abstract class Archiver {
@@ -44,6 +46,30 @@ public abstract class Archiver {
      */
     public abstract void compress(OutputStream compressOutput, VirtualFileFilter filter) throws IOException, ServerException;
 
+    /**
+     * Returns descendants of {@code folder} which are accepted by the filter in the order they should be archived,
+     * i.e. each folder precedes its children. Children of the folder which isn't accepted by the filter are skipped.
+     */
+    protected List<VirtualFile> listEntries(VirtualFileFilter filter) throws ServerException {
+        final List<VirtualFile> entries = new ArrayList<>();
+        folder.accept(new VirtualFileVisitor() {
+            @Override
+            public void visit(VirtualFile visitedVirtualFile) throws ServerException {
+                if (filter.accept(visitedVirtualFile)) {
+                    if (!visitedVirtualFile.equals(folder)) {
+                        entries.add(visitedVirtualFile);
+                    }
+                    if (visitedVirtualFile.isFolder()) {
+                        for (VirtualFile child : visitedVirtualFile.getChildren()) {
+                            child.accept(this);
+                        }
+                    }
+                }
+            }
+        });
+        return entries;
+    }
+
     /**
      * Extract compressed content to {@code folder}.
      *
@@ -38,21 +38,7 @@ public class TarArchiver extends Archiver {
     public void compress(OutputStream tarOutput, VirtualFileFilter filter) throws IOException, ServerException {
         try (TarArchiveOutputStream tarOutputStream = new TarArchiveOutputStream(tarOutput)) {
             tarOutputStream.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
-            folder.accept(new VirtualFileVisitor() {
-                @Override
-                public void visit(VirtualFile visitedVirtualFile) throws ServerException {
-                    if (filter.accept(visitedVirtualFile)) {
-                        if (!visitedVirtualFile.equals(folder)) {
-                            addTarEntry(visitedVirtualFile, tarOutputStream);
-                        }
-                        if (visitedVirtualFile.isFolder()) {
-                            for (VirtualFile child : visitedVirtualFile.getChildren()) {
-                                child.accept(this);
-                            }
-                        }
-                    }
-                }
-            });
+            ArchiveContentReader.read(listEntries(filter), (entry, content) -> addTarEntry(entry, content, tarOutputStream));
         }
     }
 
@@ -64,18 +50,22 @@ public class TarArchiver extends Archiver {
         return tarPath.toString();
     }
 
-    private void addTarEntry(VirtualFile virtualFile, TarArchiveOutputStream tarOutputStream) throws ServerException {
+    private void addTarEntry(VirtualFile virtualFile, byte[] content, TarArchiveOutputStream tarOutputStream) throws ServerException {
         try {
             TarArchiveEntry tarEntry = new TarArchiveEntry(getTarEntryName(virtualFile));
             if (virtualFile.isFolder()) {
                 tarEntry.setModTime(0);
                 tarOutputStream.putArchiveEntry(tarEntry);
             } else {
-                tarEntry.setSize(virtualFile.getLength());
+                tarEntry.setSize(content != null ? content.length : virtualFile.getLength());
                 tarEntry.setModTime(virtualFile.getLastModificationDate());
                 tarOutputStream.putArchiveEntry(tarEntry);
-                try (InputStream content = virtualFile.getContent()) {
-                    ByteStreams.copy(content, tarOutputStream);
+                if (content != null) {
+                    tarOutputStream.write(content);
+                } else {
+                    try (InputStream contentStream = virtualFile.getContent()) {
+                        ByteStreams.copy(contentStream, tarOutputStream);
+                    }
                 }
             }
             tarOutputStream.closeArchiveEntry();
@@ -10,17 +10,21 @@
  *******************************************************************************/
 package org.eclipse.che.api.vfs;
 
+import com.google.common.collect.Lists;
 import com.google.common.io.ByteStreams;
 
+import org.apache.commons.io.input.CountingInputStream;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.util.NotClosableInputStream;
-import org.eclipse.che.api.vfs.util.ZipContent;
+import org.eclipse.che.api.vfs.util.ZipBombDetectingInputStream;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
@@ -38,21 +42,7 @@ public class ZipArchiver extends Archiver {
     @Override
     public void compress(OutputStream zipOutput, VirtualFileFilter filter) throws IOException, ServerException {
         try (ZipOutputStream zipOutputStream = new ZipOutputStream(zipOutput)) {
-            folder.accept(new VirtualFileVisitor() {
-                @Override
-                public void visit(VirtualFile visitedVirtualFile) throws ServerException {
-                    if (filter.accept(visitedVirtualFile)) {
-                        if (!visitedVirtualFile.equals(folder)) {
-                            addZipEntry(visitedVirtualFile, zipOutputStream);
-                        }
-                        if (visitedVirtualFile.isFolder()) {
-                            for (VirtualFile child : visitedVirtualFile.getChildren()) {
-                                child.accept(this);
-                            }
-                        }
-                    }
-                }
-            });
+            ArchiveContentReader.read(listEntries(filter), (entry, content) -> addZipEntry(entry, content, zipOutputStream));
         }
     }
 
@@ -64,15 +54,19 @@ public class ZipArchiver extends Archiver {
         return zipPath.toString();
     }
 
-    private void addZipEntry(VirtualFile virtualFile, ZipOutputStream zipOutputStream) throws ServerException {
+    private void addZipEntry(VirtualFile virtualFile, byte[] content, ZipOutputStream zipOutputStream) throws ServerException {
         try {
             ZipEntry zipEntry = new ZipEntry(getZipEntryName(virtualFile));
             zipOutputStream.putNextEntry(zipEntry);
             if (virtualFile.isFolder()) {
                 zipEntry.setTime(0);
             } else {
-                try (InputStream content = virtualFile.getContent()) {
-                    ByteStreams.copy(content, zipOutputStream);
+                if (content != null) {
+                    zipOutputStream.write(content);
+                } else {
+                    try (InputStream contentStream = virtualFile.getContent()) {
+                        ByteStreams.copy(contentStream, zipOutputStream);
+                    }
                 }
                 zipEntry.setTime(virtualFile.getLastModificationDate());
             }
@@ -87,8 +81,12 @@ public class ZipArchiver extends Archiver {
     @Override
     public void extract(InputStream zipInput, boolean overwrite, int stripNumber)
             throws IOException, ForbiddenException, ConflictException, ServerException {
-        try (ZipInputStream zip = new ZipInputStream(ZipContent.of(zipInput).getContent())) {
-            InputStream notClosableInputStream = new NotClosableInputStream(zip);
+        final CountingInputStream compressedDataCounter = new CountingInputStream(zipInput);
+        // archive is extracted as it arrives, entries created before the failure are removed to not leave partial content
+        final List<VirtualFile> created = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(compressedDataCounter)) {
+            final ZipBombDetectingInputStream uncompressed = new ZipBombDetectingInputStream(zip, compressedDataCounter);
+            InputStream notClosableInputStream = new NotClosableInputStream(uncompressed);
             ZipEntry zipEntry;
             while ((zipEntry = zip.getNextEntry()) != null) {
                 VirtualFile extractFolder = folder;
@@ -97,6 +95,8 @@ public class ZipArchiver extends Archiver {
 
                 if (stripNumber > 0) {
                     if (relativePath.length() <= stripNumber) {
+                        // content of the skipped entry is still checked for zip bomb
+                        ByteStreams.copy(notClosableInputStream, ByteStreams.nullOutputStream());
                         continue;
                     }
                     relativePath = relativePath.subPath(stripNumber);
@@ -104,7 +104,7 @@ public class ZipArchiver extends Archiver {
 
                 if (zipEntry.isDirectory()) {
                     if (!extractFolder.hasChild(relativePath)) {
-                        extractFolder.createFolder(relativePath.toString());
+                        createFolder(relativePath, created);
                     }
                     continue;
                 }
@@ -113,24 +113,64 @@ public class ZipArchiver extends Archiver {
                     Path neededParentPath = relativePath.getParent();
                     VirtualFile neededParent = extractFolder.getChild(neededParentPath);
                     if (neededParent == null) {
-                        neededParent = extractFolder.createFolder(neededParentPath.toString());
+                        neededParent = createFolder(neededParentPath, created);
                     }
                     extractFolder = neededParent;
                 }
 
                 String fileName = relativePath.getName();
                 VirtualFile file = extractFolder.getChild(Path.of(fileName));
-                if (file == null) {
-                    extractFolder.createFile(fileName, notClosableInputStream);
-                } else {
-                    if (overwrite) {
-                        file.updateContent(notClosableInputStream);
+                if (file != null && !overwrite) {
+                    throw new ConflictException(String.format("File '%s' already exists", file.getPath()));
+                }
+                try {
+                    if (file == null) {
+                        created.add(extractFolder.createFile(fileName, notClosableInputStream));
                     } else {
-                        throw new ConflictException(String.format("File '%s' already exists", file.getPath()));
+                        file.updateContent(notClosableInputStream);
                     }
+                } catch (ServerException e) {
+                    if (file == null) {
+                        // file may be left partially written
+                        final VirtualFile partial = extractFolder.getChild(Path.of(fileName));
+                        if (partial != null) {
+                            created.add(partial);
+                        }
+                    }
+                    // virtual file system doesn't keep the reason of failed write, check whether it's failed because of zip bomb
+                    uncompressed.check();
+                    throw e;
                 }
                 zip.closeEntry();
             }
+        } catch (IOException | ForbiddenException | ConflictException | ServerException | RuntimeException e) {
+            removeCreated(created, e);
+            throw e;
+        }
+    }
+
+    /** Creates folder by the path relative to {@code folder} and remembers the topmost folder which didn't exist before. */
+    private VirtualFile createFolder(Path relativePath, List<VirtualFile> created)
+            throws ForbiddenException, ConflictException, ServerException {
+        Path topmost = relativePath;
+        while (topmost.length() > 1 && !folder.hasChild(topmost.getParent())) {
+            topmost = topmost.getParent();
+        }
+        final VirtualFile newFolder = folder.createFolder(relativePath.toString());
+        created.add(folder.getChild(topmost));
+        return newFolder;
+    }
+
+    /** Removes the created entries in the reverse order, failures are attached to the exception which aborted extraction. */
+    private void removeCreated(List<VirtualFile> created, Exception cause) {
+        for (VirtualFile entry : Lists.reverse(created)) {
+            try {
+                if (entry.exists()) {
+                    entry.delete();
+                }
+            } catch (ForbiddenException | ServerException e) {
+                cause.addSuppressed(e);
+            }
         }
     }
 }
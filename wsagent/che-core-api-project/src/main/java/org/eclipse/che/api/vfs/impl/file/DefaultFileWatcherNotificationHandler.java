@@ -42,6 +42,7 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
         if (virtualFile == null) {
             return;
         }
+        ((LocalVirtualFileSystem)virtualFile.getFileSystem()).onWatchEvent(virtualFile.getPath());
         for (FileWatcherNotificationListener virtualFileListener : fileWatcherNotificationListeners) {
             if (virtualFileListener.shouldBeNotifiedFor(virtualFile)) {
                 virtualFileListener.onFileWatcherEvent(virtualFile, eventType);
@@ -51,10 +52,18 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
 
     public void started(File watchRoot) {
         LOG.debug("Start watching file events on {}", watchRoot);
+        final LocalVirtualFileSystem virtualFileSystem = getVirtualFileSystem();
+        if (virtualFileSystem != null) {
+            virtualFileSystem.onWatchStarted();
+        }
     }
 
     public void errorOccurred(File watchRoot, Throwable cause) {
         LOG.warn("Error occurs while watching file events on {}: {}", watchRoot, cause.getMessage());
+        final LocalVirtualFileSystem virtualFileSystem = getVirtualFileSystem();
+        if (virtualFileSystem != null) {
+            virtualFileSystem.onWatchStopped();
+        }
     }
 
     @Override
@@ -67,6 +76,15 @@ public class DefaultFileWatcherNotificationHandler implements FileWatcherNotific
         return fileWatcherNotificationListeners.remove(fileWatcherNotificationListener);
     }
 
+    private LocalVirtualFileSystem getVirtualFileSystem() {
+        try {
+            return (LocalVirtualFileSystem)virtualFileSystemProvider.getVirtualFileSystem(true);
+        } catch (ServerException e) {
+            LOG.warn(e.getMessage());
+        }
+        return null;
+    }
+
     private VirtualFile convertToVirtualFile(File root, String subPath, boolean isDir) {
         try {
             LocalVirtualFileSystem virtualFileSystem = (LocalVirtualFileSystem)virtualFileSystemProvider.getVirtualFileSystem(true);
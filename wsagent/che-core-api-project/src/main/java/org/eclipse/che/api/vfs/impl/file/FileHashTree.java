@@ -0,0 +1,372 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.commons.lang.Pair;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Merkle tree of hash sums of the files of {@link LocalVirtualFileSystem}.
+ * <p/>
+ * Hash of the file is cached by its path and is reused while the modification time, size and identity of the file stay the same,
+ * hash of the folder is counted from names and hashes of its children. Folders are visited and files are hashed in parallel,
+ * so recount of the tree reads content of the changed files only, and hash of the folder is reused as is if none of its
+ * descendants is changed.
+ * <p/>
+ * Hash of the file modified less than {@link #RACY_INTERVAL_MS} ago isn't cached since the file may be modified again
+ * without visible change of the modification time.
+ * <p/>
+ * Changes are reported to the tree with {@link #invalidate(Path)}. While the tree is {@link #startTracking() tracking}
+ * changes, i.e. all the changes of the file system are reported, nodes which are verified after the last change of
+ * their subtree are reused without listing of the folders and reading attributes of the files, so recount walks the
+ * changed subtrees only. Otherwise each count verifies attributes of all the files.
+ */
+class FileHashTree {
+    private static final int  BUFFER_SIZE      = 64 * 1024;
+    private static final long RACY_INTERVAL_MS = 2000;
+
+    private static final ForkJoinPool            POOL    = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private static final ThreadLocal<ByteBuffer> BUFFERS = ThreadLocal.withInitial(() -> ByteBuffer.allocate(BUFFER_SIZE));
+
+    private final HashFunction              hashFunction;
+    private final ConcurrentMap<Path, Node> nodes;
+
+    private volatile boolean tracking;
+    /* guarded by this, incremented on each change, nodes counted while it is changed aren't verified */
+    private          long    generation;
+
+    FileHashTree(HashFunction hashFunction) {
+        this.hashFunction = hashFunction;
+        this.nodes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Counts hash sums of all the files under the folder.
+     *
+     * @return list of pairs, the first element of the pair is hex representation of the hash sum of the file, the second is
+     * path of the file relative to the folder
+     */
+    List<Pair<String, String>> countHashSums(LocalVirtualFile folder) throws ServerException {
+        final List<Pair<String, String>> hashSums = new ArrayList<>();
+        collect(count(folder), folder.getPath(), hashSums);
+        return hashSums;
+    }
+
+    /** Returns hex representation of the hash of the folder which is counted from the names and hashes of all its descendants. */
+    String getHash(LocalVirtualFile folder) throws ServerException {
+        return count(folder).hash;
+    }
+
+    /** Drops all the cached hashes. */
+    synchronized void clear() {
+        generation++;
+        nodes.clear();
+    }
+
+    /**
+     * Should be called when all the further changes of the file system are reported with {@link #invalidate(Path)}.
+     * Nodes counted before are verified again by the next count.
+     */
+    synchronized void startTracking() {
+        generation++;
+        nodes.values().forEach(node -> node.verified = false);
+        tracking = true;
+    }
+
+    /** Should be called when changes of the file system are not reported anymore, e.g. file watcher is failed. */
+    synchronized void stopTracking() {
+        generation++;
+        tracking = false;
+    }
+
+    /** Marks the item with the given path, all its descendants and ancestors as changed. */
+    synchronized void invalidate(Path path) {
+        generation++;
+        final Node node = nodes.get(path);
+        if (node != null) {
+            unverify(node);
+        }
+        for (Path parent = path.getParent(); parent != null; parent = parent.getParent()) {
+            final Node parentNode = nodes.get(parent);
+            if (parentNode != null) {
+                parentNode.verified = false;
+            }
+        }
+    }
+
+    private FolderNode count(LocalVirtualFile folder) throws ServerException {
+        final long startGeneration;
+        synchronized (this) {
+            startGeneration = generation;
+        }
+        final FolderNode node;
+        try {
+            node = POOL.invoke(new FolderTask(folder));
+        } catch (HashingException e) {
+            throw e.getCause();
+        }
+        synchronized (this) {
+            if (tracking && generation == startGeneration) {
+                verify(node);
+            }
+        }
+        return node;
+    }
+
+    private static void unverify(Node node) {
+        node.verified = false;
+        if (node instanceof FolderNode) {
+            ((FolderNode)node).children.forEach(FileHashTree::unverify);
+        }
+    }
+
+    /**
+     * Marks the nodes of the subtree as verified, nodes which are verified already are skipped with their subtrees.
+     * Folder is verified only if all its children are verified, file is verified only if its hash may be cached.
+     *
+     * @return whether the node is verified
+     */
+    private static boolean verify(Node node) {
+        if (node.verified) {
+            return true;
+        }
+        boolean verified;
+        if (node instanceof FolderNode) {
+            verified = true;
+            for (Node child : ((FolderNode)node).children) {
+                verified &= verify(child);
+            }
+        } else {
+            verified = ((FileNode)node).cacheable;
+        }
+        node.verified = verified;
+        return verified;
+    }
+
+    private Node getVerified(Path path) {
+        if (!tracking) {
+            return null;
+        }
+        final Node cached = nodes.get(path);
+        return cached != null && cached.verified ? cached : null;
+    }
+
+    private static void collect(Node node, Path folderPath, List<Pair<String, String>> hashSums) {
+        if (node instanceof FolderNode) {
+            for (Node child : ((FolderNode)node).children) {
+                collect(child, folderPath, hashSums);
+            }
+        } else {
+            hashSums.add(Pair.of(node.hash, node.path.subPath(folderPath).toString()));
+        }
+    }
+
+    /** Removes the cached hashes of the deleted node and all its descendants. */
+    private void evict(Node node) {
+        nodes.remove(node.path, node);
+        if (node instanceof FolderNode) {
+            ((FolderNode)node).children.forEach(this::evict);
+        }
+    }
+
+    private FileNode hash(LocalVirtualFile file, BasicFileAttributes attributes) throws IOException {
+        final Hasher hasher = hashFunction.newHasher();
+        final ByteBuffer buffer = BUFFERS.get();
+        try (FileChannel channel = FileChannel.open(file.toIoFile().toPath(), READ)) {
+            buffer.clear();
+            while (channel.read(buffer) != -1) {
+                hasher.putBytes(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+        }
+        final boolean cacheable = System.currentTimeMillis() - attributes.lastModifiedTime().toMillis() > RACY_INTERVAL_MS;
+        final FileNode node = new FileNode(file.getPath(), hasher.hash().toString(), attributes, cacheable);
+        if (cacheable) {
+            nodes.put(node.path, node);
+        }
+        return node;
+    }
+
+    private class FolderTask extends RecursiveTask<FolderNode> {
+        private final LocalVirtualFile folder;
+
+        FolderTask(LocalVirtualFile folder) {
+            this.folder = folder;
+        }
+
+        @Override
+        protected FolderNode compute() {
+            final Node verified = getVerified(folder.getPath());
+            if (verified instanceof FolderNode) {
+                return (FolderNode)verified;
+            }
+
+            final List<VirtualFile> children;
+            try {
+                children = folder.getChildren();
+            } catch (ServerException e) {
+                throw new HashingException(e);
+            }
+
+            final List<ForkJoinTask<? extends Node>> tasks = new ArrayList<>(children.size());
+            for (VirtualFile child : children) {
+                final LocalVirtualFile localChild = (LocalVirtualFile)child;
+                if (localChild.isFolder()) {
+                    tasks.add(new FolderTask(localChild).fork());
+                } else {
+                    tasks.add(new FileTask(localChild).fork());
+                }
+            }
+            final List<Node> childNodes = new ArrayList<>(tasks.size());
+            for (ForkJoinTask<? extends Node> task : tasks) {
+                childNodes.add(task.join());
+            }
+
+            final Node cached = nodes.get(folder.getPath());
+            if (cached instanceof FolderNode && ((FolderNode)cached).isSame(childNodes)) {
+                return (FolderNode)cached;
+            }
+            if (cached instanceof FolderNode) {
+                final Set<String> names = childNodes.stream().map(child -> child.path.getName()).collect(toSet());
+                ((FolderNode)cached).children.stream()
+                                             .filter(child -> !names.contains(child.path.getName()))
+                                             .forEach(FileHashTree.this::evict);
+            }
+
+            final Hasher hasher = hashFunction.newHasher();
+            for (Node child : childNodes) {
+                hasher.putString(child.path.getName(), UTF_8).putByte((byte)0).putString(child.hash, UTF_8).putByte((byte)0);
+            }
+            final FolderNode node = new FolderNode(folder.getPath(), hasher.hash().toString(), childNodes);
+            nodes.put(node.path, node);
+            return node;
+        }
+    }
+
+    private class FileTask extends RecursiveTask<FileNode> {
+        private final LocalVirtualFile file;
+
+        FileTask(LocalVirtualFile file) {
+            this.file = file;
+        }
+
+        @Override
+        protected FileNode compute() {
+            final Node verified = getVerified(file.getPath());
+            if (verified instanceof FileNode) {
+                return (FileNode)verified;
+            }
+            try {
+                final BasicFileAttributes attributes = Files.readAttributes(file.toIoFile().toPath(), BasicFileAttributes.class);
+                final Node cached = nodes.get(file.getPath());
+                if (cached instanceof FileNode && ((FileNode)cached).isSame(attributes)) {
+                    return (FileNode)cached;
+                }
+                return hash(file, attributes);
+            } catch (IOException e) {
+                throw new HashingException(new ServerException(String.format("Unable count hash sum of '%s'. %s",
+                                                                             file.getPath(), e.getMessage()), e));
+            }
+        }
+    }
+
+    private abstract static class Node {
+        final Path   path;
+        final String hash;
+
+        /* whether the node is counted after the last change of its subtree */
+        volatile boolean verified;
+
+        Node(Path path, String hash) {
+            this.path = path;
+            this.hash = hash;
+        }
+    }
+
+    private static class FileNode extends Node {
+        final long    modified;
+        final long    size;
+        final Object  fileKey;
+        final boolean cacheable;
+
+        FileNode(Path path, String hash, BasicFileAttributes attributes, boolean cacheable) {
+            super(path, hash);
+            this.modified = attributes.lastModifiedTime().to(NANOSECONDS);
+            this.size = attributes.size();
+            this.fileKey = attributes.fileKey();
+            this.cacheable = cacheable;
+        }
+
+        boolean isSame(BasicFileAttributes attributes) {
+            return modified == attributes.lastModifiedTime().to(NANOSECONDS)
+                   && size == attributes.size()
+                   && Objects.equals(fileKey, attributes.fileKey());
+        }
+    }
+
+    private static class FolderNode extends Node {
+        final List<Node> children;
+
+        FolderNode(Path path, String hash, List<Node> children) {
+            super(path, hash);
+            this.children = children;
+        }
+
+        /** Checks whether the folder has exactly the same children, unchanged children are represented by the same nodes. */
+        boolean isSame(List<Node> other) {
+            if (children.size() != other.size()) {
+                return false;
+            }
+            for (int i = 0; i < children.size(); i++) {
+                if (children.get(i) != other.get(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static class HashingException extends RuntimeException {
+        HashingException(ServerException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized ServerException getCause() {
+            return (ServerException)super.getCause();
+        }
+    }
+}
@@ -25,7 +25,6 @@ import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.Archiver;
 import org.eclipse.che.api.vfs.ArchiverFactory;
-import org.eclipse.che.api.vfs.HashSumsCounter;
 import org.eclipse.che.api.vfs.LockedFileFinder;
 import org.eclipse.che.api.vfs.Path;
 import org.eclipse.che.api.vfs.PathLockFactory;
@@ -136,6 +135,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     private final FileMetadataSerializer                  metadataSerializer;
     private final LoadingCache<Path, Map<String, String>> metadataCache;
 
+    private final FileHashTree md5Tree;
+
     @SuppressWarnings("unchecked")
     public LocalVirtualFileSystem(File ioRoot,
                                   ArchiverFactory archiverFactory,
@@ -162,6 +163,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                                     .maximumSize(256)
                                     .expireAfterAccess(10, MINUTES)
                                     .build(new FilePropertiesCacheLoader());
+
+        md5Tree = new FileHashTree(Hashing.md5());
     }
 
     @Override
@@ -177,6 +180,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     @Override
     public void close() throws ServerException {
         cleanUpCaches();
+        md5Tree.clear();
         if (searcherProvider != null) {
             Searcher searcher = searcherProvider.getSearcher(this, false);
             if (searcher != null) {
@@ -308,6 +312,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             if (content != null) {
                 doUpdateContent(newVirtualFile, content);
             }
+            md5Tree.invalidate(newPath);
 
             addInSearcher(newVirtualFile);
 
@@ -330,6 +335,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
                     throw new ConflictException(String.format("Item '%s' already exists", newPath));
                 }
             }
+            md5Tree.invalidate(newPath);
 
             return new LocalVirtualFile(newIoFile, newPath, this);
         } else {
@@ -382,6 +388,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
 
             IoUtil.copy(from.toIoFile(), to.toIoFile(), VFS_LOCK_FILTER);
+            md5Tree.invalidate(to.getPath());
         } catch (IOException e) {
             String errorMessage = String.format("Unable copy '%s' to '%s'", from, to);
             LOG.error(errorMessage + "\n" + e.getMessage(), e);
@@ -544,6 +551,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             String errorMessage = String.format("Unable set content of '%s'", virtualFile.getPath());
             LOG.error(errorMessage + "\n" + e.getMessage(), e);
             throw new ServerException(errorMessage);
+        } finally {
+            md5Tree.invalidate(virtualFile.getPath());
         }
     }
 
@@ -589,7 +598,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             }
         }
 
-        if (!deleteRecursive(virtualFile.toIoFile())) {
+        final boolean deleted = deleteRecursive(virtualFile.toIoFile());
+        md5Tree.invalidate(virtualFile.getPath());
+        if (!deleted) {
             LOG.error("Unable delete file {}", virtualFile.toIoFile());
             throw new ServerException(String.format("Unable delete item '%s'", virtualFile.getPath()));
         }
@@ -614,7 +625,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ServerException("VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
+            extract(parent, archiverFactory.createArchiver(parent, "zip"), zipped, overwrite, stripNumber);
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import zip content. Item '%s' is not a folder", parent.getPath()));
@@ -639,7 +650,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             throw new ServerException("VFS: Could not create tar archiver. Archiver Factory is not properly configured (is null)");
 
         if (parent.isFolder()) {
-            extract(archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
+            extract(parent, archiverFactory.createArchiver(parent, "tar"), tarArchive, overwrite, stripNumber);
             addInSearcher(parent);
         } else {
             throw new ForbiddenException(String.format("Unable import tar archive. Item '%s' is not a folder", parent.getPath()));
@@ -662,12 +673,14 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
         }
     }
 
-    private void extract(Archiver archiver, InputStream compressed, boolean overwrite, int stripNumber)
+    private void extract(LocalVirtualFile parent, Archiver archiver, InputStream compressed, boolean overwrite, int stripNumber)
             throws ConflictException, ServerException, ForbiddenException {
         try {
             archiver.extract(compressed, overwrite, stripNumber);
         } catch (IOException e) {
             throw new ServerException(e.getMessage(), e);
+        } finally {
+            md5Tree.invalidate(parent.getPath());
         }
     }
 
@@ -904,11 +917,26 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
 
 
+    /** Should be called when file watcher starts to report changes of the file system made outside of this VFS. */
+    void onWatchStarted() {
+        md5Tree.startTracking();
+    }
+
+    /** Should be called when file watcher stops to report changes of the file system. */
+    void onWatchStopped() {
+        md5Tree.stopTracking();
+    }
+
+    /** Should be called when file watcher reports change of the item made outside of this VFS. */
+    void onWatchEvent(Path path) {
+        md5Tree.invalidate(path);
+    }
+
     List<Pair<String, String>> countMd5Sums(LocalVirtualFile virtualFile) throws ServerException {
         if (virtualFile.isFile()) {
             return emptyList();
         }
-        return new HashSumsCounter(virtualFile, Hashing.md5()).countHashSums();
+        return md5Tree.countHashSums(virtualFile);
     }
 
 
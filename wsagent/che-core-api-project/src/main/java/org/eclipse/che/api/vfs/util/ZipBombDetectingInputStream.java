@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.util;
+
+import org.apache.commons.io.input.CountingInputStream;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Uncompressed content of ZIP archive which is checked for zip bomb while it is being read,
+ * so the archive may be extracted as it arrives without reading it twice.
+ */
+public class ZipBombDetectingInputStream extends FilterInputStream {
+    /** The threshold after that checking of ZIP ratio started. */
+    private static final long ZIP_THRESHOLD = 1000000;
+    /**
+     * Max compression ratio. If the number of bytes uncompressed data is exceed the number
+     * of bytes of compressed stream more than this ratio (and number of uncompressed data
+     * is more than threshold) then IOException is thrown.
+     */
+    private static final int  ZIP_RATIO     = 100;
+
+    private final CountingInputStream compressedDataCounter;
+    private       long                uncompressedBytes;
+
+    /**
+     * @param uncompressed
+     *         uncompressed content, e.g. {@link java.util.zip.ZipInputStream}
+     * @param compressedDataCounter
+     *         compressed content which {@code uncompressed} is read from
+     */
+    public ZipBombDetectingInputStream(InputStream uncompressed, CountingInputStream compressedDataCounter) {
+        super(uncompressed);
+        this.compressedDataCounter = compressedDataCounter;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int b = super.read();
+        if (b != -1) {
+            uncompressedBytes++;
+            check();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        final int bytes = super.read(b, off, len);
+        if (bytes > 0) {
+            uncompressedBytes += bytes;
+            check();
+        }
+        return bytes;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        final long bytes = super.skip(n);
+        if (bytes > 0) {
+            uncompressedBytes += bytes;
+            check();
+        }
+        return bytes;
+    }
+
+    /**
+     * Checks the ratio of uncompressed data read so far to compressed data.
+     *
+     * @throws IOException
+     *         if zip bomb is detected
+     */
+    public void check() throws IOException {
+        if (uncompressedBytes > ZIP_THRESHOLD && uncompressedBytes > (ZIP_RATIO * compressedDataCounter.getByteCount())) {
+            throw new IOException("Zip bomb detected");
+        }
+    }
+}
@@ -72,11 +72,13 @@ public class ProjectManagerReadTest extends WsAgentTestBase {
 
         ProjectHandlerRegistry projectHandlerRegistry = new ProjectHandlerRegistry(new HashSet<>());
 
-        projectRegistry = new ProjectRegistry(workspaceHolder, vfsProvider, projectTypeRegistry, projectHandlerRegistry);
+        projectRegistry = new ProjectRegistry(workspaceHolder, vfsProvider, projectTypeRegistry, projectHandlerRegistry,
+                                              channelReplayBuffer);
         projectRegistry.initProjects();
 
         pm = new ProjectManager(vfsProvider, null, projectTypeRegistry, projectRegistry, projectHandlerRegistry,
-                                null, fileWatcherNotificationHandler, fileTreeWatcher);
+                                null, fileWatcherNotificationHandler, fileTreeWatcher,
+                                channelReplayBuffer);
         pm.initWatcher();
     }
 
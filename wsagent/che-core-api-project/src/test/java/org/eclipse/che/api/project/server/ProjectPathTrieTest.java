@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class ProjectPathTrieTest {
+    private ProjectPathTrie   trie;
+    private RegisteredProject a;
+    private RegisteredProject ab;
+    private RegisteredProject abcd;
+    private RegisteredProject x;
+
+    @BeforeMethod
+    public void setUp() {
+        trie = new ProjectPathTrie();
+        a = project("/a");
+        ab = project("/a/b");
+        abcd = project("/a/b/c/d");
+        x = project("/x");
+    }
+
+    @Test
+    public void shouldFindProjectByPath() {
+        assertSame(trie.get("/a/b"), ab);
+        assertSame(trie.get("/a/b/c/d"), abcd);
+        assertNull(trie.get("/a/b/c"));
+        assertNull(trie.get("/y"));
+    }
+
+    @Test
+    public void shouldFindNearestParentProject() {
+        assertSame(trie.getNearest("/a/b"), ab);
+        assertSame(trie.getNearest("/a/b/c"), ab);
+        assertSame(trie.getNearest("/a/b/c/d/e/file.txt"), abcd);
+        assertSame(trie.getNearest("/a/file.txt"), a);
+        assertNull(trie.getNearest("/y/file.txt"));
+    }
+
+    @Test
+    public void shouldReturnAllProjectsUnderPath() {
+        assertEquals(new HashSet<>(trie.getChildPaths("/a")), new HashSet<>(asList("/a/b", "/a/b/c/d")));
+        assertEquals(new HashSet<>(trie.getChildPaths("/")), new HashSet<>(asList("/a", "/a/b", "/a/b/c/d", "/x")));
+        assertTrue(trie.getChildPaths("/x").isEmpty());
+        assertEquals(trie.getAll().size(), 4);
+    }
+
+    @Test
+    public void shouldRemoveProjectAndKeepSubProjects() {
+        assertSame(trie.remove("/a/b"), ab);
+
+        assertNull(trie.get("/a/b"));
+        assertSame(trie.getNearest("/a/b/c"), a);
+        assertSame(trie.get("/a/b/c/d"), abcd);
+        assertEquals(trie.getAll().size(), 3);
+    }
+
+    @Test
+    public void shouldRemoveProjectWithSubProjects() {
+        assertEquals(new HashSet<>(trie.removeAll("/a/b")), new HashSet<>(asList(ab, abcd)));
+
+        assertNull(trie.get("/a/b/c/d"));
+        assertSame(trie.getNearest("/a/b/c/d"), a);
+        assertEquals(new HashSet<>(trie.getAll()), new HashSet<>(asList(a, x)));
+    }
+
+    @Test
+    public void shouldReplaceProjectWithTheSamePath() {
+        final RegisteredProject updated = mock(RegisteredProject.class);
+        when(updated.getPath()).thenReturn("/a");
+
+        assertSame(trie.put("/a", updated), a);
+
+        assertSame(trie.get("/a"), updated);
+        assertEquals(trie.getAll().size(), 4);
+    }
+
+    private RegisteredProject project(String path) {
+        final RegisteredProject project = mock(RegisteredProject.class);
+        when(project.getPath()).thenReturn(path);
+        trie.put(path, project);
+        return project;
+    }
+}
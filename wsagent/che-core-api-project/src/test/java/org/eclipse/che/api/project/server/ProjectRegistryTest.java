@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.project.server;
+
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
+import org.eclipse.che.api.project.server.handlers.ProjectInitHandler;
+import org.eclipse.che.api.project.server.type.ProjectTypeDef;
+import org.eclipse.che.api.vfs.impl.file.FileWatcherEventType;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests for initialization of the projects by {@link ProjectRegistry} and for its updates on file watcher events.
+ */
+public class ProjectRegistryTest extends WsAgentTestBase {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        events.clear();
+    }
+
+    @Test
+    public void shouldFireInitHandlersOfSubProjectAfterHandlersOfParentProject() throws Exception {
+        final ProjectRegistry registry = createRegistry(new RecordingInitHandler() {
+            @Override
+            void onInit(String path) throws Exception {
+                // give sub-project a chance to start too early
+                Thread.sleep(100);
+            }
+        }, "/parent", "/parent/module", "/parent/module/sub");
+
+        registry.initProjects();
+
+        assertTrue(events.indexOf("finished /parent") < events.indexOf("started /parent/module"));
+        assertTrue(events.indexOf("finished /parent/module") < events.indexOf("started /parent/module/sub"));
+    }
+
+    @Test
+    public void shouldInitializeSubProjectIfParentProjectFailedAndRethrowFailure() throws Exception {
+        final ProjectRegistry registry = createRegistry(new RecordingInitHandler() {
+            @Override
+            void onInit(String path) throws Exception {
+                if ("/broken".equals(path)) {
+                    throw new ServerException("init failed");
+                }
+            }
+        }, "/broken", "/broken/module", "/other");
+
+        try {
+            registry.initProjects();
+            fail("ServerException expected");
+        } catch (ServerException e) {
+            assertEquals("init failed", e.getMessage());
+        }
+
+        assertEquals(asList("finished /broken/module", "finished /other"),
+                     events.stream().filter(event -> event.startsWith("finished")).sorted().collect(toList()));
+    }
+
+    @Test
+    public void shouldFireInitHandlersOfIndependentProjectsInParallel() throws Exception {
+        assumeTrue(Runtime.getRuntime().availableProcessors() > 1);
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        final ProjectRegistry registry = createRegistry(new RecordingInitHandler() {
+            @Override
+            void onInit(String path) throws Exception {
+                // fails with timeout if handlers are fired one by one
+                barrier.await(5, TimeUnit.SECONDS);
+            }
+        }, "/first", "/second");
+
+        registry.initProjects();
+
+        assertEquals(asList("finished /first", "finished /second"),
+                     events.stream().filter(event -> event.startsWith("finished")).sorted().collect(toList()));
+    }
+
+    @Test
+    public void shouldKeepProjectTypesSetConcurrentlyByInitHandlersOfDifferentProjects() throws Exception {
+        final int threads = 8;
+        final List<String> mixins = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            mixins.add("mixin" + i);
+            projectTypeRegistry.registerProjectType(new ProjectTypeDef("mixin" + i, "mixin" + i, false, true) {});
+        }
+        final ProjectRegistry registry = createRegistry(new NoopInitHandler(), "/module");
+        registry.initProjects();
+
+        final CyclicBarrier barrier = new CyclicBarrier(threads);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<RegisteredProject>> results = new ArrayList<>();
+            for (String mixin : mixins) {
+                results.add(executor.submit(() -> {
+                    barrier.await(5, TimeUnit.SECONDS);
+                    return registry.setProjectType("/module", mixin, true);
+                }));
+            }
+            for (Future<RegisteredProject> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(mixins, registry.getProject("/module").getMixins().stream().sorted().collect(toList()));
+    }
+
+    @Test
+    public void shouldUnregisterProjectsOfFolderDeletedOutsideOfRegistry() throws Exception {
+        final ProjectRegistry registry = createRegistry(new NoopInitHandler(), "/parent", "/parent/module", "/other");
+        registry.initProjects();
+
+        IoUtil.deleteRecursive(new File(root, "parent"));
+        registry.onFileChanged("/parent", true, FileWatcherEventType.DELETED);
+
+        assertNull(registry.getProject("/parent"));
+        assertNull(registry.getProject("/parent/module"));
+        assertNotNull(registry.getProject("/other"));
+    }
+
+    @Test
+    public void shouldKeepProjectIfDeletedFolderIsRestoredBeforeEvent() throws Exception {
+        final ProjectRegistry registry = createRegistry(new NoopInitHandler(), "/project");
+        registry.initProjects();
+
+        registry.onFileChanged("/project", true, FileWatcherEventType.DELETED);
+
+        assertNotNull(registry.getProject("/project"));
+    }
+
+    @Test
+    public void shouldRegisterFolderCreatedOnRootAfterInitialization() throws Exception {
+        final ProjectRegistry registry = createRegistry(new NoopInitHandler(), "/project");
+        registry.initProjects();
+
+        new File(root, "created").mkdirs();
+        registry.onFileChanged("/created", true, FileWatcherEventType.CREATED);
+
+        assertNotNull(registry.getProject("/created"));
+    }
+
+    private ProjectRegistry createRegistry(RecordingInitHandler handler, String... paths) throws Exception {
+        final List<ProjectConfigDto> projects = new CopyOnWriteArrayList<>();
+        for (String path : paths) {
+            new File(root, path).mkdirs();
+            projects.add(DtoFactory.newDto(ProjectConfigDto.class)
+                                   .withPath(path)
+                                   .withName(path.substring(path.lastIndexOf('/') + 1))
+                                   .withType("primary1"));
+        }
+        return new ProjectRegistry(new TestWorkspaceHolder(projects),
+                                   vfsProvider,
+                                   projectTypeRegistry,
+                                   new ProjectHandlerRegistry(Collections.singleton(handler)),
+                                   channelReplayBuffer);
+    }
+
+    private abstract class RecordingInitHandler implements ProjectInitHandler {
+
+        @Override
+        public String getProjectType() {
+            return "primary1";
+        }
+
+        @Override
+        public void onProjectInitialized(ProjectRegistry registry, FolderEntry projectFolder) throws ServerException {
+            final String path = projectFolder.getPath().toString();
+            events.add("started " + path);
+            try {
+                onInit(path);
+            } catch (ServerException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new ServerException(e);
+            }
+            events.add("finished " + path);
+        }
+
+        abstract void onInit(String path) throws Exception;
+    }
+
+    private class NoopInitHandler extends RecordingInitHandler {
+        @Override
+        void onInit(String path) throws Exception {
+        }
+    }
+}
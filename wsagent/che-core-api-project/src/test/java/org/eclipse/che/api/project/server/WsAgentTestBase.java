@@ -13,6 +13,7 @@ package org.eclipse.che.api.project.server;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.ChannelReplayBuffer;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.project.server.handlers.CreateProjectHandler;
 import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
@@ -75,6 +76,8 @@ public class WsAgentTestBase {
 
     protected ProjectImporterRegistry importerRegistry;
 
+    protected ChannelReplayBuffer channelReplayBuffer;
+
     public void setUp() throws Exception {
 
         if (workspaceHolder == null)
@@ -109,7 +112,10 @@ public class WsAgentTestBase {
 
         this.eventService = new EventService();
 
-        projectRegistry = new ProjectRegistry(workspaceHolder, vfsProvider, projectTypeRegistry, projectHandlerRegistry);
+        channelReplayBuffer = new ChannelReplayBuffer(1024 * 1024, 1024 * 1024);
+
+        projectRegistry = new ProjectRegistry(workspaceHolder, vfsProvider, projectTypeRegistry, projectHandlerRegistry,
+                                              channelReplayBuffer);
         projectRegistry.initProjects();
 
         this.importerRegistry = new ProjectImporterRegistry(new HashSet<>());
@@ -118,7 +124,7 @@ public class WsAgentTestBase {
         fileTreeWatcher = new FileTreeWatcher(root, new HashSet<>(), fileWatcherNotificationHandler);
 
         pm = new ProjectManager(vfsProvider, eventService, projectTypeRegistry, projectRegistry, projectHandlerRegistry,
-                                importerRegistry, fileWatcherNotificationHandler, fileTreeWatcher);
+                                importerRegistry, fileWatcherNotificationHandler, fileTreeWatcher, channelReplayBuffer);
         pm.initWatcher();
     }
 
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs;
+
+import com.google.common.base.Strings;
+
+/**
+ * Test content shared by the tests of archivers.
+ */
+class ArchiverTestUtil {
+
+    /**
+     * Creates folder 'arc' with many small files, content of which is read ahead while archiving,
+     * and one file which is too big to be read ahead.
+     */
+    static VirtualFile createBigFileTreeForArchiving(VirtualFile parent, String content) throws Exception {
+        VirtualFile arc = parent.createFolder("arc");
+        for (int i = 0; i < 50; i++) {
+            arc.createFolder("folder" + i).createFile("file" + i + ".txt", content + i);
+        }
+        arc.createFile("big.txt", Strings.repeat(content, 200000));
+        return arc;
+    }
+
+    private ArchiverTestUtil() {
+    }
+}
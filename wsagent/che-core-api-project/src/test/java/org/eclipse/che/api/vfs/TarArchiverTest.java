@@ -41,6 +41,7 @@ import java.util.Map;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static java.util.stream.Collectors.toMap;
+import static org.eclipse.che.api.vfs.ArchiverTestUtil.createBigFileTreeForArchiving;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.eq;
@@ -105,6 +106,18 @@ public class TarArchiverTest {
         assertThatTarArchiveContainsAllEntries(new ByteArrayInputStream(compressedFolder.toByteArray()), entries);
     }
 
+    @Test
+    public void compressesFolderWithManyFilesToArchive() throws Exception {
+        VirtualFile folder = createBigFileTreeForArchiving(vfsRoot, TEST_CONTENT);
+        ByteArrayOutputStream compressedFolder = new ByteArrayOutputStream();
+        Map<String, String> entries = getFileTreeAsList(folder).stream()
+                                                               .collect(toMap(f -> getTarEntryName(folder, f),
+                                                                              this::readContentUnchecked));
+
+        new TarArchiver(folder).compress(compressedFolder);
+        assertThatTarArchiveContainsAllEntries(new ByteArrayInputStream(compressedFolder.toByteArray()), entries);
+    }
+
     @Test
     public void extractsArchiveToFolder() throws Exception {
         byte[] archive = createTestTarArchive();
@@ -40,9 +40,12 @@ import java.util.zip.ZipOutputStream;
 
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
+import static org.eclipse.che.api.vfs.ArchiverTestUtil.createBigFileTreeForArchiving;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -105,6 +108,18 @@ public class ZipArchiverTest {
         assertThatZipArchiveContainsAllEntries(new ByteArrayInputStream(compressedFolder.toByteArray()), entries);
     }
 
+    @Test
+    public void compressesFolderWithManyFilesToArchive() throws Exception {
+        VirtualFile folder = createBigFileTreeForArchiving(vfsRoot, TEST_CONTENT);
+        ByteArrayOutputStream compressedFolder = new ByteArrayOutputStream();
+        Map<String, String> entries = getFileTreeAsList(folder).stream()
+                                                               .collect(toMap(f -> getZipEntryName(folder, f),
+                                                                              this::readContentUnchecked));
+
+        new ZipArchiver(folder).compress(compressedFolder);
+        assertThatZipArchiveContainsAllEntries(new ByteArrayInputStream(compressedFolder.toByteArray()), entries);
+    }
+
     @Test
     public void extractsArchiveToFolder() throws Exception {
         byte[] archive = createTestZipArchive();
@@ -185,6 +200,33 @@ public class ZipArchiverTest {
         }
     }
 
+    @Test
+    public void failsExtractArchiveWhenZipBombDetected() throws Exception {
+        VirtualFile folder = vfsRoot.createFolder("folder");
+
+        thrown.expect(IOException.class);
+        thrown.expectMessage("Zip bomb detected");
+
+        new ZipArchiver(folder).extract(new ByteArrayInputStream(createZipBomb()), false, 0);
+    }
+
+    @Test
+    public void removesExtractedEntriesWhenZipBombDetected() throws Exception {
+        VirtualFile folder = vfsRoot.createFolder("folder");
+        folder.createFile("existing.txt", TEST_CONTENT);
+        folder.createFolder("a");
+
+        try {
+            new ZipArchiver(folder).extract(new ByteArrayInputStream(createZipBomb("a/b/_b.txt", "c.txt", "d/_d.txt")), false, 0);
+            fail("Zip bomb isn't detected");
+        } catch (IOException expected) {
+        }
+
+        List<String> children = folder.getChildren().stream().map(VirtualFile::getName).collect(toList());
+        assertEquals(newArrayList("a", "existing.txt"), children);
+        assertTrue(folder.getChild(Path.of("a")).getChildren().isEmpty());
+    }
+
     private Map<String, String> readArchiveEntries(InputStream archive) throws Exception {
         Map<String, String> entries = newHashMap();
         try (ZipInputStream zip = new ZipInputStream(archive)) {
@@ -226,6 +268,22 @@ public class ZipArchiverTest {
         return arc;
     }
 
+    private byte[] createZipBomb(String... precedingFiles) throws IOException {
+        ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        try (ZipOutputStream zipOut = new ZipOutputStream(byteOut)) {
+            for (String file : precedingFiles) {
+                zipOut.putNextEntry(new ZipEntry(file));
+                zipOut.write(TEST_CONTENT_BYTES);
+            }
+            zipOut.putNextEntry(new ZipEntry("bomb.txt"));
+            byte[] zeros = new byte[1024 * 1024];
+            for (int i = 0; i < 20; i++) {
+                zipOut.write(zeros);
+            }
+        }
+        return byteOut.toByteArray();
+    }
+
     private byte[] createTestZipArchive() throws IOException {
         ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
         ZipOutputStream zipOut = new ZipOutputStream(byteOut);
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.vfs.impl.file;
+
+import com.google.common.hash.Hashing;
+
+import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.search.SearcherProvider;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.lang.NameGenerator;
+import org.eclipse.che.commons.lang.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class FileHashTreeTest {
+    private File                   testDirectory;
+    private LocalVirtualFileSystem fileSystem;
+    private FileHashTree           hashTree;
+
+    @Before
+    public void setUp() throws Exception {
+        File targetDir = new File(Thread.currentThread().getContextClassLoader().getResource(".").getPath()).getParentFile();
+        testDirectory = new File(targetDir, NameGenerator.generate("fs-", 4));
+        assertTrue(testDirectory.mkdir());
+        fileSystem = new LocalVirtualFileSystem(testDirectory,
+                                                mock(ArchiverFactory.class),
+                                                mock(SearcherProvider.class),
+                                                mock(AbstractVirtualFileSystemProvider.CloseCallback.class));
+        hashTree = new FileHashTree(Hashing.md5());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        IoUtil.deleteRecursive(testDirectory);
+    }
+
+    @Test
+    public void countsHashSumsOfNestedFiles() throws Exception {
+        writeFile("project/a.txt", "a", 0);
+        writeFile("project/src/b.txt", "b", 0);
+
+        assertEquals(newHashSet(Pair.of(md5("a"), "a.txt"), Pair.of(md5("b"), "src/b.txt")),
+                     newHashSet(hashTree.countHashSums(folder("project"))));
+    }
+
+    @Test
+    public void keepsHashOfFolderWhileNothingChanged() throws Exception {
+        writeFile("project/a.txt", "a", 0);
+        writeFile("project/src/b.txt", "b", 0);
+
+        assertEquals(hashTree.getHash(folder("project")), hashTree.getHash(folder("project")));
+    }
+
+    @Test
+    public void recountsHashOfChangedFileWithTheSameSize() throws Exception {
+        writeFile("project/a.txt", "a", 0);
+        writeFile("project/src/b.txt", "b", 0);
+        final String hash = hashTree.getHash(folder("project"));
+
+        writeFile("project/src/b.txt", "c", 10_000);
+
+        assertNotEquals(hash, hashTree.getHash(folder("project")));
+        assertEquals(newHashSet(Pair.of(md5("a"), "a.txt"), Pair.of(md5("c"), "src/b.txt")),
+                     newHashSet(hashTree.countHashSums(folder("project"))));
+    }
+
+    @Test
+    public void forgetsDeletedFiles() throws Exception {
+        writeFile("project/a.txt", "a", 0);
+        writeFile("project/src/b.txt", "b", 0);
+        hashTree.countHashSums(folder("project"));
+
+        IoUtil.deleteRecursive(new File(testDirectory, "project/src"));
+
+        assertEquals(newHashSet(Pair.of(md5("a"), "a.txt")), newHashSet(hashTree.countHashSums(folder("project"))));
+    }
+
+    @Test
+    public void reusesVerifiedSubtreesWithoutReadingFileSystemWhileTrackingChanges() throws Exception {
+        writeFile("project/a.txt", "a", 0);
+        writeFile("project/src/b.txt", "b", 0);
+        hashTree.startTracking();
+        final String hash = hashTree.getHash(folder("project"));
+
+        // change isn't reported, so it must not be noticed
+        writeFile("project/src/b.txt", "c", 10_000);
+
+        assertEquals(hash, hashTree.getHash(folder("project")));
+    }
+
+    @Test
+    public void recountsInvalidatedSubtreeWhileTrackingChanges() throws Exception {
+        writeFile("project/a.txt", "a", 0);
+        writeFile("project/src/b.txt", "b", 0);
+        hashTree.startTracking();
+        hashTree.countHashSums(folder("project"));
+
+        writeFile("project/src/b.txt", "c", 10_000);
+        IoUtil.deleteRecursive(new File(testDirectory, "project/a.txt"));
+        hashTree.invalidate(Path.of("/project/src/b.txt"));
+        hashTree.invalidate(Path.of("/project/a.txt"));
+
+        assertEquals(newHashSet(Pair.of(md5("c"), "src/b.txt")), newHashSet(hashTree.countHashSums(folder("project"))));
+    }
+
+    @Test
+    public void verifiesAllFilesAfterTrackingIsStopped() throws Exception {
+        writeFile("project/src/b.txt", "b", 0);
+        hashTree.startTracking();
+        hashTree.countHashSums(folder("project"));
+
+        hashTree.stopTracking();
+        writeFile("project/src/b.txt", "c", 10_000);
+
+        assertEquals(newHashSet(Pair.of(md5("c"), "src/b.txt")), newHashSet(hashTree.countHashSums(folder("project"))));
+    }
+
+    @Test
+    public void countsContentWrittenThroughFileSystemImmediately() throws Exception {
+        writeFile("project/src/b.txt", "b", 0);
+        fileSystem.onWatchStarted();
+        fileSystem.countMd5Sums(folder("project"));
+
+        fileSystem.getRoot().getChild(Path.of("project/src/b.txt")).updateContent("c");
+        fileSystem.getRoot().getChild(Path.of("project")).createFile("d.txt", "d");
+
+        assertEquals(newHashSet(Pair.of(md5("c"), "src/b.txt"), Pair.of(md5("d"), "d.txt")),
+                     newHashSet(fileSystem.countMd5Sums(folder("project"))));
+    }
+
+    private LocalVirtualFile folder(String path) throws Exception {
+        return (LocalVirtualFile)fileSystem.getRoot().getChild(Path.of(path));
+    }
+
+    /** Writes file and moves its modification time to the past, so the hash of the file may be cached. */
+    private void writeFile(String path, String content, long shiftMs) throws Exception {
+        final File file = new File(testDirectory, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(UTF_8));
+        assertTrue(file.setLastModified(System.currentTimeMillis() - 60_000 + shiftMs));
+    }
+
+    private static String md5(String content) {
+        return Hashing.md5().hashString(content, UTF_8).toString();
+    }
+}
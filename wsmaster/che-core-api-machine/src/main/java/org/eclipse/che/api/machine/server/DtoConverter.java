@@ -19,10 +19,12 @@ import org.eclipse.che.api.core.model.machine.MachineSource;
 import org.eclipse.che.api.core.model.machine.Server;
 import org.eclipse.che.api.core.model.machine.ServerConf;
 import org.eclipse.che.api.core.model.machine.Snapshot;
+import org.eclipse.che.api.machine.server.proxy.MachineProxyMetrics;
 import org.eclipse.che.api.machine.shared.dto.LimitsDto;
 import org.eclipse.che.api.machine.shared.dto.MachineConfigDto;
 import org.eclipse.che.api.machine.shared.dto.MachineDto;
 import org.eclipse.che.api.machine.shared.dto.MachineProcessDto;
+import org.eclipse.che.api.machine.shared.dto.MachineProxyStatsDto;
 import org.eclipse.che.api.machine.shared.dto.MachineRuntimeInfoDto;
 import org.eclipse.che.api.machine.shared.dto.MachineSourceDto;
 import org.eclipse.che.api.machine.shared.dto.ServerConfDto;
@@ -151,6 +153,19 @@ public final class DtoConverter {
                                               .withLinks(null);
     }
 
+    /**
+     * Converts {@link MachineProxyMetrics.Stats} to {@link MachineProxyStatsDto}.
+     */
+    public static MachineProxyStatsDto asDto(MachineProxyMetrics.Stats stats) {
+        return newDto(MachineProxyStatsDto.class).withRequests(stats.getRequests())
+                                                 .withFailures(stats.getFailures())
+                                                 .withAverageLatencyMs(stats.getAverageLatencyMs())
+                                                 .withMaxLatencyMs(stats.getMaxLatencyMs())
+                                                 .withBytesSent(stats.getBytesSent())
+                                                 .withBytesReceived(stats.getBytesReceived())
+                                                 .withThroughputBytesPerSecond(stats.getThroughputBytesPerSecond());
+    }
+
     private DtoConverter() {
     }
 }
@@ -23,11 +23,11 @@ import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.machine.Recipe;
+import org.eclipse.che.api.core.notification.ChannelReplayBuffer;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.util.CompositeLineConsumer;
 import org.eclipse.che.api.core.util.FileCleaner;
-import org.eclipse.che.api.core.util.FileLineConsumer;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.core.util.WebsocketLineConsumer;
 import org.eclipse.che.api.machine.server.dao.SnapshotDao;
@@ -36,6 +36,7 @@ import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.exception.SnapshotException;
 import org.eclipse.che.api.machine.server.exception.UnsupportedRecipeException;
 import org.eclipse.che.api.machine.server.impl.SnapshotImpl;
+import org.eclipse.che.api.machine.server.log.SegmentedLogStore;
 import org.eclipse.che.api.machine.server.model.impl.LimitsImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
@@ -64,12 +65,17 @@ import javax.ws.rs.core.UriBuilder;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.Reader;
 import java.net.URL;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -99,10 +105,17 @@ public class MachineManager {
     private final ExecutorService          executor;
     private final MachineRegistry          machineRegistry;
     private final EventService             eventService;
+    private final ChannelReplayBuffer      channelReplayBuffer;
     private final String                   apiEndpoint;
     private final int                      defaultMachineMemorySizeMB;
     private final MachineCleaner           machineCleaner;
     private final WsAgentLauncher          wsAgentLauncher;
+    private final ExecutorService          snapshotExecutor;
+    private final int                      maxSnapshotsPerNode;
+    /* limits number of snapshots created simultaneously on one node, key is host of the node */
+    private final ConcurrentMap<String, NodeSnapshotQueue> nodeSnapshotQueues;
+    /* logs which are written at the moment, key is the directory of the log */
+    private final ConcurrentMap<File, SegmentedLogStore> liveLogs;
 
     @Inject
     public MachineManager(SnapshotDao snapshotDao,
@@ -112,7 +125,10 @@ public class MachineManager {
                           EventService eventService,
                           @Named("machine.default_mem_size_mb") int defaultMachineMemorySizeMB,
                           @Named("api.endpoint") String apiEndpoint,
-                          WsAgentLauncher wsAgentLauncher) {
+                          WsAgentLauncher wsAgentLauncher,
+                          @Named("machine.snapshot.max_threads") int maxSnapshotThreads,
+                          @Named("machine.snapshot.max_per_node") int maxSnapshotsPerNode,
+                          ChannelReplayBuffer channelReplayBuffer) {
         this.snapshotDao = snapshotDao;
         this.machineInstanceProviders = machineInstanceProviders;
         this.eventService = eventService;
@@ -121,9 +137,17 @@ public class MachineManager {
         this.machineLogsDir = new File(machineLogsDir);
         this.machineRegistry = machineRegistry;
         this.defaultMachineMemorySizeMB = defaultMachineMemorySizeMB;
+        this.channelReplayBuffer = channelReplayBuffer;
 
         executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("MachineManager-%d").setDaemon(true).build());
         this.machineCleaner = new MachineCleaner();
+        this.liveLogs = new ConcurrentHashMap<>();
+        this.maxSnapshotsPerNode = maxSnapshotsPerNode;
+        this.nodeSnapshotQueues = new ConcurrentHashMap<>();
+        this.snapshotExecutor = Executors.newFixedThreadPool(maxSnapshotThreads,
+                                                             new ThreadFactoryBuilder().setNameFormat("MachineSnapshot-%d")
+                                                                                       .setDaemon(true)
+                                                                                       .build());
     }
 
     /**
@@ -256,11 +280,16 @@ public class MachineManager {
                              (instanceProvider, recipe, instanceKey, machineState, machineLogger) ->
                                      executor.execute(ThreadLocalPropagateContext.wrap(() -> {
                                          try {
-                                             createInstance(instanceProvider,
-                                                            recipe,
-                                                            instanceKey,
-                                                            machineState,
-                                                            machineLogger);
+                                             // thread is released while ws agent is starting
+                                             startInstance(instanceProvider,
+                                                           recipe,
+                                                           instanceKey,
+                                                           machineState,
+                                                           machineLogger).whenComplete((ignored, error) -> {
+                                                 if (error != null) {
+                                                     LOG.error(error.getLocalizedMessage(), error);
+                                                 }
+                                             });
                                          } catch (MachineException | NotFoundException e) {
                                              LOG.error(e.getLocalizedMessage(), e);
                                              // todo what should we do in that case?
@@ -343,7 +372,36 @@ public class MachineManager {
                                 InstanceKey instanceKey,
                                 Machine machine,
                                 LineConsumer machineLogger) throws MachineException, NotFoundException {
+        final CompletableFuture<Void> started = startInstance(instanceProvider, recipe, instanceKey, machine, machineLogger);
+        try {
+            started.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // machine is cleaned up when start of the agent is cancelled
+            started.cancel(false);
+            throw new MachineException(e.getLocalizedMessage(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MachineException) {
+                throw (MachineException)e.getCause();
+            }
+            throw new MachineException(e.getCause().getLocalizedMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * Creates instance of the machine and starts ws agent in it if the machine is dev.
+     * Thread is not held while the agent is starting, machine status is updated when the agent start is finished.
+     *
+     * @return future which is completed when machine is running
+     * or completed exceptionally with {@link MachineException} when machine fails to start
+     */
+    private CompletableFuture<Void> startInstance(InstanceProvider instanceProvider,
+                                                  Recipe recipe,
+                                                  InstanceKey instanceKey,
+                                                  Machine machine,
+                                                  LineConsumer machineLogger) throws MachineException, NotFoundException {
         Instance instance = null;
+        final CompletableFuture<Void> agentStarted;
         try {
             eventService.publish(DtoFactory.newDto(MachineStatusEvent.class)
                                            .withEventType(MachineStatusEvent.EventType.CREATING)
@@ -363,37 +421,69 @@ public class MachineManager {
             machineRegistry.update(instance);
 
             if (machine.getConfig().isDev()) {
-                wsAgentLauncher.startWsAgent(machine.getWorkspaceId());
+                agentStarted = wsAgentLauncher.startWsAgentAsync(machine.getWorkspaceId());
+            } else {
+                agentStarted = CompletableFuture.completedFuture(null);
             }
+        } catch (ServerException e) {
+            cleanupFailedInstance(instance, machine, machineLogger, e);
+            throw new MachineException(e.getLocalizedMessage(), e);
+        }
 
-            eventService.publish(DtoFactory.newDto(MachineStatusEvent.class)
-                                           .withEventType(MachineStatusEvent.EventType.RUNNING)
-                                           .withDev(machine.getConfig().isDev())
-                                           .withMachineId(machine.getId())
-                                           .withWorkspaceId(machine.getWorkspaceId())
-                                           .withMachineName(machine.getConfig().getName()));
-
-        } catch (ServerException | InterruptedException e) {
-            if (instance != null) {
-                instance.destroy();
+        final Instance createdInstance = instance;
+        final CompletableFuture<Void> started = new CompletableFuture<>();
+        agentStarted.whenCompleteAsync((ignored, error) -> {
+            if (error == null && !started.isCancelled()) {
+                eventService.publish(DtoFactory.newDto(MachineStatusEvent.class)
+                                               .withEventType(MachineStatusEvent.EventType.RUNNING)
+                                               .withDev(machine.getConfig().isDev())
+                                               .withMachineId(machine.getId())
+                                               .withWorkspaceId(machine.getWorkspaceId())
+                                               .withMachineName(machine.getConfig().getName()));
+                started.complete(null);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause == null || cause instanceof CancellationException) {
+                cause = new MachineException("Start of the machine " + machine.getId() + " was cancelled");
             }
-
-            eventService.publish(DtoFactory.newDto(MachineStatusEvent.class)
-                                           .withEventType(MachineStatusEvent.EventType.ERROR)
-                                           .withMachineId(machine.getId())
-                                           .withDev(machine.getConfig().isDev())
-                                           .withWorkspaceId(machine.getWorkspaceId())
-                                           .withMachineName(machine.getConfig().getName())
-                                           .withError(e.getLocalizedMessage()));
-
             try {
-                machineLogger.writeLine(String.format("[ERROR] %s", e.getLocalizedMessage()));
-                machineLogger.close();
-                machineRegistry.remove(machine.getId());
-            } catch (IOException | NotFoundException e1) {
-                LOG.error(e1.getLocalizedMessage());
+                cleanupFailedInstance(createdInstance, machine, machineLogger, cause);
+            } catch (MachineException e) {
+                LOG.error(e.getLocalizedMessage(), e);
             }
-            throw new MachineException(e.getLocalizedMessage(), e);
+            started.completeExceptionally(cause instanceof MachineException ? cause
+                                                                            : new MachineException(cause.getLocalizedMessage(), cause));
+        }, executor);
+        // cancellation of the start stops waiting for the agent, so the machine is cleaned up
+        started.whenComplete((ignored, error) -> {
+            if (started.isCancelled()) {
+                agentStarted.cancel(false);
+            }
+        });
+        return started;
+    }
+
+    private void cleanupFailedInstance(Instance instance, Machine machine, LineConsumer machineLogger, Throwable error)
+            throws MachineException {
+        if (instance != null) {
+            instance.destroy();
+        }
+
+        eventService.publish(DtoFactory.newDto(MachineStatusEvent.class)
+                                       .withEventType(MachineStatusEvent.EventType.ERROR)
+                                       .withMachineId(machine.getId())
+                                       .withDev(machine.getConfig().isDev())
+                                       .withWorkspaceId(machine.getWorkspaceId())
+                                       .withMachineName(machine.getConfig().getName())
+                                       .withError(error.getLocalizedMessage()));
+
+        try {
+            machineLogger.writeLine(String.format("[ERROR] %s", error.getLocalizedMessage()));
+            machineLogger.close();
+            machineRegistry.remove(machine.getId());
+        } catch (IOException | NotFoundException e) {
+            LOG.error(e.getLocalizedMessage());
         }
     }
 
@@ -479,27 +569,36 @@ public class MachineManager {
     public SnapshotImpl save(String machineId, String owner, String description)
             throws NotFoundException, MachineException {
         final Instance machine = getInstance(machineId);
-        final SnapshotImpl snapshot = SnapshotImpl.builder()
-                                                  .generateId()
-                                                  .setType(machine.getConfig().getType())
-                                                  .setOwner(owner)
-                                                  .setWorkspaceId(machine.getWorkspaceId())
-                                                  .setDescription(description)
-                                                  .setDev(machine.getConfig().isDev())
-                                                  .setEnvName(machine.getEnvName())
-                                                  .setMachineName(machine.getConfig().getName())
-                                                  .useCurrentCreationDate()
-                                                  .build();
-        executor.submit(ThreadLocalPropagateContext.wrap(() -> {
-            try {
-                doSaveMachine(snapshot, machine);
-            } catch (Exception ignored) {
-                // exception is already logged in #doSaveMachine
-            }
-        }));
+        final SnapshotImpl snapshot = newSnapshot(machine, owner, description);
+        // exception is already logged in #doSaveMachine
+        scheduleSave(snapshot, machine);
         return snapshot;
     }
 
+    /**
+     * Asynchronously saves machine to snapshot.
+     * Snapshots are created concurrently, but number of snapshots created simultaneously in total
+     * and on the same node is limited with {@code machine.snapshot.max_threads} and {@code machine.snapshot.max_per_node}.
+     *
+     * @param machineId
+     *         id of machine for saving
+     * @param owner
+     *         owner for new snapshot
+     * @param description
+     *         optional description that should help to understand purpose of new snapshot in future
+     * @return future which is completed with stored snapshot, or completed exceptionally with {@link SnapshotException}
+     * or {@link MachineException} if snapshot storing failed
+     * @throws NotFoundException
+     *         if machine with specified id doesn't exist
+     * @throws MachineException
+     *         if other error occur
+     */
+    public CompletableFuture<SnapshotImpl> saveAsync(String machineId, String owner, String description)
+            throws NotFoundException, MachineException {
+        final Instance machine = getInstance(machineId);
+        return scheduleSave(newSnapshot(machine, owner, description), machine);
+    }
+
     /**
      * Synchronously saves machine to snapshot.
      *
@@ -521,18 +620,21 @@ public class MachineManager {
                                                                                             SnapshotException,
                                                                                             NotFoundException {
         final Instance machine = getInstance(machineId);
-        final SnapshotImpl snapshot = SnapshotImpl.builder()
-                                                  .generateId()
-                                                  .setType(machine.getConfig().getType())
-                                                  .setOwner(owner)
-                                                  .setWorkspaceId(machine.getWorkspaceId())
-                                                  .setDescription(description)
-                                                  .setDev(machine.getConfig().isDev())
-                                                  .setEnvName(machine.getEnvName())
-                                                  .setMachineName(machine.getConfig().getName())
-                                                  .useCurrentCreationDate()
-                                                  .build();
-        return doSaveMachine(snapshot, machine);
+        final CompletableFuture<SnapshotImpl> saved = scheduleSave(newSnapshot(machine, owner, description), machine);
+        try {
+            return saved.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MachineException("Snapshot creation was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SnapshotException) {
+                throw (SnapshotException)e.getCause();
+            }
+            if (e.getCause() instanceof MachineException) {
+                throw (MachineException)e.getCause();
+            }
+            throw new MachineException(e.getCause().getLocalizedMessage(), e.getCause());
+        }
     }
 
     /**
@@ -623,6 +725,33 @@ public class MachineManager {
      */
     public InstanceProcess exec(final String machineId, final Command command, @Nullable String outputChannel)
             throws NotFoundException, MachineException, BadRequestException {
+        return exec(machineId, command, outputChannel, null);
+    }
+
+    /**
+     * Execute a command in machine and additionally pass its output to the given consumer
+     *
+     * @param machineId
+     *         id of the machine where command should be executed
+     * @param command
+     *         command that should be executed in the machine
+     * @param outputChannel
+     *         websocket channel for the process output
+     * @param outputConsumer
+     *         consumer which receives output of the process in addition to process logs
+     * @return {@link org.eclipse.che.api.machine.server.spi.InstanceProcess} that represents started process in machine
+     * @throws NotFoundException
+     *         if machine with specified id not found
+     * @throws BadRequestException
+     *         if value of required parameter is invalid
+     * @throws MachineException
+     *         if other error occur
+     */
+    public InstanceProcess exec(final String machineId,
+                                final Command command,
+                                @Nullable String outputChannel,
+                                @Nullable LineConsumer outputConsumer)
+            throws NotFoundException, MachineException, BadRequestException {
         requiredNotNull(machineId, "Machine ID is required");
         requiredNotNull(command, "Command is required");
         requiredNotNull(command.getCommandLine(), "Command line is required");
@@ -633,7 +762,8 @@ public class MachineManager {
         final InstanceProcess instanceProcess = machine.createProcess(command, outputChannel);
         final int pid = instanceProcess.getPid();
 
-        final LineConsumer processLogger = getProcessLogger(machineId, pid, outputChannel);
+        final LineConsumer ownLogger = getProcessLogger(machineId, pid, outputChannel);
+        final LineConsumer processLogger = outputConsumer == null ? ownLogger : new CompositeLineConsumer(ownLogger, outputConsumer);
 
         executor.execute(ThreadLocalPropagateContext.wrap(() -> {
             try {
@@ -643,6 +773,8 @@ public class MachineManager {
                                              .withProcessId(pid));
 
                 instanceProcess.start(processLogger);
+                // sends the rest of the output before clients unsubscribe from the output channel
+                closeProcessLogger(ownLogger);
 
                 eventService.publish(newDto(MachineProcessEvent.class)
                                              .withEventType(MachineProcessEvent.EventType.STOPPED)
@@ -659,11 +791,20 @@ public class MachineManager {
                     processLogger.writeLine(String.format("[ERROR] %s", error.getMessage()));
                 } catch (IOException ignored) {
                 }
+                closeProcessLogger(ownLogger);
             }
         }));
         return instanceProcess;
     }
 
+    private void closeProcessLogger(LineConsumer processLogger) {
+        try {
+            processLogger.close();
+        } catch (IOException e) {
+            LOG.error(e.getLocalizedMessage(), e);
+        }
+    }
+
     /**
      * Get list of active processes from specific machine
      *
@@ -745,52 +886,116 @@ public class MachineManager {
     }
 
     /**
-     * Gets logs reader from machine by specified id
+     * Gets logs of machine by specified id.
+     * Returned log may be read from any line and followed while the machine is running.
      *
      * @param machineId
-     *         machine id whose process reader will be returned
-     * @return reader for logs on specified machine
+     *         machine id whose logs will be returned
+     * @return logs of specified machine
      * @throws NotFoundException
-     *         if machine with specified id not found
+     *         if logs of machine with specified id not found
      * @throws MachineException
      *         if other error occur
      */
-    public Reader getMachineLogReader(String machineId) throws NotFoundException, MachineException {
-        final File machineLogsFile = getMachineLogsFile(machineId);
-        if (machineLogsFile.isFile()) {
-            try {
-                return Files.newBufferedReader(machineLogsFile.toPath(), Charset.defaultCharset());
-            } catch (IOException e) {
-                throw new MachineException(String.format("Unable read log file for machine '%s'. %s", machineId, e.getMessage()));
-            }
+    public SegmentedLogStore getMachineLogs(String machineId) throws NotFoundException, MachineException {
+        try {
+            return getLogs(getMachineLogsDir(machineId));
+        } catch (NotFoundException e) {
+            throw new NotFoundException(String.format("Logs for machine '%s' are not available", machineId));
+        } catch (IOException e) {
+            throw new MachineException(String.format("Unable read log file for machine '%s'. %s", machineId, e.getMessage()));
         }
-        throw new NotFoundException(String.format("Logs for machine '%s' are not available", machineId));
     }
 
     /**
-     * Gets process reader from machine by specified id.
+     * Gets logs of process from machine by specified id.
+     * Returned log may be read from any line and followed while the process is running.
      *
      * @param machineId
-     *         machine id whose process reader will be returned
+     *         machine id whose process logs will be returned
      * @param pid
      *         process id
-     * @return reader for specified process on machine
+     * @return logs of specified process on machine
      * @throws NotFoundException
-     *         if machine with specified id not found
+     *         if logs of machine or process with specified id not found
      * @throws MachineException
      *         if other error occur
      */
-    public Reader getProcessLogReader(String machineId, int pid) throws NotFoundException, MachineException {
-        final File processLogsFile = getProcessLogsFile(machineId, pid);
-        if (processLogsFile.isFile()) {
+    public SegmentedLogStore getProcessLogs(String machineId, int pid) throws NotFoundException, MachineException {
+        try {
+            return getLogs(getProcessLogsDir(machineId, pid));
+        } catch (NotFoundException e) {
+            throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
+        } catch (IOException e) {
+            throw new MachineException(
+                    String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
+        }
+    }
+
+    private SnapshotImpl newSnapshot(Instance machine, String owner, String description) {
+        return SnapshotImpl.builder()
+                           .generateId()
+                           .setType(machine.getConfig().getType())
+                           .setOwner(owner)
+                           .setWorkspaceId(machine.getWorkspaceId())
+                           .setDescription(description)
+                           .setDev(machine.getConfig().isDev())
+                           .setEnvName(machine.getEnvName())
+                           .setMachineName(machine.getConfig().getName())
+                           .useCurrentCreationDate()
+                           .build();
+    }
+
+    private CompletableFuture<SnapshotImpl> scheduleSave(SnapshotImpl snapshot, Instance machine) {
+        final String host = machine.getNode() == null ? "" : machine.getNode().getHost();
+        final NodeSnapshotQueue queue = nodeSnapshotQueues.computeIfAbsent(host, key -> new NodeSnapshotQueue());
+        final CompletableFuture<SnapshotImpl> result = new CompletableFuture<>();
+        queue.submit(ThreadLocalPropagateContext.wrap(() -> {
             try {
-                return Files.newBufferedReader(processLogsFile.toPath(), Charset.defaultCharset());
-            } catch (IOException e) {
-                throw new MachineException(
-                        String.format("Unable read log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
+                result.complete(doSaveMachine(snapshot, machine));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        }));
+        return result;
+    }
+
+    /**
+     * Runs snapshots of machines of one node on the shared snapshot pool, no more than {@code machine.snapshot.max_per_node}
+     * at the same time in order of submission. Snapshots waiting for their turn don't occupy threads of the pool,
+     * so busy node doesn't delay snapshots of other nodes.
+     */
+    private class NodeSnapshotQueue {
+        private final Queue<Runnable> pending = new ArrayDeque<>();
+        private int running;
+
+        synchronized void submit(Runnable task) {
+            if (running < maxSnapshotsPerNode) {
+                running++;
+                execute(task);
+            } else {
+                pending.add(task);
+            }
+        }
+
+        private void execute(Runnable task) {
+            snapshotExecutor.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    runNext();
+                }
+            });
+        }
+
+        private synchronized void runNext() {
+            final Runnable next = pending.poll();
+            if (next == null) {
+                running--;
+            } else {
+                execute(next);
             }
         }
-        throw new NotFoundException(String.format("Logs for process '%s' of machine '%s' are not available", pid, machineId));
     }
 
     private SnapshotImpl doSaveMachine(SnapshotImpl snapshot, Instance machine) throws SnapshotException, MachineException {
@@ -809,7 +1014,17 @@ public class MachineManager {
                                                                    snapshot.getEnvName(),
                                                                    snapshot.getMachineName());
                 snapshotDao.removeSnapshot(oldSnapshot.getId());
-                machineInstanceProviders.getProvider(oldSnapshot.getType()).removeInstanceSnapshot(oldSnapshot.getInstanceKey());
+                // instance may reuse the old snapshot if it wasn't changed since then
+                if (!oldSnapshot.getInstanceKey().getFields().equals(snapshotWithKey.getInstanceKey().getFields())) {
+                    final InstanceProvider provider = machineInstanceProviders.getProvider(oldSnapshot.getType());
+                    executor.execute(() -> {
+                        try {
+                            provider.removeInstanceSnapshot(oldSnapshot.getInstanceKey());
+                        } catch (SnapshotException e) {
+                            LOG.error("Failed to delete snapshot: {}, because {}", oldSnapshot, e.getLocalizedMessage());
+                        }
+                    });
+                }
             } catch (NotFoundException ignored) {
                //DO nothing if we has no snapshots or when provider not found
             } catch (SnapshotException se) {
@@ -862,6 +1077,8 @@ public class MachineManager {
         }
 
         machineRegistry.remove(machine.getId());
+        final File logsDir = new File(machineLogsDir, machine.getId());
+        liveLogs.keySet().removeIf(dir -> logsDir.equals(dir.getParentFile()));
 
         eventService.publish(newDto(MachineStatusEvent.class)
                                      .withEventType(MachineStatusEvent.EventType.DESTROYED)
@@ -877,29 +1094,46 @@ public class MachineManager {
         }
     }
 
-    private FileLineConsumer getMachineFileLogger(String machineId) throws MachineException {
+    private SegmentedLogStore getMachineFileLogger(String machineId) throws MachineException {
         try {
-            return new FileLineConsumer(getMachineLogsFile(machineId));
+            return createLogs(getMachineLogsDir(machineId));
         } catch (IOException e) {
             throw new MachineException(String.format("Unable create log file for machine '%s'. %s", machineId, e.getMessage()));
         }
     }
 
-    private File getMachineLogsFile(String machineId) {
-        return new File(new File(machineLogsDir, machineId), "machineId.logs");
+    private SegmentedLogStore getProcessFileLogger(String machineId, int pid) throws MachineException {
+        try {
+            return createLogs(getProcessLogsDir(machineId, pid));
+        } catch (IOException e) {
+            throw new MachineException(
+                    String.format("Unable create log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
+        }
+    }
+
+    private File getMachineLogsDir(String machineId) {
+        return new File(new File(machineLogsDir, machineId), "machine");
     }
 
-    private File getProcessLogsFile(String machineId, int pid) {
+    private File getProcessLogsDir(String machineId, int pid) {
         return new File(new File(machineLogsDir, machineId), Integer.toString(pid));
     }
 
-    private FileLineConsumer getProcessFileLogger(String machineId, int pid) throws MachineException {
-        try {
-            return new FileLineConsumer(getProcessLogsFile(machineId, pid));
-        } catch (IOException e) {
-            throw new MachineException(
-                    String.format("Unable create log file for process '%s' of machine '%s'. %s", pid, machineId, e.getMessage()));
+    private SegmentedLogStore createLogs(File dir) throws IOException {
+        final SegmentedLogStore logs = SegmentedLogStore.create(dir);
+        liveLogs.put(dir, logs);
+        return logs;
+    }
+
+    private SegmentedLogStore getLogs(File dir) throws NotFoundException, IOException {
+        final SegmentedLogStore logs = liveLogs.get(dir);
+        if (logs != null) {
+            return logs;
+        }
+        if (!dir.isDirectory()) {
+            throw new NotFoundException("Logs are not available");
         }
+        return SegmentedLogStore.open(dir);
     }
 
     String generateMachineId() {
@@ -916,7 +1150,7 @@ public class MachineManager {
 
     private LineConsumer getLogger(LineConsumer fileLogger, String outputChannel) throws MachineException {
         if (outputChannel != null) {
-            return new CompositeLineConsumer(fileLogger, new WebsocketLineConsumer(outputChannel));
+            return new CompositeLineConsumer(fileLogger, new WebsocketLineConsumer(outputChannel, channelReplayBuffer));
         }
         return fileLogger;
     }
@@ -1010,6 +1244,7 @@ public class MachineManager {
         eventService.unsubscribe(machineCleaner);
 
         boolean interrupted = false;
+        snapshotExecutor.shutdown();
         executor.shutdown();
         try {
             if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
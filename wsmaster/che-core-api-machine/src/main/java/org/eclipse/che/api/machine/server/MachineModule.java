@@ -15,6 +15,7 @@ import com.google.inject.name.Names;
 
 import org.eclipse.che.api.machine.server.event.MachineProcessMessenger;
 import org.eclipse.che.api.machine.server.event.MachineStateMessenger;
+import org.eclipse.che.api.machine.server.proxy.MachineProxyMetrics;
 
 /**
  * Guice container configuration file. Replaces old REST application composers and servlet context listeners.
@@ -26,6 +27,7 @@ public class MachineModule extends AbstractModule {
     protected void configure() {
         bind(MachineStateMessenger.class).asEagerSingleton();
         bind(MachineProcessMessenger.class).asEagerSingleton();
+        bind(MachineProxyMetrics.class).asEagerSingleton();
 
         bindConstant().annotatedWith(Names.named("machine.extension.api_port")).to(WsAgentLauncherImpl.WS_AGENT_PORT);
     }
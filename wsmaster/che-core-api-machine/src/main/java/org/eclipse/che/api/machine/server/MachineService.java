@@ -17,7 +17,6 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 
 import com.google.common.collect.Lists;
-import com.google.common.io.CharStreams;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ForbiddenException;
@@ -30,12 +29,15 @@ import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.rest.shared.dto.LinkParameter;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.impl.SnapshotImpl;
+import org.eclipse.che.api.machine.server.log.SegmentedLogStore;
+import org.eclipse.che.api.machine.server.proxy.MachineProxyMetrics;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.shared.Constants;
 import org.eclipse.che.api.machine.shared.dto.CommandDto;
 import org.eclipse.che.api.machine.shared.dto.MachineConfigDto;
 import org.eclipse.che.api.machine.shared.dto.MachineDto;
 import org.eclipse.che.api.machine.shared.dto.MachineProcessDto;
+import org.eclipse.che.api.machine.shared.dto.MachineProxyStatsDto;
 import org.eclipse.che.api.machine.shared.dto.NewSnapshotDescriptor;
 import org.eclipse.che.api.machine.shared.dto.SnapshotDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -57,7 +59,7 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.UriBuilder;
 import java.io.IOException;
-import java.io.Reader;
+import java.io.PrintWriter;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -80,11 +82,18 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 @Api(value = "/machine", description = "Machine REST API")
 @Path("/machine")
 public class MachineService extends Service {
-    private MachineManager machineManager;
+    /* how long to wait for new lines before checking whether followed logs are finished */
+    private static final long LOGS_FOLLOW_WAIT_MS  = 30_000;
+    /** Followed lines are sent to the client in batches at most that often. */
+    private static final long LOGS_FOLLOW_BATCH_MS = 100;
+
+    private MachineManager      machineManager;
+    private MachineProxyMetrics proxyMetrics;
 
     @Inject
-    public MachineService(MachineManager machineManager) {
+    public MachineService(MachineManager machineManager, MachineProxyMetrics proxyMetrics) {
         this.machineManager = machineManager;
+        this.proxyMetrics = proxyMetrics;
     }
 
     @GET
@@ -155,6 +164,27 @@ public class MachineService extends Service {
         machineManager.destroy(machineId, true);
     }
 
+    @GET
+    @Path("/{machineId}/proxy/stats")
+    @Produces(MediaType.APPLICATION_JSON)
+    @RolesAllowed("user")
+    @ApiOperation(value = "Get statistic of the requests proxied to extension API of the machine")
+    @ApiResponses({@ApiResponse(code = 200, message = "The response contains statistic of the proxied requests"),
+                   @ApiResponse(code = 404, message = "Machine with specified id does not exist"),
+                   @ApiResponse(code = 500, message = "Internal server error occurred")})
+    public MachineProxyStatsDto getProxyStats(@ApiParam(value = "Machine ID")
+                                              @PathParam("machineId")
+                                              String machineId)
+            throws NotFoundException,
+                   ServerException,
+                   ForbiddenException {
+
+        checkCurrentUserPermissions(machineManager.getMachine(machineId));
+
+        final MachineProxyMetrics.Stats stats = proxyMetrics.getStats(machineId);
+        return DtoConverter.asDto(stats != null ? stats : new MachineProxyMetrics.Stats());
+    }
+
     @GET
     @Path("/snapshot")
     @Produces(MediaType.APPLICATION_JSON)
@@ -316,6 +346,24 @@ public class MachineService extends Service {
     public void getMachineLogs(@ApiParam(value = "Machine ID")
                                @PathParam("machineId")
                                String machineId,
+                               @ApiParam(value = "Number of the first line to return")
+                               @QueryParam("offset")
+                               @DefaultValue("0")
+                               long offset,
+                               @ApiParam(value = "Max number of lines to return, all lines are returned if not specified")
+                               @QueryParam("limit")
+                               @DefaultValue("-1")
+                               int limit,
+                               @ApiParam(value = "Number of the last lines to return, overrides offset")
+                               @QueryParam("tail")
+                               Integer tail,
+                               @ApiParam(value = "Return lines written since this time in milliseconds, overrides offset")
+                               @QueryParam("since")
+                               Long since,
+                               @ApiParam(value = "If true the response is kept open and new lines are streamed until logs are finished")
+                               @QueryParam("follow")
+                               @DefaultValue("false")
+                               boolean follow,
                                @Context
                                HttpServletResponse httpServletResponse)
             throws NotFoundException,
@@ -325,7 +373,7 @@ public class MachineService extends Service {
 
         checkCurrentUserPermissions(machineManager.getMachine(machineId));
 
-        addLogsToResponse(machineManager.getMachineLogReader(machineId), httpServletResponse);
+        addLogsToResponse(machineManager.getMachineLogs(machineId), offset, limit, tail, since, follow, httpServletResponse);
     }
 
     @GET
@@ -342,6 +390,24 @@ public class MachineService extends Service {
                                @ApiParam(value = "Process ID")
                                @PathParam("pid")
                                int pid,
+                               @ApiParam(value = "Number of the first line to return")
+                               @QueryParam("offset")
+                               @DefaultValue("0")
+                               long offset,
+                               @ApiParam(value = "Max number of lines to return, all lines are returned if not specified")
+                               @QueryParam("limit")
+                               @DefaultValue("-1")
+                               int limit,
+                               @ApiParam(value = "Number of the last lines to return, overrides offset")
+                               @QueryParam("tail")
+                               Integer tail,
+                               @ApiParam(value = "Return lines written since this time in milliseconds, overrides offset")
+                               @QueryParam("since")
+                               Long since,
+                               @ApiParam(value = "If true the response is kept open and new lines are streamed until logs are finished")
+                               @QueryParam("follow")
+                               @DefaultValue("false")
+                               boolean follow,
                                @Context
                                HttpServletResponse httpServletResponse)
             throws NotFoundException,
@@ -351,7 +417,7 @@ public class MachineService extends Service {
 
         checkCurrentUserPermissions(machineManager.getMachine(machineId));
 
-        addLogsToResponse(machineManager.getProcessLogReader(machineId, pid), httpServletResponse);
+        addLogsToResponse(machineManager.getProcessLogs(machineId, pid), offset, limit, tail, since, follow, httpServletResponse);
     }
 
     /**
@@ -615,11 +681,57 @@ public class MachineService extends Service {
                                                            Constants.LINK_REL_REMOVE_SNAPSHOT)));
     }
 
-    private void addLogsToResponse(Reader logsReader, HttpServletResponse httpServletResponse) throws IOException {
+    private void addLogsToResponse(SegmentedLogStore logs,
+                                   long offset,
+                                   int limit,
+                                   Integer tail,
+                                   Long since,
+                                   boolean follow,
+                                   HttpServletResponse httpServletResponse) throws IOException {
+        long from = offset;
+        if (tail != null) {
+            from = logs.tail(tail);
+        } else if (since != null) {
+            from = logs.since(since);
+        }
+        from = Math.max(from, logs.getFirstLine());
         // Response is written directly to the servlet request stream
         httpServletResponse.setContentType("text/plain");
-        CharStreams.copy(logsReader, httpServletResponse.getWriter());
-        httpServletResponse.getWriter().flush();
+        final PrintWriter writer = httpServletResponse.getWriter();
+        if (!follow) {
+            final long available = Math.max(logs.getLineCount() - from, 0);
+            final int lines = (int)(limit < 0 ? Math.min(available, Integer.MAX_VALUE) : Math.min(available, limit));
+            httpServletResponse.setHeader(Constants.LOGS_NEXT_OFFSET_HEADER, Long.toString(from + lines));
+            logs.read(from, lines, writer);
+            return;
+        }
+        long remaining = limit < 0 ? Long.MAX_VALUE : limit;
+        long next = from;
+        long lastFlush = System.currentTimeMillis();
+        try {
+            while (remaining > 0) {
+                final long before = next;
+                next = logs.read(next, (int)Math.min(remaining, Integer.MAX_VALUE), writer);
+                remaining -= next - before;
+                if (remaining <= 0) {
+                    break;
+                }
+                // lines which arrive shortly one after another are sent together
+                if (logs.awaitLines(next, LOGS_FOLLOW_BATCH_MS) > next && System.currentTimeMillis() - lastFlush < LOGS_FOLLOW_BATCH_MS) {
+                    continue;
+                }
+                lastFlush = System.currentTimeMillis();
+                // PrintWriter doesn't throw IOException, disconnected client is detected by the error state after flush
+                if (writer.checkError()) {
+                    break;
+                }
+                if (logs.awaitLines(next, LOGS_FOLLOW_WAIT_MS) <= next && logs.isClosed()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     private void checkCurrentUserPermissions(SnapshotImpl snapshot) throws ForbiddenException, ServerException {
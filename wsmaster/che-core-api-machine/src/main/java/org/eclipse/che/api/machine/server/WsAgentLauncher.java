@@ -13,6 +13,8 @@ package org.eclipse.che.api.machine.server;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Starts ws agent in the machine and wait until ws agent sends notification about its start
  *
@@ -20,4 +22,18 @@ import org.eclipse.che.api.machine.server.exception.MachineException;
  */
 public interface WsAgentLauncher {
     void startWsAgent(String workspaceId) throws NotFoundException, MachineException, InterruptedException;
+
+    /**
+     * Starts ws agent in the dev machine of the workspace without waiting for its readiness.
+     *
+     * @param workspaceId
+     *         id of the workspace
+     * @return future which is completed when ws agent is ready or completed exceptionally with {@link MachineException}
+     * when agent doesn't become ready in time, cancellation of the future stops waiting for the agent
+     * @throws NotFoundException
+     *         if dev machine of the workspace is not found
+     * @throws MachineException
+     *         if agent process can't be started
+     */
+    CompletableFuture<Void> startWsAgentAsync(String workspaceId) throws NotFoundException, MachineException;
 }
@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.eclipse.che.api.machine.server;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -17,11 +19,13 @@ import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.rest.HttpJsonRequest;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonResponse;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
@@ -30,9 +34,25 @@ import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.UriBuilder;
 import java.io.IOException;
 import java.net.HttpURLConnection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Starts ws agent in the machine and waits until ws agent sends notification about its start
+ * <p/>
+ * Readiness of the agent is detected by the {@link #WS_AGENT_STARTED_MARKER} line in the agent process output,
+ * it is confirmed by the ping of the agent API which is repeated each {@code machine.ws_agent.ping_delay_ms}
+ * until it succeeds or the start times out. Pinging with exponential backoff which starts
+ * from {@code machine.ws_agent.ping_delay_ms} is used as fallback only.
+ * Pings are scheduled by the shared scheduler, so the agent start doesn't hold a thread while waiting,
+ * see {@link #startWsAgentAsync(String)}. Ping request is blocking, so it is sent by the separate pool and
+ * the scheduler is never blocked by it, agent which doesn't respond doesn't delay pings of the other agents.
  *
  * @author Alexander Garagatyi
  */
@@ -41,9 +61,12 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
     public static final String WS_AGENT_PROCESS_START_COMMAND = "machine.ws_agent.run_command";
     public static final String WS_AGENT_PROCESS_NAME          = "CheWsAgent";
     public static final String WS_AGENT_PORT                  = "4401/tcp";
+    /** Line which is printed by the ws agent Tomcat when all applications are deployed. */
+    public static final String WS_AGENT_STARTED_MARKER        = "Server startup in";
 
     private static final Logger LOG                             = LoggerFactory.getLogger(WsAgentLauncherImpl.class);
     private static final String WS_AGENT_PROCESS_OUTPUT_CHANNEL = "workspace:%s:ext-server:output";
+    private static final int    MAX_PING_DELAY_MULTIPLIER       = 8;
 
     private final Provider<MachineManager> machineManagerProvider;
     private final HttpJsonRequestFactory   httpJsonRequestFactory;
@@ -53,6 +76,8 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
     private final int                      wsAgentPingConnectionTimeoutMs;
     private final String                   wsAgentPingPath;
     private final String                   pingTimedOutErrorMessage;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService          pingExecutor;
 
     @Inject
     public WsAgentLauncherImpl(Provider<MachineManager> machineManagerProvider,
@@ -72,6 +97,12 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
         this.pingTimedOutErrorMessage = pingTimedOutErrorMessage;
         // everrest respond 404 to path to rest without trailing slash
         this.wsAgentPingPath = wsAgentApiPath;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("WsAgentLauncher-%d")
+                                                                                              .setDaemon(true)
+                                                                                              .build());
+        this.pingExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("WsAgentPinger-%d")
+                                                                                    .setDaemon(true)
+                                                                                    .build());
     }
 
     public static String getWsAgentProcessOutputChannel(String workspaceId) {
@@ -80,31 +111,40 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
 
     @Override
     public void startWsAgent(String workspaceId) throws NotFoundException, MachineException, InterruptedException {
+        final CompletableFuture<Void> started = startWsAgentAsync(workspaceId);
+        try {
+            started.get();
+        } catch (InterruptedException e) {
+            started.cancel(false);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof MachineException) {
+                throw (MachineException)e.getCause();
+            }
+            throw new MachineException(e.getCause().getLocalizedMessage(), e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> startWsAgentAsync(String workspaceId) throws NotFoundException, MachineException {
         final Machine devMachine = getMachineManager().getDevMachine(workspaceId);
+        final WsAgentStartWatcher watcher = new WsAgentStartWatcher(workspaceId, createPingRequest(devMachine));
         try {
             getMachineManager().exec(devMachine.getId(),
                                      new CommandImpl(WS_AGENT_PROCESS_NAME, wsAgentStartCommandLine, "Arbitrary"),
-                                     getWsAgentProcessOutputChannel(workspaceId));
-
-            final HttpJsonRequest wsAgentPingRequest = createPingRequest(devMachine);
-
-            long pingStartTimestamp = System.currentTimeMillis();
-            LOG.debug("Starts pinging ws agent. Workspace ID:{}. Url:{}. Timestamp:{}",
-                      workspaceId,
-                      wsAgentPingRequest,
-                      pingStartTimestamp);
-
-            while (System.currentTimeMillis() - pingStartTimestamp < wsAgentMaxStartTimeMs) {
-                if (pingWsAgent(wsAgentPingRequest)) {
-                    return;
-                } else {
-                    Thread.sleep(wsAgentPingDelayMs);
-                }
-            }
+                                     getWsAgentProcessOutputChannel(workspaceId),
+                                     watcher);
         } catch (BadRequestException wsAgentLaunchingExc) {
             throw new MachineException(wsAgentLaunchingExc.getLocalizedMessage(), wsAgentLaunchingExc);
         }
-        throw new MachineException(pingTimedOutErrorMessage);
+        watcher.start();
+        return watcher.started;
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+        pingExecutor.shutdownNow();
     }
 
     private HttpJsonRequest createPingRequest(Machine devMachine) {
@@ -120,7 +160,7 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
                                      .setTimeout(wsAgentPingConnectionTimeoutMs);
     }
 
-    private boolean pingWsAgent(HttpJsonRequest wsAgentPingRequest) throws MachineException {
+    private boolean pingWsAgent(HttpJsonRequest wsAgentPingRequest) {
         try {
             final HttpJsonResponse pingResponse = wsAgentPingRequest.request();
             if (pingResponse.getResponseCode() == HttpURLConnection.HTTP_OK) {
@@ -134,4 +174,100 @@ public class WsAgentLauncherImpl implements WsAgentLauncher {
     private MachineManager getMachineManager() {
         return machineManagerProvider.get();
     }
+
+    /**
+     * Watches output of the ws agent process and pings the agent when the start marker appears until the ping succeeds.
+     * Meanwhile pings the agent with exponentially growing delay in case the marker is missed.
+     */
+    private class WsAgentStartWatcher implements LineConsumer {
+        private final CompletableFuture<Void> started;
+        private final String                  workspaceId;
+        private final HttpJsonRequest         pingRequest;
+
+        private long               pingDelayMs;
+        private boolean            markerReceived;
+        private ScheduledFuture<?> nextPing;
+        private ScheduledFuture<?> nextMarkerPing;
+        private ScheduledFuture<?> timeout;
+
+        WsAgentStartWatcher(String workspaceId, HttpJsonRequest pingRequest) {
+            this.workspaceId = workspaceId;
+            this.pingRequest = pingRequest;
+            this.started = new CompletableFuture<>();
+            this.pingDelayMs = Math.max(1, wsAgentPingDelayMs);
+        }
+
+        synchronized void start() {
+            LOG.debug("Starts waiting for ws agent. Workspace ID:{}. Url:{}. Timestamp:{}",
+                      workspaceId,
+                      pingRequest,
+                      System.currentTimeMillis());
+            timeout = scheduler.schedule(() -> started.completeExceptionally(new MachineException(pingTimedOutErrorMessage)),
+                                         wsAgentMaxStartTimeMs,
+                                         MILLISECONDS);
+            nextPing = scheduler.schedule(this::fallbackPing, pingDelayMs, MILLISECONDS);
+            started.whenComplete((ignored, error) -> cancelScheduled());
+        }
+
+        @Override
+        public void writeLine(String line) {
+            if (!started.isDone() && line != null && line.contains(WS_AGENT_STARTED_MARKER)) {
+                synchronized (this) {
+                    if (markerReceived) {
+                        return;
+                    }
+                    markerReceived = true;
+                }
+                LOG.debug("Ws agent of workspace {} reported its start", workspaceId);
+                scheduler.execute(this::markerPing);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+
+        /** Sends ping by the ping pool, returned future is completed when the agent responds or ping fails. */
+        private CompletableFuture<Void> ping() {
+            return CompletableFuture.runAsync(() -> {
+                if (!started.isDone() && pingWsAgent(pingRequest)) {
+                    started.complete(null);
+                }
+            }, pingExecutor);
+        }
+
+        /** Agent may report its start a bit before the API is available, so ping is repeated until start times out. */
+        private void markerPing() {
+            ping().whenComplete((ignored, error) -> {
+                synchronized (this) {
+                    if (!started.isDone()) {
+                        nextMarkerPing = scheduler.schedule(this::markerPing, Math.max(1, wsAgentPingDelayMs), MILLISECONDS);
+                    }
+                }
+            });
+        }
+
+        private void fallbackPing() {
+            ping().whenComplete((ignored, error) -> {
+                synchronized (this) {
+                    if (!started.isDone()) {
+                        pingDelayMs = Math.min(pingDelayMs * 2, Math.max(1, wsAgentPingDelayMs) * MAX_PING_DELAY_MULTIPLIER);
+                        nextPing = scheduler.schedule(this::fallbackPing, pingDelayMs, MILLISECONDS);
+                    }
+                }
+            });
+        }
+
+        private synchronized void cancelScheduled() {
+            if (nextPing != null) {
+                nextPing.cancel(false);
+            }
+            if (nextMarkerPing != null) {
+                nextMarkerPing.cancel(false);
+            }
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+        }
+    }
 }
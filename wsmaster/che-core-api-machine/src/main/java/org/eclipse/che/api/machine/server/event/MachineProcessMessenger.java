@@ -10,11 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.machine.server.event;
 
+import org.eclipse.che.api.core.notification.ChannelReplayBuffer;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.machine.shared.dto.event.MachineProcessEvent;
 import org.eclipse.che.dto.server.DtoFactory;
-import org.everrest.websockets.WSConnectionContext;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,11 +33,13 @@ import javax.inject.Singleton;
 public class MachineProcessMessenger implements EventSubscriber<MachineProcessEvent> {
     private static final Logger LOG = LoggerFactory.getLogger(MachineProcessMessenger.class);
 
-    private final EventService eventService;
+    private final EventService        eventService;
+    private final ChannelReplayBuffer channelReplayBuffer;
 
     @Inject
-    public MachineProcessMessenger(EventService eventService) {
+    public MachineProcessMessenger(EventService eventService, ChannelReplayBuffer channelReplayBuffer) {
         this.eventService = eventService;
+        this.channelReplayBuffer = channelReplayBuffer;
     }
 
     @Override
@@ -46,7 +48,7 @@ public class MachineProcessMessenger implements EventSubscriber<MachineProcessEv
             final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
             bm.setChannel("machine:process:" + event.getMachineId());
             bm.setBody(DtoFactory.getInstance().toJson(event));
-            WSConnectionContext.sendMessage(bm);
+            channelReplayBuffer.send(bm);
         } catch (Exception e) {
             LOG.error(e.getLocalizedMessage(), e);
         }
@@ -10,11 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.machine.server.event;
 
+import org.eclipse.che.api.core.notification.ChannelReplayBuffer;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.dto.server.DtoFactory;
-import org.everrest.websockets.WSConnectionContext;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,11 +33,13 @@ import javax.inject.Singleton;
 public class MachineStateMessenger implements EventSubscriber<MachineStatusEvent> {
     private static final Logger LOG = LoggerFactory.getLogger(MachineStateMessenger.class);
 
-    private final EventService eventService;
+    private final EventService        eventService;
+    private final ChannelReplayBuffer channelReplayBuffer;
 
     @Inject
-    public MachineStateMessenger(EventService eventService) {
+    public MachineStateMessenger(EventService eventService, ChannelReplayBuffer channelReplayBuffer) {
         this.eventService = eventService;
+        this.channelReplayBuffer = channelReplayBuffer;
     }
 
     @Override
@@ -46,7 +48,7 @@ public class MachineStateMessenger implements EventSubscriber<MachineStatusEvent
             final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
             bm.setChannel("machine:status:" + event.getWorkspaceId() + ':' + event.getMachineName());
             bm.setBody(DtoFactory.getInstance().toJson(event));
-            WSConnectionContext.sendMessage(bm);
+            channelReplayBuffer.send(bm);
         } catch (Exception e) {
             LOG.error(e.getLocalizedMessage(), e);
         }
@@ -0,0 +1,475 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.log;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import org.eclipse.che.api.core.util.LineConsumer;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Line oriented log which is stored in the directory as sequence of segments.
+ * <p/>
+ * Lines are appended to the current segment {@code segment-N.log} until its size reaches the limit, after that
+ * the segment is compressed to {@code segment-N.log.gz} in background and the next segment is started.
+ * Only the latest {@code maxSegments} segments are kept, older lines are dropped.
+ * <p/>
+ * Lines are numbered from 0. Sparse index which maps line numbers and timestamps to positions in segments is kept
+ * in memory and persisted to the {@code index} file, so the log can be read from any line, from the tail or since
+ * given time without reading of the preceding content. Index entry is added for the first line of each segment,
+ * every {@link #INDEX_INTERVAL} lines and for the first line written in each second. Entries of the dropped
+ * segments are pruned from the index file when segments are dropped.
+ * <p/>
+ * Log may be read concurrently with writing, see {@link #awaitLines(long, long)} for following of the live log.
+ */
+public class SegmentedLogStore implements LineConsumer {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedLogStore.class);
+
+    public static final long DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+    public static final int  DEFAULT_MAX_SEGMENTS = 16;
+
+    static final int INDEX_INTERVAL = 128;
+
+    private static final String SEGMENT_PREFIX     = "segment-";
+    private static final String SEGMENT_SUFFIX     = ".log";
+    private static final String COMPRESSED_SUFFIX  = ".log.gz";
+    private static final String INDEX_FILE         = "index";
+    private static final int    COPY_BUFFER_LENGTH = 8192;
+
+    private static final ExecutorService COMPRESSOR =
+            Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("SegmentedLogStoreCompressor")
+                                                                        .setDaemon(true)
+                                                                        .build());
+
+    /**
+     * Creates new empty log in the given directory, content left in the directory from the previous log is removed.
+     *
+     * @throws IOException
+     *         if directory or the first segment can't be created
+     */
+    public static SegmentedLogStore create(File dir) throws IOException {
+        return create(dir, DEFAULT_SEGMENT_SIZE, DEFAULT_MAX_SEGMENTS);
+    }
+
+    /**
+     * Creates new empty log in the given directory, content left in the directory from the previous log is removed.
+     *
+     * @param dir
+     *         directory of the log
+     * @param maxSegmentSize
+     *         size of segment in bytes after which new segment is started
+     * @param maxSegments
+     *         max number of segments to keep
+     * @throws IOException
+     *         if directory or the first segment can't be created
+     */
+    public static SegmentedLogStore create(File dir, long maxSegmentSize, int maxSegments) throws IOException {
+        if (maxSegmentSize <= 0 || maxSegments <= 0) {
+            throw new IllegalArgumentException("Segment size and number of segments must be positive");
+        }
+        if (dir.exists() && !IoUtil.deleteRecursive(dir)) {
+            throw new IOException("Unable to clean up log directory " + dir);
+        }
+        if (!dir.mkdirs()) {
+            throw new IOException("Unable to create log directory " + dir);
+        }
+        final SegmentedLogStore store = new SegmentedLogStore(dir, maxSegmentSize, maxSegments);
+        store.indexWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(dir, INDEX_FILE)), UTF_8));
+        store.segmentOut = store.openSegmentForWrite(0);
+        return store;
+    }
+
+    /**
+     * Opens log which was previously written to the given directory. Returned log is read only.
+     *
+     * @throws FileNotFoundException
+     *         if directory doesn't contain log
+     * @throws IOException
+     *         if index of the log can't be read
+     */
+    public static SegmentedLogStore open(File dir) throws IOException {
+        final File indexFile = new File(dir, INDEX_FILE);
+        if (!indexFile.isFile()) {
+            throw new FileNotFoundException("Log doesn't exist in " + dir);
+        }
+        final SegmentedLogStore store = new SegmentedLogStore(dir, DEFAULT_SEGMENT_SIZE, DEFAULT_MAX_SEGMENTS);
+        for (String line : Files.readAllLines(indexFile.toPath(), UTF_8)) {
+            final String[] parts = line.split(" ");
+            if (parts.length != 4) {
+                // last entry may be incomplete if the log wasn't closed properly
+                continue;
+            }
+            final IndexEntry entry = new IndexEntry(Long.parseLong(parts[0]),
+                                                    Integer.parseInt(parts[1]),
+                                                    Long.parseLong(parts[2]),
+                                                    Long.parseLong(parts[3]));
+            if (store.segmentExists(entry.segment)) {
+                store.index.add(entry);
+            }
+        }
+        if (!store.index.isEmpty()) {
+            final IndexEntry last = store.index.get(store.index.size() - 1);
+            store.currentSegment = last.segment;
+            store.lineCount = last.line + store.countLines(last);
+        }
+        store.closed = true;
+        return store;
+    }
+
+    private final File   dir;
+    private final long   maxSegmentSize;
+    private final int    maxSegments;
+
+    /* All fields below are guarded by this store. */
+    private final List<IndexEntry> index;
+    private long                   lineCount;
+    private int                    currentSegment;
+    private long                   currentSegmentSize;
+    private long                   lastIndexedLine;
+    private long                   lastIndexedSecond;
+    private OutputStream           segmentOut;
+    private Writer                 indexWriter;
+    private boolean                closed;
+
+    private SegmentedLogStore(File dir, long maxSegmentSize, int maxSegments) {
+        this.dir = dir;
+        this.maxSegmentSize = maxSegmentSize;
+        this.maxSegments = maxSegments;
+        this.index = new ArrayList<>();
+        this.lastIndexedSecond = -1;
+    }
+
+    @Override
+    public synchronized void writeLine(String line) throws IOException {
+        if (closed) {
+            throw new IOException("Log " + dir + " is closed");
+        }
+        final byte[] bytes = ((line == null ? "" : line) + '\n').getBytes(UTF_8);
+        if (currentSegmentSize > 0 && currentSegmentSize + bytes.length > maxSegmentSize) {
+            rotate();
+        }
+        final long now = System.currentTimeMillis();
+        if (currentSegmentSize == 0 || lineCount - lastIndexedLine >= INDEX_INTERVAL || now / 1000 != lastIndexedSecond) {
+            addIndexEntry(new IndexEntry(lineCount, currentSegment, currentSegmentSize, now));
+        }
+        segmentOut.write(bytes);
+        segmentOut.flush();
+        currentSegmentSize += bytes.length;
+        lineCount++;
+        notifyAll();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        notifyAll();
+        try {
+            segmentOut.close();
+        } finally {
+            indexWriter.close();
+        }
+    }
+
+    /** Returns {@code true} if no more lines are going to be written to the log. */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /** Returns number of lines written to the log including lines which were dropped with the old segments. */
+    public synchronized long getLineCount() {
+        return lineCount;
+    }
+
+    /** Returns number of the first line available in the log. */
+    public synchronized long getFirstLine() {
+        return index.isEmpty() ? lineCount : index.get(0).line;
+    }
+
+    /** Returns number of the first line which is {@code lines} lines before the end of the log. */
+    public synchronized long tail(int lines) {
+        return Math.max(getFirstLine(), lineCount - Math.max(lines, 0));
+    }
+
+    /**
+     * Returns number of the first line written not earlier than the second of the given time,
+     * or number of lines in the log if there is no such line.
+     */
+    public synchronized long since(long timeMs) {
+        final long second = timeMs / 1000;
+        // entries are appended in order of time, so the first entry of the second is found by binary search
+        int low = 0;
+        int high = index.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (index.get(mid).timestamp / 1000 >= second) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low < index.size() ? index.get(low).line : lineCount;
+    }
+
+    /**
+     * Waits until the log contains more than {@code line} lines or is closed.
+     *
+     * @return number of lines in the log
+     */
+    public synchronized long awaitLines(long line, long timeoutMs) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutMs;
+        long remaining = timeoutMs;
+        while (lineCount <= line && !closed && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        return lineCount;
+    }
+
+    /**
+     * Copies lines of the log to the given writer, each line is followed by line separator.
+     * Writer is not flushed, so the caller decides how often copied lines are sent.
+     *
+     * @param fromLine
+     *         number of the first line to copy, if the line was already dropped copying starts from the first available line
+     * @param limit
+     *         max number of lines to copy, negative value means all lines available at the moment of call
+     * @param out
+     *         writer to copy lines to
+     * @return number of the line which follows the last copied line
+     * @throws IOException
+     *         if an I/O error occurs
+     */
+    public long read(long fromLine, int limit, Writer out) throws IOException {
+        final IndexEntry start;
+        final long endLine;
+        long line;
+        synchronized (this) {
+            line = Math.max(fromLine, getFirstLine());
+            endLine = limit < 0 ? lineCount : Math.min(lineCount, line + limit);
+            if (line >= endLine) {
+                return line;
+            }
+            start = findEntry(line);
+        }
+        int segment = start.segment;
+        long skip = line - start.line;
+        BufferedReader reader = openSegmentForRead(segment, start.offset);
+        try {
+            while (line < endLine) {
+                final String text = reader.readLine();
+                if (text == null) {
+                    reader.close();
+                    reader = openSegmentForRead(++segment, 0);
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                out.write(text);
+                out.write('\n');
+                line++;
+            }
+        } finally {
+            reader.close();
+        }
+        return line;
+    }
+
+    private void rotate() throws IOException {
+        segmentOut.close();
+        final int finished = currentSegment;
+        COMPRESSOR.execute(() -> compress(finished));
+        currentSegment++;
+        segmentOut = openSegmentForWrite(currentSegment);
+        currentSegmentSize = 0;
+        final int oldest = currentSegment - maxSegments + 1;
+        boolean pruned = false;
+        while (!index.isEmpty() && index.get(0).segment < oldest) {
+            final int dropped = index.remove(0).segment;
+            pruned = true;
+            if (index.isEmpty() || index.get(0).segment != dropped) {
+                deleteSegment(dropped);
+            }
+        }
+        if (pruned) {
+            rewriteIndex();
+        }
+    }
+
+    private void addIndexEntry(IndexEntry entry) throws IOException {
+        index.add(entry);
+        lastIndexedLine = entry.line;
+        lastIndexedSecond = entry.timestamp / 1000;
+        writeIndexEntry(indexWriter, entry);
+        indexWriter.flush();
+    }
+
+    /** Replaces index file with the entries of the kept segments, so the file doesn't grow with the dropped ones. */
+    private void rewriteIndex() throws IOException {
+        indexWriter.close();
+        final File indexFile = new File(dir, INDEX_FILE);
+        final File tmp = new File(dir, INDEX_FILE + ".tmp");
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tmp), UTF_8))) {
+            for (IndexEntry entry : index) {
+                writeIndexEntry(writer, entry);
+            }
+        }
+        Files.move(tmp.toPath(), indexFile.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+        indexWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(indexFile, true), UTF_8));
+    }
+
+    private static void writeIndexEntry(Writer writer, IndexEntry entry) throws IOException {
+        writer.write(entry.line + " " + entry.segment + ' ' + entry.offset + ' ' + entry.timestamp + '\n');
+    }
+
+    /** Returns the last index entry which points to the line before or equal to the given one. */
+    private IndexEntry findEntry(long line) {
+        int low = 0;
+        int high = index.size() - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (index.get(mid).line <= line) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return index.get(low);
+    }
+
+    private long countLines(IndexEntry from) throws IOException {
+        long count = 0;
+        try (BufferedReader reader = openSegmentForRead(from.segment, from.offset)) {
+            while (reader.readLine() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private OutputStream openSegmentForWrite(int segment) throws IOException {
+        return new BufferedOutputStream(new FileOutputStream(segmentFile(segment)), COPY_BUFFER_LENGTH);
+    }
+
+    private BufferedReader openSegmentForRead(int segment, long offset) throws IOException {
+        InputStream in;
+        try {
+            in = new FileInputStream(segmentFile(segment));
+        } catch (FileNotFoundException e) {
+            // segment was compressed in the meantime
+            in = new GZIPInputStream(new FileInputStream(compressedSegmentFile(segment)), COPY_BUFFER_LENGTH);
+        }
+        try {
+            long toSkip = offset;
+            while (toSkip > 0) {
+                final long skipped = in.skip(toSkip);
+                if (skipped <= 0) {
+                    throw new IOException("Segment " + segment + " of log " + dir + " is truncated");
+                }
+                toSkip -= skipped;
+            }
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+        return new BufferedReader(new InputStreamReader(in, UTF_8), COPY_BUFFER_LENGTH);
+    }
+
+    private boolean segmentExists(int segment) {
+        return segmentFile(segment).isFile() || compressedSegmentFile(segment).isFile();
+    }
+
+    private void compress(int segment) {
+        final File source = segmentFile(segment);
+        final File target = compressedSegmentFile(segment);
+        final File tmp = new File(dir, target.getName() + ".tmp");
+        try {
+            try (InputStream in = new FileInputStream(source);
+                 OutputStream out = new GZIPOutputStream(new FileOutputStream(tmp), COPY_BUFFER_LENGTH)) {
+                final byte[] buf = new byte[COPY_BUFFER_LENGTH];
+                int r;
+                while ((r = in.read(buf)) != -1) {
+                    out.write(buf, 0, r);
+                }
+            }
+            // readers which already opened the plain segment keep reading it
+            if (!tmp.renameTo(target) || !source.delete()) {
+                LOG.warn("Unable to replace segment {} of log {} with compressed one", segment, dir);
+            }
+        } catch (FileNotFoundException e) {
+            // segment was dropped before it was compressed
+            tmp.delete();
+        } catch (IOException e) {
+            LOG.warn("Unable to compress segment {} of log {}. {}", segment, dir, e.getMessage());
+            tmp.delete();
+        }
+    }
+
+    private void deleteSegment(int segment) {
+        COMPRESSOR.execute(() -> {
+            segmentFile(segment).delete();
+            compressedSegmentFile(segment).delete();
+        });
+    }
+
+    private File segmentFile(int segment) {
+        return new File(dir, SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+    }
+
+    private File compressedSegmentFile(int segment) {
+        return new File(dir, SEGMENT_PREFIX + segment + COMPRESSED_SUFFIX);
+    }
+
+    private static class IndexEntry {
+        final long line;
+        final int  segment;
+        final long offset;
+        final long timestamp;
+
+        IndexEntry(long line, int segment, long offset, long timestamp) {
+            this.line = line;
+            this.segment = segment;
+            this.offset = offset;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -10,7 +10,7 @@
  *******************************************************************************/
 package org.eclipse.che.api.machine.server.proxy;
 
-import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -20,9 +20,11 @@ import org.eclipse.che.api.machine.server.MachineManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import javax.servlet.AsyncContext;
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -33,14 +35,36 @@ import java.io.OutputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.Enumeration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import static javax.servlet.http.HttpServletResponse.SC_BAD_GATEWAY;
+import static javax.servlet.http.HttpServletResponse.SC_GATEWAY_TIMEOUT;
 import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
 
 /**
  * Routes requests to extension API hosted in machine
+ * <p/>
+ * When container supports asynchronous processing request is detached from the container thread
+ * and proxied by the bounded pool of size {@code machine.proxy.max_threads}, so slow agents and
+ * large downloads don't exhaust container threads. Entities are streamed in both directions through
+ * fixed size buffers and connections to machines are kept alive between requests.
+ * Latency and throughput of proxied requests are collected by {@link MachineProxyMetrics}.
+ * <p/>
+ * Connection to the machine is blocking, so the pool thread copies entities with blocking I/O instead of
+ * servlet non-blocking listeners, and it is the only thread which touches the servlet request and response.
+ * Transfers are not limited in time, but when {@code machine.proxy.idle_timeout_ms} is positive connection
+ * to the machine which makes no progress for that time is broken and request is answered with
+ * 504 Gateway Timeout unless response is already committed. Stalled clients are limited by connection
+ * timeout of the servlet container.
  *
  * @author Alexander Garagatyi
  */
@@ -49,14 +73,48 @@ public class MachineExtensionProxyServlet extends HttpServlet {
     private static final Logger  LOG               = LoggerFactory.getLogger(MachineExtensionProxyServlet.class);
     private static final String WORKSPACE_ID_PATTERN = "([^/]+)";
     private static final Pattern EXTENSION_API_URI = Pattern.compile(".*?/ext/([^/]+/" + WORKSPACE_ID_PATTERN + "/?.*|" + WORKSPACE_ID_PATTERN + "/)");
+    private static final int     BUFFER_SIZE       = 8192;
 
-    private final String         wsAgentPort;
-    private final MachineManager machineManager;
+    private final String                   wsAgentPort;
+    private final long                     idleTimeoutMs;
+    private final MachineManager           machineManager;
+    private final MachineProxyMetrics      metrics;
+    private final ThreadPoolExecutor       executor;
+    private final Set<ProxiedRequest>      activeRequests;
+    private final ScheduledExecutorService idleChecker;
 
     @Inject
-    public MachineExtensionProxyServlet(@Named("machine.extension.api_port") String wsAgentPort, MachineManager machineManager) {
+    public MachineExtensionProxyServlet(@Named("machine.extension.api_port") String wsAgentPort,
+                                        @Named("machine.proxy.max_threads") int maxThreads,
+                                        @Named("machine.proxy.idle_timeout_ms") long idleTimeoutMs,
+                                        MachineManager machineManager,
+                                        MachineProxyMetrics metrics) {
         this.wsAgentPort = wsAgentPort;
+        this.idleTimeoutMs = idleTimeoutMs;
         this.machineManager = machineManager;
+        this.metrics = metrics;
+        this.executor = new ThreadPoolExecutor(maxThreads,
+                                               maxThreads,
+                                               60L,
+                                               TimeUnit.SECONDS,
+                                               new ArrayBlockingQueue<>(maxThreads * 4),
+                                               new ThreadFactoryBuilder().setNameFormat("MachineExtensionProxy-%d")
+                                                                         .setDaemon(true)
+                                                                         .build());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.activeRequests = ConcurrentHashMap.newKeySet();
+        if (idleTimeoutMs > 0) {
+            final long period = Math.max(idleTimeoutMs / 4, 1);
+            this.idleChecker = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("MachineProxyIdleChecker")
+                                                                                                    .setDaemon(true)
+                                                                                                    .build());
+            this.idleChecker.scheduleWithFixedDelay(() -> breakIdleRequests(System.currentTimeMillis()),
+                                                    period,
+                                                    period,
+                                                    TimeUnit.MILLISECONDS);
+        } else {
+            this.idleChecker = null;
+        }
     }
 
     // fixme secure request to another's machine
@@ -69,28 +127,111 @@ public class MachineExtensionProxyServlet extends HttpServlet {
 
     @Override
     public void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        final ProxiedRequest proxied = new ProxiedRequest();
+        if (!req.isAsyncSupported()) {
+            proxy(req, resp, proxied);
+            return;
+        }
+
+        final AsyncContext asyncContext = req.startAsync();
+        // transfers aren't limited in time, connections to machines which make no progress are broken by idle checker
+        asyncContext.setTimeout(0);
         try {
-            HttpURLConnection conn = prepareProxyConnection(req);
+            executor.execute(() -> {
+                try {
+                    proxy(req, resp, proxied);
+                } catch (IOException e) {
+                    LOG.debug(e.getLocalizedMessage(), e);
+                } finally {
+                    asyncContext.complete();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            resp.sendError(SC_SERVICE_UNAVAILABLE, "Request can't be forwarded to machine. Too many concurrent requests.");
+            asyncContext.complete();
+        }
+    }
 
-            try {
-                conn.connect();
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+        if (idleChecker != null) {
+            idleChecker.shutdownNow();
+        }
+    }
 
-                setResponse(resp, conn);
-            } catch (IOException e) {
-                resp.sendError(SC_BAD_GATEWAY, "Request can't be forwarded to machine. " + e.getLocalizedMessage());
-            } finally {
-                conn.disconnect();
+    /**
+     * Breaks connections to machines of the requests which made no progress for {@code machine.proxy.idle_timeout_ms}
+     * until the given time, so proxy threads blocked on them are released.
+     */
+    void breakIdleRequests(long now) {
+        for (ProxiedRequest proxied : activeRequests) {
+            if (now - proxied.lastProgress >= idleTimeoutMs) {
+                proxied.timeOut();
             }
+        }
+    }
 
+    /** Proxies request to the machine. */
+    private void proxy(HttpServletRequest req, HttpServletResponse resp, ProxiedRequest proxied) throws IOException {
+        final long start = System.currentTimeMillis();
+        final Matcher matcher = EXTENSION_API_URI.matcher(req.getRequestURI());
+        final Machine machine;
+        try {
+            machine = getMachine(matcher);
         } catch (NotFoundException e) {
             resp.sendError(SC_SERVICE_UNAVAILABLE, "Request can't be forwarded to machine. " + e.getLocalizedMessage());
+            return;
+        } catch (ServerException e) {
+            resp.sendError(SC_BAD_GATEWAY, "Request can't be forwarded to machine. " + e.getLocalizedMessage());
+            return;
+        }
+
+        final HttpURLConnection conn;
+        try {
+            conn = prepareProxyConnection(req, matcher, machine);
         } catch (ServerException e) {
+            final long end = System.currentTimeMillis();
+            metrics.record(machine.getId(), end - start, end - start, 0, 0, true);
             resp.sendError(SC_BAD_GATEWAY, "Request can't be forwarded to machine. " + e.getLocalizedMessage());
+            return;
+        }
+
+        proxied.connection = conn;
+        proxied.lastProgress = start;
+        activeRequests.add(proxied);
+        try {
+            sendEntity(req, conn, proxied);
+            conn.connect();
+
+            setResponse(resp, conn, proxied);
+        } catch (IOException e) {
+            proxied.failed = true;
+            // connection is in undefined state, so it must not be reused
+            conn.disconnect();
+            if (resp.isCommitted()) {
+                // part of the response is already sent to the client, so the only way to report error is to break transfer
+                throw e;
+            }
+            if (proxied.timedOut) {
+                resp.sendError(SC_GATEWAY_TIMEOUT, "Request can't be forwarded to machine. Machine didn't respond in time.");
+            } else {
+                resp.sendError(SC_BAD_GATEWAY, "Request can't be forwarded to machine. " + e.getLocalizedMessage());
+            }
+        } finally {
+            activeRequests.remove(proxied);
+            final long end = System.currentTimeMillis();
+            metrics.record(machine.getId(),
+                           (proxied.headersReceived == 0 ? end : proxied.headersReceived) - start,
+                           end - start,
+                           proxied.bytesSent,
+                           proxied.bytesReceived,
+                           proxied.failed);
         }
     }
 
-    private HttpURLConnection prepareProxyConnection(HttpServletRequest req) throws NotFoundException, ServerException {
-        String extensionApiUrl = getExtensionApiUrl(req);
+    private HttpURLConnection prepareProxyConnection(HttpServletRequest req, Matcher matcher, Machine machine) throws ServerException {
+        String extensionApiUrl = getExtensionApiUrl(req, matcher, machine);
         try {
             final HttpURLConnection conn = (HttpURLConnection)new URL(extensionApiUrl).openConnection();
 
@@ -101,10 +242,14 @@ public class MachineExtensionProxyServlet extends HttpServlet {
             if ("POST".equals(req.getMethod()) || "PUT".equals(req.getMethod()) || "DELETE".equals(req.getMethod())) {
                 if (req.getInputStream() != null) {
                     conn.setDoOutput(true);
-
-                    try (InputStream is = req.getInputStream();
-                         OutputStream os = conn.getOutputStream()) {
-                        ByteStreams.copy(is, os);
+                    // stream entity instead of buffering it in memory which HttpURLConnection does by default
+                    final long contentLength = req.getContentLengthLong();
+                    if (contentLength >= 0) {
+                        conn.setFixedLengthStreamingMode(contentLength);
+                    } else if ("chunked".equalsIgnoreCase(req.getHeader("Transfer-Encoding"))) {
+                        conn.setChunkedStreamingMode(BUFFER_SIZE);
+                    } else {
+                        conn.setFixedLengthStreamingMode(0);
                     }
                 }
             }
@@ -116,16 +261,15 @@ public class MachineExtensionProxyServlet extends HttpServlet {
         }
     }
 
-    private String getExtensionApiUrl(HttpServletRequest req) throws NotFoundException, ServerException {
-        String workspaceId;
-        final Matcher matcher = EXTENSION_API_URI.matcher(req.getRequestURI());
-        if (matcher.matches()) {
-            workspaceId = matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
-        } else {
+    private Machine getMachine(Matcher matcher) throws NotFoundException, ServerException {
+        if (!matcher.matches()) {
             throw new NotFoundException("No workspace id is found in request.");
         }
+        final String workspaceId = matcher.group(2) != null ? matcher.group(2) : matcher.group(3);
+        return machineManager.getDevMachine(workspaceId);
+    }
 
-        final Machine machine = machineManager.getDevMachine(workspaceId);
+    private String getExtensionApiUrl(HttpServletRequest req, Matcher matcher, Machine machine) throws ServerException {
         final Server server = machine.getRuntime().getServers().get(wsAgentPort);
         if (server == null) {
             throw new ServerException("No extension server found in machine.");
@@ -150,41 +294,66 @@ public class MachineExtensionProxyServlet extends HttpServlet {
         return uriBuilder.build().toString();
     }
 
-    private void setResponse(HttpServletResponse resp, HttpURLConnection conn) throws ServerException {
-        try {
-            final int responseCode = conn.getResponseCode();
+    /** Streams entity of the request to the machine through the fixed size buffer. */
+    private void sendEntity(HttpServletRequest req, HttpURLConnection conn, ProxiedRequest proxied) throws IOException {
+        if (!conn.getDoOutput()) {
+            return;
+        }
+        final InputStream is = req.getInputStream();
+        try (OutputStream os = conn.getOutputStream()) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                os.write(buffer, 0, read);
+                proxied.progress(read, 0);
+            }
+        }
+    }
 
-            resp.setStatus(responseCode);
+    private void setResponse(HttpServletResponse resp, HttpURLConnection conn, ProxiedRequest proxied) throws IOException {
+        final int responseCode = conn.getResponseCode();
+        proxied.checkActive();
+        proxied.headersReceived = System.currentTimeMillis();
+        proxied.lastProgress = proxied.headersReceived;
 
-            InputStream responseStream;
-            if (responseCode / 100 == 2 && responseCode != 204) {
-                responseStream = conn.getInputStream();
-            } else {
-                responseStream = conn.getErrorStream();
-            }
+        InputStream responseStream;
+        if (responseCode / 100 == 2 && responseCode != 204) {
+            responseStream = conn.getInputStream();
+        } else {
+            responseStream = conn.getErrorStream();
+        }
+
+        resp.setStatus(responseCode);
 
-            // copy headers from proxy response to origin response
-            conn.getHeaderFields()
-                .entrySet()
-                .stream()
-                .filter(header -> !skipHeader(header.getKey()))
-                .forEach(header -> {
-                    for (String headerValue : header.getValue()) {
-                        resp.addHeader(header.getKey(), headerValue);
+        // copy headers from proxy response to origin response
+        conn.getHeaderFields()
+            .entrySet()
+            .stream()
+            .filter(header -> !skipHeader(header.getKey()))
+            .forEach(header -> {
+                for (String headerValue : header.getValue()) {
+                    resp.addHeader(header.getKey(), headerValue);
+                }
+            });
+
+        if (responseStream != null) {
+            // copy content of input or error stream from destination response to output stream of origin response
+            // through the fixed size buffer flushing output each time when no more input is immediately available,
+            // stream is read till the end and closed so the connection is returned to the keep-alive cache
+            final OutputStream os = resp.getOutputStream();
+            try (InputStream is = responseStream) {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                int read;
+                while ((read = is.read(buffer)) != -1) {
+                    os.write(buffer, 0, read);
+                    if (is.available() == 0) {
+                        os.flush();
                     }
-                });
-
-            if (responseStream != null) {
-                // copy content of input or error stream from destination response to output stream of origin response
-                try (OutputStream os = resp.getOutputStream();
-                     InputStream is = responseStream) {
-                    ByteStreams.copy(is, os);
-                    os.flush();
+                    proxied.progress(0, read);
                 }
             }
-        } catch (IOException e) {
-            LOG.error(e.getLocalizedMessage(), e);
-            throw new ServerException(e.getLocalizedMessage());
+            proxied.checkActive();
+            os.flush();
         }
     }
 
@@ -225,4 +394,41 @@ public class MachineExtensionProxyServlet extends HttpServlet {
                headerName.equalsIgnoreCase("Transfer-Encoding") ||
                headerName.equalsIgnoreCase("Upgrade");
     }
+
+    /** State of the single request shared by the proxy thread and the idle checker. */
+    private static class ProxiedRequest {
+        long    headersReceived;
+        long    bytesSent;
+        long    bytesReceived;
+        boolean failed;
+
+        volatile long              lastProgress;
+        volatile boolean           timedOut;
+        volatile HttpURLConnection connection;
+
+        void progress(long sent, long received) throws IOException {
+            checkActive();
+            bytesSent += sent;
+            bytesReceived += received;
+            lastProgress = System.currentTimeMillis();
+        }
+
+        /**
+         * Breaks connection to the machine, so blocked proxy thread fails. Connection may be broken again
+         * by the next check if it is still blocked, e.g. when HttpURLConnection retries idempotent request.
+         */
+        void timeOut() {
+            timedOut = true;
+            final HttpURLConnection conn = connection;
+            if (conn != null) {
+                conn.disconnect();
+            }
+        }
+
+        void checkActive() throws IOException {
+            if (timedOut) {
+                throw new IOException("Request to machine timed out.");
+            }
+        }
+    }
 }
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.proxy;
+
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects latency and throughput of requests proxied by {@link MachineExtensionProxyServlet} per machine.
+ * Statistic of the machine is dropped when the machine is destroyed.
+ */
+@Singleton
+public class MachineProxyMetrics implements EventSubscriber<MachineStatusEvent> {
+    private final ConcurrentMap<String, Stats> stats;
+    private final EventService                 eventService;
+
+    @Inject
+    public MachineProxyMetrics(EventService eventService) {
+        this.eventService = eventService;
+        this.stats = new ConcurrentHashMap<>();
+    }
+
+    @PostConstruct
+    private void subscribe() {
+        eventService.subscribe(this);
+    }
+
+    @PreDestroy
+    private void unsubscribe() {
+        eventService.unsubscribe(this);
+    }
+
+    @Override
+    public void onEvent(MachineStatusEvent event) {
+        if (event.getEventType() == MachineStatusEvent.EventType.DESTROYED) {
+            stats.remove(event.getMachineId());
+        }
+    }
+
+    /**
+     * Records single proxied request.
+     *
+     * @param machineId
+     *         id of the machine request was proxied to
+     * @param latencyMs
+     *         time between receiving of the request and receiving of the response headers from the machine
+     * @param transferMs
+     *         whole time spent on the request including transfer of the entities
+     * @param bytesSent
+     *         number of bytes of request entity sent to the machine
+     * @param bytesReceived
+     *         number of bytes of response entity received from the machine
+     * @param failed
+     *         whether request failed
+     */
+    public void record(String machineId, long latencyMs, long transferMs, long bytesSent, long bytesReceived, boolean failed) {
+        Stats machineStats = stats.get(machineId);
+        if (machineStats == null) {
+            final Stats newStats = new Stats();
+            machineStats = stats.putIfAbsent(machineId, newStats);
+            if (machineStats == null) {
+                machineStats = newStats;
+            }
+        }
+        machineStats.add(latencyMs, transferMs, bytesSent, bytesReceived, failed);
+    }
+
+    /** Returns statistic of requests proxied to the machine or {@code null} if there were no such requests. */
+    public Stats getStats(String machineId) {
+        return stats.get(machineId);
+    }
+
+    /** Returns statistic of all machines, key is machine id. */
+    public Map<String, Stats> getAllStats() {
+        return Collections.unmodifiableMap(new HashMap<>(stats));
+    }
+
+    /** Accumulated statistic of the requests proxied to one machine. */
+    public static class Stats {
+        private final AtomicLong requests      = new AtomicLong();
+        private final AtomicLong failures      = new AtomicLong();
+        private final AtomicLong latencyMs     = new AtomicLong();
+        private final AtomicLong maxLatencyMs  = new AtomicLong();
+        private final AtomicLong transferMs    = new AtomicLong();
+        private final AtomicLong bytesSent     = new AtomicLong();
+        private final AtomicLong bytesReceived = new AtomicLong();
+
+        void add(long latency, long transfer, long sent, long received, boolean failed) {
+            requests.incrementAndGet();
+            if (failed) {
+                failures.incrementAndGet();
+            }
+            latencyMs.addAndGet(latency);
+            transferMs.addAndGet(transfer);
+            bytesSent.addAndGet(sent);
+            bytesReceived.addAndGet(received);
+            long max;
+            while ((max = maxLatencyMs.get()) < latency && !maxLatencyMs.compareAndSet(max, latency)) {
+                // retry until max latency is updated
+            }
+        }
+
+        public long getRequests() {
+            return requests.get();
+        }
+
+        public long getFailures() {
+            return failures.get();
+        }
+
+        public long getAverageLatencyMs() {
+            final long count = requests.get();
+            return count == 0 ? 0 : latencyMs.get() / count;
+        }
+
+        public long getMaxLatencyMs() {
+            return maxLatencyMs.get();
+        }
+
+        public long getBytesSent() {
+            return bytesSent.get();
+        }
+
+        public long getBytesReceived() {
+            return bytesReceived.get();
+        }
+
+        /** Returns average number of bytes transferred in both directions per second of the proxying. */
+        public long getThroughputBytesPerSecond() {
+            final long time = transferMs.get();
+            return time == 0 ? 0 : (bytesSent.get() + bytesReceived.get()) * 1000 / time;
+        }
+    }
+}
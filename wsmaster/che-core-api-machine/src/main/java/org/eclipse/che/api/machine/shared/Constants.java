@@ -41,6 +41,9 @@ public class Constants {
 
     public static final String TERMINAL_REFERENCE                  = "terminal";
 
+    /** Response header which contains number of the line to continue reading of machine or process logs from. */
+    public static final String LOGS_NEXT_OFFSET_HEADER             = "X-Logs-Next-Offset";
+
     private Constants() {
     }
 
@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.shared.dto;
+
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Statistic of the requests proxied from workspace master to the extension API of the machine.
+ */
+@DTO
+public interface MachineProxyStatsDto {
+    /** Number of proxied requests. */
+    long getRequests();
+
+    void setRequests(long requests);
+
+    MachineProxyStatsDto withRequests(long requests);
+
+    /** Number of requests which failed because machine can't be reached or the transfer was broken. */
+    long getFailures();
+
+    void setFailures(long failures);
+
+    MachineProxyStatsDto withFailures(long failures);
+
+    /** Average time in milliseconds before response headers are received from the machine. */
+    long getAverageLatencyMs();
+
+    void setAverageLatencyMs(long averageLatencyMs);
+
+    MachineProxyStatsDto withAverageLatencyMs(long averageLatencyMs);
+
+    /** Maximal time in milliseconds before response headers are received from the machine. */
+    long getMaxLatencyMs();
+
+    void setMaxLatencyMs(long maxLatencyMs);
+
+    MachineProxyStatsDto withMaxLatencyMs(long maxLatencyMs);
+
+    /** Number of bytes of request entities sent to the machine. */
+    long getBytesSent();
+
+    void setBytesSent(long bytesSent);
+
+    MachineProxyStatsDto withBytesSent(long bytesSent);
+
+    /** Number of bytes of response entities received from the machine. */
+    long getBytesReceived();
+
+    void setBytesReceived(long bytesReceived);
+
+    MachineProxyStatsDto withBytesReceived(long bytesReceived);
+
+    /** Average number of bytes transferred in both directions per second of the proxying. */
+    long getThroughputBytesPerSecond();
+
+    void setThroughputBytesPerSecond(long throughputBytesPerSecond);
+
+    MachineProxyStatsDto withThroughputBytesPerSecond(long throughputBytesPerSecond);
+}
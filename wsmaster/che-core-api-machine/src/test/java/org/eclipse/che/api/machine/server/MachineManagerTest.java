@@ -15,9 +15,11 @@ import org.eclipse.che.api.core.model.machine.Limits;
 import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
+import org.eclipse.che.api.core.notification.ChannelReplayBuffer;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.machine.server.dao.SnapshotDao;
+import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.LimitsImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
@@ -25,10 +27,13 @@ import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
 import org.eclipse.che.api.machine.server.model.impl.ServerConfImpl;
 import org.eclipse.che.api.machine.server.recipe.RecipeImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
+import org.eclipse.che.api.machine.server.spi.InstanceNode;
 import org.eclipse.che.api.machine.server.spi.InstanceProvider;
+import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.user.UserImpl;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
 import org.testng.annotations.AfterMethod;
@@ -42,6 +47,9 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
@@ -50,9 +58,12 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Unit tests for {@link MachineManager}
@@ -80,13 +91,14 @@ public class MachineManagerTest {
     private Instance                 instance;
     @Mock
     private Limits                   limits;
+    @Mock
+    private EventService             eventService;
 
     private MachineManager manager;
 
     @BeforeMethod
     public void setUp() throws Exception {
         final SnapshotDao snapshotDao = mock(SnapshotDao.class);
-        final EventService eventService = mock(EventService.class);
         final String machineLogsDir = targetDir().resolve("logs-dir").toString();
         IoUtil.deleteRecursive(new File(machineLogsDir));
         manager = spy(new MachineManager(snapshotDao,
@@ -96,7 +108,10 @@ public class MachineManagerTest {
                                          eventService,
                                          DEFAULT_MACHINE_MEMORY_SIZE_MB,
                                          "apiEndpoint",
-                                         wsAgentLauncher));
+                                         wsAgentLauncher,
+                                         2,
+                                         1,
+                                         mock(ChannelReplayBuffer.class)));
 
         EnvironmentContext envCont = new EnvironmentContext();
         envCont.setUser(new UserImpl(null, USER_ID, null, null, false));
@@ -109,6 +124,7 @@ public class MachineManagerTest {
         when(machineInstanceProviders.getProvider(anyString())).thenReturn(instanceProvider);
         when(instanceProvider.createInstance(eq(recipe), any(Machine.class), any(LineConsumer.class))).thenReturn(instance);
         when(machineRegistry.getInstance(anyString())).thenReturn(instance);
+        when(wsAgentLauncher.startWsAgentAsync(anyString())).thenReturn(CompletableFuture.completedFuture(null));
     }
 
     @AfterMethod
@@ -170,7 +186,7 @@ public class MachineManagerTest {
 
         manager.createMachineSync(machineConfig, WS_ID, ENVIRONMENT_NAME);
 
-        verify(wsAgentLauncher).startWsAgent(WS_ID);
+        verify(wsAgentLauncher).startWsAgentAsync(WS_ID);
     }
 
     @Test
@@ -179,7 +195,82 @@ public class MachineManagerTest {
 
         manager.createMachineSync(machineConfig, WS_ID, ENVIRONMENT_NAME);
 
-        verify(wsAgentLauncher, never()).startWsAgent(WS_ID);
+        verify(wsAgentLauncher, never()).startWsAgentAsync(WS_ID);
+    }
+
+    @Test(expectedExceptions = MachineException.class, expectedExceptionsMessageRegExp = "agent failed")
+    public void shouldDestroyDevMachineIfWsAgentFailsToStart() throws Exception {
+        final CompletableFuture<Void> agentStarted = new CompletableFuture<>();
+        agentStarted.completeExceptionally(new MachineException("agent failed"));
+        when(wsAgentLauncher.startWsAgentAsync(WS_ID)).thenReturn(agentStarted);
+        final MachineConfigImpl machineConfig = MachineConfigImpl.builder()
+                                                                 .fromConfig(createMachineConfig())
+                                                                 .setDev(true)
+                                                                 .build();
+
+        try {
+            manager.createMachineSync(machineConfig, WS_ID, ENVIRONMENT_NAME);
+        } finally {
+            verify(instance).destroy();
+            verify(machineRegistry).remove(MACHINE_ID);
+        }
+    }
+
+    @Test
+    public void shouldPublishRunningEventOfAsyncCreatedDevMachineWhenWsAgentIsStarted() throws Exception {
+        final CompletableFuture<Void> agentStarted = new CompletableFuture<>();
+        when(wsAgentLauncher.startWsAgentAsync(WS_ID)).thenReturn(agentStarted);
+        final MachineConfigImpl machineConfig = MachineConfigImpl.builder()
+                                                                 .fromConfig(createMachineConfig())
+                                                                 .setDev(true)
+                                                                 .build();
+
+        manager.createMachineAsync(machineConfig, WS_ID, ENVIRONMENT_NAME);
+        verify(wsAgentLauncher, timeout(1000)).startWsAgentAsync(WS_ID);
+        verify(eventService).publish(any(MachineStatusEvent.class));
+        agentStarted.complete(null);
+
+        final ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(eventService, timeout(1000).times(2)).publish(eventCaptor.capture());
+        assertEquals(((MachineStatusEvent)eventCaptor.getAllValues().get(1)).getEventType(), MachineStatusEvent.EventType.RUNNING);
+    }
+
+    @Test
+    public void shouldNotDelaySnapshotsOfOtherNodesWhileNodeIsBusy() throws Exception {
+        final CountDownLatch saving = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Instance busy = mockInstance("busy", "node1");
+        final Instance queued = mockInstance("queued", "node1");
+        final Instance other = mockInstance("other", "node2");
+        when(busy.saveToSnapshot(USER_ID)).thenAnswer(invocation -> {
+            saving.countDown();
+            release.await();
+            return null;
+        });
+
+        try {
+            manager.saveAsync("busy", USER_ID, null);
+            assertTrue(saving.await(1, TimeUnit.SECONDS));
+            manager.saveAsync("queued", USER_ID, null);
+            manager.saveAsync("other", USER_ID, null);
+
+            verify(other, timeout(1000)).saveToSnapshot(USER_ID);
+            verify(queued, never()).saveToSnapshot(USER_ID);
+        } finally {
+            release.countDown();
+        }
+        verify(queued, timeout(1000)).saveToSnapshot(USER_ID);
+    }
+
+    private Instance mockInstance(String machineId, String host) throws Exception {
+        final Instance instance = mock(Instance.class);
+        final InstanceNode node = mock(InstanceNode.class);
+        when(node.getHost()).thenReturn(host);
+        when(instance.getNode()).thenReturn(node);
+        when(instance.getOwner()).thenReturn(USER_ID);
+        doReturn(createMachineConfig()).when(instance).getConfig();
+        when(machineRegistry.getInstance(machineId)).thenReturn(instance);
+        return instance;
     }
 
     private static Path targetDir() throws Exception {
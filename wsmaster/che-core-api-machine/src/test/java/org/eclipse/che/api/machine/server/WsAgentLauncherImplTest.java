@@ -18,6 +18,7 @@ import org.eclipse.che.api.core.model.machine.Server;
 import org.eclipse.che.api.core.rest.HttpJsonRequest;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonResponse;
+import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.CommandImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
@@ -35,15 +36,22 @@ import javax.ws.rs.core.UriBuilder;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 @Listeners(MockitoTestNGListener.class)
 public class WsAgentLauncherImplTest {
@@ -106,7 +114,8 @@ public class WsAgentLauncherImplTest {
                                     eq(new CommandImpl(WsAgentLauncherImpl.WS_AGENT_PROCESS_NAME,
                                                        WS_AGENT_START_CMD_LINE,
                                                        "Arbitrary")),
-                                    eq(WsAgentLauncherImpl.getWsAgentProcessOutputChannel(WS_ID)));
+                                    eq(WsAgentLauncherImpl.getWsAgentProcessOutputChannel(WS_ID)),
+                                    any(LineConsumer.class));
 
     }
 
@@ -194,7 +203,7 @@ public class WsAgentLauncherImplTest {
 
     @Test(expectedExceptions = NotFoundException.class, expectedExceptionsMessageRegExp = "Test exception")
     public void shouldThrowNotFoundExceptionIfMachineManagerExecInDevMachineThrowsNotFoundException() throws Exception {
-        when(machineManager.exec(anyString(), any(Command.class), anyString())).thenThrow(new NotFoundException("Test exception"));
+        when(machineManager.exec(anyString(), any(Command.class), anyString(), any(LineConsumer.class))).thenThrow(new NotFoundException("Test exception"));
 
         wsAgentLauncher.startWsAgent(WS_ID);
 
@@ -203,7 +212,7 @@ public class WsAgentLauncherImplTest {
 
     @Test(expectedExceptions = MachineException.class, expectedExceptionsMessageRegExp = "Test exception")
     public void shouldThrowMachineExceptionIfMachineManagerExecInDevMachineThrowsMachineException() throws Exception {
-        when(machineManager.exec(anyString(), any(Command.class), anyString())).thenThrow(new MachineException("Test exception"));
+        when(machineManager.exec(anyString(), any(Command.class), anyString(), any(LineConsumer.class))).thenThrow(new MachineException("Test exception"));
 
         wsAgentLauncher.startWsAgent(WS_ID);
 
@@ -212,7 +221,7 @@ public class WsAgentLauncherImplTest {
 
     @Test(expectedExceptions = MachineException.class, expectedExceptionsMessageRegExp = "Test exception")
     public void shouldThrowMachineExceptionIfMachineManagerExecInDevMachineThrowsBadRequestException() throws Exception {
-        when(machineManager.exec(anyString(), any(Command.class), anyString())).thenThrow(new BadRequestException("Test exception"));
+        when(machineManager.exec(anyString(), any(Command.class), anyString(), any(LineConsumer.class))).thenThrow(new BadRequestException("Test exception"));
 
         wsAgentLauncher.startWsAgent(WS_ID);
 
@@ -226,4 +235,94 @@ public class WsAgentLauncherImplTest {
 
         wsAgentLauncher.startWsAgent(WS_ID);
     }
+
+    @Test
+    public void shouldPingWsAgentWhenStartMarkerAppearsInAgentOutput() throws Exception {
+        final long longPingDelay = 60_000;
+        wsAgentLauncher = new WsAgentLauncherImpl(() -> machineManager,
+                                                  requestFactory,
+                                                  WS_AGENT_START_CMD_LINE,
+                                                  longPingDelay,
+                                                  longPingDelay,
+                                                  WS_AGENT_PING_CONN_TIMEOUT_MS,
+                                                  WS_AGENT_TIMED_OUT_MESSAGE,
+                                                  WS_AGENT_API_ENDPOINT_PATH);
+        when(machineManager.exec(anyString(), any(Command.class), anyString(), any(LineConsumer.class)))
+                .thenAnswer(invocation -> {
+                    final LineConsumer output = (LineConsumer)invocation.getArguments()[3];
+                    output.writeLine("INFO: " + WsAgentLauncherImpl.WS_AGENT_STARTED_MARKER + " 1234 ms");
+                    return null;
+                });
+
+        final long start = System.currentTimeMillis();
+        wsAgentLauncher.startWsAgent(WS_ID);
+
+        // fallback ping would happen after the ping delay only
+        assertTrue(System.currentTimeMillis() - start < longPingDelay);
+        verify(pingRequest).request();
+    }
+
+    @Test
+    public void shouldRepeatPingAfterStartMarkerUntilWsAgentResponds() throws Exception {
+        final long pingDelay = 100;
+        // fallback pings with growing delay are not enough to reach successful ping before the start timeout
+        wsAgentLauncher = new WsAgentLauncherImpl(() -> machineManager,
+                                                  requestFactory,
+                                                  WS_AGENT_START_CMD_LINE,
+                                                  2000,
+                                                  pingDelay,
+                                                  WS_AGENT_PING_CONN_TIMEOUT_MS,
+                                                  WS_AGENT_TIMED_OUT_MESSAGE,
+                                                  WS_AGENT_API_ENDPOINT_PATH);
+        when(pingResponse.getResponseCode()).thenReturn(HttpURLConnection.HTTP_UNAVAILABLE,
+                                                        HttpURLConnection.HTTP_UNAVAILABLE,
+                                                        HttpURLConnection.HTTP_UNAVAILABLE,
+                                                        HttpURLConnection.HTTP_UNAVAILABLE,
+                                                        HttpURLConnection.HTTP_UNAVAILABLE,
+                                                        HttpURLConnection.HTTP_OK);
+        when(machineManager.exec(anyString(), any(Command.class), anyString(), any(LineConsumer.class)))
+                .thenAnswer(invocation -> {
+                    final LineConsumer output = (LineConsumer)invocation.getArguments()[3];
+                    output.writeLine("INFO: " + WsAgentLauncherImpl.WS_AGENT_STARTED_MARKER + " 1234 ms");
+                    return null;
+                });
+
+        wsAgentLauncher.startWsAgent(WS_ID);
+
+        verify(pingRequest, atLeast(6)).request();
+    }
+
+    @Test
+    public void shouldPingWsAgentWhileAgentOfAnotherWorkspaceDoesNotRespond() throws Exception {
+        final CountDownLatch stalledPingReleased = new CountDownLatch(1);
+        when(pingRequest.request()).thenAnswer(invocation -> {
+            stalledPingReleased.await(10, SECONDS);
+            throw new IOException("Agent doesn't respond");
+        });
+        final String otherUrl = "http://other-ws-agent.com:456789";
+        final MachineImpl otherMachine = mock(MachineImpl.class);
+        final MachineRuntimeInfoImpl otherRuntime = mock(MachineRuntimeInfoImpl.class);
+        final HttpJsonRequest otherPingRequest = mock(HttpJsonRequest.class, new SelfReturningAnswer());
+        when(machineManager.getDevMachine("otherWsId")).thenReturn(otherMachine);
+        when(otherMachine.getId()).thenReturn("otherMachineId");
+        when(otherMachine.getRuntime()).thenReturn(otherRuntime);
+        doReturn(Collections.<String, Server>singletonMap(WS_AGENT_PORT, new ServerImpl("ref", "http", "other", null, otherUrl)))
+                .when(otherRuntime).getServers();
+        when(requestFactory.fromUrl(UriBuilder.fromUri(otherUrl)
+                                              .replacePath(WS_AGENT_API_ENDPOINT_PATH)
+                                              .build()
+                                              .toString())).thenReturn(otherPingRequest);
+        when(otherPingRequest.request()).thenReturn(pingResponse);
+
+        try {
+            final CompletableFuture<Void> stalled = wsAgentLauncher.startWsAgentAsync(WS_ID);
+            verify(pingRequest, timeout(1000)).request();
+
+            wsAgentLauncher.startWsAgent("otherWsId");
+
+            assertFalse(stalled.isDone());
+        } finally {
+            stalledPingReleased.countDown();
+        }
+    }
 }
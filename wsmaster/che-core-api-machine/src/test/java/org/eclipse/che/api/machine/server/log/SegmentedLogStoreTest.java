@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2012-2016 Codenvy, S.A.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Codenvy, S.A. - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.che.api.machine.server.log;
+
+import org.eclipse.che.commons.lang.IoUtil;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class SegmentedLogStoreTest {
+    private File dir;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("logs").resolve("log").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        IoUtil.deleteRecursive(dir.getParentFile());
+    }
+
+    @Test
+    public void shouldReadRangeOfLines() throws Exception {
+        final SegmentedLogStore store = SegmentedLogStore.create(dir);
+        writeLines(store, 0, 1000);
+
+        final StringWriter out = new StringWriter();
+        final long next = store.read(500, 3, out);
+
+        assertEquals(next, 503);
+        assertEquals(out.toString(), "line 500\nline 501\nline 502\n");
+    }
+
+    @Test
+    public void shouldReadTailOfLog() throws Exception {
+        final SegmentedLogStore store = SegmentedLogStore.create(dir);
+        writeLines(store, 0, 300);
+
+        final StringWriter out = new StringWriter();
+        store.read(store.tail(2), -1, out);
+
+        assertEquals(out.toString(), "line 298\nline 299\n");
+    }
+
+    @Test
+    public void shouldReadLinesAcrossSegments() throws Exception {
+        final SegmentedLogStore store = SegmentedLogStore.create(dir, 100, 1000);
+        writeLines(store, 0, 200);
+
+        final StringWriter out = new StringWriter();
+        store.read(195, -1, out);
+
+        assertEquals(out.toString(), "line 195\nline 196\nline 197\nline 198\nline 199\n");
+        assertTrue(new File(dir, "segment-1.log").exists() || new File(dir, "segment-1.log.gz").exists());
+    }
+
+    @Test
+    public void shouldDropOldestSegments() throws Exception {
+        // each line is 9 bytes, so every segment contains 10 lines
+        final SegmentedLogStore store = SegmentedLogStore.create(dir, 90, 2);
+        writeLines(store, 100, 50);
+
+        assertEquals(store.getLineCount(), 50);
+        assertEquals(store.getFirstLine(), 30);
+        final StringWriter out = new StringWriter();
+        assertEquals(store.read(0, 2, out), 32);
+        assertEquals(out.toString(), "line 130\nline 131\n");
+    }
+
+    @Test
+    public void shouldPruneIndexOfDroppedSegments() throws Exception {
+        // each line is 9 bytes, so every segment contains 10 lines
+        final SegmentedLogStore store = SegmentedLogStore.create(dir, 90, 2);
+        writeLines(store, 100, 50);
+        store.close();
+
+        final List<String> index = Files.readAllLines(new File(dir, "index").toPath());
+        assertEquals(index.get(0).split(" ")[0], "30");
+        final SegmentedLogStore reopened = SegmentedLogStore.open(dir);
+        assertEquals(reopened.getFirstLine(), 30);
+        assertEquals(reopened.getLineCount(), 50);
+    }
+
+    @Test
+    public void shouldReopenClosedLog() throws Exception {
+        final SegmentedLogStore store = SegmentedLogStore.create(dir, 100, 1000);
+        writeLines(store, 0, 250);
+        store.close();
+
+        final SegmentedLogStore reopened = SegmentedLogStore.open(dir);
+        final StringWriter out = new StringWriter();
+        reopened.read(248, -1, out);
+
+        assertTrue(reopened.isClosed());
+        assertEquals(reopened.getLineCount(), 250);
+        assertEquals(out.toString(), "line 248\nline 249\n");
+    }
+
+    @Test
+    public void shouldFindLinesWrittenSinceGivenTime() throws Exception {
+        final SegmentedLogStore store = SegmentedLogStore.create(dir);
+        writeLines(store, 0, 10);
+
+        assertEquals(store.since(0), 0);
+        assertEquals(store.since(System.currentTimeMillis() + 2000), 10);
+    }
+
+    @Test
+    public void shouldFindFirstLineOfGivenSecond() throws Exception {
+        assertTrue(dir.mkdirs());
+        Files.write(new File(dir, "segment-0.log").toPath(), "line 0\nline 1\nline 2\nline 3\n".getBytes());
+        Files.write(new File(dir, "index").toPath(), "0 0 0 1000\n1 0 7 2000\n2 0 14 2500\n3 0 21 4000\n".getBytes());
+        final SegmentedLogStore store = SegmentedLogStore.open(dir);
+
+        assertEquals(store.since(0), 0);
+        assertEquals(store.since(1999), 1);
+        assertEquals(store.since(2999), 1);
+        assertEquals(store.since(3000), 3);
+        assertEquals(store.since(5000), 4);
+    }
+
+    @Test
+    public void shouldWakeUpFollowerWhenLineIsWritten() throws Exception {
+        final SegmentedLogStore store = SegmentedLogStore.create(dir);
+        writeLines(store, 0, 1);
+
+        final CompletableFuture<Long> follower = CompletableFuture.supplyAsync(() -> {
+            try {
+                return store.awaitLines(1, 10_000);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        store.writeLine("line 1");
+
+        assertEquals(follower.get(5, TimeUnit.SECONDS).longValue(), 2);
+    }
+
+    private static void writeLines(SegmentedLogStore store, int from, int count) throws Exception {
+        for (int i = from; i < from + count; i++) {
+            store.writeLine("line " + i);
+        }
+    }
+}
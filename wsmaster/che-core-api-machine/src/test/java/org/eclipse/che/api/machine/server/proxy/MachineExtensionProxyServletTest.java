@@ -11,6 +11,7 @@
 package org.eclipse.che.api.machine.server.proxy;
 
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.machine.server.MachineManager;
 import org.eclipse.che.api.machine.server.exception.MachineException;
 import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
@@ -23,11 +24,13 @@ import org.eclipse.jetty.server.handler.ContextHandler;
 import org.everrest.test.mock.MockHttpServletRequest;
 import org.everrest.test.mock.MockHttpServletResponse;
 import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -41,13 +44,20 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static javax.servlet.http.HttpServletResponse.SC_BAD_GATEWAY;
+import static javax.servlet.http.HttpServletResponse.SC_GATEWAY_TIMEOUT;
 import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
@@ -55,6 +65,8 @@ import static org.testng.Assert.fail;
 
 public class MachineExtensionProxyServletTest {
     private static final String WORKSPACE_ID            = "workspace123";
+    private static final String MACHINE_ID              = "machine123";
+    private static final long   IDLE_TIMEOUT_MS         = 60_000;
     private static final String EXTENSIONS_API_PORT     = "4301/tcp";
     private static final String PROXY_ENDPOINT          = "http://localhost:8080";
     private static final String BASE_PATH               = "/che/api/ext/api/";
@@ -78,6 +90,8 @@ public class MachineExtensionProxyServletTest {
 
     private MachineExtensionProxyServlet proxyServlet;
 
+    private MachineProxyMetrics proxyMetrics;
+
     private org.eclipse.jetty.server.Server jettyServer;
 
     private ExtensionApiResponse extensionApiResponse;
@@ -145,13 +159,21 @@ public class MachineExtensionProxyServletTest {
 
         extensionApiRequest = new ExtensionApiRequest();
 
-        proxyServlet = new MachineExtensionProxyServlet(EXTENSIONS_API_PORT, machineManager);
+        proxyMetrics = new MachineProxyMetrics(mock(EventService.class));
+
+        proxyServlet = new MachineExtensionProxyServlet(EXTENSIONS_API_PORT, 2, IDLE_TIMEOUT_MS, machineManager, proxyMetrics);
 
         when(machineManager.getDevMachine(WORKSPACE_ID)).thenReturn(machine);
+        when(machine.getId()).thenReturn(MACHINE_ID);
         when(machine.getRuntime()).thenReturn(machineRuntimeInfo);
         when(machineRuntimeInfo.getServers()).thenReturn(machineServers);
     }
 
+    @AfterMethod
+    public void tearDownMethod() {
+        proxyServlet.stop();
+    }
+
     @AfterClass
     public void tearDown() throws Exception {
         jettyServer.stop();
@@ -195,6 +217,121 @@ public class MachineExtensionProxyServletTest {
         assertEquals(mockResponse.getOutputContent(), DEFAULT_RESPONSE_ENTITY);
     }
 
+    @Test
+    public void shouldStreamEntityToDestination() throws Exception {
+        final byte[] entity = "{\"name\":\"value\"}".getBytes();
+        MockHttpServletRequest mockRequest =
+                new MockHttpServletRequest(DEFAULT_URL,
+                                           new ByteArrayInputStream(entity),
+                                           entity.length,
+                                           "POST",
+                                           defaultHeaders);
+
+        MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+
+        proxyServlet.service(mockRequest, mockResponse);
+
+        assertEquals(mockResponse.getStatus(), 200);
+        assertEquals(extensionApiRequest.entity, new String(entity));
+    }
+
+    @Test
+    public void shouldCollectMetricsOfProxiedRequests() throws Exception {
+        MockHttpServletRequest mockRequest =
+                new MockHttpServletRequest(DEFAULT_URL,
+                                           new ByteArrayInputStream(new byte[0]),
+                                           0,
+                                           "GET",
+                                           defaultHeaders);
+
+        proxyServlet.service(mockRequest, new MockHttpServletResponse());
+
+        final MachineProxyMetrics.Stats stats = proxyMetrics.getStats(MACHINE_ID);
+        assertEquals(stats.getRequests(), 1);
+        assertEquals(stats.getFailures(), 0);
+        assertEquals(stats.getBytesReceived(), DEFAULT_RESPONSE_ENTITY.length());
+    }
+
+    @Test
+    public void shouldProxyRequestAsynchronouslyWhenContainerSupportsIt() throws Exception {
+        MockHttpServletRequest mockRequest =
+                spy(new MockHttpServletRequest(DEFAULT_URL,
+                                               new ByteArrayInputStream(new byte[0]),
+                                               0,
+                                               "GET",
+                                               defaultHeaders));
+        MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+        final CountDownLatch completed = new CountDownLatch(1);
+        final AsyncContext asyncContext = mockAsyncContext(mockRequest, mockResponse, completed);
+
+        proxyServlet.service(mockRequest, mockResponse);
+
+        assertTrue(completed.await(10, SECONDS));
+        verify(asyncContext).setTimeout(0);
+        verify(asyncContext).complete();
+        assertEquals(mockResponse.getStatus(), 200);
+        assertEquals(mockResponse.getOutputContent(), DEFAULT_RESPONSE_ENTITY);
+    }
+
+    @Test
+    public void shouldRespondGatewayTimeoutIfMachineMakesNoProgress() throws Exception {
+        final CountDownLatch requestReceived = new CountDownLatch(1);
+        final CountDownLatch responseAllowed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            requestReceived.countDown();
+            responseAllowed.await(10, SECONDS);
+            return 200;
+        }).when(extensionApiResponse).getStatus();
+        MockHttpServletRequest mockRequest =
+                spy(new MockHttpServletRequest(DEFAULT_URL,
+                                               new ByteArrayInputStream(new byte[0]),
+                                               0,
+                                               "GET",
+                                               defaultHeaders));
+        MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+        final CountDownLatch completed = new CountDownLatch(1);
+        final AsyncContext asyncContext = mockAsyncContext(mockRequest, mockResponse, completed);
+
+        proxyServlet.service(mockRequest, mockResponse);
+        assertTrue(requestReceived.await(10, SECONDS));
+        proxyServlet.breakIdleRequests(System.currentTimeMillis() + IDLE_TIMEOUT_MS);
+        responseAllowed.countDown();
+
+        assertTrue(completed.await(10, SECONDS));
+        assertEquals(mockResponse.getStatus(), SC_GATEWAY_TIMEOUT);
+        assertEquals(proxyMetrics.getStats(MACHINE_ID).getFailures(), 1);
+        verify(asyncContext, times(1)).complete();
+    }
+
+    @Test
+    public void shouldNotBreakRequestWhichMakesProgress() throws Exception {
+        final CountDownLatch requestReceived = new CountDownLatch(1);
+        final CountDownLatch responseAllowed = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            requestReceived.countDown();
+            responseAllowed.await(10, SECONDS);
+            return 200;
+        }).when(extensionApiResponse).getStatus();
+        MockHttpServletRequest mockRequest =
+                spy(new MockHttpServletRequest(DEFAULT_URL,
+                                               new ByteArrayInputStream(new byte[0]),
+                                               0,
+                                               "GET",
+                                               defaultHeaders));
+        MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+        final CountDownLatch completed = new CountDownLatch(1);
+        mockAsyncContext(mockRequest, mockResponse, completed);
+
+        proxyServlet.service(mockRequest, mockResponse);
+        assertTrue(requestReceived.await(10, SECONDS));
+        proxyServlet.breakIdleRequests(System.currentTimeMillis());
+        responseAllowed.countDown();
+
+        assertTrue(completed.await(10, SECONDS));
+        assertEquals(mockResponse.getStatus(), 200);
+        assertEquals(mockResponse.getOutputContent(), DEFAULT_RESPONSE_ENTITY);
+    }
+
     @Test
     public void shouldBeAbleToProxyWithDifferentContext() throws Exception {
         final String path = "/api/ext/service/" + WORKSPACE_ID + "/java/codeassistant/index";
@@ -500,6 +637,19 @@ public class MachineExtensionProxyServletTest {
         assertEquals(mockResponse.getStatus(), SC_SERVICE_UNAVAILABLE, mockResponse.getOutputContent());
     }
 
+    private AsyncContext mockAsyncContext(HttpServletRequest request, HttpServletResponse response, CountDownLatch completed) {
+        final AsyncContext asyncContext = mock(AsyncContext.class);
+        doReturn(true).when(request).isAsyncSupported();
+        doReturn(asyncContext).when(request).startAsync();
+        when(asyncContext.getRequest()).thenReturn(request);
+        when(asyncContext.getResponse()).thenReturn(response);
+        doAnswer(invocation -> {
+            completed.countDown();
+            return null;
+        }).when(asyncContext).complete();
+        return asyncContext;
+    }
+
     /**
      * Header name is case insensitive in accordance to spec. So we can't compare arrays via equals method.
      *
@@ -29,6 +29,8 @@ import org.eclipse.che.api.user.shared.dto.ProfileDescriptor;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.dto.server.DtoFactory;
 
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.common.util.concurrent.Striped;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -51,6 +53,10 @@ import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriBuilder;
 
@@ -59,6 +65,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 import static org.eclipse.che.api.user.server.Constants.LINK_REL_UPDATE_CURRENT_USER_PROFILE;
 import static org.eclipse.che.api.user.server.Constants.LINK_REL_GET_CURRENT_USER_PROFILE;
@@ -68,6 +75,7 @@ import static org.eclipse.che.api.user.server.Constants.LINK_REL_REMOVE_PREFEREN
 import static org.eclipse.che.api.user.server.Constants.LINK_REL_UPDATE_PREFERENCES;
 import static org.eclipse.che.api.user.server.Constants.LINK_REL_UPDATE_USER_PROFILE_BY_ID;
 import static com.google.common.base.Strings.nullToEmpty;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 
 import java.util.concurrent.locks.Lock;
@@ -129,7 +137,8 @@ public class UserProfileService extends Service {
     }
 
     /**
-     * Returns preferences for current user
+     * Returns preferences for current user. Response is tagged with ETag of the preferences, so clients which already have
+     * the same preferences get <i>304 Not Modified</i> without preferences being serialized and sent again.
      */
     @ApiOperation(value = "Get user preferences",
             notes = "Get user preferences, like SSH keys, recently opened project and files. It is possible " +
@@ -143,12 +152,21 @@ public class UserProfileService extends Service {
     @Path("/prefs")
     @Produces(APPLICATION_JSON)
     @RolesAllowed({"user", "temp_user"})
-    public Map<String, String> getPreferences(@ApiParam(value = "Filer")
-                                                  @QueryParam("filter") String filter) throws ServerException {
+    public Response getPreferences(@ApiParam(value = "Filer")
+                                   @QueryParam("filter") String filter,
+                                   @Context Request request) throws ServerException {
+        final Map<String, String> preferences;
         if (filter != null) {
-            return preferenceDao.getPreferences(currentUser().getId(), filter);
+            preferences = preferenceDao.getPreferences(currentUser().getId(), filter);
+        } else {
+            preferences = preferenceDao.getPreferences(currentUser().getId());
+        }
+        final EntityTag tag = tagOf(preferences);
+        final Response.ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.tag(tag).build();
         }
-        return preferenceDao.getPreferences(currentUser().getId());
+        return Response.ok(new GenericEntity<Map<String, String>>(preferences) {}).tag(tag).build();
     }
 
     /**
@@ -252,10 +270,11 @@ public class UserProfileService extends Service {
 
     /**
      * <p>Updates preferences of current user profile.</p>
+     * Response is tagged with ETag of the updated preferences, the same as the one of {@link #getPreferences(String, Request)}.
      *
      * @param update
      *         update preferences
-     * @return descriptor of updated profile
+     * @return all the preferences of the user after update
      * @throws ServerException
      *         when some error occurred while retrieving/updating profile
      * @throws ConflictException
@@ -269,9 +288,9 @@ public class UserProfileService extends Service {
     @GenerateLink(rel = LINK_REL_UPDATE_PREFERENCES)
     @Consumes(APPLICATION_JSON)
     @Produces(APPLICATION_JSON)
-    public Map<String, String> updatePreferences(@Required Map<String, String> update) throws NotFoundException,
-                                                                                              ServerException,
-                                                                                              ConflictException {
+    public Response updatePreferences(@Required Map<String, String> update) throws NotFoundException,
+                                                                                   ServerException,
+                                                                                   ConflictException {
         if (update == null || update.isEmpty()) {
             throw new ConflictException("Preferences to update required");
         }
@@ -284,7 +303,7 @@ public class UserProfileService extends Service {
             final Map<String, String> preferences = preferenceDao.getPreferences(userId);
             preferences.putAll(update);
             preferenceDao.setPreferences(currentUser().getId(), preferences);
-            return preferences;
+            return Response.ok(new GenericEntity<Map<String, String>>(preferences) {}).tag(tagOf(preferences)).build();
         } finally {
             lock.unlock();
         }
@@ -446,6 +465,16 @@ public class UserProfileService extends Service {
         return EnvironmentContext.getCurrent().getUser();
     }
 
+    /** Returns tag which is the same for the equal preferences regardless of order of their entries. */
+    private static EntityTag tagOf(Map<String, String> preferences) {
+        final Hasher hasher = Hashing.md5().newHasher();
+        for (Map.Entry<String, String> entry : new TreeMap<>(preferences).entrySet()) {
+            hasher.putString(entry.getKey(), UTF_8).putByte((byte)0)
+                  .putString(nullToEmpty(entry.getValue()), UTF_8).putByte((byte)0);
+        }
+        return new EntityTag(hasher.hash().toString());
+    }
+
     private void logEventUserUpdateProfile(User user, Map<String, String> attributes) {
         final Set<String> emails = new HashSet<>(user.getAliases());
         emails.add(user.getEmail());
@@ -64,10 +64,12 @@ import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static javax.ws.rs.core.Response.Status.OK;
 import static javax.ws.rs.core.Response.Status.NO_CONTENT;
+import static javax.ws.rs.core.Response.Status.NOT_MODIFIED;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
@@ -190,6 +192,37 @@ public class UserProfileServiceTest {
         assertEquals(response.getEntity(), preferences);
     }
 
+    @Test
+    public void shouldNotSendPreferencesAgainIfTheyAreNotModified() throws Exception {
+        final Map<String, String> preferences = new HashMap<>(8);
+        preferences.put("test1", "test1");
+        when(preferenceDao.getPreferences(testUser.getId())).thenReturn(preferences);
+        final Object tag = makeRequest(HttpMethod.GET, SERVICE_PATH + "/prefs", null).getHttpHeaders().getFirst(HttpHeaders.ETAG);
+        assertNotNull(tag);
+
+        final ContainerResponse response = makeConditionalRequest(SERVICE_PATH + "/prefs", tag);
+
+        assertEquals(response.getStatus(), NOT_MODIFIED.getStatusCode());
+        assertNull(response.getEntity());
+    }
+
+    @Test
+    public void shouldSendModifiedPreferencesWithNewTag() throws Exception {
+        final Map<String, String> preferences = new HashMap<>(8);
+        preferences.put("test1", "test1");
+        when(preferenceDao.getPreferences(testUser.getId())).thenReturn(preferences);
+        final Object tag = makeRequest(HttpMethod.GET, SERVICE_PATH + "/prefs", null).getHttpHeaders().getFirst(HttpHeaders.ETAG);
+        final Map<String, String> modified = new HashMap<>(preferences);
+        modified.put("test2", "test2");
+        when(preferenceDao.getPreferences(testUser.getId())).thenReturn(modified);
+
+        final ContainerResponse response = makeConditionalRequest(SERVICE_PATH + "/prefs", tag);
+
+        assertEquals(response.getStatus(), OK.getStatusCode());
+        assertEquals(response.getEntity(), modified);
+        assertNotEquals(response.getHttpHeaders().getFirst(HttpHeaders.ETAG), tag);
+    }
+
     @Test
     public void shouldBeAbleToRemoveAttributes() throws Exception {
         final Map<String, String> attributes = new HashMap<>(8);
@@ -240,6 +273,20 @@ public class UserProfileServiceTest {
         verify(preferenceDao).setPreferences(testUser.getId(), preferences);
     }
 
+    @Test
+    public void shouldTagUpdatedPreferencesTheSameWayAsReadOnes() throws Exception {
+        final Map<String, String> preferences = new HashMap<>(8);
+        preferences.put("test1", "test1");
+        when(preferenceDao.getPreferences(testUser.getId())).thenReturn(preferences);
+
+        final Object updateTag = makeRequest(HttpMethod.POST, SERVICE_PATH + "/prefs", singletonMap("test2", "test2"))
+                .getHttpHeaders().getFirst(HttpHeaders.ETAG);
+        final Object readTag = makeRequest(HttpMethod.GET, SERVICE_PATH + "/prefs", null).getHttpHeaders().getFirst(HttpHeaders.ETAG);
+
+        assertNotNull(updateTag);
+        assertEquals(updateTag, readTag);
+    }
+
     @Test
     public void shouldThrowExceptionIfPreferencesUpdateIsNull() throws Exception {
         final ContainerResponse response = makeRequest(HttpMethod.POST, SERVICE_PATH + "/prefs", null);
@@ -403,4 +450,10 @@ public class UserProfileServiceTest {
         }
         return launcher.service(method, path, BASE_URI, headers, data, null, environmentContext);
     }
+
+    private ContainerResponse makeConditionalRequest(String path, Object tag) throws Exception {
+        final Map<String, List<String>> headers = new HashMap<>();
+        headers.put(HttpHeaders.IF_NONE_MATCH, singletonList(tag.toString()));
+        return launcher.service(HttpMethod.GET, path, BASE_URI, headers, null, null, environmentContext);
+    }
 }
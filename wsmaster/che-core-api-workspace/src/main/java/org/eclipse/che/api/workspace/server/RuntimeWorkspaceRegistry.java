@@ -11,8 +11,6 @@
 package org.eclipse.che.api.workspace.server;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.ListMultimap;
 
 import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
@@ -35,11 +33,12 @@ import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
@@ -60,9 +59,11 @@ import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPING;
  * All operations performed by registry are synchronous.
  *
  * <p>The implementation is thread-safe.
- * Workspaces are stored in memory - in 2 Maps. First for <i>identifier -> workspace</i> mapping,
- * second for <i>owner -> list of workspaces</i> mapping(which speeds up fetching workspaces by owner).
- * Maps are guarded by {@link ReentrantReadWriteLock}.
+ * Workspaces are stored in memory - in concurrent map of <i>identifier -> workspace</i> and in
+ * 2 secondary indexes: <i>owner -> workspaces identifiers</i> and <i>status -> workspaces identifiers</i>,
+ * which speed up fetching workspaces by owner and by status. There is no global lock, each runtime workspace
+ * is a state machine guarded by its own monitor, so start or stop of one workspace doesn't block
+ * reads and modifications of the others.
  *
  * <p>The implementation doesn't validate parameters.
  * They should be validated by caller of methods of this class.
@@ -75,19 +76,22 @@ public class RuntimeWorkspaceRegistry {
 
     private static final Logger LOG = LoggerFactory.getLogger(RuntimeWorkspaceRegistry.class);
 
-    private final Map<String, RuntimeWorkspaceImpl>          idToWorkspaces;
-    private final ListMultimap<String, RuntimeWorkspaceImpl> ownerToWorkspaces;
-    private final ReadWriteLock                              lock;
-    private final MachineManager                             machineManager;
+    private final ConcurrentMap<String, RuntimeWorkspaceImpl> idToWorkspaces;
+    private final ConcurrentMap<String, Set<String>>          ownerToWorkspaces;
+    private final Map<WorkspaceStatus, Set<String>>           statusToWorkspaces;
+    private final MachineManager                              machineManager;
 
     private volatile boolean isStopped;
 
     @Inject
     public RuntimeWorkspaceRegistry(MachineManager machineManager) {
         this.machineManager = machineManager;
-        this.idToWorkspaces = new HashMap<>();
-        this.ownerToWorkspaces = ArrayListMultimap.create();
-        this.lock = new ReentrantReadWriteLock();
+        this.idToWorkspaces = new ConcurrentHashMap<>();
+        this.ownerToWorkspaces = new ConcurrentHashMap<>();
+        this.statusToWorkspaces = new EnumMap<>(WorkspaceStatus.class);
+        for (WorkspaceStatus status : WorkspaceStatus.values()) {
+            statusToWorkspaces.put(status, ConcurrentHashMap.newKeySet());
+        }
     }
 
     /**
@@ -129,19 +133,31 @@ public class RuntimeWorkspaceRegistry {
                                                                     .setStatus(STARTING)
                                                                     .build();
         // Save workspace with 'STARTING' status
-        lock.writeLock().lock();
-        try {
-            checkRegistryIsNotStopped();
-            final RuntimeWorkspace running = idToWorkspaces.get(newRuntime.getId());
+        synchronized (newRuntime) {
+            final RuntimeWorkspace running = idToWorkspaces.putIfAbsent(newRuntime.getId(), newRuntime);
             if (running != null) {
+                final WorkspaceStatus status;
+                synchronized (running) {
+                    status = running.getStatus();
+                }
                 throw new ConflictException(format("Could not start workspace '%s' because its status is '%s'",
                                                    running.getConfig().getName(),
-                                                   running.getStatus()));
+                                                   status));
             }
-            idToWorkspaces.put(newRuntime.getId(), newRuntime);
-            ownerToWorkspaces.get(newRuntime.getOwner()).add(newRuntime);
-        } finally {
-            lock.writeLock().unlock();
+            // the set may be removed by a concurrent removal once it is empty, so it is updated atomically with the mapping
+            ownerToWorkspaces.compute(newRuntime.getOwner(), (owner, ids) -> {
+                if (ids == null) {
+                    ids = ConcurrentHashMap.newKeySet();
+                }
+                ids.add(newRuntime.getId());
+                return ids;
+            });
+            statusToWorkspaces.get(STARTING).add(newRuntime.getId());
+        }
+        // registry may be stopped after the first check, then it may miss the workspace
+        if (isStopped) {
+            doRemoveWorkspace(newRuntime.getId());
+            checkRegistryIsNotStopped();
         }
         startEnvironment(newRuntime.getActiveEnvironment(), newRuntime.getId(), recover);
         return get(newRuntime.getId());
@@ -202,12 +218,13 @@ public class RuntimeWorkspaceRegistry {
      */
     public void stop(String workspaceId) throws NotFoundException, ServerException, ConflictException {
         checkRegistryIsNotStopped();
-        lock.writeLock().lock();
-        final RuntimeWorkspaceImpl workspace;
-        try {
+        final RuntimeWorkspaceImpl workspace = idToWorkspaces.get(workspaceId);
+        if (workspace == null) {
+            throw new NotFoundException("Workspace with id " + workspaceId + " is not running.");
+        }
+        synchronized (workspace) {
             checkRegistryIsNotStopped();
-            workspace = idToWorkspaces.get(workspaceId);
-            if (workspace == null) {
+            if (idToWorkspaces.get(workspaceId) != workspace) {
                 throw new NotFoundException("Workspace with id " + workspaceId + " is not running.");
             }
             if (workspace.getStatus() != RUNNING) {
@@ -215,9 +232,7 @@ public class RuntimeWorkspaceRegistry {
                                                    workspace.getConfig().getName(),
                                                    workspace.getStatus()));
             }
-            workspace.setStatus(STOPPING);
-        } finally {
-            lock.writeLock().unlock();
+            setStatus(workspace, STOPPING);
         }
         stopMachines(workspace);
     }
@@ -248,12 +263,7 @@ public class RuntimeWorkspaceRegistry {
      * @return true if workspace is running, otherwise false
      */
     public boolean hasRuntime(String workspaceId) {
-        lock.readLock().lock();
-        try {
-            return idToWorkspaces.containsKey(workspaceId);
-        } finally {
-            lock.readLock().unlock();
-        }
+        return idToWorkspaces.containsKey(workspaceId);
     }
 
     /**
@@ -269,17 +279,29 @@ public class RuntimeWorkspaceRegistry {
      *         when workspace with specified {@code workspaceId} was not found
      */
     public RuntimeWorkspaceImpl get(String workspaceId) throws NotFoundException {
-        lock.readLock().lock();
-        final RuntimeWorkspaceImpl runtimeWorkspace;
-        try {
-            runtimeWorkspace = idToWorkspaces.get(workspaceId);
-            if (runtimeWorkspace == null) {
-                throw new NotFoundException("Workspace with id " + workspaceId + " is not running.");
-            }
-        } finally {
-            lock.readLock().unlock();
+        final RuntimeWorkspaceImpl runtimeWorkspace = idToWorkspaces.get(workspaceId);
+        if (runtimeWorkspace == null) {
+            throw new NotFoundException("Workspace with id " + workspaceId + " is not running.");
+        }
+        return copy(runtimeWorkspace);
+    }
+
+    /**
+     * Returns status of the runtime workspace without copying the workspace,
+     * which makes it suitable for frequent status polling.
+     *
+     * @param workspaceId
+     *         workspace identifier
+     * @return status of the workspace or {@code null} if workspace is not running
+     */
+    public WorkspaceStatus getStatus(String workspaceId) {
+        final RuntimeWorkspaceImpl runtimeWorkspace = idToWorkspaces.get(workspaceId);
+        if (runtimeWorkspace == null) {
+            return null;
+        }
+        synchronized (runtimeWorkspace) {
+            return runtimeWorkspace.getStatus();
         }
-        return new RuntimeWorkspaceImpl(runtimeWorkspace);
     }
 
     /**
@@ -293,15 +315,27 @@ public class RuntimeWorkspaceRegistry {
      * @return list of workspace owned by {@code ownerId} or empty list when user doesn't have any workspaces running
      */
     public List<RuntimeWorkspaceImpl> getByOwner(String ownerId) {
-        lock.readLock().lock();
-        try {
-            return ownerToWorkspaces.get(ownerId)
-                                    .stream()
-                                    .map(RuntimeWorkspaceImpl::new)
-                                    .collect(toList());
-        } finally {
-            lock.readLock().unlock();
+        final Set<String> ids = ownerToWorkspaces.get(ownerId);
+        if (ids == null) {
+            return new ArrayList<>();
         }
+        return copyAll(ids);
+    }
+
+    /**
+     * Gets runtime workspaces with certain status.
+     *
+     * <p>Note that returned {@link RuntimeWorkspaceImpl instances} are copies of real runtime workspace objects
+     * and it modification will not affect the real objects.
+     *
+     * @param status
+     *         status of the workspaces
+     * @return list of workspaces with {@code status} or empty list when there are no such workspaces
+     */
+    public List<RuntimeWorkspaceImpl> getByStatus(WorkspaceStatus status) {
+        return copyAll(statusToWorkspaces.get(status)).stream()
+                                                      .filter(workspace -> workspace.getStatus() == status)
+                                                      .collect(toList());
     }
 
     /**
@@ -328,17 +362,18 @@ public class RuntimeWorkspaceRegistry {
         // 'stopRegistry' was performed and workspace was removed by 'stopRegistry',
         // in that case dev-machine must not be destroyed(MachineManager is responsible for it)
         // and another machines must not be started.
-        lock.writeLock().lock();
-        try {
-            if (!addRunningMachine(devMachine)) {
-                // Dev machine was started but workspace doesn't exist
-                // it means that registry was stopped, dev-machine must not be
-                // destroyed in this place as MachineManager#cleanup() does it
+        final RuntimeWorkspaceImpl workspace = idToWorkspaces.get(workspaceId);
+        if (workspace == null) {
+            // Dev machine was started but workspace doesn't exist
+            // it means that registry was stopped, dev-machine must not be
+            // destroyed in this place as MachineManager#cleanup() does it
+            throw new ServerException("Workspace '" + workspaceId + "' had been stopped before its dev-machine was started");
+        }
+        synchronized (workspace) {
+            if (idToWorkspaces.get(workspaceId) != workspace || !addRunningMachine(devMachine)) {
                 throw new ServerException("Workspace '" + workspaceId + "' had been stopped before its dev-machine was started");
             }
-            idToWorkspaces.get(workspaceId).setStatus(RUNNING);
-        } finally {
-            lock.writeLock().unlock();
+            setStatus(workspace, RUNNING);
         }
 
         // Try to start all the other machines different from the dev one.
@@ -376,32 +411,66 @@ public class RuntimeWorkspaceRegistry {
      */
     @VisibleForTesting
     boolean addRunningMachine(MachineImpl machine) throws ServerException {
-        lock.writeLock().lock();
-        try {
-            final RuntimeWorkspaceImpl workspace = idToWorkspaces.get(machine.getWorkspaceId());
-            if (workspace != null) {
-                if (machine.getConfig().isDev()) {
-                    workspace.setDevMachine(machine);
-                }
-                workspace.getMachines().add(machine);
+        final RuntimeWorkspaceImpl workspace = idToWorkspaces.get(machine.getWorkspaceId());
+        if (workspace == null) {
+            return false;
+        }
+        synchronized (workspace) {
+            // workspace might be removed while machine was starting
+            if (idToWorkspaces.get(machine.getWorkspaceId()) != workspace) {
+                return false;
             }
-            return workspace != null;
-        } finally {
-            lock.writeLock().unlock();
+            if (machine.getConfig().isDev()) {
+                workspace.setDevMachine(machine);
+            }
+            workspace.getMachines().add(machine);
+            return true;
         }
     }
 
     private void doRemoveWorkspace(String workspaceId) {
-        lock.writeLock().lock();
-        try {
-            final RuntimeWorkspaceImpl workspace = idToWorkspaces.get(workspaceId);
+        final RuntimeWorkspaceImpl workspace = idToWorkspaces.get(workspaceId);
+        if (workspace == null) {
+            return;
+        }
+        synchronized (workspace) {
+            if (!idToWorkspaces.remove(workspaceId, workspace)) {
+                return;
+            }
+            ownerToWorkspaces.computeIfPresent(workspace.getOwner(), (owner, ids) -> {
+                ids.remove(workspaceId);
+                return ids.isEmpty() ? null : ids;
+            });
+            statusToWorkspaces.get(workspace.getStatus()).remove(workspaceId);
+        }
+    }
+
+    /**
+     * Changes status of the workspace and moves it to the appropriate status index,
+     * must be called while holding the monitor of the workspace.
+     */
+    private void setStatus(RuntimeWorkspaceImpl workspace, WorkspaceStatus status) {
+        statusToWorkspaces.get(workspace.getStatus()).remove(workspace.getId());
+        workspace.setStatus(status);
+        statusToWorkspaces.get(status).add(workspace.getId());
+    }
+
+    /** Copies runtime workspace while holding its monitor, so the copy is consistent. */
+    private static RuntimeWorkspaceImpl copy(RuntimeWorkspaceImpl workspace) {
+        synchronized (workspace) {
+            return new RuntimeWorkspaceImpl(workspace);
+        }
+    }
+
+    private List<RuntimeWorkspaceImpl> copyAll(Set<String> ids) {
+        final List<RuntimeWorkspaceImpl> workspaces = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            final RuntimeWorkspaceImpl workspace = idToWorkspaces.get(id);
             if (workspace != null) {
-                ownerToWorkspaces.get(workspace.getOwner()).removeIf(ws -> ws.getId().equals(workspaceId));
+                workspaces.add(copy(workspace));
             }
-            idToWorkspaces.remove(workspaceId);
-        } finally {
-            lock.writeLock().unlock();
         }
+        return workspaces;
     }
 
     /**
@@ -444,7 +513,13 @@ public class RuntimeWorkspaceRegistry {
      * Stops workspace destroying all its machines and removing it from in memory storage.
      */
     private void stopMachines(RuntimeWorkspaceImpl workspace) throws NotFoundException, ServerException {
-        final List<MachineImpl> machines = new ArrayList<>(workspace.getMachines());
+        final List<MachineImpl> machines;
+        final MachineImpl devMachine;
+        // machines are added under the workspace monitor, see addRunningMachine
+        synchronized (workspace) {
+            machines = new ArrayList<>(workspace.getMachines());
+            devMachine = workspace.getDevMachine();
+        }
         // destroying all non-dev machines
         for (MachineImpl machine : machines) {
             if (machine.getConfig().isDev()) {
@@ -461,7 +536,7 @@ public class RuntimeWorkspaceRegistry {
         }
         // destroying dev-machine
         try {
-            machineManager.destroy(workspace.getDevMachine().getId(), false);
+            machineManager.destroy(devMachine.getId(), false);
         } finally {
             doRemoveWorkspace(workspace.getId());
         }
@@ -475,13 +550,6 @@ public class RuntimeWorkspaceRegistry {
     @VisibleForTesting
     void stopRegistry() {
         isStopped = true;
-        lock.writeLock().lock();
-        try {
-            new ArrayList<>(idToWorkspaces.values()).stream()
-                                                    .map(UsersWorkspace::getId)
-                                                    .forEach(this::doRemoveWorkspace);
-        } finally {
-            lock.writeLock().unlock();
-        }
+        new ArrayList<>(idToWorkspaces.keySet()).forEach(this::doRemoveWorkspace);
     }
 }
@@ -40,14 +40,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.inject.Singleton;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STOPPED;
 import static org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType.ERROR;
 import static org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType.RUNNING;
@@ -203,13 +206,9 @@ public class WorkspaceManager {
      */
     public List<UsersWorkspaceImpl> getWorkspaces(String owner) throws ServerException, BadRequestException {
         requiredNotNull(owner, "Required non-null workspace owner");
-        final Map<String, RuntimeWorkspaceImpl> runtimeWorkspaces = new HashMap<>();
-        for (RuntimeWorkspaceImpl runtimeWorkspace : workspaceRegistry.getByOwner(owner)) {
-            runtimeWorkspaces.put(runtimeWorkspace.getId(), runtimeWorkspace);
-        }
         final List<UsersWorkspaceImpl> workspaces = workspaceDao.getByOwner(owner);
         for (UsersWorkspaceImpl workspace : workspaces) {
-            normalizeState(workspace, runtimeWorkspaces.get(workspace.getId()));
+            normalizeState(workspace);
         }
         return workspaces;
     }
@@ -305,6 +304,26 @@ public class WorkspaceManager {
         return workspaceRegistry.getByOwner(owner);
     }
 
+    /**
+     * Gets runtime workspaces owned by specified user which have certain status.
+     *
+     * @param owner
+     *         workspaces owner identifier
+     * @param status
+     *         status of the runtime workspaces
+     * @return list of runtime workspaces owned by {@code owner} with {@code status} or empty list when there are no such workspaces
+     * @throws BadRequestException
+     *         when {@code owner} or {@code status} is null
+     */
+    public List<RuntimeWorkspaceImpl> getRuntimeWorkspaces(String owner, WorkspaceStatus status) throws BadRequestException {
+        requiredNotNull(owner, "Required non-null workspace owner");
+        requiredNotNull(status, "Required non-null workspace status");
+        return workspaceRegistry.getByStatus(status)
+                                .stream()
+                                .filter(workspace -> owner.equals(workspace.getOwner()))
+                                .collect(toList());
+    }
+
     /**
      * Asynchronously starts certain workspace with specified environment and account.
      *
@@ -500,10 +519,12 @@ public class WorkspaceManager {
 
         final RuntimeWorkspaceImpl workspace = workspaceRegistry.get(workspaceId);
         executor.execute(ThreadLocalPropagateContext.wrap(() -> {
+            // snapshots of all machines are created concurrently
+            final Map<MachineImpl, CompletableFuture<SnapshotImpl>> snapshots = new LinkedHashMap<>();
             String devMachineSnapshotFailMessage = null;
             for (MachineImpl machine : workspace.getMachines()) {
                 try {
-                    machineManager.saveSync(machine.getId(), workspace.getOwner(), workspace.getActiveEnv());
+                    snapshots.put(machine, machineManager.saveAsync(machine.getId(), workspace.getOwner(), workspace.getActiveEnv()));
                 } catch (ApiException apiEx) {
                     if (machine.getConfig().isDev()) {
                         devMachineSnapshotFailMessage = apiEx.getLocalizedMessage();
@@ -511,6 +532,19 @@ public class WorkspaceManager {
                     LOG.error(apiEx.getLocalizedMessage(), apiEx);
                 }
             }
+            for (Map.Entry<MachineImpl, CompletableFuture<SnapshotImpl>> entry : snapshots.entrySet()) {
+                try {
+                    entry.getValue().get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    if (entry.getKey().getConfig().isDev()) {
+                        devMachineSnapshotFailMessage = e.getCause().getLocalizedMessage();
+                    }
+                    LOG.error(e.getCause().getLocalizedMessage(), e.getCause());
+                }
+            }
             if (devMachineSnapshotFailMessage != null) {
                 eventService.publish(newDto(WorkspaceStatusEvent.class).withEventType(SNAPSHOT_CREATION_ERROR)
                                                                        .withWorkspaceId(workspaceId)
@@ -542,16 +576,9 @@ public class WorkspaceManager {
     }
 
     private UsersWorkspaceImpl normalizeState(UsersWorkspaceImpl workspace) {
-        try {
-            return normalizeState(workspace, workspaceRegistry.get(workspace.getId()));
-        } catch (NotFoundException e) {
-            return normalizeState(workspace, null);
-        }
-    }
-
-    private UsersWorkspaceImpl normalizeState(UsersWorkspaceImpl workspace, RuntimeWorkspaceImpl runtime) {
+        final WorkspaceStatus status = workspaceRegistry.getStatus(workspace.getId());
         workspace.setTemporary(false);
-        workspace.setStatus(runtime == null ? STOPPED : runtime.getStatus());
+        workspace.setStatus(status == null ? STOPPED : status);
         return workspace;
     }
 
@@ -582,13 +609,11 @@ public class WorkspaceManager {
         // but this check needed here because permanent workspace start performed asynchronously
         // which means that even if registry won't start workspace client receives workspace object
         // with starting status, this check prevents it and throws appropriate exception
-        try {
-            final RuntimeWorkspaceImpl runtime = workspaceRegistry.get(workspace.getId());
+        final WorkspaceStatus status = workspaceRegistry.getStatus(workspace.getId());
+        if (status != null) {
             throw new ConflictException(format("Could not start workspace '%s' because its status is '%s'",
-                                               runtime.getConfig().getName(),
-                                               runtime.getStatus()));
-        } catch (NotFoundException ignored) {
-            // it is okay if workspace does not exist
+                                               workspace.getConfig().getName(),
+                                               status));
         }
         workspace.setTemporary(false);
         workspace.setStatus(WorkspaceStatus.STARTING);
@@ -24,6 +24,7 @@ import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.UsersWorkspace;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.rest.Service;
 import org.eclipse.che.api.core.rest.annotations.GenerateLink;
 import org.eclipse.che.api.core.rest.permission.PermissionManager;
@@ -297,10 +298,18 @@ public class WorkspaceService extends Service {
                                                           @ApiParam("The limit of the items in the response, default is 30")
                                                           @DefaultValue("30")
                                                           @QueryParam("maxItems")
-                                                          Integer maxItems) throws BadRequestException {
+                                                          Integer maxItems,
+                                                          @ApiParam("Workspace status")
+                                                          @QueryParam("status")
+                                                          String status) throws BadRequestException {
         //TODO add maxItems & skipCount to manager
-        return workspaceManager.getRuntimeWorkspaces(getCurrentUserId())
-                               .stream()
+        final List<RuntimeWorkspaceImpl> runtimeWorkspaces;
+        if (status != null) {
+            runtimeWorkspaces = workspaceManager.getRuntimeWorkspaces(getCurrentUserId(), asStatus(status));
+        } else {
+            runtimeWorkspaces = workspaceManager.getRuntimeWorkspaces(getCurrentUserId());
+        }
+        return runtimeWorkspaces.stream()
                                .map(workspace -> injectLinks(asDto(workspace)))
                                .collect(toList());
     }
@@ -1028,6 +1037,14 @@ public class WorkspaceService extends Service {
         return EnvironmentContext.getCurrent().getUser().getId();
     }
 
+    private static WorkspaceStatus asStatus(String status) throws BadRequestException {
+        try {
+            return WorkspaceStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown workspace status '" + status + "'");
+        }
+    }
+
     /**
      * Checks object reference is not {@code null}
      *
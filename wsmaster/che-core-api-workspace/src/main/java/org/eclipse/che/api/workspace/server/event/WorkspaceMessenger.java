@@ -10,11 +10,11 @@
  *******************************************************************************/
 package org.eclipse.che.api.workspace.server.event;
 
+import org.eclipse.che.api.core.notification.ChannelReplayBuffer;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 import org.eclipse.che.dto.server.DtoFactory;
-import org.everrest.websockets.WSConnectionContext;
 import org.everrest.websockets.message.ChannelBroadcastMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,11 +33,13 @@ import javax.inject.Singleton;
 public class WorkspaceMessenger implements EventSubscriber<WorkspaceStatusEvent> {
     private static final Logger LOG = LoggerFactory.getLogger(WorkspaceMessenger.class);
 
-    private final EventService eventService;
+    private final EventService        eventService;
+    private final ChannelReplayBuffer channelReplayBuffer;
 
     @Inject
-    public WorkspaceMessenger(EventService eventService) {
+    public WorkspaceMessenger(EventService eventService, ChannelReplayBuffer channelReplayBuffer) {
         this.eventService = eventService;
+        this.channelReplayBuffer = channelReplayBuffer;
     }
 
     @Override
@@ -46,7 +48,7 @@ public class WorkspaceMessenger implements EventSubscriber<WorkspaceStatusEvent>
             final ChannelBroadcastMessage bm = new ChannelBroadcastMessage();
             bm.setChannel("workspace:" + event.getWorkspaceId());
             bm.setBody(DtoFactory.getInstance().toJson(event));
-            WSConnectionContext.sendMessage(bm);
+            channelReplayBuffer.send(bm);
         } catch (Exception e) {
             LOG.error(e.getLocalizedMessage(), e);
         }
@@ -51,6 +51,7 @@ import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 /**
@@ -237,6 +238,36 @@ public class RuntimeWorkspaceRegistryTest {
         assertTrue(registry.getByOwner("user123").isEmpty());
     }
 
+    @Test
+    public void testGetWorkspacesByStatus() throws Exception {
+        final UsersWorkspaceImpl workspaceMock = workspaceMock();
+        final RuntimeWorkspaceImpl runtimeWorkspace = registry.start(workspaceMock, workspaceMock.getConfig().getDefaultEnv());
+
+        assertEquals(registry.getByStatus(WorkspaceStatus.RUNNING), singletonList(runtimeWorkspace));
+        assertTrue(registry.getByStatus(WorkspaceStatus.STARTING).isEmpty());
+    }
+
+    @Test
+    public void testGetWorkspaceStatus() throws Exception {
+        final UsersWorkspaceImpl workspaceMock = workspaceMock();
+        registry.start(workspaceMock, workspaceMock.getConfig().getDefaultEnv());
+
+        assertEquals(registry.getStatus(workspaceMock.getId()), WorkspaceStatus.RUNNING);
+        assertNull(registry.getStatus("not-running"));
+    }
+
+    @Test
+    public void shouldRemoveStoppedWorkspaceFromIndexes() throws Exception {
+        final UsersWorkspaceImpl workspaceMock = workspaceMock();
+        registry.start(workspaceMock, workspaceMock.getConfig().getDefaultEnv());
+
+        registry.stop(workspaceMock.getId());
+
+        assertTrue(registry.getByOwner(workspaceMock.getOwner()).isEmpty());
+        assertTrue(registry.getByStatus(WorkspaceStatus.RUNNING).isEmpty());
+        assertTrue(registry.getByStatus(WorkspaceStatus.STOPPING).isEmpty());
+    }
+
     @Test
     public void testRegistryStop() throws Exception {
         final UsersWorkspaceImpl workspaceMock = workspaceMock();
@@ -55,7 +55,6 @@ import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
@@ -141,9 +140,7 @@ public class WorkspaceManagerTest {
     public void getWorkspaceByIdShouldReturnWorkspaceWithStatusEqualToItsRuntimeStatus() throws Exception {
         final UsersWorkspaceImpl workspace = workspaceManager.createWorkspace(createConfig(), "user123", "account");
         when(workspaceDao.get(workspace.getId())).thenReturn(workspace);
-        final RuntimeWorkspaceImpl runtime = createRuntime(workspace);
-        runtime.setStatus(STARTING);
-        when(registry.get(workspace.getId())).thenReturn(runtime);
+        when(registry.getStatus(workspace.getId())).thenReturn(STARTING);
 
         final UsersWorkspaceImpl result = workspaceManager.getWorkspace(workspace.getId());
 
@@ -165,9 +162,7 @@ public class WorkspaceManagerTest {
     public void getWorkspaceByNameShouldReturnWorkspaceWithStatusEqualToItsRuntimeStatus() throws Exception {
         final UsersWorkspaceImpl workspace = workspaceManager.createWorkspace(createConfig(), "user123", "account");
         when(workspaceDao.get(workspace.getConfig().getName(), workspace.getOwner())).thenReturn(workspace);
-        final RuntimeWorkspaceImpl runtime = createRuntime(workspace);
-        runtime.setStatus(STARTING);
-        when(registry.get(workspace.getId())).thenReturn(runtime);
+        when(registry.getStatus(workspace.getId())).thenReturn(STARTING);
 
         final UsersWorkspaceImpl result = workspaceManager.getWorkspace(workspace.getConfig().getName(), workspace.getOwner());
 
@@ -192,9 +187,7 @@ public class WorkspaceManagerTest {
         workspace1.setTemporary(true);
 
         final UsersWorkspaceImpl workspace2 = workspaceManager.createWorkspace(config, "user123", null);
-        final RuntimeWorkspaceImpl workspace2Runtime = createRuntime(workspace2);
-        workspace2Runtime.setStatus(RUNNING);
-        when(registry.getByOwner("user123")).thenReturn(singletonList(workspace2Runtime));
+        when(registry.getStatus(workspace2.getId())).thenReturn(RUNNING);
 
         when(workspaceDao.getByOwner("user123")).thenReturn(asList(workspace1, workspace2));
 
@@ -214,7 +207,7 @@ public class WorkspaceManagerTest {
                           .get(0));
 
         final UsersWorkspaceImpl res2 = result.get(1);
-        assertEquals(res2.getStatus(), workspace2Runtime.getStatus(), "Workspace status wasn't changed to the runtime instance status");
+        assertEquals(res2.getStatus(), RUNNING, "Workspace status wasn't changed to the runtime instance status");
         assertFalse(res2.isTemporary(), "Workspace must be permanent");
         assertNotNull(res2.getConfig()
                           .getEnvironments()
@@ -246,9 +239,7 @@ public class WorkspaceManagerTest {
     public void workspaceUpdateShouldReturnWorkspaceWithStatusEqualToItsRuntimeStatus() throws Exception {
         final UsersWorkspaceImpl workspace = workspaceManager.createWorkspace(createConfig(), "user123", "account");
         when(workspaceDao.get(workspace.getId())).thenReturn(workspace);
-        final RuntimeWorkspaceImpl runtime = createRuntime(workspace);
-        runtime.setStatus(STARTING);
-        when(registry.get(workspace.getId())).thenReturn(runtime);
+        when(registry.getStatus(workspace.getId())).thenReturn(STARTING);
         final WorkspaceConfig update = createConfig();
 
         UsersWorkspace updated = workspaceManager.updateWorkspace(workspace.getId(), update);
@@ -302,6 +293,17 @@ public class WorkspaceManagerTest {
         assertEquals(result, asList(runtime, runtime));
     }
 
+    @Test
+    public void shouldBeAbleToGetRuntimeWorkspacesWithStatus() throws Exception {
+        final RuntimeWorkspaceImpl owned = createRuntime(workspaceManager.createWorkspace(createConfig(), "user123", "account123"));
+        final RuntimeWorkspaceImpl other = createRuntime(workspaceManager.createWorkspace(createConfig(), "user321", "account123"));
+        when(registry.getByStatus(RUNNING)).thenReturn(asList(owned, other));
+
+        final List<RuntimeWorkspaceImpl> result = workspaceManager.getRuntimeWorkspaces("user123", RUNNING);
+
+        assertEquals(result, singletonList(owned));
+    }
+
     @Test
     public void shouldBeAbleToStartWorkspaceById() throws Exception {
         final UsersWorkspaceImpl workspace = workspaceManager.createWorkspace(createConfig(), "user123", "account");
@@ -350,9 +352,7 @@ public class WorkspaceManagerTest {
     public void shouldNotBeAbleToStartWorkspaceIfItIsRunning() throws Exception {
         final UsersWorkspaceImpl workspace = workspaceManager.createWorkspace(createConfig(), "user123", "account");
         when(workspaceDao.get(workspace.getId())).thenReturn(workspace);
-        final RuntimeWorkspaceImpl runtimeWorkspace = mock(RuntimeWorkspaceImpl.class);
-        when(registry.get(workspace.getId())).thenReturn(runtimeWorkspace);
-        when(runtimeWorkspace.getConfig()).thenReturn(workspace.getConfig());
+        when(registry.getStatus(workspace.getId())).thenReturn(RUNNING);
 
         workspaceManager.startWorkspaceById(workspace.getId(), null, null);
     }